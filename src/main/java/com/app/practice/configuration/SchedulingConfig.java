@@ -0,0 +1,15 @@
+package com.app.practice.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled background jobs of the application, such as the periodic flush of the
+ * write-behind engagement counters.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -7,12 +7,9 @@ package com.app.practice.constants;
  */
 public class KafkaConstants {
 
-    public static final String ENGAGEMENT_STATS_TOPIC = "engagement-stats-topic";
-    public static final String FETCHING_ENGAGEMENT_LOG = "Fetching engagement stats for video ID: {} from Kafka";
-    public static final String ERROR_FETCHING_STATS = "Error fetching stats from Kafka: {}";
-    public static final String MOCK_VIDEO_TITLE = "Mock Title";
-    public static final String MOCK_VIDEO_SYNOPSIS = "Mock Synopsis";
-    public static final String MOCK_VIDEO_DIRECTOR = "Mock Director";
+    public static final String FETCHING_ENGAGEMENT_LOG = "Fetching engagement stats for video ID: {} from the engagement state store";
+    public static final String FETCHING_BATCH_ENGAGEMENT_LOG = "Fetching engagement stats for {} videos from the engagement state store";
+    public static final String ERROR_FETCHING_STATS = "Error fetching stats from the engagement state store: {}";
 
     private KafkaConstants() {
         throw new UnsupportedOperationException("This is a constants class and cannot be instantiated.");
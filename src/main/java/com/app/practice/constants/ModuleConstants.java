@@ -35,6 +35,19 @@ public class ModuleConstants {
     public static final String VIDEO_DELISTED = "Video is delisted.";
     public static final String INVALID_DIRECTOR_NAME = "Director name cannot be empty.";
     public static final String INVALID_SEARCH_PHRASE = "Invalid search phrase";
+    public static final String VIDEO_CONTENT_NOT_AVAILABLE = "Video content is not available.";
+    public static final String VIDEO_SEGMENT_NOT_FOUND = "Video segment not found";
+    public static final String INVALID_TIME_RANGE = "Invalid time range: 'from' must be before 'to'";
+    public static final String INVALID_TRENDING_LIMIT = "Limit must be at least 1";
+    public static final String TIME_RANGE_TOO_LARGE = "Time range exceeds the maximum number of buckets: ";
+    public static final String EMPTY_VIDEO_ID_BATCH = "At least one video ID is required";
+    public static final String VIDEO_ID_BATCH_TOO_LARGE = "Number of video IDs exceeds the maximum batch size: ";
+    public static final String INVALID_WATCH_POSITION = "Playback position must not be negative";
+    public static final String INVALID_PAGE_CURSOR = "Invalid page cursor";
+    public static final String INVALID_PAGE_SIZE = "Page size must be between 1 and ";
+    public static final String SEARCH_INDEX_NOT_READY = "Search index is being built, please retry shortly";
+    public static final String INVALID_SUGGESTION_PREFIX = "Invalid suggestion prefix";
+    public static final String INVALID_SUGGESTION_LIMIT = "Suggestion limit must be between 1 and ";
 
 
     /*
@@ -48,8 +61,11 @@ public class ModuleConstants {
     public static final String VIDEO_DELISTED_SUCCESSFULLY = "Video successfully delisted: ";
     public static final String LOADING_VIDEO = "Loading video with ID: ";
     public static final String PLAYING_VIDEO = "Playing video with ID: ";
-    public static final String LISTING_ALL_VIDEOS = "Listing all videos (Page: {}, Size: {})";
-    public static final String SEARCHING_VIDEOS = "Searching videos directed by: {} (Page: {}, Size: {})";
+    public static final String LOADING_MANIFEST = "Loading segment manifest of video ID: ";
+    public static final String STREAMING_VIDEO = "Streaming video with ID: ";
+    public static final String LISTING_ALL_VIDEOS = "Listing all videos (Cursor: {}, Size: {})";
+    public static final String SEARCHING_VIDEOS = "Searching videos directed by: {} (Cursor: {}, Size: {})";
+    public static final String HEARTBEAT_RECORDED = "Heartbeat recorded";
 
     /*
      Auth Constants
@@ -66,6 +82,7 @@ public class ModuleConstants {
      */
     public static final String HASH_ALGO_NAME = "HmacSHA512";
     public static final String MESSAGE_DIGEST_ALGO_NAME = "SHA-512";
+    public static final String CONTENT_CHECKSUM_ALGO_NAME = "SHA-256";
 
     private ModuleConstants() {
         throw new UnsupportedOperationException("This is a constants class and cannot be instantiated.");
@@ -8,6 +8,11 @@ package com.app.practice.constants;
 
     - The STATS_BASE_PATH defines the base URL for all engagement stats-related operations.
     - The STATS_ENGAGEMENT_ENDPOINT defines a specific endpoint to fetch engagement data for a particular resource (e.g., a video or user).
+    - The STATS_ENGAGEMENT_BATCH_ENDPOINT defines the endpoint to fetch the engagement data of many videos in one call.
+    - The STATS_TIMESERIES_ENDPOINT defines the endpoint to fetch the engagement history of a video as a time series.
+    - The STATS_CACHES_ENDPOINT defines the endpoint to fetch the statistics of the in-process caches.
+    - The STATS_CONSUMERS_ENDPOINT defines the endpoint to fetch the statistics of the Kafka consumers of this node.
+    - The STATS_PRODUCERS_ENDPOINT defines the endpoint to fetch the statistics of the Kafka producers of this node.
     - A private constructor is used to prevent instantiation of this constants class, enforcing it as a utility class.
  */
 
@@ -22,6 +27,11 @@ public class StatsURIConstants {
      Endpoints for stats operations
      */
     public static final String STATS_ENGAGEMENT_ENDPOINT = "/{id}/engagement"; // Endpoint for fetching engagement stats for a specific resource by ID
+    public static final String STATS_ENGAGEMENT_BATCH_ENDPOINT = "/engagement"; // Endpoint for fetching engagement stats of several videos (ids request parameter)
+    public static final String STATS_TIMESERIES_ENDPOINT = "/{id}/timeseries"; // Endpoint for fetching the engagement time series of a video by ID
+    public static final String STATS_CACHES_ENDPOINT = "/caches"; // Endpoint for fetching the hit rates and occupancy of the in-process caches
+    public static final String STATS_CONSUMERS_ENDPOINT = "/consumers"; // Endpoint for fetching the throughput, lag and failures of the Kafka consumers
+    public static final String STATS_PRODUCERS_ENDPOINT = "/producers"; // Endpoint for fetching the send latency, queue depth and drops of the Kafka producers
 
     private StatsURIConstants() {
         throw new UnsupportedOperationException("This is a constants class and cannot be instantiated.");
@@ -6,6 +6,9 @@ package com.app.practice.constants;
 public class VideoStreamConstants {
 
     public static final String VIDEO_PLAY_TOPIC = "video-play-events";
+    public static final String ENGAGEMENT_AGGREGATOR_GROUP = "engagement-aggregator";
+    public static final String CATALOG_INVALIDATION_TOPIC = "catalog-invalidations";
+    public static final String CATALOG_INVALIDATION_GROUP_PREFIX = "catalog-invalidation-";
 
     private VideoStreamConstants() {
         throw new UnsupportedOperationException("This is a constants class and cannot be instantiated.");
@@ -24,9 +24,21 @@ public class VideoURIConstants {
     public static final String DELIST_VIDEO_ENDPOINT = "/delist/{id}";
     public static final String LOAD_VIDEO_ENDPOINT = "/{id}";
     public static final String PLAY_VIDEO_ENDPOINT = "/{id}/play";
+    public static final String STREAM_VIDEO_ENDPOINT = "/{id}/stream";
+    public static final String VIDEO_MANIFEST_ENDPOINT = "/{id}/manifest";
+    public static final String VIDEO_SEGMENT_ENDPOINT = "/{id}/segments/{segment}";
     public static final String LIST_VIDEOS_ENDPOINT = "";
     public static final String SEARCH_BY_DIRECTOR = "/director";
     public static final String SEARCH_VIDEO_ENDPOINT = "/search";
+    public static final String SUGGEST_ENDPOINT = "/suggest";
+    public static final String TRENDING_VIDEOS_ENDPOINT = "/trending";
+    public static final String WATCH_HEARTBEAT_ENDPOINT = "/{id}/heartbeat";
+    public static final String WATCH_PROGRESS_ENDPOINT = "/{id}/progress";
+
+    /*
+        Request headers
+     */
+    public static final String EVENT_ID_HEADER = "X-Event-Id"; // Client generated ID, identical for retries of a play/load
 
     private VideoURIConstants() {
         throw new UnsupportedOperationException("This is a constants class and cannot be instantiated.");
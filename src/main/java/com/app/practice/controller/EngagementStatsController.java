@@ -0,0 +1,128 @@
+package com.app.practice.controller;
+
+import com.app.practice.constants.StatsURIConstants;
+import com.app.practice.dto.CacheStatistics;
+import com.app.practice.dto.ConsumerStatistics;
+import com.app.practice.dto.ProducerStatistics;
+import com.app.practice.dto.RollupGranularity;
+import com.app.practice.model.response.EngagementResponse;
+import com.app.practice.model.response.EngagementTimeSeries;
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.service.EngagementHistoryService;
+import com.app.practice.service.EngagementStrategyService;
+import com.app.practice.service.impl.content.SegmentCache;
+import com.app.practice.service.impl.engagement.EngagementEventConsumer;
+import com.app.practice.service.impl.engagement.EngagementEventPublisher;
+import com.app.practice.service.impl.engagement.EngagementStateStore;
+import com.app.practice.service.impl.video.CatalogCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Code Author: Ruchir Bisht
+ * EngagementStatsController serves the engagement history of videos, read from the hourly and daily rollups,
+ * the engagement statistics of many videos in one call, and the statistics of the in-process caches and of the
+ * Kafka consumers and producers running on this node.
+ */
+@RestController
+@RequestMapping(StatsURIConstants.STATS_BASE_PATH)
+@RequiredArgsConstructor
+public class EngagementStatsController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EngagementStatsController.class);
+
+    private final EngagementHistoryService engagementHistoryService;
+    private final EngagementStrategyService engagementService;
+    private final CatalogCache catalogCache;
+    private final SegmentCache segmentCache;
+    private final EngagementEventPublisher engagementEventPublisher;
+    private final ObjectProvider<EngagementEventConsumer> engagementEventConsumer;
+    private final ObjectProvider<EngagementStateStore> engagementStateStore;
+
+    /**
+     * Fetches the engagement statistics of several videos.
+     *
+     * @param ids The video IDs, comma separated or repeated.
+     * @return ResponseEntity containing the engagement statistics by video ID; unknown IDs are left out.
+     */
+    @GetMapping(StatsURIConstants.STATS_ENGAGEMENT_BATCH_ENDPOINT)
+    @Operation(summary = "Fetches engagement statistics for several videos.", description = "Impressions, views and distinct viewers of up to the configured batch size of videos, by video ID.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<Map<Long, EngagementResponse>>> getEngagementStats(@RequestParam List<Long> ids) {
+        LOGGER.info("Received request for engagement stats of {} videos", ids.size());
+        GenericResponse<Map<Long, EngagementResponse>> engagementStats = engagementService.getEngagementStats(ids);
+        return ResponseEntity.status(engagementStats.getStatusCode()).body(engagementStats);
+    }
+
+    /**
+     * Fetches the engagement time series of a video.
+     *
+     * @param id          The video ID.
+     * @param from        Start of the range (ISO-8601 instant), defaults to 24 buckets before {@code to}.
+     * @param to          End of the range (ISO-8601 instant), defaults to now.
+     * @param granularity HOUR or DAY.
+     * @return ResponseEntity containing one data point per bucket.
+     */
+    @GetMapping(StatsURIConstants.STATS_TIMESERIES_ENDPOINT)
+    @Operation(summary = "Fetches the engagement time series of a video.", description = "Views and impressions per hour or day of a video within a time range.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<EngagementTimeSeries>> getTimeSeries(@PathVariable Long id,
+                                                                               @RequestParam(required = false) Instant from,
+                                                                               @RequestParam(required = false) Instant to,
+                                                                               @RequestParam(defaultValue = "HOUR") RollupGranularity granularity) {
+        LOGGER.info("Received request for {} engagement time series of video ID: {} (from: {}, to: {})", granularity, id, from, to);
+        GenericResponse<EngagementTimeSeries> timeSeries = engagementHistoryService.getTimeSeries(id, from, to, granularity);
+        return ResponseEntity.status(timeSeries.getStatusCode()).body(timeSeries);
+    }
+
+    /**
+     * Fetches the statistics of the in-process caches.
+     *
+     * @return ResponseEntity containing the hit rate, evictions, admission rejections and occupancy of each cache.
+     */
+    @GetMapping(StatsURIConstants.STATS_CACHES_ENDPOINT)
+    @Operation(summary = "Fetches cache statistics.", description = "Hits, misses, evictions, admission rejections and occupancy of the catalog and segment caches of this node.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<List<CacheStatistics>>> getCacheStatistics() {
+        LOGGER.debug("Received request for cache statistics");
+        return ResponseEntity.ok(GenericResponse.success(List.of(catalogCache.stats(), segmentCache.stats()), HttpStatus.OK));
+    }
+
+    /**
+     * Fetches the statistics of the Kafka consumers running on this node; none outside the prod profile.
+     *
+     * @return ResponseEntity containing the records consumed, batch sizes, writes, skipped events, restarts and lag
+     * of each consumer.
+     */
+    @GetMapping(StatsURIConstants.STATS_CONSUMERS_ENDPOINT)
+    @Operation(summary = "Fetches consumer statistics.", description = "Records consumed, poll batch sizes, completed and failed writes, skipped events, restarts and lag of the engagement event consumer and the engagement state store of this node.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<List<ConsumerStatistics>>> getConsumerStatistics() {
+        LOGGER.debug("Received request for consumer statistics");
+        List<ConsumerStatistics> statistics = new ArrayList<>();
+        engagementEventConsumer.ifAvailable(consumer -> statistics.add(consumer.stats()));
+        engagementStateStore.ifAvailable(store -> statistics.add(store.stats()));
+        return ResponseEntity.ok(GenericResponse.success(statistics, HttpStatus.OK));
+    }
+
+    /**
+     * Fetches the statistics of the Kafka producers running on this node.
+     *
+     * @return ResponseEntity containing the events queued, sent and dropped, failed sends, queue depth and send
+     * latency of each producer.
+     */
+    @GetMapping(StatsURIConstants.STATS_PRODUCERS_ENDPOINT)
+    @Operation(summary = "Fetches producer statistics.", description = "Events queued, sent and dropped, failed sends, queue depth and send latency of the engagement event publisher of this node.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<List<ProducerStatistics>>> getProducerStatistics() {
+        LOGGER.debug("Received request for producer statistics");
+        return ResponseEntity.ok(GenericResponse.success(List.of(engagementEventPublisher.stats()), HttpStatus.OK));
+    }
+}
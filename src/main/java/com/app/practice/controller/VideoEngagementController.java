@@ -2,27 +2,44 @@ package com.app.practice.controller;
 
 import com.app.practice.constants.StatsURIConstants;
 import com.app.practice.constants.VideoURIConstants;
+import com.app.practice.dto.SearchMatchMode;
+import com.app.practice.dto.SegmentContent;
+import com.app.practice.dto.TrendingWindow;
+import com.app.practice.dto.VideoContentFile;
 import com.app.practice.dto.VideoDTO;
+import com.app.practice.exception.ResourceNotFoundException;
 import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.model.response.ContentManifest;
 import com.app.practice.model.response.EngagementResponse;
 import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.Suggestion;
+import com.app.practice.model.response.TrendingVideo;
+import com.app.practice.model.response.VideoPageResponse;
+import com.app.practice.model.response.WatchProgressResponse;
 import com.app.practice.service.EngagementStrategyService;
+import com.app.practice.service.TrendingService;
 import com.app.practice.service.VideoService;
 import com.app.practice.service.VideoStreamService;
+import com.app.practice.service.WatchProgressService;
+import com.app.practice.utils.ByteRangeResponseWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
  * Code Author: Ruchir Bisht
  * VideoEngagementController handles video-related operations such as playing videos, loading content,
- * searching videos by director, and fetching engagement statistics.
+ * searching videos by director, tracking watch progress, and fetching engagement statistics.
  */
 @RestController
 @RequestMapping(VideoURIConstants.VIDEO_BASE_PATH)
@@ -34,15 +51,20 @@ public class VideoEngagementController {
     private final VideoService videoService;
     private final EngagementStrategyService engagementService;
     private final VideoStreamService videoStreamService;
+    private final TrendingService trendingService;
+    private final WatchProgressService watchProgressService;
+    private final ByteRangeResponseWriter byteRangeResponseWriter;
 
     /**
      * Loads video content by ID.
      */
     @GetMapping(VideoURIConstants.LOAD_VIDEO_ENDPOINT)
-    @Operation(summary = "Loads video content by ID.", description = "Loads video content by ID.", security = @SecurityRequirement(name = "Bearer Authentication"))
-    public ResponseEntity<GenericResponse<VideoDTO>> loadVideoContent(@PathVariable Long id) throws VideoNotFoundException {
+    @Operation(summary = "Loads video content by ID.", description = "Loads video content by ID. Retries sending the same " + VideoURIConstants.EVENT_ID_HEADER + " header are counted once.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<VideoDTO>> loadVideoContent(@PathVariable Long id,
+                                                                      @RequestHeader(value = VideoURIConstants.EVENT_ID_HEADER, required = false) String eventId)
+            throws VideoNotFoundException {
         LOGGER.info("Received request to load video content with ID: {}", id);
-        GenericResponse<VideoDTO> videoContent = videoStreamService.loadVideo(id);
+        GenericResponse<VideoDTO> videoContent = videoStreamService.loadVideo(id, eventId);
         LOGGER.info("Loading video with ID: {}", id);
         return ResponseEntity.ok(videoContent);
     }
@@ -51,39 +73,127 @@ public class VideoEngagementController {
      * Plays video by ID.
      */
     @GetMapping(VideoURIConstants.PLAY_VIDEO_ENDPOINT)
-    @Operation(summary = "Plays video by ID.", description = "Plays(streams) video by ID.", security = @SecurityRequirement(name = "Bearer Authentication"))
-    public ResponseEntity<GenericResponse<String>> playVideo(@PathVariable Long id) throws VideoNotFoundException {
+    @Operation(summary = "Plays video by ID.", description = "Plays(streams) video by ID. Retries sending the same " + VideoURIConstants.EVENT_ID_HEADER + " header are counted once.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<String>> playVideo(@PathVariable Long id,
+                                                             @RequestHeader(value = VideoURIConstants.EVENT_ID_HEADER, required = false) String eventId)
+            throws VideoNotFoundException {
         LOGGER.info("Received request to play video with ID: {}", id);
-        GenericResponse<String> videoContent = videoStreamService.playVideo(id);
+        GenericResponse<String> videoContent = videoStreamService.playVideo(id, eventId);
         LOGGER.info("Playing video with ID: {}", id);
         return ResponseEntity.ok(videoContent);
     }
 
+    /**
+     * Streams video content by ID with HTTP Range / If-Range support (206 Partial Content).
+     */
+    @GetMapping(VideoURIConstants.STREAM_VIDEO_ENDPOINT)
+    @Operation(summary = "Streams video by ID.", description = "Streams video bytes by ID, honouring Range and If-Range headers.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public void streamVideo(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws VideoNotFoundException, IOException {
+        LOGGER.info("Received request to stream video with ID: {} (Range: {})", id, request.getHeader(HttpHeaders.RANGE));
+        VideoContentFile contentFile = videoStreamService.openVideoContent(id, ByteRangeResponseWriter.isInitialRequest(request));
+        byteRangeResponseWriter.write(contentFile, request, response);
+    }
+
+    /**
+     * Loads the segment manifest of a video, starting a segmented playback.
+     */
+    @GetMapping(VideoURIConstants.VIDEO_MANIFEST_ENDPOINT)
+    @Operation(summary = "Loads the segment manifest of a video.", description = "Lists the content segments (index, offset, size, checksum) of a video by ID.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<ContentManifest>> getManifest(@PathVariable Long id) throws VideoNotFoundException {
+        LOGGER.info("Received request for segment manifest of video ID: {}", id);
+        GenericResponse<ContentManifest> manifest = videoStreamService.loadManifest(id);
+        LOGGER.info("Returning manifest with {} segments for video ID: {}", manifest.getData().getSegmentCount(), id);
+        return ResponseEntity.ok(manifest);
+    }
+
+    /**
+     * Fetches a single content segment of a video.
+     */
+    @GetMapping(VideoURIConstants.VIDEO_SEGMENT_ENDPOINT)
+    @Operation(summary = "Fetches a content segment of a video.", description = "Returns the bytes of one content segment, validated by its checksum ETag.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public void getSegment(@PathVariable Long id, @PathVariable int segment, HttpServletRequest request, HttpServletResponse response)
+            throws VideoNotFoundException, ResourceNotFoundException, IOException {
+        LOGGER.debug("Received request for segment {} of video ID: {}", segment, id);
+        try (SegmentContent segmentContent = videoStreamService.loadSegment(id, segment)) {
+            byteRangeResponseWriter.writeSegment(segmentContent, request, response);
+        }
+    }
+
     /**
      * Searches videos by director.
      */
     @GetMapping(VideoURIConstants.SEARCH_BY_DIRECTOR)
-    @Operation(summary = "Searches videos by director", description = "Searches videos by director's name.", security = @SecurityRequirement(name = "Bearer Authentication"))
-    public ResponseEntity<GenericResponse<List<VideoDTO>>> searchVideosByDirector(@RequestParam String director,
-                                                                                  @RequestParam(defaultValue = "0") int page,
-                                                                                  @RequestParam(defaultValue = "10") int size) {
+    @Operation(summary = "Searches videos by director", description = "Searches videos by director's name, one page at a time. Pass the returned nextCursor to fetch the next page.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<VideoPageResponse>> searchVideosByDirector(@RequestParam String director,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(defaultValue = "10") int size) {
         LOGGER.info("Received request to search videos by director: {}", director);
-        GenericResponse<List<VideoDTO>> videos = videoService.searchVideos(director, page, size);
-        LOGGER.info("Found {} videos for director '{}'.", videos.getData().size(), director);
-        return ResponseEntity.ok(videos);
+        GenericResponse<VideoPageResponse> videos = videoService.searchVideos(director, cursor, size);
+        return ResponseEntity.status(videos.getStatusCode()).body(videos);
     }
 
     /**
      * Searches videos based on a search phrase.
      */
     @GetMapping(VideoURIConstants.SEARCH_VIDEO_ENDPOINT)
-    @Operation(summary = "Searches videos on search phrase.", description = "Searches videos based on a search phrase. (Director/Genre/Cast)", security = @SecurityRequirement(name = "Bearer Authentication"))
-    public ResponseEntity<GenericResponse<List<VideoDTO>>> searchVideos(@RequestParam String searchPhrase,
-                                                                        @RequestParam(defaultValue = "0") int page,
-                                                                        @RequestParam(defaultValue = "10") int size) {
-        LOGGER.info("Received request to search videos - Phrase: {}, Page: {}, Size: {}", searchPhrase, page, size);
-        GenericResponse<List<VideoDTO>> videosList = videoService.searchVideosBasedOnSearchPhrase(searchPhrase, page, size);
-        return videosList.getData().isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(videosList);
+    @Operation(summary = "Searches videos on search phrase.", description = "Searches videos based on a search phrase (Director/Genre/Cast), one page at a time. Use mode=FUZZY to also match misspelled director, cast and title words. Pass the returned nextCursor to fetch the next page.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<VideoPageResponse>> searchVideos(@RequestParam String searchPhrase,
+                                                                           @RequestParam(defaultValue = "EXACT") SearchMatchMode mode,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = "10") int size) {
+        LOGGER.info("Received request to search videos - Phrase: {}, Mode: {}, Cursor: {}, Size: {}", searchPhrase, mode, cursor, size);
+        GenericResponse<VideoPageResponse> videosList = videoService.searchVideosBasedOnSearchPhrase(searchPhrase, mode, cursor, size);
+        return videosList.getData() != null && videosList.getData().getVideos().isEmpty()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(videosList.getStatusCode()).body(videosList);
+    }
+
+    /**
+     * Suggests completions of a typed prefix.
+     */
+    @GetMapping(VideoURIConstants.SUGGEST_ENDPOINT)
+    @Operation(summary = "Suggests completions of a prefix.", description = "Suggests the titles, directors and cast members starting with a prefix, or with a word starting with it, most popular first.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<List<Suggestion>>> suggest(@RequestParam String prefix,
+                                                                     @RequestParam(defaultValue = "10") int limit) {
+        LOGGER.debug("Received request for suggestions - Prefix: {}, Limit: {}", prefix, limit);
+        GenericResponse<List<Suggestion>> suggestions = videoService.suggest(prefix, limit);
+        return ResponseEntity.status(suggestions.getStatusCode()).body(suggestions);
+    }
+
+    /**
+     * Fetches the most played videos over a recent window, globally or within a genre.
+     */
+    @GetMapping(VideoURIConstants.TRENDING_VIDEOS_ENDPOINT)
+    @Operation(summary = "Fetches trending videos.", description = "Most played videos over the last 5 minutes (FIVE_MINUTES), hour (ONE_HOUR) or day (ONE_DAY), optionally within a genre.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<List<TrendingVideo>>> getTrendingVideos(@RequestParam(defaultValue = "ONE_HOUR") TrendingWindow window,
+                                                                                  @RequestParam(required = false) String genre,
+                                                                                  @RequestParam(defaultValue = "10") int limit) {
+        LOGGER.debug("Received request for trending videos - Window: {}, Genre: {}, Limit: {}", window, genre, limit);
+        GenericResponse<List<TrendingVideo>> trendingVideos = trendingService.getTrendingVideos(window, genre, limit);
+        return ResponseEntity.status(trendingVideos.getStatusCode()).body(trendingVideos);
+    }
+
+    /**
+     * Records a playback heartbeat, sent by players every few seconds.
+     */
+    @PostMapping(VideoURIConstants.WATCH_HEARTBEAT_ENDPOINT)
+    @Operation(summary = "Records a playback heartbeat.", description = "Reports the current playback position (in seconds) of the user, used to resume playback and to count watch time.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<String>> recordHeartbeat(@PathVariable Long id, @RequestParam long position) {
+        LOGGER.debug("Received heartbeat for video ID: {} at position {}", id, position);
+        GenericResponse<String> heartbeatResponse = watchProgressService.recordHeartbeat(id, position);
+        return ResponseEntity.status(heartbeatResponse.getStatusCode()).body(heartbeatResponse);
+    }
+
+    /**
+     * Fetches the position to resume a video from.
+     */
+    @GetMapping(VideoURIConstants.WATCH_PROGRESS_ENDPOINT)
+    @Operation(summary = "Fetches the watch progress of a video.", description = "Returns the playback position (in seconds) the user should resume the video from.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<WatchProgressResponse>> getWatchProgress(@PathVariable Long id) {
+        LOGGER.debug("Received request for watch progress of video ID: {}", id);
+        GenericResponse<WatchProgressResponse> watchProgress = watchProgressService.getWatchProgress(id);
+        return ResponseEntity.status(watchProgress.getStatusCode()).body(watchProgress);
     }
 
     /**
@@ -94,7 +204,7 @@ public class VideoEngagementController {
      * @throws VideoNotFoundException If the video is not found.
      */
     @GetMapping(StatsURIConstants.STATS_ENGAGEMENT_ENDPOINT)
-    @Operation(summary = "Fetches engagement statistics for a video.", description = " Fetches engagement statistics for a video i.e. impressions &  views", security = @SecurityRequirement(name = "Bearer Authentication"))
+    @Operation(summary = "Fetches engagement statistics for a video.", description = " Fetches engagement statistics for a video i.e. impressions, views & watch time", security = @SecurityRequirement(name = "Bearer Authentication"))
     public ResponseEntity<GenericResponse<EngagementResponse>> getEngagementStats(@PathVariable Long id)
             throws VideoNotFoundException {
         LOGGER.info("Received request for engagement stats of video ID: {}", id);
@@ -1,11 +1,11 @@
 package com.app.practice.controller;
 
 import com.app.practice.constants.VideoURIConstants;
-import com.app.practice.dto.VideoDTO;
 import com.app.practice.exception.VideoAlreadyPresentException;
 import com.app.practice.exception.VideoNotFoundException;
 import com.app.practice.model.request.VideoRequest;
 import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.VideoPageResponse;
 import com.app.practice.model.response.VideoResponse;
 import com.app.practice.service.VideoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,7 +16,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * Author: Ruchir Bisht
@@ -84,19 +83,18 @@ public class VideoManagementController {
     }
 
     /**
-     * Lists all videos with pagination.
+     * Lists all videos with cursor pagination.
      *
-     * @param page The page number (default is 0).
-     * @param size The page size (default is 10).
-     * @return ResponseEntity containing a list of videos.
+     * @param cursor The cursor returned with the previous page (omit for the first page).
+     * @param size   The page size (default is 10).
+     * @return ResponseEntity containing a page of videos and the cursor of the next page.
      */
     @GetMapping(VideoURIConstants.LIST_VIDEOS_ENDPOINT)
-    @Operation(summary = "List all videos", description = "Lists all videos with pagination.", security = @SecurityRequirement(name = "Bearer Authentication"))
-    public ResponseEntity<GenericResponse<List<VideoDTO>>> listAllVideos(@RequestParam(defaultValue = "0") int page,
-                                                                         @RequestParam(defaultValue = "10") int size) {
+    @Operation(summary = "List all videos", description = "Lists all videos, one page at a time. Pass the returned nextCursor to fetch the next page.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    public ResponseEntity<GenericResponse<VideoPageResponse>> listAllVideos(@RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "10") int size) {
         LOGGER.info("Received request to list all videos");
-        GenericResponse<List<VideoDTO>> videos = videoService.listAllVideos(page, size);
-        LOGGER.info("Returning {} videos.", videos.getData().size());
-        return ResponseEntity.ok(videos);
+        GenericResponse<VideoPageResponse> videos = videoService.listAllVideos(cursor, size);
+        return ResponseEntity.status(videos.getStatusCode()).body(videos);
     }
 }
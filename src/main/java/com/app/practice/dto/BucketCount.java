@@ -0,0 +1,20 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Author: Ruchir Bisht
+ * BucketCount is a projection of one count per time bucket (bucket start in UTC).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BucketCount {
+    private LocalDateTime bucketStart;
+    private long count;
+
+}
@@ -0,0 +1,31 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * CacheStatistics is a point-in-time snapshot of a cache's counters: hits and misses, entries evicted
+ * to make room and candidates rejected by the admission policy, together with its current occupancy.
+ * Caches bounded by their number of entries only report no byte sizes.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatistics {
+    private String name;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+    private long entries;
+    private long maxEntries;
+    private long usedBytes;
+    private long capacityBytes;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,27 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * CatalogEntry is the catalog entry of a listed video as read for the catalog cache: the fields of its VideoDTO
+ * and the version of the video it was read at, which decides whether a catalog invalidation makes it stale.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogEntry {
+    private Long id;
+    private String title;
+    private String director;
+    private String cast;
+    private String genre;
+    private int runningTime;
+    private long version;
+
+    public VideoDTO toVideoDTO() {
+        return new VideoDTO(id, title, director, cast, genre, runningTime);
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * CatalogInvalidation announces that a video was edited or delisted: catalog entries of the video read at an
+ * older version are stale. Invalidations are idempotent and may be delivered out of order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogInvalidation {
+    private Long videoId;
+    private long version;
+
+}
@@ -0,0 +1,29 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * ConsumerStatistics is a point-in-time snapshot of a Kafka consumer pipeline: records consumed, the size of
+ * the last and largest poll batch, completed and failed writes (window writes or state snapshots), skipped events
+ * (malformed records, and deltas that can never be written), restarts after unexpected failures, the number of
+ * videos covered and the lag behind the end of its partitions.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConsumerStatistics {
+    private String name;
+    private long recordsConsumed;
+    private int lastBatchSize;
+    private int maxBatchSize;
+    private long writesCompleted;
+    private long failedWrites;
+    private long skipped;
+    private long restarts;
+    private int videos;
+    private long currentLag;
+
+}
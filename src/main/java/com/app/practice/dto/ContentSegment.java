@@ -0,0 +1,27 @@
+package com.app.practice.dto;
+
+import com.app.practice.entity.VideoSegment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * ContentSegment describes one fixed-size segment of a video's stored content: its position in the
+ * segment sequence, the byte extent it covers and the SHA-256 checksum (hex encoded) of its bytes.
+ * Every segment except the last one has exactly the segment size of the video.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContentSegment {
+    private int index;
+    private long offset;
+    private int size;
+    private String checksum;
+
+    public static ContentSegment segmentMapper(VideoSegment segment) {
+        return new ContentSegment(segment.getSegmentIndex(), segment.getByteOffset(),
+                segment.getSegmentSize(), segment.getChecksum());
+    }
+}
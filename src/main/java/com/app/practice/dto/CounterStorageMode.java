@@ -0,0 +1,17 @@
+package com.app.practice.dto;
+
+/**
+ * Storage of the view and impression counters of a video.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public enum CounterStorageMode {
+    /**
+     * All increments of a video are applied to its single engagement statistics row.
+     */
+    ROW,
+    /**
+     * Increments are spread over several counter shard rows per video; reads add up the shards.
+     */
+    SHARDED
+}
@@ -0,0 +1,19 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * EngagementCounts holds the total views and impressions of a video as materialized from the engagement events.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EngagementCounts {
+    private Long videoId;
+    private long views;
+    private long impressions;
+
+}
@@ -0,0 +1,20 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * EngagementDelta holds the views and impressions recorded for a video since its counters were last
+ * written to the database. Deltas are added to the stored counters, never assigned.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EngagementDelta {
+    private Long videoId;
+    private long views;
+    private long impressions;
+
+}
@@ -0,0 +1,10 @@
+package com.app.practice.dto;
+
+/**
+ * Author: Ruchir Bisht
+ * Kinds of engagement events published on the video play topic.
+ */
+public enum EngagementEventType {
+    VIEW,
+    IMPRESSION
+}
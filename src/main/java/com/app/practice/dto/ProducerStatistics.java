@@ -0,0 +1,29 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * ProducerStatistics is a point-in-time snapshot of a Kafka publishing pipeline: events accepted and dropped
+ * because the queue was full, records sent and failed, the events still queued and the broker acknowledgement
+ * latency of the sent records.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProducerStatistics {
+    private String name;
+    private long eventsQueued;
+    private long eventsDropped;
+    private long recordsSent;
+    private long failedSends;
+    private long queueDepth;
+    private long totalSendLatencyMillis;
+    private long maxSendLatencyMillis;
+
+    public double getAverageSendLatencyMillis() {
+        return recordsSent == 0 ? 0.0 : (double) totalSendLatencyMillis / recordsSent;
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * RankedVideo is a video matching a search, with its relevance score. Results are ordered by descending score,
+ * then by ascending video ID, so the score and ID of the last result of a page tell where the next page starts.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RankedVideo {
+    private long videoId;
+    private double score;
+
+}
@@ -0,0 +1,23 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Author: Ruchir Bisht
+ * RollupDelta holds the views and impressions to add to one rollup bucket of a video.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RollupDelta {
+    private Long videoId;
+    private RollupGranularity granularity;
+    private Instant bucketStart;
+    private long views;
+    private long impressions;
+
+}
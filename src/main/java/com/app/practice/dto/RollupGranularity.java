@@ -0,0 +1,35 @@
+package com.app.practice.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularity of the persisted engagement rollups. Buckets are aligned to UTC.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public enum RollupGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the start of the bucket containing the given instant.
+     *
+     * @param instant the instant
+     * @return the bucket start
+     */
+    public Instant bucketStart(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    public Duration getDuration() {
+        return unit.getDuration();
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * SearchDocument holds the searchable text of a listed video, as read for the search index, and the version
+ * of the video it was read at.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchDocument {
+    private Long videoId;
+    private long version;
+    private String title;
+    private String director;
+    private String cast;
+    private String genre;
+    private String synopsis;
+
+    public String field(SearchField field) {
+        return switch (field) {
+            case TITLE -> title;
+            case DIRECTOR -> director;
+            case CAST -> cast;
+            case GENRE -> genre;
+            case SYNOPSIS -> synopsis;
+        };
+    }
+}
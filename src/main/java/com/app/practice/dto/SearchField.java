@@ -0,0 +1,25 @@
+package com.app.practice.dto;
+
+/**
+ * Fields of a video indexed for search, with the weight of a match in each field: a term found in the title
+ * counts more than the same term found in the synopsis.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public enum SearchField {
+    TITLE(5),
+    DIRECTOR(4),
+    CAST(3),
+    GENRE(2),
+    SYNOPSIS(1);
+
+    private final int weight;
+
+    SearchField(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
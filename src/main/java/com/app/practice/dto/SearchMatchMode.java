@@ -0,0 +1,12 @@
+package com.app.practice.dto;
+
+/**
+ * How the terms of a search phrase match the terms of the videos: exactly, or also through a few typos in
+ * titles, directors and cast members.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public enum SearchMatchMode {
+    EXACT,
+    FUZZY
+}
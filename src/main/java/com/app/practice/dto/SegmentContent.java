@@ -0,0 +1,36 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Author: Ruchir Bisht
+ * SegmentContent carries the bytes of a single content segment to be written to the client, together
+ * with the segment checksum used as its ETag. The buffer is read-only and positioned at the first byte.
+ * The bytes may be backed by the off-heap segment cache, so the content must be closed once written.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SegmentContent implements AutoCloseable {
+    private Long videoId;
+    private int segmentIndex;
+    private String checksum;
+    private ByteBuffer data;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Runnable releaser;
+
+    @Override
+    public void close() {
+        if (releaser != null) {
+            releaser.run();
+            releaser = null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Author: Ruchir Bisht
+ * SegmentedContent is the result of publishing a payload: the stored content descriptor together with
+ * the segment size used and the per-segment checksums computed while the payload was written.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SegmentedContent {
+    private StoredContent storedContent;
+    private int segmentSize;
+    private List<ContentSegment> segments;
+
+}
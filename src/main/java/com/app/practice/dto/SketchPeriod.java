@@ -0,0 +1,24 @@
+package com.app.practice.dto;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Period covered by a persisted unique-viewer sketch: all time, or one UTC day.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public enum SketchPeriod {
+    TOTAL,
+    DAY;
+
+    /**
+     * Returns the start of the period containing the given instant; the epoch for {@link #TOTAL}.
+     *
+     * @param instant the instant
+     * @return the period start
+     */
+    public Instant bucketStart(Instant instant) {
+        return this == TOTAL ? Instant.EPOCH : instant.truncatedTo(ChronoUnit.DAYS);
+    }
+}
@@ -0,0 +1,21 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * StoredContent is returned by a ContentStore once a payload has been written.
+ * It carries the opaque key under which the bytes can be read back, together with
+ * the payload size and its SHA-256 checksum (hex encoded).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoredContent {
+    private String contentKey;
+    private long size;
+    private String checksum;
+
+}
@@ -0,0 +1,12 @@
+package com.app.practice.dto;
+
+/**
+ * Kinds of names suggested while typing a search phrase.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public enum SuggestionType {
+    TITLE,
+    DIRECTOR,
+    CAST
+}
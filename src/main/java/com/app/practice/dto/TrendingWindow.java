@@ -0,0 +1,35 @@
+package com.app.practice.dto;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows over which trending videos are ranked. Each window is divided into slots; plays expire one
+ * slot at a time, so a window covers between its length minus one slot and its length.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public enum TrendingWindow {
+    FIVE_MINUTES(Duration.ofMinutes(5), 30),
+    ONE_HOUR(Duration.ofHours(1), 30),
+    ONE_DAY(Duration.ofDays(1), 24);
+
+    private final Duration length;
+    private final int slotCount;
+
+    TrendingWindow(Duration length, int slotCount) {
+        this.length = length;
+        this.slotCount = slotCount;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public long getSlotMillis() {
+        return length.toMillis() / slotCount;
+    }
+}
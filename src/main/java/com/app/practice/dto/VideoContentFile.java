@@ -0,0 +1,26 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+
+/**
+ * Author: Ruchir Bisht
+ * VideoContentFile describes a video's stored content that can be served byte-by-byte (HTTP Range requests)
+ * without loading the payload into the heap. The path is set when the ContentStore is file backed, allowing
+ * zero-copy transfer. It carries the validators (ETag / Last-Modified) needed to evaluate If-Range requests.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoContentFile {
+    private Long videoId;
+    private String contentKey;
+    private Path path;
+    private long length;
+    private long lastModified;
+    private String eTag;
+
+}
@@ -0,0 +1,18 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * VideoCount is a count per video, such as the estimated number of distinct viewers, read for many videos at once.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoCount {
+    private Long videoId;
+    private long count;
+
+}
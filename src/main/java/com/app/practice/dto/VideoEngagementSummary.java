@@ -0,0 +1,24 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * VideoEngagementSummary holds the descriptive fields of a video together with its stored view and impression
+ * counters, read for many videos at once with a single projection query. The counters are null for a video
+ * without a statistics row.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoEngagementSummary {
+    private Long videoId;
+    private String title;
+    private String synopsis;
+    private String director;
+    private Long views;
+    private Long impressions;
+
+}
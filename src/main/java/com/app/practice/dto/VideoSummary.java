@@ -0,0 +1,23 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Author: Ruchir Bisht
+ * VideoSummary holds the descriptive fields of a video shown next to its engagement statistics.
+ * It is read with a single projection query instead of loading the Video and VideoMetaData entities, together
+ * with the version of the video it was read at.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoSummary {
+    private Long videoId;
+    private String title;
+    private String synopsis;
+    private String director;
+    private long version;
+
+}
@@ -0,0 +1,24 @@
+package com.app.practice.dto;
+
+import com.app.practice.utils.HyperLogLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Author: Ruchir Bisht
+ * ViewerSketchDelta holds the viewers recorded for a video within one sketch period since the last flush.
+ * It is merged into the stored sketch of that period, never assigned.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ViewerSketchDelta {
+    private Long videoId;
+    private SketchPeriod period;
+    private Instant bucketStart;
+    private HyperLogLog sketch;
+
+}
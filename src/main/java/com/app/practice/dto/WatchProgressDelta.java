@@ -0,0 +1,24 @@
+package com.app.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Author: Ruchir Bisht
+ * WatchProgressDelta holds the latest playback position of a user in a video and the watch time accumulated
+ * since the last flush. The position replaces the stored one, the watch time is added to it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WatchProgressDelta {
+    private String username;
+    private Long videoId;
+    private long positionSeconds;
+    private long watchTimeSeconds;
+    private Instant updatedAt;
+
+}
@@ -0,0 +1,40 @@
+package com.app.practice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity class representing the 'engagement_counter_shards' table in the database.
+ * Each row holds a part of the views and impressions of one video. In sharded counter storage, every flush
+ * increments one shard of the video chosen at random, so concurrent writers of a popular video rarely lock the
+ * same row. The counters of a video are the sum of its shards and its EngagementStatistics row.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Entity
+@Table(name = "engagement_counter_shards", uniqueConstraints =
+        @UniqueConstraint(name = "uk_engagement_counter_shard", columnNames = {"video_id", "shard"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EngagementCounterShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Column(name = "shard", nullable = false)
+    private int shard;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(nullable = false)
+    private long impressions;
+
+}
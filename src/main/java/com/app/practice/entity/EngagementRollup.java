@@ -0,0 +1,47 @@
+package com.app.practice.entity;
+
+import com.app.practice.dto.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the 'engagement_rollups' table in the database.
+ * Each row holds the views and impressions of one video within one hourly or daily bucket, so time series
+ * over long ranges are read from a few pre-aggregated rows instead of individual events.
+ * Bucket starts are stored in UTC.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Entity
+@Table(name = "engagement_rollups", uniqueConstraints =
+        @UniqueConstraint(name = "uk_engagement_rollup_bucket", columnNames = {"video_id", "granularity", "bucket_start"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EngagementRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(nullable = false)
+    private long impressions;
+
+}
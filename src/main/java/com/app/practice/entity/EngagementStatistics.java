@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 /**
  * Author: Ruchir Bisht
  * Entity class representing the 'engagement_statistics' table in the database.
- * This entity tracks video engagement metrics such as impressions and views.
+ * This entity tracks video engagement metrics such as impressions, views and the total watch time in seconds.
  * It is associated with a single Video entity using a one-to-one relationship.* <p>
  */
 @Entity
@@ -29,6 +29,9 @@ public class EngagementStatistics {
     private Long impressions = 0L;
     private Long views = 0L;
 
+    @Column(name = "watch_time_seconds")
+    private Long watchTimeSeconds = 0L;
+
     @OneToOne
     @JoinColumn(name = "video_id", referencedColumnName = "videoId", nullable = false, unique = true)
     private Video video;
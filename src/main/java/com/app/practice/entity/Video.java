@@ -7,8 +7,11 @@ import lombok.NoArgsConstructor;
 
 /**
  * Entity class representing a video in the system.
- * It contains information such as the video's title, content, delisting status,
- * and related metadata and engagement statistics.
+ * It contains information such as the video's title, a reference to its content in the ContentStore,
+ * delisting status, and related metadata and engagement statistics.
+ * The content bytes themselves are not stored in this table, which keeps rows small and metadata reads
+ * independent of the video size. The content is addressed in fixed-size segments described by VideoSegment.
+ * The version is incremented by every edit and delisting, and orders the catalog invalidations of the video.
  * <p>
  * Author: Ruchir Bisht
  */
@@ -26,12 +29,23 @@ public class Video {
     @Column(nullable = false, unique = true)
     private String title;
 
-    @Lob
-    @Column(columnDefinition = "TEXT")
-    private String content;
+    @Column(length = 64)
+    private String contentKey;
+
+    private Long contentSize;
+
+    @Column(length = 64)
+    private String contentChecksum;
+
+    private Integer segmentSize;
+
+    private Integer segmentCount;
 
     private boolean isDelisted = false;
 
+    @Version
+    private long version;
+
     @OneToOne(mappedBy = "video", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private VideoMetaData metaData;
 
@@ -0,0 +1,47 @@
+package com.app.practice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Entity class representing one fixed-size segment of a video's stored content.
+ * Segments are byte extents of the single payload held by the ContentStore; each row records the
+ * extent and the SHA-256 checksum of its bytes so segments can be served and verified independently.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Entity
+@Table(name = "video_segments", uniqueConstraints =
+        @UniqueConstraint(name = "uk_video_segment_index", columnNames = {"video_id", "segment_index"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "video_id", referencedColumnName = "videoId", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Video video;
+
+    @Column(name = "segment_index", nullable = false)
+    private int segmentIndex;
+
+    @Column(nullable = false)
+    private long byteOffset;
+
+    @Column(nullable = false)
+    private int segmentSize;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+}
@@ -0,0 +1,50 @@
+package com.app.practice.entity;
+
+import com.app.practice.dto.SketchPeriod;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the 'viewer_sketches' table in the database.
+ * Each row holds the serialized HyperLogLog sketch of the distinct viewers of one video, either over all time
+ * (bucket start at the epoch) or within one UTC day, next to its cached estimate, so reads never decode the sketch.
+ * It complements EngagementStatistics, which only counts views.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Entity
+@Table(name = "viewer_sketches", uniqueConstraints =
+        @UniqueConstraint(name = "uk_viewer_sketch_bucket", columnNames = {"video_id", "period", "bucket_start"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ViewerSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false, length = 8)
+    private SketchPeriod period;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Lob
+    @Column(name = "sketch", nullable = false, length = 65535)
+    @ToString.Exclude
+    private byte[] sketch;
+
+    @Column(name = "unique_viewers", nullable = false)
+    private long uniqueViewers;
+
+}
@@ -0,0 +1,45 @@
+package com.app.practice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the 'watch_progress' table in the database.
+ * Each row holds the last reported playback position of one user in one video, used to resume playback,
+ * and the time the user has spent watching it. Rows are written in batches by the WatchProgressTracker,
+ * never per heartbeat.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Entity
+@Table(name = "watch_progress", uniqueConstraints =
+        @UniqueConstraint(name = "uk_watch_progress_user_video", columnNames = {"username", "video_id"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WatchProgress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "username", nullable = false, length = 100)
+    private String username;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Column(name = "position_seconds", nullable = false)
+    private long positionSeconds;
+
+    @Column(name = "watch_time_seconds", nullable = false)
+    private long watchTimeSeconds;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
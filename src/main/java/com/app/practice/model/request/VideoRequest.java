@@ -30,6 +30,7 @@ public class VideoRequest {
     
     /**
      * Converts a VideoRequest object to a Video entity.
+     * The content is not part of the entity; it is written to the ContentStore separately.
      *
      * @param videoRequest the VideoRequest object.
      * @return a Video entity.
@@ -37,7 +38,6 @@ public class VideoRequest {
     public static Video toVideo(VideoRequest videoRequest) {
         Video video = new Video();
         video.setTitle(videoRequest.getTitle());
-        video.setContent(videoRequest.getContent());
 
         return video;
     }
@@ -0,0 +1,27 @@
+package com.app.practice.model.response;
+
+import com.app.practice.dto.ContentSegment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Author: Ruchir Bisht
+ * ContentManifest lists the segments a video's content is split into. Clients fetch the manifest once,
+ * then request the segments individually (in parallel, and retrying only the failed ones), verifying
+ * each segment against its checksum.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContentManifest {
+    private Long videoId;
+    private long contentSize;
+    private String contentChecksum;
+    private int segmentSize;
+    private int segmentCount;
+    private List<ContentSegment> segments;
+
+}
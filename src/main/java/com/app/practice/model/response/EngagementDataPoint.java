@@ -0,0 +1,25 @@
+package com.app.practice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response model for one bucket of an engagement time series.
+ * The estimated number of distinct viewers is only available for daily buckets.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EngagementDataPoint {
+
+    private Instant bucketStart;
+    private long views;
+    private long impressions;
+    private Long uniqueViewers;
+
+}
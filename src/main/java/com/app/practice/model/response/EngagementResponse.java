@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 /**
  * Response model for video engagement details.
  * This class is used to structure the response containing video engagement information,
- * such as title, synopsis, director, impressions, and views.
+ * such as title, synopsis, director, impressions, views, the estimated number of distinct viewers and the total
+ * watch time in seconds.
  * <p>
  * Author: Ruchir Bisht
  */
@@ -21,5 +22,7 @@ public class EngagementResponse {
     private String director;
     private Long impressions = 0L;
     private Long views = 0L;
+    private Long uniqueViewers = 0L;
+    private Long watchTimeSeconds = 0L;
 
 }
@@ -0,0 +1,29 @@
+package com.app.practice.model.response;
+
+import com.app.practice.dto.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response model for the engagement history of a video.
+ * Contains one data point per bucket between {@code from} (inclusive) and {@code to} (exclusive),
+ * with zero counts for buckets without engagement.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EngagementTimeSeries {
+
+    private Long videoId;
+    private RollupGranularity granularity;
+    private Instant from;
+    private Instant to;
+    private List<EngagementDataPoint> points;
+
+}
@@ -0,0 +1,23 @@
+package com.app.practice.model.response;
+
+import com.app.practice.dto.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response model for a completion of a typed prefix.
+ * Contains the suggested title or name, its kind and its popularity, the total views of its listed videos.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Suggestion {
+
+    private String text;
+    private SuggestionType type;
+    private long popularity;
+
+}
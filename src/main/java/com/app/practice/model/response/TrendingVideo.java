@@ -0,0 +1,21 @@
+package com.app.practice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response model for a trending video.
+ * Contains the video ID and its estimated number of plays within the requested window.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrendingVideo {
+
+    private Long videoId;
+    private long plays;
+
+}
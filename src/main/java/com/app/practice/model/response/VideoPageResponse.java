@@ -0,0 +1,24 @@
+package com.app.practice.model.response;
+
+import com.app.practice.dto.VideoDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response model for one page of a video listing or search.
+ * Contains the videos of the page and the cursor to pass to fetch the next page, which is null on the last page.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoPageResponse {
+
+    private List<VideoDTO> videos;
+    private String nextCursor;
+
+}
@@ -25,7 +25,8 @@ public class VideoResponse {
     private int yearOfRelease;
     private String genre;
     private int runningTime;
-    private String content; // Mock video content as a string
+    private Long contentSize;
+    private String contentChecksum;
     private boolean isDelisted = false;
     private Long impressions = 0L;
     private Long views = 0L;
@@ -48,7 +49,8 @@ public class VideoResponse {
                 videoMetaData.getYearOfRelease(),
                 videoMetaData.getGenre(),
                 videoMetaData.getRunningTime(),
-                video.getContent(),
+                video.getContentSize(),
+                video.getContentChecksum(),
                 video.isDelisted(),
                 engagementStatistics.getImpressions(),
                 engagementStatistics.getViews()
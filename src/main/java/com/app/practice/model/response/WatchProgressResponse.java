@@ -0,0 +1,21 @@
+package com.app.practice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response model for the watch progress of a video.
+ * Contains the video ID and the playback position, in seconds, the requesting user should resume from.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WatchProgressResponse {
+
+    private Long videoId;
+    private long positionSeconds;
+
+}
@@ -0,0 +1,31 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.EngagementCounts;
+import com.app.practice.entity.EngagementCounterShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for accessing EngagementCounterShard data.
+ * Shards are written by EngagementStatisticsBatchOperations; this repository only sums them up.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Repository
+public interface EngagementCounterShardRepository extends JpaRepository<EngagementCounterShard, Long> {
+
+    /**
+     * Sums the counter shards of several videos.
+     *
+     * @param videoIds the IDs of the videos.
+     * @return the summed views and impressions of the videos that have shards.
+     */
+    @Query("SELECT new com.app.practice.dto.EngagementCounts(s.videoId, SUM(s.views), SUM(s.impressions)) "
+            + "FROM EngagementCounterShard s WHERE s.videoId IN :videoIds GROUP BY s.videoId")
+    List<EngagementCounts> sumByVideoIds(@Param("videoIds") Collection<Long> videoIds);
+}
@@ -0,0 +1,32 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.RollupDelta;
+import com.app.practice.dto.RollupGranularity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Batch write operations for the engagement rollups, mixed into EngagementRollupRepository.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface EngagementRollupBatchOperations {
+
+    /**
+     * Adds the given deltas to their rollup buckets in a single batch, creating buckets that do not exist yet.
+     *
+     * @param deltas the rollup deltas, at most one per video and bucket.
+     * @return the number of deltas written.
+     */
+    int incrementRollups(List<RollupDelta> deltas);
+
+    /**
+     * Deletes the rollups of the given granularity whose bucket starts before the given instant.
+     *
+     * @param granularity the granularity to purge.
+     * @param before      the exclusive upper bound of the purged bucket starts.
+     * @return the number of rows deleted.
+     */
+    int deleteRollupsBefore(RollupGranularity granularity, Instant before);
+}
@@ -0,0 +1,60 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.RollupDelta;
+import com.app.practice.dto.RollupGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC implementation of EngagementRollupBatchOperations.
+ * <p>
+ * Buckets are upserted with {@code INSERT ... AS new ON DUPLICATE KEY UPDATE views = views + new.views} against the
+ * unique (video, granularity, bucket start) key, so writers on several nodes add to the same bucket without reading
+ * it. The row alias replaces the {@code VALUES(col)} function deprecated since MySQL 8.0.20.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@RequiredArgsConstructor
+public class EngagementRollupBatchOperationsImpl implements EngagementRollupBatchOperations {
+
+    private static final String INCREMENT_ROLLUPS_SQL =
+            "INSERT INTO engagement_rollups (video_id, granularity, bucket_start, views, impressions) VALUES (?, ?, ?, ?, ?) AS new "
+                    + "ON DUPLICATE KEY UPDATE views = views + new.views, impressions = impressions + new.impressions";
+    private static final String DELETE_ROLLUPS_SQL =
+            "DELETE FROM engagement_rollups WHERE granularity = ? AND bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public int incrementRollups(List<RollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INCREMENT_ROLLUPS_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getVideoId());
+            ps.setString(2, delta.getGranularity().name());
+            ps.setObject(3, toUtc(delta.getBucketStart()));
+            ps.setLong(4, delta.getViews());
+            ps.setLong(5, delta.getImpressions());
+        });
+        return deltas.size();
+    }
+
+    @Override
+    @Transactional
+    public int deleteRollupsBefore(RollupGranularity granularity, Instant before) {
+        return jdbcTemplate.update(DELETE_ROLLUPS_SQL, granularity.name(), toUtc(before));
+    }
+
+    private static LocalDateTime toUtc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,40 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.RollupGranularity;
+import com.app.practice.entity.EngagementRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for accessing EngagementRollup data.
+ * It extends JpaRepository to provide CRUD operations for the EngagementRollup entity,
+ * and EngagementRollupBatchOperations for the batched bucket upserts.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Repository
+public interface EngagementRollupRepository extends JpaRepository<EngagementRollup, Long>,
+        EngagementRollupBatchOperations {
+
+    /**
+     * Fetches the rollups of a video at one granularity whose bucket starts within [from, to), ordered by bucket.
+     * Served by the unique (video, granularity, bucket start) index.
+     *
+     * @param videoId     the ID of the video.
+     * @param granularity the rollup granularity.
+     * @param from        the inclusive lower bound of the bucket starts (UTC).
+     * @param to          the exclusive upper bound of the bucket starts (UTC).
+     * @return the rollups in bucket order.
+     */
+    @Query("SELECT r FROM EngagementRollup r WHERE r.videoId = :videoId AND r.granularity = :granularity "
+            + "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<EngagementRollup> findRollups(@Param("videoId") Long videoId,
+                                       @Param("granularity") RollupGranularity granularity,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+}
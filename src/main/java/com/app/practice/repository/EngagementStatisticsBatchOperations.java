@@ -0,0 +1,23 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.EngagementDelta;
+
+import java.util.List;
+
+/**
+ * Batch write operations for the engagement counters, mixed into EngagementStatisticsRepository.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface EngagementStatisticsBatchOperations {
+
+    /**
+     * Adds the given deltas to the stored view and impression counters in a single batch, creating the
+     * statistics row of a video that does not have one yet. With sharded counter storage, each delta is added
+     * to one counter shard of its video instead.
+     *
+     * @param deltas the counter deltas, at most one per video.
+     * @return the number of statistics rows or counter shards updated or created.
+     */
+    int incrementCounters(List<EngagementDelta> deltas);
+}
@@ -0,0 +1,162 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.CounterStorageMode;
+import com.app.practice.dto.EngagementDelta;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * JDBC implementation of EngagementStatisticsBatchOperations.
+ * <p>
+ * Counters are incremented in place ({@code views = views + ?}) so concurrent writers never overwrite each
+ * other, and all deltas of a flush are sent as one JDBC batch inside one transaction. Rows missing after the update
+ * batch are inserted from the video row ({@code INSERT ... SELECT ... FROM videos_content}), so deltas of unknown
+ * videos insert nothing and are dropped instead of failing the whole batch.
+ * <p>
+ * In {@link CounterStorageMode#SHARDED} storage, each delta is applied to one of several counter shard rows of
+ * its video, chosen at random, instead of the single statistics row, so flushes of different nodes and the
+ * event consumer rarely wait for the same row lock. Videos get the default number of shards; a video whose
+ * delta reaches the hot threshold is spread over the hot number of shards until it has not been hot for the
+ * hot TTL. Rows are updated in (video, shard) order to avoid deadlocks between concurrent flushes.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public class EngagementStatisticsBatchOperationsImpl implements EngagementStatisticsBatchOperations {
+
+    private static final String INCREMENT_COUNTERS_SQL =
+            "UPDATE engagement_statistics SET views = views + ?, impressions = impressions + ? WHERE video_id = ?";
+    private static final String INSERT_COUNTERS_SQL =
+            "INSERT INTO engagement_statistics (video_id, views, impressions) "
+                    + "SELECT video_id, ?, ? FROM videos_content WHERE video_id = ?";
+    private static final String INCREMENT_SHARD_SQL =
+            "UPDATE engagement_counter_shards SET views = views + ?, impressions = impressions + ? "
+                    + "WHERE video_id = ? AND shard = ?";
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO engagement_counter_shards (video_id, shard, views, impressions) "
+                    + "SELECT video_id, ?, ?, ? FROM videos_content WHERE video_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CounterStorageMode storageMode;
+    private final int defaultShards;
+    private final int hotShards;
+    private final long hotThreshold;
+    private final long hotTtlMillis;
+
+    private final ConcurrentHashMap<Long, Long> hotUntil = new ConcurrentHashMap<>();
+
+    public EngagementStatisticsBatchOperationsImpl(JdbcTemplate jdbcTemplate,
+                                                   @Value("${engagement.counters.storage:ROW}") CounterStorageMode storageMode,
+                                                   @Value("${engagement.counters.shards.default:1}") int defaultShards,
+                                                   @Value("${engagement.counters.shards.hot:16}") int hotShards,
+                                                   @Value("${engagement.counters.shards.hot-threshold:1000}") long hotThreshold,
+                                                   @Value("${engagement.counters.shards.hot-ttl-ms:600000}") long hotTtlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.storageMode = storageMode;
+        this.defaultShards = Math.max(1, defaultShards);
+        this.hotShards = Math.max(this.defaultShards, hotShards);
+        this.hotThreshold = hotThreshold;
+        this.hotTtlMillis = hotTtlMillis;
+    }
+
+    @Override
+    @Transactional
+    public int incrementCounters(List<EngagementDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        if (storageMode == CounterStorageMode.SHARDED) {
+            return incrementShards(deltas);
+        }
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(INCREMENT_COUNTERS_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getViews());
+            ps.setLong(2, delta.getImpressions());
+            ps.setLong(3, delta.getVideoId());
+        });
+
+        List<EngagementDelta> missing = missing(deltas, updateCounts);
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COUNTERS_SQL, missing, missing.size(), (ps, delta) -> {
+                ps.setLong(1, delta.getViews());
+                ps.setLong(2, delta.getImpressions());
+                ps.setLong(3, delta.getVideoId());
+            });
+        }
+
+        return deltas.size();
+    }
+
+    private int incrementShards(List<EngagementDelta> deltas) {
+        long nowMillis = System.currentTimeMillis();
+        List<ShardDelta> shardDeltas = deltas.stream()
+                .map(delta -> new ShardDelta(delta, ThreadLocalRandom.current().nextInt(shardCount(delta, nowMillis))))
+                .sorted(Comparator.comparing((ShardDelta shardDelta) -> shardDelta.delta().getVideoId())
+                        .thenComparingInt(ShardDelta::shard))
+                .toList();
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(INCREMENT_SHARD_SQL, shardDeltas, shardDeltas.size(), (ps, shardDelta) -> {
+            ps.setLong(1, shardDelta.delta().getViews());
+            ps.setLong(2, shardDelta.delta().getImpressions());
+            ps.setLong(3, shardDelta.delta().getVideoId());
+            ps.setInt(4, shardDelta.shard());
+        });
+
+        List<ShardDelta> missing = missing(shardDeltas, updateCounts);
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, missing, missing.size(), (ps, shardDelta) -> {
+                ps.setInt(1, shardDelta.shard());
+                ps.setLong(2, shardDelta.delta().getViews());
+                ps.setLong(3, shardDelta.delta().getImpressions());
+                ps.setLong(4, shardDelta.delta().getVideoId());
+            });
+        }
+
+        return shardDeltas.size();
+    }
+
+    /**
+     * Returns the number of shards the delta of a video is spread over, marking the video hot if the delta
+     * reaches the threshold.
+     */
+    private int shardCount(EngagementDelta delta, long nowMillis) {
+        Long videoId = delta.getVideoId();
+        if (delta.getViews() + delta.getImpressions() >= hotThreshold) {
+            hotUntil.put(videoId, nowMillis + hotTtlMillis);
+            return hotShards;
+        }
+
+        Long until = hotUntil.get(videoId);
+        if (until == null) {
+            return defaultShards;
+        }
+        if (until <= nowMillis) {
+            hotUntil.remove(videoId, until);
+            return defaultShards;
+        }
+        return hotShards;
+    }
+
+    private static <T> List<T> missing(List<T> rows, int[][] updateCounts) {
+        List<T> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(rows.get(index));
+                }
+                index++;
+            }
+        }
+        return missing;
+    }
+
+    private record ShardDelta(EngagementDelta delta, int shard) {
+    }
+}
@@ -1,19 +1,27 @@
 package com.app.practice.repository;
 
+import com.app.practice.dto.VideoCount;
 import com.app.practice.entity.EngagementStatistics;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for accessing EngagementStatistics data.
- * It extends JpaRepository to provide CRUD operations and custom queries for the EngagementStatistics entity.
+ * It extends JpaRepository to provide CRUD operations and custom queries for the EngagementStatistics entity,
+ * and EngagementStatisticsBatchOperations for the batched counter increments.
  * <p>
  * Author: Ruchir Bisht
  */
 @Repository
-public interface EngagementStatisticsRepository extends JpaRepository<EngagementStatistics, Long> {
+public interface EngagementStatisticsRepository extends JpaRepository<EngagementStatistics, Long>,
+        EngagementStatisticsBatchOperations {
 
     /**
      * Fetches the engagement statistics for a specific video by its video ID.
@@ -23,4 +31,35 @@ public interface EngagementStatisticsRepository extends JpaRepository<Engagement
      */
     @Query("SELECT e FROM EngagementStatistics e WHERE e.video.videoId = :videoId")
     EngagementStatistics findByVideoId(@Param("videoId") Long videoId);
+
+    /**
+     * Fetches the stored total watch time of a video.
+     *
+     * @param videoId the ID of the video.
+     * @return the watch time in seconds, or empty if none has been stored.
+     */
+    @Query("SELECT e.watchTimeSeconds FROM EngagementStatistics e WHERE e.video.videoId = :videoId")
+    Optional<Long> findWatchTimeSeconds(@Param("videoId") Long videoId);
+
+    /**
+     * Fetches the stored total watch time of several videos.
+     *
+     * @param videoIds the IDs of the videos.
+     * @return the watch time in seconds of the videos with a statistics row.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoCount(e.video.videoId, COALESCE(e.watchTimeSeconds, 0L)) "
+            + "FROM EngagementStatistics e WHERE e.video.videoId IN :videoIds")
+    List<VideoCount> findWatchTimeSecondsByVideoIds(@Param("videoIds") Collection<Long> videoIds);
+
+    /**
+     * Fetches the stored views of a batch of videos, ordered by video ID and starting after the given ID (keyset
+     * pagination); only the page size of the Pageable is used. Views held in counter shards are not included.
+     *
+     * @param afterVideoId the ID of the last video of the previous batch, 0 for the first batch.
+     * @param pageable     the Pageable object limiting the number of results.
+     * @return the views of the videos of the batch.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoCount(e.video.videoId, COALESCE(e.views, 0L)) "
+            + "FROM EngagementStatistics e WHERE e.video.videoId > :afterVideoId ORDER BY e.video.videoId")
+    List<VideoCount> findViews(@Param("afterVideoId") Long afterVideoId, Pageable pageable);
 }
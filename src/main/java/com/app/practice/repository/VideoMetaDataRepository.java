@@ -1,9 +1,9 @@
 package com.app.practice.repository;
 
+import com.app.practice.dto.VideoDTO;
 import com.app.practice.entity.VideoMetaData;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,13 +12,13 @@ import java.util.List;
 
 /**
  * Repository interface for performing CRUD operations on the VideoMetaData entity.
- * This interface extends JpaRepository for basic CRUD functionality and JpaSpecificationExecutor
- * to support dynamic queries with Specifications.
+ * This interface extends JpaRepository for basic CRUD functionality and provides the search queries
+ * of the catalog, projected into DTOs.
  * <p>
  * Author: Ruchir Bisht
  */
 @Repository
-public interface VideoMetaDataRepository extends JpaRepository<VideoMetaData, Long>, JpaSpecificationExecutor<VideoMetaData> {
+public interface VideoMetaDataRepository extends JpaRepository<VideoMetaData, Long> {
 
     /**
      * Custom query to find video metadata by director, ignoring case.
@@ -33,6 +33,25 @@ public interface VideoMetaDataRepository extends JpaRepository<VideoMetaData, Lo
     @Query("SELECT v FROM VideoMetaData v WHERE LOWER(v.director) = LOWER(:director)")
     List<VideoMetaData> findByDirectorIgnoreCase(@Param("director") String director, Pageable pageable);
 
+    /**
+     * Fetches a page of videos by director, ignoring case, projected straight into VideoDTO.
+     * <p>
+     * The metadata and its video are read with one joined statement instead of loading each video through
+     * the metadata entity. Videos are ordered by ID and the page starts after the given ID (keyset pagination);
+     * only the page size of the Pageable is used.
+     *
+     * @param director     the name of the director to search for.
+     * @param afterVideoId the ID of the last video of the previous page, 0 for the first page.
+     * @param pageable     the Pageable object limiting the number of results.
+     * @return the videos of the requested page.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoDTO(v.videoId, v.title, m.director, m.cast, m.genre, " +
+            "COALESCE(m.runningTime, 0)) FROM VideoMetaData m JOIN m.video v " +
+            "WHERE LOWER(m.director) = LOWER(:director) AND v.videoId > :afterVideoId ORDER BY v.videoId")
+    List<VideoDTO> findVideosByDirectorIgnoreCase(@Param("director") String director,
+                                                  @Param("afterVideoId") Long afterVideoId,
+                                                  Pageable pageable);
+
     /*
       Scope : Sort By Methods can also implement
      */
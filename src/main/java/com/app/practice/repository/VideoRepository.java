@@ -1,13 +1,24 @@
 package com.app.practice.repository;
 
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.dto.SearchDocument;
+import com.app.practice.dto.VideoDTO;
+import com.app.practice.dto.VideoEngagementSummary;
+import com.app.practice.dto.VideoSummary;
 import com.app.practice.entity.Video;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for performing CRUD operations on the Video entity.
  * This repository provides custom queries to check if a video exists by title
@@ -41,4 +52,114 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
      */
     @Query("SELECT v FROM Video v WHERE v.isDelisted = FALSE")
     Page<Video> findByIsDelistedFalse(Pageable pageable);
+
+    /**
+     * Fetches a page of non-delisted videos for the catalog listing, projected straight into VideoDTO.
+     * <p>
+     * The video and its metadata are read with one joined statement, without loading the entities or their
+     * lazy associations, and without the count query of a Page. Videos are ordered by ID and the page starts
+     * after the given ID (keyset pagination), so the primary key index seeks to the page instead of skipping an
+     * OFFSET of rows; only the page size of the Pageable is used.
+     *
+     * @param afterVideoId the ID of the last video of the previous page, 0 for the first page.
+     * @param pageable     the Pageable object limiting the number of results.
+     * @return the videos of the requested page.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoDTO(v.videoId, v.title, m.director, m.cast, m.genre, " +
+            "COALESCE(m.runningTime, 0)) FROM Video v LEFT JOIN v.metaData m " +
+            "WHERE v.isDelisted = FALSE AND v.videoId > :afterVideoId ORDER BY v.videoId")
+    List<VideoDTO> findListedVideos(@Param("afterVideoId") Long afterVideoId, Pageable pageable);
+
+    /**
+     * Fetches several non-delisted videos, projected straight into VideoDTO with one joined statement.
+     *
+     * @param videoIds the IDs of the videos.
+     * @return the videos that exist and are listed, in no particular order.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoDTO(v.videoId, v.title, m.director, m.cast, m.genre, " +
+            "COALESCE(m.runningTime, 0)) FROM Video v LEFT JOIN v.metaData m " +
+            "WHERE v.videoId IN :videoIds AND v.isDelisted = FALSE")
+    List<VideoDTO> findListedVideosByIds(@Param("videoIds") Collection<Long> videoIds);
+
+    /**
+     * Fetches the searchable text of a batch of non-delisted videos for the search index, ordered by ID and
+     * starting after the given ID (keyset pagination); only the page size of the Pageable is used.
+     *
+     * @param afterVideoId the ID of the last video of the previous batch, 0 for the first batch.
+     * @param pageable     the Pageable object limiting the number of results.
+     * @return the searchable text of the videos of the batch.
+     */
+    @Query("SELECT new com.app.practice.dto.SearchDocument(v.videoId, v.version, v.title, m.director, m.cast, " +
+            "m.genre, m.synopsis) FROM Video v LEFT JOIN v.metaData m " +
+            "WHERE v.isDelisted = FALSE AND v.videoId > :afterVideoId ORDER BY v.videoId")
+    List<SearchDocument> findSearchDocuments(@Param("afterVideoId") Long afterVideoId, Pageable pageable);
+
+    /**
+     * Fetches the searchable text of a non-delisted video for the search index.
+     *
+     * @param videoId the ID of the video.
+     * @return the searchable text, or empty if the video does not exist or is delisted.
+     */
+    @Query("SELECT new com.app.practice.dto.SearchDocument(v.videoId, v.version, v.title, m.director, m.cast, " +
+            "m.genre, m.synopsis) FROM Video v LEFT JOIN v.metaData m " +
+            "WHERE v.videoId = :videoId AND v.isDelisted = FALSE")
+    Optional<SearchDocument> findSearchDocumentById(@Param("videoId") Long videoId);
+
+    /**
+     * Fetches the catalog entry of a non-delisted video and the version it was read at, projected straight
+     * into CatalogEntry with one joined statement.
+     *
+     * @param videoId the ID of the video.
+     * @return the catalog entry, or empty if the video does not exist or is delisted.
+     */
+    @Query("SELECT new com.app.practice.dto.CatalogEntry(v.videoId, v.title, m.director, m.cast, m.genre, " +
+            "COALESCE(m.runningTime, 0), v.version) FROM Video v LEFT JOIN v.metaData m " +
+            "WHERE v.videoId = :videoId AND v.isDelisted = FALSE")
+    Optional<CatalogEntry> findListedVideoById(@Param("videoId") Long videoId);
+
+    /**
+     * Fetches a video to change it, locking its row and incrementing its version right away.
+     * <p>
+     * Concurrent edits and delistings of the same video are serialized by the lock, so the versions of a
+     * video increase in the order its changes are committed, and each change gets a version of its own even
+     * if only the metadata of the video changes.
+     *
+     * @param videoId the ID of the video.
+     * @return the video, or empty if the video does not exist.
+     */
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT v FROM Video v WHERE v.videoId = :videoId")
+    Optional<Video> findForUpdateById(@Param("videoId") Long videoId);
+
+    /**
+     * Fetches the title, synopsis, director and version of a video with a single projection query.
+     *
+     * @param videoId the ID of the video.
+     * @return the video summary, or empty if the video does not exist.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoSummary(v.videoId, v.title, m.synopsis, m.director, v.version) " +
+            "FROM Video v LEFT JOIN v.metaData m WHERE v.videoId = :videoId")
+    Optional<VideoSummary> findSummaryById(@Param("videoId") Long videoId);
+
+    /**
+     * Fetches the title, synopsis, director and version of several videos with a single projection query.
+     *
+     * @param videoIds the IDs of the videos.
+     * @return the summaries of the videos that exist, in no particular order.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoSummary(v.videoId, v.title, m.synopsis, m.director, v.version) " +
+            "FROM Video v LEFT JOIN v.metaData m WHERE v.videoId IN :videoIds")
+    List<VideoSummary> findSummariesByIds(@Param("videoIds") Collection<Long> videoIds);
+
+    /**
+     * Fetches the title, synopsis, director and stored engagement counters of several videos with a single
+     * join query, instead of loading each video with its metadata and statistics.
+     *
+     * @param videoIds the IDs of the videos.
+     * @return the summaries of the videos that exist, in no particular order.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoEngagementSummary(v.videoId, v.title, m.synopsis, m.director, " +
+            "s.views, s.impressions) FROM Video v LEFT JOIN v.metaData m LEFT JOIN v.engagementStatistics s " +
+            "WHERE v.videoId IN :videoIds")
+    List<VideoEngagementSummary> findEngagementSummariesByIds(@Param("videoIds") Collection<Long> videoIds);
 }
@@ -0,0 +1,39 @@
+package com.app.practice.repository;
+
+import com.app.practice.entity.VideoSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing the content segments of a video.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Repository
+public interface VideoSegmentRepository extends JpaRepository<VideoSegment, Long> {
+
+    /**
+     * Fetches all segments of a video in playback order.
+     *
+     * @param videoId the ID of the video whose segments are to be fetched.
+     * @return the segments ordered by their index.
+     */
+    @Query("SELECT s FROM VideoSegment s WHERE s.video.videoId = :videoId ORDER BY s.segmentIndex")
+    List<VideoSegment> findByVideoId(@Param("videoId") Long videoId);
+
+    /**
+     * Fetches a single segment of a video.
+     *
+     * @param videoId      the ID of the video.
+     * @param segmentIndex the zero based index of the segment.
+     * @return the segment, or empty if the video has no segment with this index.
+     */
+    @Query("SELECT s FROM VideoSegment s WHERE s.video.videoId = :videoId AND s.segmentIndex = :segmentIndex")
+    Optional<VideoSegment> findByVideoIdAndSegmentIndex(@Param("videoId") Long videoId,
+                                                        @Param("segmentIndex") int segmentIndex);
+}
@@ -0,0 +1,23 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.ViewerSketchDelta;
+
+import java.util.List;
+
+/**
+ * Merge operations for the unique-viewer sketches, mixed into ViewerSketchRepository.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface ViewerSketchBatchOperations {
+
+    /**
+     * Merges the given sketches into the stored sketches of their video and period, creating the ones that
+     * do not exist yet, and refreshes the stored estimates. Merging is idempotent, so a retried merge never
+     * counts a viewer twice.
+     *
+     * @param deltas the sketches to merge, at most one per video and period.
+     * @return the number of sketches merged.
+     */
+    int mergeSketches(List<ViewerSketchDelta> deltas);
+}
@@ -0,0 +1,62 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.ViewerSketchDelta;
+import com.app.practice.utils.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * JDBC implementation of ViewerSketchBatchOperations.
+ * <p>
+ * Each stored sketch is read with {@code SELECT ... FOR UPDATE}, merged in memory and written back within one
+ * transaction, so nodes merging into the same sketch concurrently never overwrite each other's viewers. Rows
+ * are locked in (video, period, bucket) order to avoid deadlocks between concurrent flushes.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@RequiredArgsConstructor
+public class ViewerSketchBatchOperationsImpl implements ViewerSketchBatchOperations {
+
+    private static final String SELECT_SKETCH_SQL =
+            "SELECT sketch FROM viewer_sketches WHERE video_id = ? AND period = ? AND bucket_start = ? FOR UPDATE";
+    private static final String UPDATE_SKETCH_SQL =
+            "UPDATE viewer_sketches SET sketch = ?, unique_viewers = ? WHERE video_id = ? AND period = ? AND bucket_start = ?";
+    private static final String INSERT_SKETCH_SQL =
+            "INSERT INTO viewer_sketches (video_id, period, bucket_start, sketch, unique_viewers) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public int mergeSketches(List<ViewerSketchDelta> deltas) {
+        List<ViewerSketchDelta> ordered = deltas.stream()
+                .sorted(Comparator.comparing(ViewerSketchDelta::getVideoId)
+                        .thenComparing(ViewerSketchDelta::getPeriod)
+                        .thenComparing(ViewerSketchDelta::getBucketStart))
+                .toList();
+
+        for (ViewerSketchDelta delta : ordered) {
+            LocalDateTime bucketStart = LocalDateTime.ofInstant(delta.getBucketStart(), ZoneOffset.UTC);
+            List<byte[]> stored = jdbcTemplate.query(SELECT_SKETCH_SQL, (rs, rowNum) -> rs.getBytes(1),
+                    delta.getVideoId(), delta.getPeriod().name(), bucketStart);
+
+            if (stored.isEmpty()) {
+                jdbcTemplate.update(INSERT_SKETCH_SQL, delta.getVideoId(), delta.getPeriod().name(), bucketStart,
+                        delta.getSketch().toBytes(), delta.getSketch().estimate());
+                continue;
+            }
+
+            HyperLogLog merged = HyperLogLog.fromBytes(stored.get(0));
+            merged.merge(delta.getSketch());
+            jdbcTemplate.update(UPDATE_SKETCH_SQL, merged.toBytes(), merged.estimate(),
+                    delta.getVideoId(), delta.getPeriod().name(), bucketStart);
+        }
+        return ordered.size();
+    }
+}
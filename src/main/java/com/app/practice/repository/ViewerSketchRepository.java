@@ -0,0 +1,69 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.BucketCount;
+import com.app.practice.dto.SketchPeriod;
+import com.app.practice.dto.VideoCount;
+import com.app.practice.entity.ViewerSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing ViewerSketch data.
+ * It extends JpaRepository to provide CRUD operations for the ViewerSketch entity,
+ * and ViewerSketchBatchOperations for merging sketches. Reads only project the cached estimates.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Repository
+public interface ViewerSketchRepository extends JpaRepository<ViewerSketch, Long>, ViewerSketchBatchOperations {
+
+    /**
+     * Fetches the estimated number of distinct viewers of a video within one sketch period.
+     *
+     * @param videoId     the ID of the video.
+     * @param period      the sketch period.
+     * @param bucketStart the start of the period (UTC).
+     * @return the estimate, or empty if no viewer has been recorded.
+     */
+    @Query("SELECT s.uniqueViewers FROM ViewerSketch s WHERE s.videoId = :videoId AND s.period = :period "
+            + "AND s.bucketStart = :bucketStart")
+    Optional<Long> findUniqueViewers(@Param("videoId") Long videoId,
+                                     @Param("period") SketchPeriod period,
+                                     @Param("bucketStart") LocalDateTime bucketStart);
+
+    /**
+     * Fetches the estimated number of distinct viewers of a video per day within [from, to).
+     *
+     * @param videoId the ID of the video.
+     * @param from    the inclusive lower bound of the days (UTC).
+     * @param to      the exclusive upper bound of the days (UTC).
+     * @return the estimates of the days with recorded viewers.
+     */
+    @Query("SELECT new com.app.practice.dto.BucketCount(s.bucketStart, s.uniqueViewers) FROM ViewerSketch s "
+            + "WHERE s.videoId = :videoId AND s.period = com.app.practice.dto.SketchPeriod.DAY "
+            + "AND s.bucketStart >= :from AND s.bucketStart < :to")
+    List<BucketCount> findDailyUniqueViewers(@Param("videoId") Long videoId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    /**
+     * Fetches the estimated number of distinct viewers of several videos within one sketch period.
+     *
+     * @param videoIds    the IDs of the videos.
+     * @param period      the sketch period.
+     * @param bucketStart the start of the period (UTC).
+     * @return the estimates of the videos with recorded viewers.
+     */
+    @Query("SELECT new com.app.practice.dto.VideoCount(s.videoId, s.uniqueViewers) FROM ViewerSketch s "
+            + "WHERE s.videoId IN :videoIds AND s.period = :period AND s.bucketStart = :bucketStart")
+    List<VideoCount> findUniqueViewersByVideoIds(@Param("videoIds") Collection<Long> videoIds,
+                                                 @Param("period") SketchPeriod period,
+                                                 @Param("bucketStart") LocalDateTime bucketStart);
+}
@@ -0,0 +1,23 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.WatchProgressDelta;
+
+import java.util.List;
+
+/**
+ * Batch write operations for the watch progress of users, mixed into WatchProgressRepository.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface WatchProgressBatchOperations {
+
+    /**
+     * Stores the latest positions and adds the accumulated watch time of the given deltas in a single batch,
+     * creating the progress rows that do not exist yet. The watch time is also added to the total watch time
+     * of each video in its engagement statistics, within the same transaction.
+     *
+     * @param deltas the progress deltas, at most one per user and video.
+     * @return the number of progress rows updated or created.
+     */
+    int saveProgress(List<WatchProgressDelta> deltas);
+}
@@ -0,0 +1,95 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.WatchProgressDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of WatchProgressBatchOperations.
+ * <p>
+ * Positions are assigned and watch time is incremented in place ({@code watch_time_seconds = watch_time_seconds + ?}),
+ * so a heartbeat flushed by another node is never lost. Rows missing after the update batch are inserted in a
+ * second batch. Watch time is only added to existing statistics rows; a video without one was never published.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@RequiredArgsConstructor
+public class WatchProgressBatchOperationsImpl implements WatchProgressBatchOperations {
+
+    private static final String UPDATE_PROGRESS_SQL =
+            "UPDATE watch_progress SET position_seconds = ?, watch_time_seconds = watch_time_seconds + ?, updated_at = ? "
+                    + "WHERE username = ? AND video_id = ?";
+    private static final String INSERT_PROGRESS_SQL =
+            "INSERT INTO watch_progress (username, video_id, position_seconds, watch_time_seconds, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+    private static final String INCREMENT_WATCH_TIME_SQL =
+            "UPDATE engagement_statistics SET watch_time_seconds = COALESCE(watch_time_seconds, 0) + ? WHERE video_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public int saveProgress(List<WatchProgressDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_PROGRESS_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getPositionSeconds());
+            ps.setLong(2, delta.getWatchTimeSeconds());
+            ps.setTimestamp(3, timestamp(delta));
+            ps.setString(4, delta.getUsername());
+            ps.setLong(5, delta.getVideoId());
+        });
+
+        List<WatchProgressDelta> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(deltas.get(index));
+                }
+                index++;
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PROGRESS_SQL, missing, missing.size(), (ps, delta) -> {
+                ps.setString(1, delta.getUsername());
+                ps.setLong(2, delta.getVideoId());
+                ps.setLong(3, delta.getPositionSeconds());
+                ps.setLong(4, delta.getWatchTimeSeconds());
+                ps.setTimestamp(5, timestamp(delta));
+            });
+        }
+
+        Map<Long, Long> watchTime = new LinkedHashMap<>();
+        for (WatchProgressDelta delta : deltas) {
+            if (delta.getWatchTimeSeconds() > 0) {
+                watchTime.merge(delta.getVideoId(), delta.getWatchTimeSeconds(), Long::sum);
+            }
+        }
+        if (!watchTime.isEmpty()) {
+            List<Map.Entry<Long, Long>> increments = new ArrayList<>(watchTime.entrySet());
+            jdbcTemplate.batchUpdate(INCREMENT_WATCH_TIME_SQL, increments, increments.size(), (ps, increment) -> {
+                ps.setLong(1, increment.getValue());
+                ps.setLong(2, increment.getKey());
+            });
+        }
+
+        return deltas.size();
+    }
+
+    private static Timestamp timestamp(WatchProgressDelta delta) {
+        return Timestamp.valueOf(LocalDateTime.ofInstant(delta.getUpdatedAt(), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.practice.repository;
+
+import com.app.practice.entity.WatchProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing WatchProgress data.
+ * It extends JpaRepository to provide CRUD operations for the WatchProgress entity,
+ * and WatchProgressBatchOperations for the batched progress writes.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Repository
+public interface WatchProgressRepository extends JpaRepository<WatchProgress, Long>, WatchProgressBatchOperations {
+
+    /**
+     * Fetches the stored playback position of a user in a video.
+     *
+     * @param username the name of the user.
+     * @param videoId  the ID of the video.
+     * @return the position in seconds, or empty if no progress has been stored.
+     */
+    @Query("SELECT p.positionSeconds FROM WatchProgress p WHERE p.username = :username AND p.videoId = :videoId")
+    Optional<Long> findPositionSeconds(@Param("username") String username, @Param("videoId") Long videoId);
+}
@@ -0,0 +1,20 @@
+package com.app.practice.service;
+
+import com.app.practice.dto.CatalogInvalidation;
+
+/**
+ * Distributes catalog invalidations to the catalog cache of every node serving the catalog.
+ * Invalidations are published once the change of the video is committed; delivery is best effort, the TTL of
+ * the catalog cache bounds the staleness of a node that misses one.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface CatalogInvalidationBus {
+
+    /**
+     * Publishes an invalidation of a video; the node publishing it is invalidated before this method returns.
+     *
+     * @param invalidation the ID of the changed video and its version after the change
+     */
+    void publish(CatalogInvalidation invalidation);
+}
@@ -0,0 +1,56 @@
+package com.app.practice.service;
+
+import com.app.practice.dto.StoredContent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Storage abstraction for video content bytes.
+ * Keeps the payload out of the relational tables; entities only reference it through a content key.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface ContentStore {
+
+    /**
+     * Stores the given content and returns its key, size and checksum.
+     * The input stream is fully consumed and closed.
+     *
+     * @param content the content to be stored
+     * @return the descriptor of the stored content
+     * @throws IOException if the content cannot be written
+     */
+    StoredContent put(InputStream content) throws IOException;
+
+    /**
+     * Reads content bytes starting at the given position into the target buffer,
+     * until the buffer is full or the end of the content is reached.
+     *
+     * @param contentKey the key of the stored content
+     * @param position   the position of the first byte to read
+     * @param target     the buffer to read into
+     * @return the number of bytes read (0 if the position is at or beyond the end of the content)
+     * @throws IOException if the content cannot be read
+     */
+    int read(String contentKey, long position, ByteBuffer target) throws IOException;
+
+    /**
+     * Resolves the file backing the given content, for stores able to serve it with zero-copy transfer.
+     *
+     * @param contentKey the key of the stored content
+     * @return the file path, or empty if the store is not file backed or the content does not exist
+     */
+    Optional<Path> resolvePath(String contentKey);
+
+    /**
+     * Deletes the given content. Deleting missing content is a no-op.
+     *
+     * @param contentKey the key of the stored content
+     * @throws IOException if the content cannot be deleted
+     */
+    void delete(String contentKey) throws IOException;
+}
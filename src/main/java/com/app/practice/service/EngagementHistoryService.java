@@ -0,0 +1,27 @@
+package com.app.practice.service;
+
+import com.app.practice.dto.RollupGranularity;
+import com.app.practice.model.response.EngagementTimeSeries;
+import com.app.practice.model.response.GenericResponse;
+
+import java.time.Instant;
+
+/**
+ * Interface for defining engagement history related services.
+ * Provides time series of video engagement at hourly or daily granularity.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface EngagementHistoryService {
+
+    /**
+     * Fetches the engagement time series of a video.
+     *
+     * @param id          the ID of the video
+     * @param from        the start of the range, defaults to 24 buckets before {@code to}
+     * @param to          the end of the range, defaults to now
+     * @param granularity the bucket granularity
+     * @return a GenericResponse containing one data point per bucket of the range
+     */
+    GenericResponse<EngagementTimeSeries> getTimeSeries(Long id, Instant from, Instant to, RollupGranularity granularity);
+}
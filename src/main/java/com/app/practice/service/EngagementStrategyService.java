@@ -3,6 +3,9 @@ package com.app.practice.service;
 import com.app.practice.model.response.EngagementResponse;
 import com.app.practice.model.response.GenericResponse;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Interface for defining engagement strategy related services.
  * Provides method to fetch engagement statistics based on the user or entity ID.
@@ -18,4 +21,13 @@ public interface EngagementStrategyService {
      * @return a GenericResponse containing the engagement statistics in the form of EngagementResponse
      */
     GenericResponse<EngagementResponse> getEngagementStats(Long id);
+
+    /**
+     * Fetches the engagement statistics of several videos at once. Duplicate IDs are resolved once and IDs of
+     * videos that do not exist are left out of the result.
+     *
+     * @param ids the IDs of the videos, at most the configured batch size
+     * @return a GenericResponse containing the engagement statistics by video ID
+     */
+    GenericResponse<Map<Long, EngagementResponse>> getEngagementStats(List<Long> ids);
 }
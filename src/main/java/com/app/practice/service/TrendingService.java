@@ -0,0 +1,26 @@
+package com.app.practice.service;
+
+import com.app.practice.dto.TrendingWindow;
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.TrendingVideo;
+
+import java.util.List;
+
+/**
+ * Interface for defining trending video related services.
+ * Provides the most played videos over a recent time window, globally or within a genre.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface TrendingService {
+
+    /**
+     * Fetches the most played videos of a window.
+     *
+     * @param window the time window
+     * @param genre  the genre to rank within, or null for all videos
+     * @param limit  the maximum number of videos
+     * @return a GenericResponse containing the trending videos, most played first
+     */
+    GenericResponse<List<TrendingVideo>> getTrendingVideos(TrendingWindow window, String genre, int limit);
+}
@@ -1,10 +1,12 @@
 package com.app.practice.service;
 
-import com.app.practice.dto.VideoDTO;
+import com.app.practice.dto.SearchMatchMode;
 import com.app.practice.exception.VideoAlreadyPresentException;
 import com.app.practice.exception.VideoNotFoundException;
 import com.app.practice.model.request.VideoRequest;
 import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.Suggestion;
+import com.app.practice.model.response.VideoPageResponse;
 import com.app.practice.model.response.VideoResponse;
 
 import java.util.List;
@@ -48,31 +50,43 @@ public interface VideoService {
     GenericResponse<String> delistVideo(Long id) throws VideoNotFoundException;
 
     /**
-     * Lists all videos with pagination support.
+     * Lists all videos with cursor pagination support.
      *
-     * @param page the page number to retrieve
-     * @param size the number of videos per page
-     * @return a GenericResponse containing the list of videos in DTO form
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the number of videos per page
+     * @return a GenericResponse containing the page of videos in DTO form and the cursor of the next page
      */
-    GenericResponse<List<VideoDTO>> listAllVideos(int page, int size);  // Pagination added
+    GenericResponse<VideoPageResponse> listAllVideos(String cursor, int size);
 
     /**
-     * Searches for videos based on the director's name with pagination support.
+     * Searches for videos based on the director's name with cursor pagination support.
      *
      * @param director the name of the director to search for
-     * @param page     the page number to retrieve
+     * @param cursor   the cursor returned with the previous page, or null for the first page
      * @param size     the number of videos per page
-     * @return a GenericResponse containing the list of videos filtered by director
+     * @return a GenericResponse containing the page of videos filtered by director and the cursor of the next page
      */
-    GenericResponse<List<VideoDTO>> searchVideos(String director, int page, int size);  // Pagination added
+    GenericResponse<VideoPageResponse> searchVideos(String director, String cursor, int size);
 
     /**
-     * Searches for videos based on a search phrase (can be title, director, etc.) with pagination support.
+     * Searches for videos based on a search phrase (can be title, director, etc.) with cursor pagination support.
      *
      * @param searchPhrase the phrase to search for in video details
-     * @param page         the page number to retrieve
+     * @param mode         whether names in the phrase must be spelled exactly or may contain typos
+     * @param cursor       the cursor returned with the previous page, or null for the first page
      * @param size         the number of videos per page
-     * @return a GenericResponse containing the list of videos filtered by search phrase
+     * @return a GenericResponse containing the page of videos matching the search phrase, best match first, and
+     * the cursor of the next page
      */
-    GenericResponse<List<VideoDTO>> searchVideosBasedOnSearchPhrase(String searchPhrase, int page, int size);  // Pagination added
+    GenericResponse<VideoPageResponse> searchVideosBasedOnSearchPhrase(String searchPhrase, SearchMatchMode mode,
+                                                                       String cursor, int size);
+
+    /**
+     * Suggests the titles, directors and cast members completing a typed prefix, most popular first.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return a GenericResponse containing the suggestions
+     */
+    GenericResponse<List<Suggestion>> suggest(String prefix, int limit);
 }
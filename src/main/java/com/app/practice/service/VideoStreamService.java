@@ -1,9 +1,15 @@
 package com.app.practice.service;
 
+import com.app.practice.dto.SegmentContent;
+import com.app.practice.dto.VideoContentFile;
 import com.app.practice.dto.VideoDTO;
+import com.app.practice.exception.ResourceNotFoundException;
 import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.model.response.ContentManifest;
 import com.app.practice.model.response.GenericResponse;
 
+import java.util.Map;
+
 public interface VideoStreamService {
 
     /**
@@ -14,7 +20,20 @@ public interface VideoStreamService {
      * @return a GenericResponse containing the video details
      * @throws VideoNotFoundException if the video with the given ID is not found
      */
-    GenericResponse<VideoDTO> loadVideo(Long id) throws VideoNotFoundException;
+    default GenericResponse<VideoDTO> loadVideo(Long id) throws VideoNotFoundException {
+        return loadVideo(id, null);
+    }
+
+    /**
+     * Loads the video details based on the provided video ID, counting the impression only once per client
+     * event ID. Throws an exception if the video is not found.
+     *
+     * @param id      the ID of the video to be loaded
+     * @param eventId the client event ID identifying retries of the same load, may be null
+     * @return a GenericResponse containing the video details
+     * @throws VideoNotFoundException if the video with the given ID is not found
+     */
+    GenericResponse<VideoDTO> loadVideo(Long id, String eventId) throws VideoNotFoundException;
 
     /**
      * Plays the video based on the provided video ID.
@@ -24,6 +43,59 @@ public interface VideoStreamService {
      * @return a GenericResponse containing a message indicating the video is being played
      * @throws VideoNotFoundException if the video with the given ID is not found
      */
-    GenericResponse<String> playVideo(Long id) throws VideoNotFoundException;
+    default GenericResponse<String> playVideo(Long id) throws VideoNotFoundException {
+        return playVideo(id, null);
+    }
+
+    /**
+     * Plays the video based on the provided video ID, counting the view only once per client event ID.
+     * Throws an exception if the video is not found.
+     *
+     * @param id      the ID of the video to be played
+     * @param eventId the client event ID identifying retries of the same play, may be null
+     * @return a GenericResponse containing a message indicating the video is being played
+     * @throws VideoNotFoundException if the video with the given ID is not found
+     */
+    GenericResponse<String> playVideo(Long id, String eventId) throws VideoNotFoundException;
+
+    /**
+     * Resolves the on-disk content of a video so it can be streamed with HTTP Range support.
+     * Throws an exception if the video is not found.
+     *
+     * @param id         the ID of the video to be streamed
+     * @param recordPlay whether the request starts a new playback and should be counted as a view
+     * @return the content file to be served
+     * @throws VideoNotFoundException if the video with the given ID is not found
+     */
+    VideoContentFile openVideoContent(Long id, boolean recordPlay) throws VideoNotFoundException;
+
+    /**
+     * Loads the segment manifest of a video, marking the start of a segmented playback.
+     * Throws an exception if the video is not found.
+     *
+     * @param id the ID of the video to be played
+     * @return a GenericResponse containing the manifest listing the content segments
+     * @throws VideoNotFoundException if the video with the given ID is not found
+     */
+    GenericResponse<ContentManifest> loadManifest(Long id) throws VideoNotFoundException;
+
+    /**
+     * Loads a single content segment of a video. Fetching segments is not counted as a play.
+     *
+     * @param id           the ID of the video
+     * @param segmentIndex the zero based index of the segment
+     * @return the segment bytes and checksum
+     * @throws VideoNotFoundException    if the video with the given ID is not found
+     * @throws ResourceNotFoundException if the video has no segment with this index
+     */
+    SegmentContent loadSegment(Long id, int segmentIndex) throws VideoNotFoundException, ResourceNotFoundException;
+
+    /**
+     * Records impressions of videos shown on listing and search result pages, already summed per video.
+     * Only counts impressions; listing a video does not make the requesting user one of its viewers.
+     *
+     * @param impressions the number of impressions per video ID
+     */
+    void recordImpressions(Map<Long, Long> impressions);
 
 }
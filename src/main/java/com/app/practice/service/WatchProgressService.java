@@ -0,0 +1,30 @@
+package com.app.practice.service;
+
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.WatchProgressResponse;
+
+/**
+ * Interface for defining watch progress related services.
+ * Records the playback heartbeats of the requesting user and provides the position to resume a video from.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public interface WatchProgressService {
+
+    /**
+     * Records the current playback position of the requesting user in a video.
+     *
+     * @param id              the ID of the video
+     * @param positionSeconds the playback position in seconds
+     * @return a GenericResponse indicating that the heartbeat was accepted
+     */
+    GenericResponse<String> recordHeartbeat(Long id, long positionSeconds);
+
+    /**
+     * Fetches the position the requesting user should resume a video from.
+     *
+     * @param id the ID of the video
+     * @return a GenericResponse containing the position, zero if the user never played the video
+     */
+    GenericResponse<WatchProgressResponse> getWatchProgress(Long id);
+}
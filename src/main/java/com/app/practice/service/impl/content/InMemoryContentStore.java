@@ -0,0 +1,78 @@
+package com.app.practice.service.impl.content;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.StoredContent;
+import com.app.practice.service.ContentStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ContentStore implementation keeping every payload in memory.
+ * Intended for tests and local experiments only (video.content.store.type=memory).
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Service
+@ConditionalOnProperty(name = "video.content.store.type", havingValue = "memory")
+public class InMemoryContentStore implements ContentStore {
+
+    private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+
+    @Override
+    public StoredContent put(InputStream content) throws IOException {
+        byte[] bytes;
+        try (InputStream in = content) {
+            bytes = in.readAllBytes();
+        }
+
+        String contentKey = UUID.randomUUID().toString().replace("-", "");
+        contents.put(contentKey, bytes);
+        return new StoredContent(contentKey, bytes.length, checksum(bytes));
+    }
+
+    @Override
+    public int read(String contentKey, long position, ByteBuffer target) throws IOException {
+        byte[] bytes = contents.get(contentKey);
+        if (bytes == null) {
+            throw new IOException("Content not found: " + contentKey);
+        }
+        if (position >= bytes.length) {
+            return 0;
+        }
+
+        int length = (int) Math.min(target.remaining(), bytes.length - position);
+        target.put(bytes, (int) position, length);
+        return length;
+    }
+
+    @Override
+    public Optional<Path> resolvePath(String contentKey) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void delete(String contentKey) {
+        contents.remove(contentKey);
+    }
+
+    private static String checksum(byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(ModuleConstants.CONTENT_CHECKSUM_ALGO_NAME);
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
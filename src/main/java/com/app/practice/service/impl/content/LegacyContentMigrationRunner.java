@@ -0,0 +1,107 @@
+package com.app.practice.service.impl.content;
+
+import com.app.practice.dto.ContentSegment;
+import com.app.practice.dto.SegmentedContent;
+import com.app.practice.dto.StoredContent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves content still stored in the legacy {@code videos_content.content} TEXT column into the ContentStore.
+ * <p>
+ * Rows are migrated in small batches; each migrated row gets its content key, size, checksum and segments
+ * set and its legacy column cleared in one transaction, replacing any segments left by an earlier attempt, so
+ * the runner is idempotent and can be interrupted at any point.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "video.content.store.migrate-legacy", havingValue = "true", matchIfMissing = true)
+public class LegacyContentMigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyContentMigrationRunner.class);
+
+    private static final int BATCH_SIZE = 50;
+
+    private static final String LEGACY_COLUMN_EXISTS_SQL =
+            "SELECT COUNT(*) FROM information_schema.columns " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'videos_content' AND column_name = 'content'";
+    private static final String SELECT_LEGACY_CONTENT_SQL =
+            "SELECT video_id, content FROM videos_content " +
+                    "WHERE content IS NOT NULL AND content_key IS NULL ORDER BY video_id LIMIT " + BATCH_SIZE;
+    private static final String UPDATE_CONTENT_REFERENCE_SQL =
+            "UPDATE videos_content SET content_key = ?, content_size = ?, content_checksum = ?, " +
+                    "segment_size = ?, segment_count = ?, content = NULL WHERE video_id = ?";
+    private static final String DELETE_SEGMENTS_SQL = "DELETE FROM video_segments WHERE video_id = ?";
+    private static final String INSERT_SEGMENT_SQL =
+            "INSERT INTO video_segments (video_id, segment_index, byte_offset, segment_size, checksum) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SegmentedContentWriter segmentedContentWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer legacyColumns = jdbcTemplate.queryForObject(LEGACY_COLUMN_EXISTS_SQL, Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            logger.debug("No legacy content column found, skipping content migration.");
+            return;
+        }
+
+        int migrated = 0;
+        List<Map<String, Object>> rows;
+        while (!(rows = jdbcTemplate.queryForList(SELECT_LEGACY_CONTENT_SQL)).isEmpty()) {
+            for (Map<String, Object> row : rows) {
+                migrate(((Number) row.get("video_id")).longValue(), (String) row.get("content"));
+                migrated++;
+            }
+        }
+
+        if (migrated > 0) {
+            logger.info("Migrated content of {} videos to the content store.", migrated);
+        }
+    }
+
+    private void migrate(Long videoId, String content) {
+        try {
+            SegmentedContent segmented = segmentedContentWriter.write(
+                    new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+            StoredContent stored = segmented.getStoredContent();
+            List<ContentSegment> segments = segmented.getSegments();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_SEGMENTS_SQL, videoId);
+                if (!segments.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SEGMENT_SQL, segments, segments.size(), (ps, segment) -> {
+                        ps.setLong(1, videoId);
+                        ps.setInt(2, segment.getIndex());
+                        ps.setLong(3, segment.getOffset());
+                        ps.setInt(4, segment.getSize());
+                        ps.setString(5, segment.getChecksum());
+                    });
+                }
+                jdbcTemplate.update(UPDATE_CONTENT_REFERENCE_SQL, stored.getContentKey(), stored.getSize(),
+                        stored.getChecksum(), segmented.getSegmentSize(), segments.size(), videoId);
+            });
+        } catch (IOException ex) {
+            logger.error("Failed to migrate content of video ID: {}", videoId, ex);
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.app.practice.service.impl.content;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.StoredContent;
+import com.app.practice.service.ContentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * ContentStore implementation backed by the local file system.
+ * <p>
+ * Every payload is stored as one file named after its content key, inside a two-level sharded
+ * directory tree (e.g. {@code root/3f/a2/3fa2...}) so no directory grows beyond a few thousand entries.
+ * Writes go to a staging directory first and are atomically moved into place once complete.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Service
+@ConditionalOnProperty(name = "video.content.store.type", havingValue = "local", matchIfMissing = true)
+public class LocalFileSystemContentStore implements ContentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileSystemContentStore.class);
+
+    private static final Pattern CONTENT_KEY_PATTERN = Pattern.compile("[0-9a-f]{32}");
+    private static final String STAGING_DIRECTORY = ".staging";
+    private static final int SHARD_WIDTH = 2;
+
+    private final Path rootDirectory;
+    private final Path stagingDirectory;
+
+    public LocalFileSystemContentStore(@Value("${video.content.store.root-dir:./data/content}") String rootDirectory) {
+        this.rootDirectory = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        this.stagingDirectory = this.rootDirectory.resolve(STAGING_DIRECTORY);
+        logger.info("Local content store initialized at {}", this.rootDirectory);
+    }
+
+    @Override
+    public StoredContent put(InputStream content) throws IOException {
+        String contentKey = UUID.randomUUID().toString().replace("-", "");
+        MessageDigest digest = newDigest();
+
+        Files.createDirectories(stagingDirectory);
+        Path staging = Files.createTempFile(stagingDirectory, contentKey, ".tmp");
+        try {
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, staging, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            Path target = resolve(contentKey);
+            Files.createDirectories(target.getParent());
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+
+            logger.debug("Stored {} bytes under content key {}", size, contentKey);
+            return new StoredContent(contentKey, size, HexFormat.of().formatHex(digest.digest()));
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+    }
+
+    @Override
+    public int read(String contentKey, long position, ByteBuffer target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(contentKey), StandardOpenOption.READ)) {
+            int total = 0;
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position + total);
+                if (read < 0) {
+                    break;
+                }
+                total += read;
+            }
+            return total;
+        }
+    }
+
+    @Override
+    public Optional<Path> resolvePath(String contentKey) {
+        if (contentKey == null) {
+            return Optional.empty();
+        }
+        Path path = resolve(contentKey);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    @Override
+    public void delete(String contentKey) throws IOException {
+        Files.deleteIfExists(resolve(contentKey));
+    }
+
+    /**
+     * Maps a content key to its sharded location, rejecting anything that is not a generated key
+     * so a key can never be used to escape the store's root directory.
+     */
+    private Path resolve(String contentKey) {
+        if (contentKey == null || !CONTENT_KEY_PATTERN.matcher(contentKey).matches()) {
+            throw new IllegalArgumentException("Invalid content key: " + contentKey);
+        }
+        return rootDirectory
+                .resolve(contentKey.substring(0, SHARD_WIDTH))
+                .resolve(contentKey.substring(SHARD_WIDTH, 2 * SHARD_WIDTH))
+                .resolve(contentKey);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ModuleConstants.CONTENT_CHECKSUM_ALGO_NAME);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.app.practice.service.impl.content;
+
+import com.app.practice.dto.CacheStatistics;
+import com.app.practice.utils.FrequencySketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded, off-heap cache of content segments.
+ * <p>
+ * Segment bytes live in direct memory carved into fixed-size slots (one segment per slot) from slabs that are
+ * allocated on demand up to the configured byte budget, so the cached payload neither adds to the heap nor is
+ * copied by the garbage collector. Slots are recycled rather than freed, avoiding direct-memory churn.
+ * <p>
+ * Once the budget is used up, a missing segment only replaces the least recently used unpinned segment if the
+ * frequency sketch estimates it to be more popular (TinyLFU admission); otherwise it is served without being
+ * cached, which protects hot segments from being flushed out by one-off scans.
+ * <p>
+ * Readers get a {@link Handle} that pins the segment until closed, so a slot is never reused while its bytes
+ * are being written to a client.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class SegmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentCache.class);
+
+    private static final String CACHE_NAME = "segments";
+    private static final int SLAB_BYTES = 64 * 1024 * 1024;
+    private static final int VICTIM_SAMPLE_SIZE = 8;
+    private static final int NO_SLOT = -1;
+
+    /**
+     * Fills the target buffer (positioned at 0, limited to the segment length) with the segment bytes.
+     */
+    @FunctionalInterface
+    public interface SegmentLoader {
+        void load(ByteBuffer target) throws IOException;
+    }
+
+    /**
+     * Identifies a segment of a stored payload. Stored payloads are immutable, so keys never go stale.
+     */
+    public record SegmentKey(String contentKey, int segmentIndex) {
+    }
+
+    private final int slotSize;
+    private final int maxSlots;
+    private final int slotsPerSlab;
+
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final LinkedHashMap<SegmentKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int allocatedSlots;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public SegmentCache(@Value("${video.content.segment-cache.max-bytes:268435456}") long maxBytes,
+                        @Value("${video.content.segment-size-bytes:1048576}") int slotSize) {
+        if (slotSize <= 0) {
+            throw new IllegalArgumentException("Invalid segment cache slot size: " + slotSize
+                    + " (video.content.segment-size-bytes must be positive)");
+        }
+        this.slotSize = slotSize;
+        this.maxSlots = (int) Math.min(Math.max(maxBytes, 0) / slotSize, Integer.MAX_VALUE);
+        this.slotsPerSlab = Math.max(1, Math.min(maxSlots, SLAB_BYTES / slotSize));
+        this.sketch = new FrequencySketch(Math.max(maxSlots, 1));
+        logger.info("Segment cache initialized with {} slots of {} bytes", maxSlots, slotSize);
+    }
+
+    /**
+     * Returns the cached bytes of a segment, loading them on a miss. The returned handle must be closed
+     * once the bytes have been consumed.
+     *
+     * @param key    the segment key
+     * @param length the segment length in bytes
+     * @param loader loads the segment bytes on a miss
+     * @return a handle pinning the segment bytes
+     * @throws IOException if the segment cannot be loaded
+     */
+    public Handle getOrLoad(SegmentKey key, int length, SegmentLoader loader) throws IOException {
+        ByteBuffer target;
+        int slot;
+
+        lock.lock();
+        try {
+            sketch.increment(key.hashCode());
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                return pin(entry);
+            }
+
+            misses.increment();
+            slot = length <= slotSize ? reserveSlot(key) : NO_SLOT;
+            target = slot == NO_SLOT ? null : slotBuffer(slot, length);
+        } finally {
+            lock.unlock();
+        }
+
+        if (slot == NO_SLOT) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            loader.load(buffer);
+            return new Handle(null, buffer.flip().asReadOnlyBuffer());
+        }
+
+        try {
+            loader.load(target);
+        } catch (IOException | RuntimeException ex) {
+            releaseSlot(slot);
+            throw ex;
+        }
+        ByteBuffer data = target.flip().asReadOnlyBuffer();
+
+        lock.lock();
+        try {
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                /*
+                 Another reader loaded the same segment concurrently; keep its copy.
+                 */
+                freeSlots.push(slot);
+                return pin(existing);
+            }
+
+            Entry entry = new Entry(key, slot, data);
+            entries.put(key, entry);
+            return pin(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatistics stats() {
+        lock.lock();
+        try {
+            long usedBytes = entries.values().stream().mapToLong(entry -> entry.data.capacity()).sum();
+            return new CacheStatistics(CACHE_NAME, hits.sum(), misses.sum(), evictions.sum(), rejections.sum(),
+                    entries.size(), maxSlots, usedBytes, (long) maxSlots * slotSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Picks a slot for a new segment: a free one, a newly allocated one while within budget, or the slot of
+     * an admitted-over victim. Must be called with the lock held.
+     */
+    private int reserveSlot(SegmentKey key) {
+        if (freeSlots.isEmpty() && allocatedSlots < maxSlots) {
+            allocateSlab();
+        }
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+
+        Entry victim = findVictim();
+        if (victim == null || sketch.frequency(key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+            rejections.increment();
+            return NO_SLOT;
+        }
+
+        entries.remove(victim.key);
+        evictions.increment();
+        return victim.slot;
+    }
+
+    /**
+     * Returns the least recently used segment that is not pinned, looking at a bounded number of candidates.
+     */
+    private Entry findVictim() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        for (int i = 0; i < VICTIM_SAMPLE_SIZE && iterator.hasNext(); i++) {
+            Entry candidate = iterator.next();
+            if (candidate.pins == 0) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void allocateSlab() {
+        int slots = Math.min(slotsPerSlab, maxSlots - allocatedSlots);
+        slabs.add(ByteBuffer.allocateDirect(slots * slotSize));
+        for (int i = slots - 1; i >= 0; i--) {
+            freeSlots.push(allocatedSlots + i);
+        }
+        allocatedSlots += slots;
+        logger.debug("Allocated segment cache slab, {} of {} slots in use", allocatedSlots, maxSlots);
+    }
+
+    private ByteBuffer slotBuffer(int slot, int length) {
+        ByteBuffer slab = slabs.get(slot / slotsPerSlab);
+        return slab.slice((slot % slotsPerSlab) * slotSize, length);
+    }
+
+    private void releaseSlot(int slot) {
+        lock.lock();
+        try {
+            freeSlots.push(slot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Handle pin(Entry entry) {
+        entry.pins++;
+        return new Handle(entry, entry.data.duplicate());
+    }
+
+    private void unpin(Entry entry) {
+        lock.lock();
+        try {
+            entry.pins--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final SegmentKey key;
+        private final int slot;
+        private final ByteBuffer data;
+        private int pins;
+
+        private Entry(SegmentKey key, int slot, ByteBuffer data) {
+            this.key = key;
+            this.slot = slot;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Read-only view of a segment's bytes. Closing the handle unpins the segment so its slot may be reused.
+     */
+    public final class Handle implements AutoCloseable {
+
+        private final Entry entry;
+        private final ByteBuffer data;
+        private boolean closed;
+
+        private Handle(Entry entry, ByteBuffer data) {
+            this.entry = entry;
+            this.data = data;
+        }
+
+        public ByteBuffer data() {
+            return data;
+        }
+
+        @Override
+        public void close() {
+            if (!closed && entry != null) {
+                unpin(entry);
+            }
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.app.practice.service.impl.content;
+
+import com.app.practice.dto.SegmentedContent;
+import com.app.practice.dto.StoredContent;
+import com.app.practice.service.ContentStore;
+import com.app.practice.utils.SegmentingDigestInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Writes video payloads to the ContentStore and splits them into fixed-size segments while doing so.
+ * <p>
+ * The payload stays a single object in the store (so byte-range streaming keeps working unchanged);
+ * segments are fixed byte extents of it whose checksums are computed in the same pass as the write.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class SegmentedContentWriter {
+
+    private final ContentStore contentStore;
+    private final int segmentSize;
+
+    public SegmentedContentWriter(ContentStore contentStore,
+                                  @Value("${video.content.segment-size-bytes:1048576}") int segmentSize) {
+        this.contentStore = contentStore;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Stores the payload and computes its segments. The stream is consumed and closed.
+     *
+     * @param content the payload
+     * @return the stored content descriptor together with its segments
+     * @throws IOException if the payload cannot be stored
+     */
+    public SegmentedContent write(InputStream content) throws IOException {
+        SegmentingDigestInputStream segmenting = new SegmentingDigestInputStream(content, segmentSize);
+        StoredContent storedContent = contentStore.put(segmenting);
+        return new SegmentedContent(storedContent, segmentSize, segmenting.getSegments());
+    }
+
+    /**
+     * Removes a payload written by {@link #write(InputStream)}.
+     *
+     * @param contentKey the content key of the payload
+     * @throws IOException if the payload cannot be removed
+     */
+    public void delete(String contentKey) throws IOException {
+        contentStore.delete(contentKey);
+    }
+}
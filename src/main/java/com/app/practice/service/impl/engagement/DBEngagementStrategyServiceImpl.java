@@ -1,18 +1,31 @@
 package com.app.practice.service.impl.engagement;
 
 import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.EngagementCounts;
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.VideoEngagementSummary;
 import com.app.practice.entity.EngagementStatistics;
 import com.app.practice.entity.Video;
 import com.app.practice.exception.VideoNotFoundException;
 import com.app.practice.model.response.EngagementResponse;
 import com.app.practice.model.response.GenericResponse;
+import com.app.practice.repository.EngagementCounterShardRepository;
 import com.app.practice.repository.VideoRepository;
 import com.app.practice.service.EngagementStrategyService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Implementation of the EngagementStrategyService interface.
@@ -27,10 +40,18 @@ public class DBEngagementStrategyServiceImpl implements EngagementStrategyServic
     private static final Logger logger = LoggerFactory.getLogger(DBEngagementStrategyServiceImpl.class);
 
     private final VideoRepository videoRepository;
+    private final EngagementCounterShardRepository counterShardRepository;
+    private final EngagementCounterAggregator engagementCounterAggregator;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final WatchProgressTracker watchProgressTracker;
+    @Value("${engagement.stats.max-batch-size:200}")
+    private int maxBatchSize;
 
     /**
      * Fetches the engagement statistics for a given video ID.
-     * If the video is found, it returns the engagement details like impressions and views.
+     * If the video is found, it returns the engagement details like impressions and views, summed over the
+     * statistics row and the counter shards of the video, including the increments that have not been flushed
+     * to the database yet, the estimated number of distinct viewers and the total watch time.
      *
      * @param id the ID of the video whose engagement statistics are to be fetched
      * @return a GenericResponse containing EngagementResponse with video details and engagement stats
@@ -44,13 +65,17 @@ public class DBEngagementStrategyServiceImpl implements EngagementStrategyServic
                     .orElseThrow(() -> new VideoNotFoundException(ModuleConstants.VIDEO_NOT_FOUND));
 
             EngagementStatistics stats = video.getEngagementStatistics();
+            EngagementDelta pending = engagementCounterAggregator.pendingDelta(id);
+            EngagementCounts sharded = shardedCounts(List.of(id)).getOrDefault(id, new EngagementCounts(id, 0L, 0L));
 
             EngagementResponse response = new EngagementResponse(
                     video.getTitle(),
                     video.getMetaData().getSynopsis(),
                     video.getMetaData().getDirector(),
-                    stats.getImpressions(),
-                    stats.getViews()
+                    stats.getImpressions() + sharded.getImpressions() + pending.getImpressions(),
+                    stats.getViews() + sharded.getViews() + pending.getViews(),
+                    uniqueViewerTracker.uniqueViewers(id),
+                    watchProgressTracker.watchTimeSeconds(id)
             );
 
             return GenericResponse.success(response, HttpStatus.OK);
@@ -61,4 +86,67 @@ public class DBEngagementStrategyServiceImpl implements EngagementStrategyServic
             return GenericResponse.error("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Fetches the engagement statistics of several videos with one join query for the videos, their metadata
+     * and stored counters, and one query each for the counter shards, the distinct-viewer estimates and the
+     * watch time. Pending increments are added from memory, as for a single video.
+     *
+     * @param ids the IDs of the videos
+     * @return a GenericResponse containing the engagement statistics by video ID, in request order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public GenericResponse<Map<Long, EngagementResponse>> getEngagementStats(List<Long> ids) {
+        List<Long> videoIds = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (videoIds.isEmpty()) {
+            return GenericResponse.error(ModuleConstants.EMPTY_VIDEO_ID_BATCH, HttpStatus.BAD_REQUEST);
+        }
+        if (videoIds.size() > maxBatchSize) {
+            return GenericResponse.error(ModuleConstants.VIDEO_ID_BATCH_TOO_LARGE + maxBatchSize, HttpStatus.BAD_REQUEST);
+        }
+
+        logger.info("Fetching engagement stats for {} videos", videoIds.size());
+        try {
+            Map<Long, VideoEngagementSummary> summaries = new LinkedHashMap<>();
+            for (VideoEngagementSummary summary : videoRepository.findEngagementSummariesByIds(videoIds)) {
+                summaries.put(summary.getVideoId(), summary);
+            }
+            Map<Long, EngagementCounts> sharded = shardedCounts(summaries.keySet());
+            Map<Long, Long> uniqueViewers = uniqueViewerTracker.uniqueViewers(summaries.keySet());
+            Map<Long, Long> watchTime = watchProgressTracker.watchTimeSeconds(summaries.keySet());
+
+            Map<Long, EngagementResponse> responses = new LinkedHashMap<>();
+            for (Long id : videoIds) {
+                VideoEngagementSummary summary = summaries.get(id);
+                if (summary == null) {
+                    continue;
+                }
+                EngagementDelta pending = engagementCounterAggregator.pendingDelta(id);
+                EngagementCounts shards = sharded.getOrDefault(id, new EngagementCounts(id, 0L, 0L));
+                responses.put(id, new EngagementResponse(
+                        summary.getTitle(),
+                        summary.getSynopsis(),
+                        summary.getDirector(),
+                        Objects.requireNonNullElse(summary.getImpressions(), 0L) + shards.getImpressions() + pending.getImpressions(),
+                        Objects.requireNonNullElse(summary.getViews(), 0L) + shards.getViews() + pending.getViews(),
+                        uniqueViewers.getOrDefault(id, 0L),
+                        watchTime.getOrDefault(id, 0L)
+                ));
+            }
+
+            return GenericResponse.success(responses, HttpStatus.OK);
+        } catch (Exception ex) {
+            logger.error("Error fetching stats: {}", ex.getMessage());
+            return GenericResponse.error("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private Map<Long, EngagementCounts> shardedCounts(Collection<Long> videoIds) {
+        Map<Long, EngagementCounts> counts = new HashMap<>();
+        for (EngagementCounts shardCounts : counterShardRepository.sumByVideoIds(videoIds)) {
+            counts.put(shardCounts.getVideoId(), shardCounts);
+        }
+        return counts;
+    }
 }
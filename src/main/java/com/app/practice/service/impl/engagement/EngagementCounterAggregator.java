@@ -0,0 +1,195 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.repository.EngagementStatisticsRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind aggregator for video engagement counters.
+ * <p>
+ * Views and impressions are counted in memory with one striped {@link LongAdder} pair per video, so recording
+ * an engagement never touches the database and concurrent viewers of a hot video do not contend on a row lock.
+ * The accumulated deltas are written periodically as one batch of {@code views = views + ?} updates, earlier
+ * once the number of pending increments reaches the configured limit, and on shutdown.
+ * <p>
+ * Every successful flush is also recorded in the engagement history, so the time series follows the counters.
+ * <p>
+ * The adders are never reset: each flush writes the difference between the current sum and the last flushed
+ * sum, so increments racing with a flush are simply picked up by the next one, and a failed flush keeps its
+ * deltas for the next attempt.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class EngagementCounterAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementCounterAggregator.class);
+
+    private final EngagementStatisticsRepository engagementStatsRepo;
+    private final EngagementHistoryRecorder historyRecorder;
+    private final TaskScheduler taskScheduler;
+    private final long maxPendingDeltas;
+    private final boolean flushOnShutdown;
+
+    private final ConcurrentHashMap<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final LongAdder pendingDeltas = new LongAdder();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public EngagementCounterAggregator(EngagementStatisticsRepository engagementStatsRepo,
+                                       EngagementHistoryRecorder historyRecorder,
+                                       TaskScheduler taskScheduler,
+                                       @Value("${engagement.counters.max-pending-deltas:10000}") long maxPendingDeltas,
+                                       @Value("${engagement.counters.flush-on-shutdown:true}") boolean flushOnShutdown) {
+        this.engagementStatsRepo = engagementStatsRepo;
+        this.historyRecorder = historyRecorder;
+        this.taskScheduler = taskScheduler;
+        this.maxPendingDeltas = maxPendingDeltas;
+        this.flushOnShutdown = flushOnShutdown;
+    }
+
+    /**
+     * Records a view of a video.
+     *
+     * @param videoId the ID of the video
+     */
+    public void recordView(Long videoId) {
+        countersOf(videoId).views.increment();
+        onRecorded();
+    }
+
+    /**
+     * Records an impression of a video.
+     *
+     * @param videoId the ID of the video
+     */
+    public void recordImpression(Long videoId) {
+        countersOf(videoId).impressions.increment();
+        onRecorded();
+    }
+
+    /**
+     * Records several impressions of a video at once.
+     *
+     * @param videoId the ID of the video
+     * @param count   the number of impressions
+     */
+    public void recordImpressions(Long videoId, long count) {
+        if (count <= 0) {
+            return;
+        }
+        countersOf(videoId).impressions.add(count);
+        onRecorded(count);
+    }
+
+    /**
+     * Returns the views and impressions recorded for a video that have not been written to the database yet.
+     *
+     * @param videoId the ID of the video
+     * @return the pending delta, zero if nothing is pending
+     */
+    public EngagementDelta pendingDelta(Long videoId) {
+        Counters videoCounters = counters.get(videoId);
+        if (videoCounters == null) {
+            return new EngagementDelta(videoId, 0L, 0L);
+        }
+        return new EngagementDelta(videoId,
+                videoCounters.views.sum() - videoCounters.flushedViews,
+                videoCounters.impressions.sum() - videoCounters.flushedImpressions);
+    }
+
+    /**
+     * Writes all pending deltas to the database in one batch.
+     */
+    @Scheduled(fixedDelayString = "${engagement.counters.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushScheduled.set(false);
+            pendingDeltas.reset();
+
+            List<Snapshot> snapshots = new ArrayList<>();
+            counters.forEach((videoId, videoCounters) -> {
+                long views = videoCounters.views.sum();
+                long impressions = videoCounters.impressions.sum();
+                if (views != videoCounters.flushedViews || impressions != videoCounters.flushedImpressions) {
+                    snapshots.add(new Snapshot(videoId, videoCounters, views, impressions));
+                }
+            });
+
+            if (snapshots.isEmpty()) {
+                return;
+            }
+
+            List<EngagementDelta> deltas = snapshots.stream()
+                    .map(snapshot -> new EngagementDelta(snapshot.videoId(),
+                            snapshot.views() - snapshot.counters().flushedViews,
+                            snapshot.impressions() - snapshot.counters().flushedImpressions))
+                    .toList();
+            engagementStatsRepo.incrementCounters(deltas);
+            historyRecorder.record(deltas);
+
+            for (Snapshot snapshot : snapshots) {
+                snapshot.counters().flushedViews = snapshot.views();
+                snapshot.counters().flushedImpressions = snapshot.impressions();
+            }
+            logger.debug("Flushed engagement counters of {} videos", deltas.size());
+        } catch (DataAccessException ex) {
+            logger.error("Failed to flush engagement counters, keeping deltas for the next flush: {}", ex.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushOnShutdown) {
+            logger.info("Flushing pending engagement counters before shutdown");
+            flush();
+        }
+    }
+
+    private Counters countersOf(Long videoId) {
+        return counters.computeIfAbsent(videoId, id -> new Counters());
+    }
+
+    /**
+     * Requests an early flush once the pending increments reach the limit. The flush runs on the scheduler
+     * thread, never on the request thread, which may be inside a read-only transaction.
+     */
+    private void onRecorded() {
+        onRecorded(1);
+    }
+
+    private void onRecorded(long increments) {
+        pendingDeltas.add(increments);
+        if (pendingDeltas.sum() >= maxPendingDeltas && flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder impressions = new LongAdder();
+        private volatile long flushedViews;
+        private volatile long flushedImpressions;
+    }
+
+    private record Snapshot(Long videoId, Counters counters, long views, long impressions) {
+    }
+}
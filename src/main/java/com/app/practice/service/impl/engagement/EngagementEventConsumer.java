@@ -0,0 +1,352 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.ConsumerStatistics;
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.repository.EngagementStatisticsRepository;
+import com.app.practice.utils.EngagementEventCodec;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumes the engagement events published on the video play topic and applies them to
+ * {@code engagement_statistics}.
+ * <p>
+ * Records (the accumulated views and impressions of one video, keyed by its ID, see {@link EngagementEventCodec})
+ * are polled in batches on a dedicated thread and summed per video in tumbling windows. When a window
+ * closes, its counts are written with a single batched statement and only then are the consumed offsets
+ * committed, so a crash replays the uncommitted events instead of losing them. If the batch fails, the videos
+ * are written one by one: a video whose write fails with a non-transient error (e.g. a constraint violation)
+ * would fail every retry, so it is logged and skipped rather than blocking the partition. Any other failure keeps
+ * the counts not written yet (and leaves the offsets uncommitted) until the next attempt. Windows are also closed
+ * before partitions are revoked, so events are never counted by two consumers: if that write fails, the window
+ * is dropped without committing, and the new owner's replay is the only count. Written windows are recorded in
+ * the engagement history.
+ * <p>
+ * If the consumer fails unexpectedly, it is closed and created again after a back-off that doubles with every
+ * failure in a row (up to a minute). The open window is discarded first, since the new consumer replays its
+ * uncommitted events. Restarts are counted in the consumer statistics.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+@Profile("prod")
+@ConditionalOnProperty(name = "engagement.consumer.enabled", havingValue = "true", matchIfMissing = true)
+public class EngagementEventConsumer implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementEventConsumer.class);
+
+    private static final String CONSUMER_NAME = "engagement-events";
+    private static final long MAX_RESTART_BACKOFF_MILLIS = 60_000L;
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final EngagementStatisticsRepository engagementStatsRepo;
+    private final EngagementHistoryRecorder historyRecorder;
+    private final long windowMillis;
+    private final Duration pollTimeout;
+    private final int maxPollRecords;
+    private final long restartBackoffMillis;
+    private final Object restartLock = new Object();
+
+    private final Map<Long, long[]> window = new HashMap<>();
+    private volatile boolean running;
+    private volatile Consumer<String, byte[]> consumer;
+    private Thread worker;
+
+    private final AtomicLong recordsConsumed = new AtomicLong();
+    private final AtomicLong windowsWritten = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong restarts = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+    private volatile int lastWindowVideos;
+    private volatile long currentLag;
+
+    public EngagementEventConsumer(ConsumerFactory<String, byte[]> consumerFactory,
+                                   EngagementStatisticsRepository engagementStatsRepo,
+                                   EngagementHistoryRecorder historyRecorder,
+                                   @Value("${engagement.consumer.window-ms:5000}") long windowMillis,
+                                   @Value("${engagement.consumer.poll-timeout-ms:500}") long pollTimeoutMillis,
+                                   @Value("${engagement.consumer.max-poll-records:500}") int maxPollRecords,
+                                   @Value("${engagement.consumer.restart-backoff-ms:1000}") long restartBackoffMillis) {
+        this.consumerFactory = consumerFactory;
+        this.engagementStatsRepo = engagementStatsRepo;
+        this.historyRecorder = historyRecorder;
+        this.windowMillis = windowMillis;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMillis);
+        this.maxPollRecords = maxPollRecords;
+        this.restartBackoffMillis = Math.max(1, restartBackoffMillis);
+    }
+
+    /**
+     * Starts the consumer thread once the application is ready to serve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this, "engagement-event-consumer");
+        worker.start();
+    }
+
+    /**
+     * Stops the consumer thread, writing the open window and committing its offsets first.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Consumer<String, byte[]> active = consumer;
+        if (active != null) {
+            active.wakeup();
+        }
+        synchronized (restartLock) {
+            restartLock.notifyAll();
+        }
+        worker.join(Duration.ofSeconds(30).toMillis());
+    }
+
+    @Override
+    public void run() {
+        long backoffMillis = restartBackoffMillis;
+        while (running) {
+            long windowsBefore = windowsWritten.get();
+            try {
+                consume();
+            } catch (RuntimeException ex) {
+                if (windowsWritten.get() > windowsBefore) {
+                    backoffMillis = restartBackoffMillis;
+                }
+                restarts.incrementAndGet();
+                window.clear();
+                logger.error("Engagement consumer failed, restarting in {} ms", backoffMillis, ex);
+                awaitRestart(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RESTART_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the consumer counters.
+     *
+     * @return the consumer statistics
+     */
+    public ConsumerStatistics stats() {
+        return new ConsumerStatistics(CONSUMER_NAME, recordsConsumed.get(), lastBatchSize, maxBatchSize,
+                windowsWritten.get(), failedWrites.get(), skipped.get(), restarts.get(), lastWindowVideos, currentLag);
+    }
+
+    /**
+     * Runs one consumer until the thread is stopped; unexpected failures are thrown to be restarted.
+     */
+    private void consume() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+
+        try (Consumer<String, byte[]> kafkaConsumer = consumerFactory.createConsumer(
+                VideoStreamConstants.ENGAGEMENT_AGGREGATOR_GROUP, null, null, overrides)) {
+            consumer = kafkaConsumer;
+            kafkaConsumer.subscribe(List.of(VideoStreamConstants.VIDEO_PLAY_TOPIC), new ConsumerRebalanceListener() {
+                @Override
+                public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                    closeWindow(kafkaConsumer, true);
+                }
+
+                @Override
+                public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                    logger.info("Engagement consumer assigned partitions {}", partitions);
+                }
+            });
+
+            long windowEnd = System.currentTimeMillis() + windowMillis;
+            while (running) {
+                poll(kafkaConsumer);
+                if (System.currentTimeMillis() >= windowEnd) {
+                    closeWindow(kafkaConsumer, false);
+                    windowEnd = System.currentTimeMillis() + windowMillis;
+                }
+            }
+            closeWindow(kafkaConsumer, false);
+        } catch (WakeupException ex) {
+            if (running) {
+                throw ex;
+            }
+        } finally {
+            consumer = null;
+        }
+    }
+
+    private void awaitRestart(long backoffMillis) {
+        synchronized (restartLock) {
+            if (!running) {
+                return;
+            }
+            try {
+                restartLock.wait(backoffMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    private void poll(Consumer<String, byte[]> kafkaConsumer) {
+        ConsumerRecords<String, byte[]> records;
+        try {
+            records = kafkaConsumer.poll(pollTimeout);
+        } catch (WakeupException ex) {
+            /*
+             Shutting down: write what has been consumed so far before leaving the loop.
+             */
+            closeWindow(kafkaConsumer, false);
+            throw ex;
+        }
+
+        int batchSize = records.count();
+        lastBatchSize = batchSize;
+        maxBatchSize = Math.max(maxBatchSize, batchSize);
+        recordsConsumed.addAndGet(batchSize);
+
+        for (ConsumerRecord<String, byte[]> consumerRecord : records) {
+            try {
+                EngagementDelta delta = EngagementEventCodec.decode(consumerRecord.value());
+                long[] counts = window.computeIfAbsent(delta.getVideoId(), id -> new long[2]);
+                counts[0] += delta.getViews();
+                counts[1] += delta.getImpressions();
+            } catch (IllegalArgumentException ex) {
+                skipped.incrementAndGet();
+                logger.warn("Skipping malformed engagement event at {}-{}@{}: {}", consumerRecord.topic(),
+                        consumerRecord.partition(), consumerRecord.offset(), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the counts of the current window in one batch and commits the consumed offsets afterwards.
+     *
+     * @param revoking whether the partitions are being revoked, in which case a window that fails to be written
+     *                 is dropped rather than kept for the next attempt
+     */
+    private void closeWindow(Consumer<String, byte[]> kafkaConsumer, boolean revoking) {
+        updateLag(kafkaConsumer);
+        if (window.isEmpty()) {
+            return;
+        }
+
+        List<EngagementDelta> deltas = window.entrySet().stream()
+                .map(entry -> new EngagementDelta(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .toList();
+        List<EngagementDelta> written = deltas;
+        try {
+            engagementStatsRepo.incrementCounters(deltas);
+        } catch (DataAccessException ex) {
+            failedWrites.incrementAndGet();
+            if (revoking) {
+                /*
+                 The partitions (all of them, with the eager default assignor) move to another consumer, which
+                 replays these uncommitted events; writing the window later as well would count them twice.
+                 */
+                window.clear();
+                logger.error("Failed to write engagement window of {} videos before partitions were revoked, "
+                        + "leaving its events to the next owner: {}", deltas.size(), ex.getMessage());
+                return;
+            }
+            logger.warn("Failed to write engagement window of {} videos, writing them one by one: {}",
+                    deltas.size(), ex.getMessage());
+            written = new ArrayList<>();
+            if (!writeEach(deltas, written)) {
+                if (!written.isEmpty()) {
+                    historyRecorder.record(written);
+                }
+                return;
+            }
+        }
+
+        window.clear();
+        if (!written.isEmpty()) {
+            historyRecorder.record(written);
+        }
+        try {
+            kafkaConsumer.commitSync();
+        } catch (WakeupException ex) {
+            throw ex;
+        } catch (KafkaException ex) {
+            /*
+             The counts are written already; the events of this window will be replayed and counted again
+             (at-least-once) by whichever consumer owns the partitions next.
+             */
+            logger.warn("Failed to commit offsets after writing engagement window: {}", ex.getMessage());
+        }
+        windowsWritten.incrementAndGet();
+        lastWindowVideos = written.size();
+        logger.debug("Wrote engagement window of {} videos (lag: {})", written.size(), currentLag);
+    }
+
+    /**
+     * Writes the deltas of a window that failed as a batch one video at a time, removing every video written or
+     * skipped from the window. A video whose write fails with a non-transient error would fail every retry as well,
+     * so it is skipped; any other failure stops, leaving the videos not written yet in the window.
+     *
+     * @param written receives the deltas written
+     * @return true if every video was written or skipped, false if the remaining ones must be retried
+     */
+    private boolean writeEach(List<EngagementDelta> deltas, List<EngagementDelta> written) {
+        for (EngagementDelta delta : deltas) {
+            try {
+                engagementStatsRepo.incrementCounters(List.of(delta));
+                written.add(delta);
+            } catch (NonTransientDataAccessException ex) {
+                skipped.incrementAndGet();
+                logger.error("Skipping engagement of video ID: {} ({} views, {} impressions), it cannot be "
+                        + "written: {}", delta.getVideoId(), delta.getViews(), delta.getImpressions(), ex.getMessage());
+            } catch (DataAccessException ex) {
+                logger.error("Failed to write engagement of video ID: {}, retrying {} videos with the next window: {}",
+                        delta.getVideoId(), window.size(), ex.getMessage());
+                return false;
+            }
+            window.remove(delta.getVideoId());
+        }
+        return true;
+    }
+
+    private void updateLag(Consumer<String, byte[]> kafkaConsumer) {
+        long lag = 0;
+        for (TopicPartition partition : kafkaConsumer.assignment()) {
+            lag += kafkaConsumer.currentLag(partition).orElse(0L);
+        }
+        currentLag = lag;
+    }
+}
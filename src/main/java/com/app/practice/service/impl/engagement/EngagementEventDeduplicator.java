@@ -0,0 +1,74 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.dto.EngagementEventType;
+import com.app.practice.utils.RotatingBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Detects engagement events retried by clients, so a retried play or load is not counted twice.
+ * <p>
+ * Clients may send an event ID with each play or load. The ID, scoped to the requesting user, the video and the
+ * engagement type, is checked against a {@link RotatingBloomFilter} covering the configured window; an ID seen
+ * within the window is a duplicate. Requests without an event ID are always counted. The filter lives in memory
+ * and never touches the database; a retry is only recognised by the node that saw the first attempt, and a false
+ * positive (configured rate per generation) drops a genuine event.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class EngagementEventDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementEventDeduplicator.class);
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final RotatingBloomFilter filter;
+
+    public EngagementEventDeduplicator(@Value("${engagement.dedup.window-ms:600000}") long windowMillis,
+                                       @Value("${engagement.dedup.generations:4}") int generations,
+                                       @Value("${engagement.dedup.expected-events-per-generation:1000000}") long expectedEvents,
+                                       @Value("${engagement.dedup.false-positive-rate:0.0001}") double falsePositiveRate) {
+        this.filter = new RotatingBloomFilter(expectedEvents, falsePositiveRate, generations, windowMillis / generations);
+        logger.info("Engagement event deduplication initialized with {} generations ({} bytes)", generations,
+                filter.sizeInBytes());
+    }
+
+    /**
+     * Whether an engagement event was already recorded within the deduplication window; records it otherwise.
+     *
+     * @param type    the engagement type
+     * @param videoId the ID of the video
+     * @param eventId the client event ID, may be null
+     * @return true if the event is a retry that must not be counted again
+     */
+    public boolean isDuplicate(EngagementEventType type, Long videoId, String eventId) {
+        return isDuplicate(type, videoId, eventId, System.currentTimeMillis());
+    }
+
+    /**
+     * Same as {@link #isDuplicate(EngagementEventType, Long, String)}, at the given time.
+     */
+    public boolean isDuplicate(EngagementEventType type, Long videoId, String eventId, long nowMillis) {
+        if (eventId == null || eventId.isBlank()) {
+            return false;
+        }
+
+        String key = principal() + KEY_SEPARATOR + type + KEY_SEPARATOR + videoId + KEY_SEPARATOR + eventId.trim();
+        if (filter.add(key, nowMillis)) {
+            return false;
+        }
+
+        logger.debug("Ignoring duplicate {} event {} of video {}", type, eventId, videoId);
+        return true;
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+}
@@ -0,0 +1,245 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.EngagementEventType;
+import com.app.practice.dto.ProducerStatistics;
+import com.app.practice.utils.EngagementEventCodec;
+import com.app.practice.utils.KafkaProducerService;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.common.KafkaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes engagement events to the video play topic.
+ * <p>
+ * Request threads only append events to the durable {@link EngagementEventSpool}, so their latency does not
+ * depend on the broker, and events recorded during a broker outage or before a restart are not lost. A dedicated
+ * drainer thread reads the spooled events in order, sums them into one compact record per video, keyed by the
+ * video ID, so all engagement of a video lands on the same partition and consumers can aggregate per partition.
+ * The producer then groups the records of a partition into compressed batches (see the {@code spring.kafka.producer}
+ * settings).
+ * <p>
+ * Spooled events are acknowledged, and eventually truncated, only once the broker acknowledged all records of
+ * their batch. A batch that failed is sent again after a back-off, so events are published at least once.
+ * Once the spool is full, new events are dropped and counted rather than blocking the request.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class EngagementEventPublisher implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementEventPublisher.class);
+
+    private static final String PUBLISHER_NAME = "engagement-events";
+
+    private final KafkaProducerService kafkaProducerService;
+    private final EngagementEventSpool spool;
+    private final long drainIntervalMillis;
+    private final long retryBackoffMillis;
+    private final long sendTimeoutMillis;
+    private final int maxBatchEvents;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    private final LongAdder eventsQueued = new LongAdder();
+    private final LongAdder eventsDropped = new LongAdder();
+    private final LongAdder recordsSent = new LongAdder();
+    private final LongAdder failedSends = new LongAdder();
+    private final LongAdder totalSendLatencyNanos = new LongAdder();
+    private final AtomicLong maxSendLatencyNanos = new AtomicLong();
+
+    public EngagementEventPublisher(KafkaProducerService kafkaProducerService,
+                                    EngagementEventSpool spool,
+                                    @Value("${engagement.publisher.drain-interval-ms:100}") long drainIntervalMillis,
+                                    @Value("${engagement.publisher.retry-backoff-ms:1000}") long retryBackoffMillis,
+                                    @Value("${engagement.publisher.send-timeout-ms:30000}") long sendTimeoutMillis,
+                                    @Value("${engagement.publisher.max-batch-events:50000}") int maxBatchEvents) {
+        this.kafkaProducerService = kafkaProducerService;
+        this.spool = spool;
+        this.drainIntervalMillis = drainIntervalMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.maxBatchEvents = maxBatchEvents;
+    }
+
+    /**
+     * Records an engagement event for publishing.
+     *
+     * @param type    the engagement type
+     * @param videoId the ID of the video
+     * @return false if the spool is full and the event was dropped
+     */
+    public boolean publish(EngagementEventType type, Long videoId) {
+        if (!spool.append(type, videoId)) {
+            eventsDropped.increment();
+            return false;
+        }
+        eventsQueued.increment();
+        return true;
+    }
+
+    /**
+     * Records several events of the same type and video for publishing. They are spooled one by one and summed
+     * again by the drainer, so this is meant for background threads, not request threads.
+     *
+     * @param type    the engagement type
+     * @param videoId the ID of the video
+     * @param count   the number of events
+     * @return false if the spool filled up and some of the events were dropped
+     */
+    public boolean publish(EngagementEventType type, Long videoId, long count) {
+        for (long published = 0; published < count; published++) {
+            if (!spool.append(type, videoId)) {
+                eventsQueued.add(published);
+                eventsDropped.add(count - published);
+                return false;
+            }
+        }
+        eventsQueued.add(Math.max(count, 0));
+        return true;
+    }
+
+    /**
+     * Starts the drainer thread once the application is ready to serve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this, "engagement-event-publisher");
+        worker.start();
+    }
+
+    /**
+     * Stops the drainer thread and flushes the records already handed to the producer. Events not published
+     * yet stay in the spool and are published after the next start.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join(Duration.ofSeconds(30).toMillis());
+        try {
+            kafkaProducerService.flush();
+        } catch (KafkaException ex) {
+            logger.error("Failed to flush engagement records before shutdown: {}", ex.getMessage());
+        }
+        spool.force();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                DrainResult result = drain();
+                if (result == DrainResult.FAILED) {
+                    Thread.sleep(retryBackoffMillis);
+                } else if (result == DrainResult.EMPTY || spool.depth() < maxBatchEvents) {
+                    spool.force();
+                    Thread.sleep(drainIntervalMillis);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            logger.error("Engagement event publisher stopped after an unexpected error", ex);
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * Publishes the oldest spooled events, one record per video, and acknowledges them in the spool once the
+     * broker acknowledged all records.
+     *
+     * @return whether events were published, none were spooled, or publishing failed
+     * @throws InterruptedException if interrupted while waiting for the broker
+     */
+    public DrainResult drain() throws InterruptedException {
+        EngagementEventSpool.Batch batch = spool.read(maxBatchEvents);
+        if (batch == null) {
+            return DrainResult.EMPTY;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.deltas().size());
+        try {
+            for (EngagementDelta delta : batch.deltas()) {
+                sends.add(send(delta));
+            }
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (KafkaException | ExecutionException | TimeoutException ex) {
+            Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+            logger.warn("Failed to publish {} engagement events of {} videos, retrying: {}", batch.events(),
+                    batch.deltas().size(), cause.getMessage());
+            return DrainResult.FAILED;
+        }
+
+        spool.acknowledge(batch);
+        logger.debug("Published {} engagement events of {} videos", batch.events(), batch.deltas().size());
+        return DrainResult.PUBLISHED;
+    }
+
+    /**
+     * Returns a snapshot of the publisher counters.
+     *
+     * @return the producer statistics
+     */
+    public ProducerStatistics stats() {
+        return new ProducerStatistics(PUBLISHER_NAME, eventsQueued.sum(), eventsDropped.sum(), recordsSent.sum(),
+                failedSends.sum(), spool.depth(), TimeUnit.NANOSECONDS.toMillis(totalSendLatencyNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(maxSendLatencyNanos.get()));
+    }
+
+    private CompletableFuture<?> send(EngagementDelta delta) {
+        long started = System.nanoTime();
+        try {
+            return kafkaProducerService.send(VideoStreamConstants.VIDEO_PLAY_TOPIC, String.valueOf(delta.getVideoId()),
+                            EngagementEventCodec.encode(delta))
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            failedSends.increment();
+                        } else {
+                            onSent(System.nanoTime() - started);
+                        }
+                    });
+        } catch (KafkaException ex) {
+            failedSends.increment();
+            throw ex;
+        }
+    }
+
+    private void onSent(long latencyNanos) {
+        recordsSent.increment();
+        totalSendLatencyNanos.add(latencyNanos);
+        maxSendLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /**
+     * Outcome of one {@link #drain()}.
+     */
+    public enum DrainResult {
+        PUBLISHED, EMPTY, FAILED
+    }
+}
@@ -0,0 +1,361 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.EngagementEventType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Durable, append-only spool of engagement events waiting to be published.
+ * <p>
+ * Events are appended as fixed-size records to memory-mapped segment files, so recording an event is a few
+ * memory writes on the request thread no matter how slow the broker is, and the events survive a restart of the
+ * process. Segments have a fixed number of records; a new segment is started when the last one is full, up to
+ * the configured number of segments, after which new events are dropped.
+ * <p>
+ * A single reader takes the events in order, and acknowledges them once they have been published. The
+ * acknowledged position is kept in the header of the segment. A fully acknowledged segment is deleted. On
+ * startup, the remaining segments are reopened and reading resumes after the last acknowledged event, so events
+ * are published at least once.
+ * <p>
+ * Segment layout: magic, version, record capacity and acknowledged records (4 bytes each), then the records:
+ * the event type (1 byte, 0 for a free slot) and the video ID (8 bytes). The type is written last, so a slot
+ * that is only partially written is read as free.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class EngagementEventSpool {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementEventSpool.class);
+
+    private static final int MAGIC = 0x454e5350;
+    private static final int VERSION = 1;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int ACKED_OFFSET = 12;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 9;
+    private static final byte TYPE_VIEW = 1;
+    private static final byte TYPE_IMPRESSION = 2;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("engagement-(\\d+)\\.spool");
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final int maxSegments;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong depth = new AtomicLong();
+    private long nextSequence;
+
+    public EngagementEventSpool(@Value("${engagement.spool.directory:./data/engagement-spool}") String directory,
+                                @Value("${engagement.spool.segment-bytes:4194304}") int segmentBytes,
+                                @Value("${engagement.spool.max-segments:256}") int maxSegments) {
+        this.directory = Paths.get(directory);
+        this.segmentCapacity = Math.max(1, (segmentBytes - HEADER_BYTES) / RECORD_BYTES);
+        this.maxSegments = maxSegments;
+        recover();
+    }
+
+    /**
+     * Appends an event to the spool.
+     *
+     * @param type    the engagement type
+     * @param videoId the ID of the video
+     * @return false if the spool is full or a new segment could not be created, so the event was not recorded
+     */
+    public boolean append(EngagementEventType type, Long videoId) {
+        lock.lock();
+        try {
+            Segment tail = segments.peekLast();
+            if (tail == null || tail.writeIndex == tail.capacity) {
+                if (segments.size() >= maxSegments) {
+                    return false;
+                }
+                tail = createSegment();
+                if (tail == null) {
+                    return false;
+                }
+            }
+
+            int position = HEADER_BYTES + tail.writeIndex * RECORD_BYTES;
+            tail.buffer.putLong(position + 1, videoId);
+            tail.buffer.put(position, type == EngagementEventType.VIEW ? TYPE_VIEW : TYPE_IMPRESSION);
+            tail.writeIndex++;
+            depth.incrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the oldest unacknowledged events, summed per video. Must only be called by the single reader.
+     *
+     * @param maxRecords the maximum number of events to read
+     * @return the events read, or null if there are none
+     */
+    public Batch read(int maxRecords) {
+        Segment head;
+        int to;
+        lock.lock();
+        try {
+            head = segments.peekFirst();
+            /*
+             Only a segment recovered after a crash can end before its capacity without being the last one;
+             once read completely it is skipped.
+             */
+            while (head != null && head != segments.peekLast() && head.acked == head.writeIndex) {
+                segments.removeFirst();
+                delete(head);
+                head = segments.peekFirst();
+            }
+            if (head == null) {
+                return null;
+            }
+            to = (int) Math.min(head.writeIndex, (long) head.acked + maxRecords);
+        } finally {
+            lock.unlock();
+        }
+        if (to == head.acked) {
+            return null;
+        }
+
+        Map<Long, long[]> counts = new LinkedHashMap<>();
+        for (int index = head.acked; index < to; index++) {
+            int position = HEADER_BYTES + index * RECORD_BYTES;
+            long[] videoCounts = counts.computeIfAbsent(head.buffer.getLong(position + 1), id -> new long[2]);
+            videoCounts[head.buffer.get(position) == TYPE_VIEW ? 0 : 1]++;
+        }
+
+        List<EngagementDelta> deltas = new ArrayList<>(counts.size());
+        counts.forEach((videoId, videoCounts) -> deltas.add(new EngagementDelta(videoId, videoCounts[0], videoCounts[1])));
+        return new Batch(head, head.acked, to, deltas);
+    }
+
+    /**
+     * Marks the events of a batch as published. A segment whose events are all published is deleted.
+     *
+     * @param batch a batch returned by {@link #read(int)}
+     */
+    public void acknowledge(Batch batch) {
+        Segment segment = batch.segment();
+        segment.acked = batch.to();
+        segment.buffer.putInt(ACKED_OFFSET, segment.acked);
+        depth.addAndGet(-(batch.to() - batch.from()));
+
+        if (segment.acked == segment.capacity) {
+            lock.lock();
+            try {
+                segments.remove(segment);
+            } finally {
+                lock.unlock();
+            }
+            delete(segment);
+        }
+    }
+
+    /**
+     * Returns the number of events not published yet.
+     *
+     * @return the spooled events
+     */
+    public long depth() {
+        return depth.get();
+    }
+
+    /**
+     * Writes the spooled events to the storage device, so they also survive a crash of the machine.
+     */
+    public void force() {
+        lock.lock();
+        try {
+            segments.forEach(segment -> segment.buffer.force());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.buffer.force();
+                closeQuietly(segment);
+            }
+            segments.clear();
+            logger.info("Closed engagement spool with {} unpublished events", depth.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reopens the segments left by a previous run, in order.
+     */
+    private void recover() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read engagement spool directory " + directory, ex);
+        }
+
+        for (Path path : files) {
+            Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+            matcher.matches();
+            long sequence = Long.parseLong(matcher.group(1));
+            nextSequence = Math.max(nextSequence, sequence + 1);
+
+            Segment segment = openSegment(path);
+            if (segment == null) {
+                continue;
+            }
+            if (segment.acked == segment.capacity) {
+                delete(segment);
+                continue;
+            }
+            segments.addLast(segment);
+            depth.addAndGet(segment.writeIndex - segment.acked);
+        }
+
+        if (!segments.isEmpty()) {
+            logger.info("Recovered {} unpublished engagement events from {} spool segments", depth.get(), segments.size());
+        }
+    }
+
+    private Segment openSegment(Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                long size = channel.size();
+                MappedByteBuffer buffer = size >= HEADER_BYTES ? channel.map(FileChannel.MapMode.READ_WRITE, 0, size) : null;
+                if (buffer == null || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                        || HEADER_BYTES + (long) buffer.getInt(CAPACITY_OFFSET) * RECORD_BYTES > size) {
+                    channel.close();
+                    Path corrupt = path.resolveSibling(path.getFileName() + ".corrupt");
+                    Files.move(path, corrupt, StandardCopyOption.REPLACE_EXISTING);
+                    logger.error("Moved unreadable engagement spool segment aside to {}", corrupt);
+                    return null;
+                }
+
+                Segment segment = new Segment(path, channel, buffer, buffer.getInt(CAPACITY_OFFSET));
+                segment.acked = buffer.getInt(ACKED_OFFSET);
+                int writeIndex = segment.acked;
+                while (writeIndex < segment.capacity && buffer.get(HEADER_BYTES + writeIndex * RECORD_BYTES) != 0) {
+                    writeIndex++;
+                }
+                segment.writeIndex = writeIndex;
+                return segment;
+            } catch (IOException | RuntimeException ex) {
+                channel.close();
+                throw ex;
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot open engagement spool segment " + path, ex);
+        }
+    }
+
+    /**
+     * Creates the next segment. Must be called with the lock held.
+     */
+    private Segment createSegment() {
+        long sequence = nextSequence++;
+        Path path = directory.resolve(String.format("engagement-%020d.spool", sequence));
+        try {
+            Files.createDirectories(directory);
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) segmentCapacity * RECORD_BYTES);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(CAPACITY_OFFSET, segmentCapacity);
+            buffer.putInt(ACKED_OFFSET, 0);
+
+            Segment segment = new Segment(path, channel, buffer, segmentCapacity);
+            segments.addLast(segment);
+            logger.debug("Created engagement spool segment {}", path);
+            return segment;
+        } catch (IOException ex) {
+            logger.error("Failed to create engagement spool segment {}: {}", path, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void delete(Segment segment) {
+        closeQuietly(segment);
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException ex) {
+            logger.warn("Failed to delete published engagement spool segment {}: {}", segment.path, ex.getMessage());
+        }
+    }
+
+    private void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException ex) {
+            logger.warn("Failed to close engagement spool segment {}: {}", segment.path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Events read from one segment, between two record indexes, summed per video.
+     */
+    public record Batch(Segment segment, int from, int to, List<EngagementDelta> deltas) {
+
+        public int events() {
+            return to - from;
+        }
+    }
+
+    /**
+     * A mapped segment file. The write index is only advanced under the lock, the acknowledged index only by the reader.
+     */
+    static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private volatile int writeIndex;
+        private volatile int acked;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+    }
+}
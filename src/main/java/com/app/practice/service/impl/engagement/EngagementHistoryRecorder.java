@@ -0,0 +1,199 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.RollupDelta;
+import com.app.practice.dto.RollupGranularity;
+import com.app.practice.repository.EngagementRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the engagement history of videos as time-bucketed rollups.
+ * <p>
+ * Engagement is recorded where the lifetime counters are written (the write-behind aggregator and the engagement
+ * event consumer), into per-video minute buckets held in memory. A background compactor periodically merges
+ * every closed minute into the hourly and daily rollup rows with one batch of additive upserts, so nodes that
+ * record different events add up in the same rows. Hourly rows are purged once older than their retention;
+ * daily rows are kept, so long ranges stay cheap to query.
+ * <p>
+ * A failed compaction keeps its minute buckets for the next run.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class EngagementHistoryRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementHistoryRecorder.class);
+
+    private static final long MINUTE_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final EngagementRollupRepository rollupRepository;
+    private final Duration hourRetention;
+
+    /**
+     * Minute (epoch minutes) to video ID to views and impressions.
+     */
+    private final Map<Long, Map<Long, long[]>> minuteBuckets = new HashMap<>();
+    private final ReentrantLock bucketLock = new ReentrantLock();
+    private final ReentrantLock compactLock = new ReentrantLock();
+
+    public EngagementHistoryRecorder(EngagementRollupRepository rollupRepository,
+                                     @Value("${engagement.history.hour-retention-days:30}") int hourRetentionDays) {
+        this.rollupRepository = rollupRepository;
+        this.hourRetention = Duration.ofDays(hourRetentionDays);
+    }
+
+    /**
+     * Records engagement deltas in the bucket of the current minute.
+     *
+     * @param deltas the deltas to record
+     */
+    public void record(List<EngagementDelta> deltas) {
+        record(deltas, Instant.now());
+    }
+
+    /**
+     * Records engagement deltas in the bucket of the minute containing the given instant.
+     *
+     * @param deltas the deltas to record
+     * @param at     the time the engagement happened
+     */
+    public void record(List<EngagementDelta> deltas, Instant at) {
+        long minute = at.toEpochMilli() / MINUTE_MILLIS;
+        bucketLock.lock();
+        try {
+            Map<Long, long[]> bucket = minuteBuckets.computeIfAbsent(minute, key -> new HashMap<>());
+            for (EngagementDelta delta : deltas) {
+                long[] counts = bucket.computeIfAbsent(delta.getVideoId(), key -> new long[2]);
+                counts[0] += delta.getViews();
+                counts[1] += delta.getImpressions();
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    /**
+     * Merges all closed minute buckets into the hourly and daily rollups.
+     */
+    @Scheduled(fixedDelayString = "${engagement.history.compact-interval-ms:60000}")
+    public void compact() {
+        compactBefore(System.currentTimeMillis() / MINUTE_MILLIS);
+    }
+
+    /**
+     * Deletes the hourly rollups that are older than their retention.
+     */
+    @Scheduled(fixedDelayString = "${engagement.history.purge-interval-ms:3600000}")
+    public void purgeExpiredHours() {
+        Instant cutoff = RollupGranularity.HOUR.bucketStart(Instant.now().minus(hourRetention));
+        try {
+            int deleted = rollupRepository.deleteRollupsBefore(RollupGranularity.HOUR, cutoff);
+            logger.debug("Purged {} hourly engagement rollups before {}", deleted, cutoff);
+        } catch (DataAccessException ex) {
+            logger.error("Failed to purge hourly engagement rollups: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Merges every minute bucket, including the open one, before shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        compactBefore(Long.MAX_VALUE);
+    }
+
+    private void compactBefore(long minuteExclusive) {
+        compactLock.lock();
+        try {
+            Map<Long, Map<Long, long[]>> closed = drain(minuteExclusive);
+            if (closed.isEmpty()) {
+                return;
+            }
+
+            List<RollupDelta> deltas = rollup(closed);
+            try {
+                rollupRepository.incrementRollups(deltas);
+                logger.debug("Compacted {} minute buckets into {} engagement rollups", closed.size(), deltas.size());
+            } catch (DataAccessException ex) {
+                restore(closed);
+                logger.error("Failed to write engagement rollups, keeping {} minute buckets for the next run: {}",
+                        closed.size(), ex.getMessage());
+            }
+        } finally {
+            compactLock.unlock();
+        }
+    }
+
+    private Map<Long, Map<Long, long[]>> drain(long minuteExclusive) {
+        Map<Long, Map<Long, long[]>> closed = new HashMap<>();
+        bucketLock.lock();
+        try {
+            Iterator<Map.Entry<Long, Map<Long, long[]>>> iterator = minuteBuckets.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Map<Long, long[]>> bucket = iterator.next();
+                if (bucket.getKey() < minuteExclusive) {
+                    closed.put(bucket.getKey(), bucket.getValue());
+                    iterator.remove();
+                }
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+        return closed;
+    }
+
+    private void restore(Map<Long, Map<Long, long[]>> closed) {
+        bucketLock.lock();
+        try {
+            closed.forEach((minute, videos) -> {
+                Map<Long, long[]> bucket = minuteBuckets.computeIfAbsent(minute, key -> new HashMap<>());
+                videos.forEach((videoId, counts) -> {
+                    long[] current = bucket.computeIfAbsent(videoId, key -> new long[2]);
+                    current[0] += counts[0];
+                    current[1] += counts[1];
+                });
+            });
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    private static List<RollupDelta> rollup(Map<Long, Map<Long, long[]>> closed) {
+        Map<RollupKey, long[]> rollups = new LinkedHashMap<>();
+        closed.forEach((minute, videos) -> {
+            Instant minuteStart = Instant.ofEpochMilli(minute * MINUTE_MILLIS);
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                Instant bucketStart = granularity.bucketStart(minuteStart);
+                videos.forEach((videoId, counts) -> {
+                    long[] total = rollups.computeIfAbsent(new RollupKey(videoId, granularity, bucketStart), key -> new long[2]);
+                    total[0] += counts[0];
+                    total[1] += counts[1];
+                });
+            }
+        });
+
+        List<RollupDelta> deltas = new ArrayList<>(rollups.size());
+        rollups.forEach((key, counts) -> deltas.add(
+                new RollupDelta(key.videoId(), key.granularity(), key.bucketStart(), counts[0], counts[1])));
+        return deltas;
+    }
+
+    private record RollupKey(Long videoId, RollupGranularity granularity, Instant bucketStart) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.RollupGranularity;
+import com.app.practice.entity.EngagementRollup;
+import com.app.practice.model.response.EngagementDataPoint;
+import com.app.practice.model.response.EngagementTimeSeries;
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.repository.EngagementRollupRepository;
+import com.app.practice.repository.VideoRepository;
+import com.app.practice.service.EngagementHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the EngagementHistoryService interface.
+ * Reads the pre-aggregated hourly or daily rollups of a video, so a range costs one indexed query over at
+ * most one row per bucket (e.g. 90 rows for 90 days), and fills buckets without engagement with zeros.
+ * Daily series also carry the distinct-viewer estimate of each day.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Service
+public class EngagementHistoryServiceImpl implements EngagementHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementHistoryServiceImpl.class);
+
+    private static final int DEFAULT_POINTS = 24;
+
+    private final VideoRepository videoRepository;
+    private final EngagementRollupRepository rollupRepository;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final int maxPoints;
+
+    public EngagementHistoryServiceImpl(VideoRepository videoRepository,
+                                        EngagementRollupRepository rollupRepository,
+                                        UniqueViewerTracker uniqueViewerTracker,
+                                        @Value("${engagement.history.max-points:2000}") int maxPoints) {
+        this.videoRepository = videoRepository;
+        this.rollupRepository = rollupRepository;
+        this.uniqueViewerTracker = uniqueViewerTracker;
+        this.maxPoints = maxPoints;
+    }
+
+    @Override
+    public GenericResponse<EngagementTimeSeries> getTimeSeries(Long id, Instant from, Instant to, RollupGranularity granularity) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(granularity.getDuration().multipliedBy(DEFAULT_POINTS));
+        if (!start.isBefore(end)) {
+            return GenericResponse.error(ModuleConstants.INVALID_TIME_RANGE, HttpStatus.BAD_REQUEST);
+        }
+
+        Instant firstBucket = granularity.bucketStart(start);
+        Instant lastBucket = granularity.bucketStart(end);
+        Instant endBucket = lastBucket.equals(end) ? lastBucket : lastBucket.plus(granularity.getDuration());
+        long points = Duration.between(firstBucket, endBucket).dividedBy(granularity.getDuration());
+        if (points > maxPoints) {
+            return GenericResponse.error(ModuleConstants.TIME_RANGE_TOO_LARGE + maxPoints, HttpStatus.BAD_REQUEST);
+        }
+
+        logger.info("Fetching {} engagement time series of video ID: {} ({} to {})", granularity, id, firstBucket, endBucket);
+        try {
+            if (!videoRepository.existsById(id)) {
+                return GenericResponse.error(ModuleConstants.VIDEO_NOT_FOUND, HttpStatus.NOT_FOUND);
+            }
+
+            List<EngagementRollup> rollups = rollupRepository.findRollups(id, granularity, toUtc(firstBucket), toUtc(endBucket));
+            Map<LocalDateTime, EngagementRollup> byBucket = new HashMap<>();
+            for (EngagementRollup rollup : rollups) {
+                byBucket.put(rollup.getBucketStart(), rollup);
+            }
+
+            Map<Instant, Long> dailyViewers = granularity == RollupGranularity.DAY
+                    ? uniqueViewerTracker.dailyUniqueViewers(id, firstBucket, endBucket)
+                    : Map.of();
+
+            List<EngagementDataPoint> series = new ArrayList<>((int) points);
+            for (Instant bucket = firstBucket; bucket.isBefore(endBucket); bucket = bucket.plus(granularity.getDuration())) {
+                EngagementRollup rollup = byBucket.get(toUtc(bucket));
+                Long uniqueViewers = granularity == RollupGranularity.DAY ? dailyViewers.getOrDefault(bucket, 0L) : null;
+                series.add(rollup == null
+                        ? new EngagementDataPoint(bucket, 0L, 0L, uniqueViewers)
+                        : new EngagementDataPoint(bucket, rollup.getViews(), rollup.getImpressions(), uniqueViewers));
+            }
+
+            return GenericResponse.success(new EngagementTimeSeries(id, granularity, firstBucket, endBucket, series), HttpStatus.OK);
+        } catch (Exception ex) {
+            logger.error("Error fetching engagement time series: {}", ex.getMessage());
+            return GenericResponse.error("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static LocalDateTime toUtc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.practice.service.impl.engagement;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * On-disk snapshot of the materialized engagement state: the view and impression totals per video together
+ * with the topic offsets they include, so a restarted node only replays the events published after the snapshot.
+ * <p>
+ * The snapshot is a small binary file (magic, version, offsets, counters) written to a temporary file and
+ * atomically moved into place, so a crash while writing never leaves a truncated snapshot behind.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EngagementStateSnapshot {
+
+    private static final int MAGIC = 0x454e4753;
+    private static final int VERSION = 1;
+
+    /**
+     * Next offset to consume per partition of the engagement topic.
+     */
+    private Map<Integer, Long> offsets = new HashMap<>();
+
+    /**
+     * Views and impressions per video ID.
+     */
+    private Map<Long, long[]> counts = new HashMap<>();
+
+    /**
+     * Writes the snapshot to the given path, replacing any previous snapshot.
+     *
+     * @param path the snapshot file
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void write(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(offsets.size());
+                for (Map.Entry<Integer, Long> offset : offsets.entrySet()) {
+                    out.writeInt(offset.getKey());
+                    out.writeLong(offset.getValue());
+                }
+                out.writeInt(counts.size());
+                for (Map.Entry<Long, long[]> count : counts.entrySet()) {
+                    out.writeLong(count.getKey());
+                    out.writeLong(count.getValue()[0]);
+                    out.writeLong(count.getValue()[1]);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(Path)}.
+     *
+     * @param path the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static EngagementStateSnapshot read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported engagement state snapshot: " + path);
+            }
+
+            EngagementStateSnapshot snapshot = new EngagementStateSnapshot();
+            int partitions = in.readInt();
+            for (int i = 0; i < partitions; i++) {
+                snapshot.offsets.put(in.readInt(), in.readLong());
+            }
+            int videos = in.readInt();
+            for (int i = 0; i < videos; i++) {
+                snapshot.counts.put(in.readLong(), new long[]{in.readLong(), in.readLong()});
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.ConsumerStatistics;
+import com.app.practice.dto.EngagementCounts;
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.VideoSummary;
+import com.app.practice.repository.VideoRepository;
+import com.app.practice.utils.EngagementEventCodec;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local, in-memory read model of video engagement, materialized from the engagement events on the video play topic.
+ * <p>
+ * Every node reads all partitions of the topic itself (manual assignment, no consumer group), so each node holds
+ * the complete totals and answers stats queries from memory. The state is snapshotted to disk periodically together
+ * with the offsets it includes; on startup the snapshot is loaded and only the newer events are replayed. Without a
+ * usable snapshot the state is rebuilt from the beginning of the topic.
+ * <p>
+ * Counters are only written by the consumer thread and read concurrently by request threads. Video titles and
+ * descriptions are not part of the events; they are looked up on first use and kept in a bounded, least recently
+ * used map. Edits and delistings invalidate a summary at the new version of the video (see
+ * {@link #invalidate(Long, long)}), so a summary read before the change is neither kept nor cached again.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+@Profile("prod")
+public class EngagementStateStore implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementStateStore.class);
+
+    private static final String CONSUMER_NAME = "engagement-state-store";
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final VideoRepository videoRepository;
+    private final Path snapshotPath;
+    private final long snapshotIntervalMillis;
+    private final Duration pollTimeout;
+    private final int summaryMaxEntries;
+
+    private final Map<Long, Counts> counts = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Long, VideoSummary> summaries;
+    private final LinkedHashMap<Long, Long> invalidatedVersions;
+    private final ReentrantLock summaryLock = new ReentrantLock();
+    private final Map<Integer, Long> offsets = new HashMap<>();
+
+    private volatile boolean running;
+    private volatile boolean caughtUp;
+    private volatile Consumer<String, byte[]> consumer;
+    private Thread worker;
+
+    private final AtomicLong recordsConsumed = new AtomicLong();
+    private final AtomicLong snapshotsWritten = new AtomicLong();
+    private final AtomicLong failedSnapshots = new AtomicLong();
+    private final AtomicLong malformedRecords = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+    private volatile long currentLag;
+
+    public EngagementStateStore(ConsumerFactory<String, byte[]> consumerFactory,
+                                VideoRepository videoRepository,
+                                @Value("${engagement.state.snapshot-path:./data/engagement-state.snapshot}") String snapshotPath,
+                                @Value("${engagement.state.snapshot-interval-ms:60000}") long snapshotIntervalMillis,
+                                @Value("${engagement.state.poll-timeout-ms:500}") long pollTimeoutMillis,
+                                @Value("${engagement.state.summary-max-entries:10000}") int summaryMaxEntries) {
+        this.consumerFactory = consumerFactory;
+        this.videoRepository = videoRepository;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMillis);
+        this.summaryMaxEntries = Math.max(1, summaryMaxEntries);
+        this.summaries = boundedMap();
+        this.invalidatedVersions = boundedMap();
+    }
+
+    /**
+     * Returns the materialized view and impression totals of a video.
+     *
+     * @param videoId the ID of the video
+     * @return the totals, zero for a video without engagement events
+     */
+    public EngagementCounts counts(Long videoId) {
+        Counts videoCounts = counts.get(videoId);
+        return videoCounts == null
+                ? new EngagementCounts(videoId, 0L, 0L)
+                : new EngagementCounts(videoId, videoCounts.views, videoCounts.impressions);
+    }
+
+    /**
+     * Returns the title, synopsis and director of a video, loading them on first use.
+     *
+     * @param videoId the ID of the video
+     * @return the video summary, or empty if the video does not exist
+     */
+    public Optional<VideoSummary> summary(Long videoId) {
+        VideoSummary summary = cachedSummary(videoId);
+        if (summary != null) {
+            return Optional.of(summary);
+        }
+
+        Optional<VideoSummary> loaded = videoRepository.findSummaryById(videoId);
+        loaded.ifPresent(this::cacheSummary);
+        return loaded;
+    }
+
+    /**
+     * Returns the title, synopsis and director of several videos, loading the ones not in memory yet with
+     * a single query.
+     *
+     * @param videoIds the IDs of the videos
+     * @return the summaries by video ID, without the videos that do not exist
+     */
+    public Map<Long, VideoSummary> summaries(Collection<Long> videoIds) {
+        Map<Long, VideoSummary> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long videoId : videoIds) {
+            VideoSummary summary = cachedSummary(videoId);
+            if (summary != null) {
+                found.put(videoId, summary);
+            } else {
+                missing.add(videoId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (VideoSummary loaded : videoRepository.findSummariesByIds(missing)) {
+                cacheSummary(loaded);
+                found.put(loaded.getVideoId(), loaded);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Invalidates the summary of a video read before it was changed to the given version. The newest invalidated
+     * version is remembered, so a load that read the video before the change is not cached either. Older or
+     * repeated invalidations have no effect.
+     *
+     * @param videoId the ID of the video
+     * @param version the version of the video after the change
+     */
+    public void invalidate(Long videoId, long version) {
+        summaryLock.lock();
+        try {
+            invalidatedVersions.merge(videoId, version, Math::max);
+            VideoSummary summary = summaries.get(videoId);
+            if (summary != null && summary.getVersion() < version) {
+                summaries.remove(videoId);
+            }
+        } finally {
+            summaryLock.unlock();
+        }
+    }
+
+    private VideoSummary cachedSummary(Long videoId) {
+        summaryLock.lock();
+        try {
+            return summaries.get(videoId);
+        } finally {
+            summaryLock.unlock();
+        }
+    }
+
+    /**
+     * Caches a loaded summary unless the video was changed after it was read, or a newer summary is cached already.
+     */
+    private void cacheSummary(VideoSummary loaded) {
+        summaryLock.lock();
+        try {
+            Long invalidatedVersion = invalidatedVersions.get(loaded.getVideoId());
+            VideoSummary cached = summaries.get(loaded.getVideoId());
+            if ((invalidatedVersion == null || loaded.getVersion() >= invalidatedVersion)
+                    && (cached == null || cached.getVersion() < loaded.getVersion())) {
+                summaries.put(loaded.getVideoId(), loaded);
+            }
+        } finally {
+            summaryLock.unlock();
+        }
+    }
+
+    /**
+     * Creates an access-ordered map that drops its least recently used entry beyond the summary capacity.
+     */
+    private <V> LinkedHashMap<Long, V> boundedMap() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > summaryMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * Whether the store has consumed all events that were published when it last polled.
+     *
+     * @return true once the state has caught up with the topic
+     */
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    /**
+     * Returns a snapshot of the consumer counters.
+     *
+     * @return the consumer statistics
+     */
+    public ConsumerStatistics stats() {
+        return new ConsumerStatistics(CONSUMER_NAME, recordsConsumed.get(), lastBatchSize, maxBatchSize,
+                snapshotsWritten.get(), failedSnapshots.get(), malformedRecords.get(), 0L, counts.size(),
+                currentLag);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this, "engagement-state-store");
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Consumer<String, byte[]> active = consumer;
+        if (active != null) {
+            active.wakeup();
+        }
+        worker.join(Duration.ofSeconds(30).toMillis());
+    }
+
+    @Override
+    public void run() {
+        restoreSnapshot();
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+
+        try (Consumer<String, byte[]> kafkaConsumer = consumerFactory.createConsumer(null, null, null, overrides)) {
+            consumer = kafkaConsumer;
+            if (!assignPartitions(kafkaConsumer)) {
+                return;
+            }
+
+            long nextSnapshot = System.currentTimeMillis() + snapshotIntervalMillis;
+            boolean dirty = false;
+            while (running) {
+                dirty |= poll(kafkaConsumer);
+                if (dirty && System.currentTimeMillis() >= nextSnapshot) {
+                    writeSnapshot();
+                    dirty = false;
+                    nextSnapshot = System.currentTimeMillis() + snapshotIntervalMillis;
+                }
+            }
+        } catch (WakeupException ex) {
+            if (running) {
+                logger.error("Engagement state store consumer woken up unexpectedly", ex);
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Engagement state store consumer stopped after an unexpected error", ex);
+        } finally {
+            writeSnapshot();
+            consumer = null;
+            running = false;
+        }
+    }
+
+    /**
+     * Assigns all partitions of the topic, positioned after the events included in the restored snapshot.
+     * Waits for the topic to exist if it has not been created yet.
+     */
+    private boolean assignPartitions(Consumer<String, byte[]> kafkaConsumer) {
+        List<PartitionInfo> partitionInfos = kafkaConsumer.partitionsFor(VideoStreamConstants.VIDEO_PLAY_TOPIC);
+        while (running && (partitionInfos == null || partitionInfos.isEmpty())) {
+            logger.warn("Topic {} not available yet, retrying", VideoStreamConstants.VIDEO_PLAY_TOPIC);
+            try {
+                Thread.sleep(pollTimeout.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            partitionInfos = kafkaConsumer.partitionsFor(VideoStreamConstants.VIDEO_PLAY_TOPIC);
+        }
+        if (!running) {
+            return false;
+        }
+
+        List<TopicPartition> partitions = partitionInfos.stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+        kafkaConsumer.assign(partitions);
+
+        for (TopicPartition partition : partitions) {
+            Long offset = offsets.get(partition.partition());
+            if (offset != null) {
+                kafkaConsumer.seek(partition, offset);
+            } else {
+                kafkaConsumer.seekToBeginning(List.of(partition));
+            }
+        }
+        logger.info("Engagement state store assigned {} partitions, {} restored from snapshot",
+                partitions.size(), offsets.size());
+        return true;
+    }
+
+    private boolean poll(Consumer<String, byte[]> kafkaConsumer) {
+        ConsumerRecords<String, byte[]> records = kafkaConsumer.poll(pollTimeout);
+
+        int batchSize = records.count();
+        lastBatchSize = batchSize;
+        maxBatchSize = Math.max(maxBatchSize, batchSize);
+        recordsConsumed.addAndGet(batchSize);
+
+        for (ConsumerRecord<String, byte[]> consumerRecord : records) {
+            apply(consumerRecord);
+            offsets.put(consumerRecord.partition(), consumerRecord.offset() + 1);
+        }
+
+        long lag = 0;
+        for (TopicPartition partition : kafkaConsumer.assignment()) {
+            lag += kafkaConsumer.currentLag(partition).orElse(0L);
+        }
+        currentLag = lag;
+        if (!caughtUp && lag == 0) {
+            caughtUp = true;
+            logger.info("Engagement state store caught up with {} videos", counts.size());
+        }
+
+        return batchSize > 0;
+    }
+
+    private void apply(ConsumerRecord<String, byte[]> consumerRecord) {
+        EngagementDelta delta;
+        try {
+            delta = EngagementEventCodec.decode(consumerRecord.value());
+        } catch (IllegalArgumentException ex) {
+            malformedRecords.incrementAndGet();
+            logger.warn("Skipping malformed engagement event at {}-{}@{}: {}", consumerRecord.topic(),
+                    consumerRecord.partition(), consumerRecord.offset(), ex.getMessage());
+            return;
+        }
+
+        Counts videoCounts = counts.computeIfAbsent(delta.getVideoId(), id -> new Counts());
+        videoCounts.views += delta.getViews();
+        videoCounts.impressions += delta.getImpressions();
+    }
+
+    private void restoreSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            logger.info("No engagement state snapshot at {}, rebuilding from the topic", snapshotPath);
+            return;
+        }
+
+        try {
+            EngagementStateSnapshot snapshot = EngagementStateSnapshot.read(snapshotPath);
+            offsets.putAll(snapshot.getOffsets());
+            snapshot.getCounts().forEach((videoId, values) -> {
+                Counts videoCounts = new Counts();
+                videoCounts.views = values[0];
+                videoCounts.impressions = values[1];
+                counts.put(videoId, videoCounts);
+            });
+            logger.info("Restored engagement state of {} videos from {}", counts.size(), snapshotPath);
+        } catch (IOException ex) {
+            logger.warn("Ignoring unreadable engagement state snapshot {}, rebuilding from the topic: {}",
+                    snapshotPath, ex.getMessage());
+            offsets.clear();
+            counts.clear();
+        }
+    }
+
+    /**
+     * Writes the counters together with the offsets they include. Only called from the consumer thread,
+     * so counters and offsets are consistent with each other.
+     */
+    private void writeSnapshot() {
+        if (offsets.isEmpty()) {
+            return;
+        }
+
+        Map<Long, long[]> values = new HashMap<>();
+        counts.forEach((videoId, videoCounts) -> values.put(videoId, new long[]{videoCounts.views, videoCounts.impressions}));
+        try {
+            new EngagementStateSnapshot(new HashMap<>(offsets), values).write(snapshotPath);
+            snapshotsWritten.incrementAndGet();
+            logger.debug("Wrote engagement state snapshot of {} videos", values.size());
+        } catch (IOException ex) {
+            failedSnapshots.incrementAndGet();
+            logger.error("Failed to write engagement state snapshot {}: {}", snapshotPath, ex.getMessage());
+        }
+    }
+
+    /**
+     * Totals of one video. Written by the consumer thread only, read by request threads.
+     */
+    private static final class Counts {
+        private volatile long views;
+        private volatile long impressions;
+    }
+}
@@ -0,0 +1,125 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.service.VideoStreamService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records impressions of the videos shown on listing and search result pages.
+ * <p>
+ * The request thread hands over the IDs of all videos on a page as one event, put in a bounded queue without
+ * blocking, so rendering a page costs one queue insert no matter how many videos it shows. The queued pages are
+ * taken off periodically, earlier once the queue is half full, coalesced into one impression count per video and
+ * recorded through the active {@link VideoStreamService}: the write-behind counters of the DB strategy, or the
+ * event publisher of the Kafka strategy. Once the queue is full, pages are dropped and counted rather than
+ * slowing down the request.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class ImpressionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImpressionPipeline.class);
+
+    private final VideoStreamService videoStreamService;
+    private final TaskScheduler taskScheduler;
+    private final BlockingQueue<long[]> pages;
+    private final int flushThreshold;
+
+    private final LongAdder pagesDropped = new LongAdder();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ImpressionPipeline(VideoStreamService videoStreamService,
+                              TaskScheduler taskScheduler,
+                              @Value("${engagement.impressions.max-queued-pages:10000}") int maxQueuedPages) {
+        this.videoStreamService = videoStreamService;
+        this.taskScheduler = taskScheduler;
+        this.pages = new ArrayBlockingQueue<>(maxQueuedPages);
+        this.flushThreshold = Math.max(1, maxQueuedPages / 2);
+    }
+
+    /**
+     * Records an impression of every video shown on a page. A video shown twice on the same page is counted once.
+     *
+     * @param videoIds the IDs of the videos on the page
+     */
+    public void recordPage(Collection<Long> videoIds) {
+        long[] page = videoIds.stream()
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .distinct()
+                .toArray();
+        if (page.length == 0) {
+            return;
+        }
+
+        if (!pages.offer(page)) {
+            pagesDropped.increment();
+            return;
+        }
+        if (pages.size() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    /**
+     * Records the impressions of all queued pages, summed per video.
+     */
+    @Scheduled(fixedDelayString = "${engagement.impressions.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushScheduled.set(false);
+
+            List<long[]> drained = new ArrayList<>();
+            pages.drainTo(drained);
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            Map<Long, Long> impressions = new HashMap<>();
+            for (long[] page : drained) {
+                for (long videoId : page) {
+                    impressions.merge(videoId, 1L, Long::sum);
+                }
+            }
+            videoStreamService.recordImpressions(impressions);
+            logger.debug("Recorded impressions of {} videos from {} pages", impressions.size(), drained.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of pages whose impressions were dropped because the queue was full.
+     *
+     * @return the dropped pages
+     */
+    public long droppedPages() {
+        return pagesDropped.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -1,33 +1,62 @@
 package com.app.practice.service.impl.engagement;
 
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.EngagementCounts;
+import com.app.practice.dto.VideoSummary;
 import com.app.practice.model.response.EngagementResponse;
 import com.app.practice.model.response.GenericResponse;
 import com.app.practice.service.EngagementStrategyService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
 import static com.app.practice.constants.KafkaConstants.*;
 
+/**
+ * Kafka based implementation of the EngagementStrategyService interface.
+ * Engagement statistics are served from the local EngagementStateStore, which is materialized from the
+ * engagement events on the video play topic, so no database or broker round trip is needed for the counters.
+ * The distinct-viewer estimate is read from the shared unique-viewer sketches, the watch time from the
+ * engagement statistics written by the WatchProgressTracker.
+ * <p>
+ * Author: Ruchir Bisht
+ */
 @Service
+@Profile("prod")
 @RequiredArgsConstructor
 public class KafkaEngagementStrategyServiceImpl implements EngagementStrategyService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaEngagementStrategyServiceImpl.class);
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final EngagementStateStore engagementStateStore;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final WatchProgressTracker watchProgressTracker;
+    @Value("${engagement.stats.max-batch-size:200}")
+    private int maxBatchSize;
 
     @Override
     public GenericResponse<EngagementResponse> getEngagementStats(Long id) {
         logger.info(FETCHING_ENGAGEMENT_LOG, id);
 
         try {
-            String message = "Engagement stats for video ID: " + id;
-            kafkaTemplate.send(ENGAGEMENT_STATS_TOPIC, message);
+            Optional<VideoSummary> summary = engagementStateStore.summary(id);
+            if (summary.isEmpty()) {
+                return GenericResponse.error(ModuleConstants.VIDEO_NOT_FOUND, HttpStatus.NOT_FOUND);
+            }
 
-            EngagementResponse response = new EngagementResponse(MOCK_VIDEO_TITLE, MOCK_VIDEO_SYNOPSIS, MOCK_VIDEO_DIRECTOR, 100L, 200L);
+            EngagementCounts counts = engagementStateStore.counts(id);
+            EngagementResponse response = new EngagementResponse(summary.get().getTitle(), summary.get().getSynopsis(),
+                    summary.get().getDirector(), counts.getImpressions(), counts.getViews(),
+                    uniqueViewerTracker.uniqueViewers(id), watchProgressTracker.watchTimeSeconds(id));
 
             return GenericResponse.success(response, HttpStatus.OK);
         } catch (Exception ex) {
@@ -35,4 +64,46 @@ public class KafkaEngagementStrategyServiceImpl implements EngagementStrategySer
             return GenericResponse.error("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Fetches the engagement statistics of several videos from the local state store. Summaries missing from
+     * memory are loaded with one query, the distinct-viewer estimates and the watch time with one query each.
+     *
+     * @param ids the IDs of the videos
+     * @return a GenericResponse containing the engagement statistics by video ID, in request order
+     */
+    @Override
+    public GenericResponse<Map<Long, EngagementResponse>> getEngagementStats(List<Long> ids) {
+        List<Long> videoIds = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (videoIds.isEmpty()) {
+            return GenericResponse.error(ModuleConstants.EMPTY_VIDEO_ID_BATCH, HttpStatus.BAD_REQUEST);
+        }
+        if (videoIds.size() > maxBatchSize) {
+            return GenericResponse.error(ModuleConstants.VIDEO_ID_BATCH_TOO_LARGE + maxBatchSize, HttpStatus.BAD_REQUEST);
+        }
+
+        logger.info(FETCHING_BATCH_ENGAGEMENT_LOG, videoIds.size());
+        try {
+            Map<Long, VideoSummary> summaries = engagementStateStore.summaries(videoIds);
+            Map<Long, Long> uniqueViewers = uniqueViewerTracker.uniqueViewers(summaries.keySet());
+            Map<Long, Long> watchTime = watchProgressTracker.watchTimeSeconds(summaries.keySet());
+
+            Map<Long, EngagementResponse> responses = new LinkedHashMap<>();
+            for (Long id : videoIds) {
+                VideoSummary summary = summaries.get(id);
+                if (summary == null) {
+                    continue;
+                }
+                EngagementCounts counts = engagementStateStore.counts(id);
+                responses.put(id, new EngagementResponse(summary.getTitle(), summary.getSynopsis(),
+                        summary.getDirector(), counts.getImpressions(), counts.getViews(),
+                        uniqueViewers.getOrDefault(id, 0L), watchTime.getOrDefault(id, 0L)));
+            }
+
+            return GenericResponse.success(responses, HttpStatus.OK);
+        } catch (Exception ex) {
+            logger.error(ERROR_FETCHING_STATS, ex.getMessage());
+            return GenericResponse.error("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.TrendingWindow;
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.TrendingVideo;
+import com.app.practice.service.TrendingService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of the TrendingService interface.
+ * Serves the rankings published by the TrendingVideoTracker, without any database access.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Service
+@RequiredArgsConstructor
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingServiceImpl.class);
+
+    private final TrendingVideoTracker trendingVideoTracker;
+
+    @Override
+    public GenericResponse<List<TrendingVideo>> getTrendingVideos(TrendingWindow window, String genre, int limit) {
+        if (limit < 1) {
+            return GenericResponse.error(ModuleConstants.INVALID_TRENDING_LIMIT, HttpStatus.BAD_REQUEST);
+        }
+
+        logger.debug("Fetching top {} trending videos (window: {}, genre: {})", limit, window, genre);
+        return GenericResponse.success(trendingVideoTracker.top(window, genre, limit), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,193 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.dto.TrendingWindow;
+import com.app.practice.model.response.TrendingVideo;
+import com.app.practice.utils.SlidingWindowHeavyHitters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ranks the most played videos over sliding windows (see {@link TrendingWindow}), globally and per genre.
+ * <p>
+ * The play path only adds to a per-video pending count, kept with the genre of the video until it is drained, so
+ * no per-video state outlives the plays that are still pending. Once a second the pending plays are drained into one
+ * {@link SlidingWindowHeavyHitters} per window and scope, the windows are advanced, and the top videos of every
+ * window and scope are published as an immutable snapshot. Trending queries read that snapshot, so they never
+ * touch the database, a lock or a sketch.
+ * <p>
+ * Plays are counted by the node that served them, so in a cluster each node ranks its own traffic.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class TrendingVideoTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingVideoTracker.class);
+
+    private static final String GLOBAL_SCOPE = "";
+
+    private final int sketchWidth;
+    private final int maxResults;
+    private final int maxGenres;
+
+    private final ConcurrentHashMap<Long, PendingPlays> pendingPlays = new ConcurrentHashMap<>();
+
+    /*
+     Only accessed while holding the refresh lock.
+     */
+    private final Map<String, Map<TrendingWindow, SlidingWindowHeavyHitters>> scopes = new HashMap<>();
+    private final Map<TrendingWindow, Long> currentSlots = new EnumMap<>(TrendingWindow.class);
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Map<String, Map<TrendingWindow, List<TrendingVideo>>> snapshot = Map.of();
+
+    public TrendingVideoTracker(@Value("${trending.sketch-width:1024}") int sketchWidth,
+                                @Value("${trending.max-results:50}") int maxResults,
+                                @Value("${trending.max-genres:64}") int maxGenres) {
+        this.sketchWidth = sketchWidth;
+        this.maxResults = maxResults;
+        this.maxGenres = maxGenres;
+    }
+
+    /**
+     * Records a play of a video.
+     *
+     * @param videoId the ID of the video
+     * @param genre   the genre of the video, may be null
+     */
+    public void recordPlay(Long videoId, String genre) {
+        pendingPlays.merge(videoId, new PendingPlays(scopeOf(genre), 1L), PendingPlays::plus);
+    }
+
+    /**
+     * Returns the most played videos of a window from the last published snapshot.
+     *
+     * @param window the window
+     * @param genre  the genre to rank within, or null for all videos
+     * @param limit  the maximum number of videos
+     * @return the trending videos, most played first
+     */
+    public List<TrendingVideo> top(TrendingWindow window, String genre, int limit) {
+        Map<TrendingWindow, List<TrendingVideo>> scope = snapshot.get(scopeOf(genre));
+        if (scope == null) {
+            return List.of();
+        }
+        List<TrendingVideo> top = scope.get(window);
+        return top.size() > limit ? top.subList(0, limit) : top;
+    }
+
+    /**
+     * Applies the pending plays, advances the windows and publishes a new snapshot.
+     */
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms:1000}")
+    public void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    /**
+     * Applies the pending plays, advances the windows to the given time and publishes a new snapshot.
+     *
+     * @param nowMillis the current time in epoch milliseconds
+     */
+    public void refresh(long nowMillis) {
+        refreshLock.lock();
+        try {
+            advanceWindows(nowMillis);
+
+            for (Long videoId : pendingPlays.keySet()) {
+                PendingPlays plays = pendingPlays.remove(videoId);
+                if (plays == null) {
+                    continue;
+                }
+                int count = (int) Math.min(plays.plays(), Integer.MAX_VALUE);
+                windowsOf(GLOBAL_SCOPE).values().forEach(hitters -> hitters.add(videoId, count));
+
+                String genre = plays.genre();
+                Map<TrendingWindow, SlidingWindowHeavyHitters> genreWindows =
+                        GLOBAL_SCOPE.equals(genre) ? null : windowsOf(genre);
+                if (genreWindows != null) {
+                    genreWindows.values().forEach(hitters -> hitters.add(videoId, count));
+                }
+            }
+
+            publish();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void advanceWindows(long nowMillis) {
+        for (TrendingWindow window : TrendingWindow.values()) {
+            long slot = nowMillis / window.getSlotMillis();
+            Long current = currentSlots.put(window, slot);
+            if (current == null || slot <= current) {
+                continue;
+            }
+            long steps = Math.min(slot - current, window.getSlotCount());
+            for (Map<TrendingWindow, SlidingWindowHeavyHitters> windows : scopes.values()) {
+                for (long i = 0; i < steps; i++) {
+                    windows.get(window).advance();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the windows of a scope, creating them on first use; null once the genre limit is reached.
+     */
+    private Map<TrendingWindow, SlidingWindowHeavyHitters> windowsOf(String scope) {
+        Map<TrendingWindow, SlidingWindowHeavyHitters> windows = scopes.get(scope);
+        if (windows != null) {
+            return windows;
+        }
+        int genreCount = scopes.containsKey(GLOBAL_SCOPE) ? scopes.size() - 1 : scopes.size();
+        if (!GLOBAL_SCOPE.equals(scope) && genreCount >= maxGenres) {
+            logger.debug("Not ranking genre '{}', limit of {} genres reached", scope, maxGenres);
+            return null;
+        }
+
+        windows = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows.put(window, new SlidingWindowHeavyHitters(window.getSlotCount(), sketchWidth, maxResults * 4));
+        }
+        scopes.put(scope, windows);
+        return windows;
+    }
+
+    private void publish() {
+        Map<String, Map<TrendingWindow, List<TrendingVideo>>> published = new HashMap<>();
+        scopes.forEach((scope, windows) -> {
+            Map<TrendingWindow, List<TrendingVideo>> ranked = new EnumMap<>(TrendingWindow.class);
+            windows.forEach((window, hitters) -> ranked.put(window, hitters.top(maxResults).stream()
+                    .map(hitter -> new TrendingVideo(hitter.key(), hitter.count()))
+                    .toList()));
+            published.put(scope, ranked);
+        });
+        snapshot = published;
+    }
+
+    private static String scopeOf(String genre) {
+        return genre == null || genre.isBlank() ? GLOBAL_SCOPE : genre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The plays of a video since the last refresh and the scope of its latest play.
+     */
+    private record PendingPlays(String genre, long plays) {
+
+        private PendingPlays plus(PendingPlays other) {
+            return new PendingPlays(GLOBAL_SCOPE.equals(other.genre) ? genre : other.genre, plays + other.plays);
+        }
+    }
+}
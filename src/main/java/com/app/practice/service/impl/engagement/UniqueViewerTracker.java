@@ -0,0 +1,222 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.dto.BucketCount;
+import com.app.practice.dto.SketchPeriod;
+import com.app.practice.dto.VideoCount;
+import com.app.practice.dto.ViewerSketchDelta;
+import com.app.practice.repository.ViewerSketchRepository;
+import com.app.practice.utils.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts the distinct viewers of each video with HyperLogLog sketches, over all time and per UTC day.
+ * <p>
+ * The authenticated principal of each engagement is hashed and buffered per video and day. The buffered hashes
+ * are periodically folded into sketches and merged into the stored ones, earlier once the number of buffered
+ * viewers reaches the configured limit, and on shutdown. Because merging sketches is idempotent, every node
+ * merges into the same rows and a failed or retried flush never counts a viewer twice.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class UniqueViewerTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueViewerTracker.class);
+
+    private static final LocalDateTime TOTAL_BUCKET =
+            LocalDateTime.ofInstant(SketchPeriod.TOTAL.bucketStart(Instant.EPOCH), ZoneOffset.UTC);
+
+    private final ViewerSketchRepository viewerSketchRepository;
+    private final TaskScheduler taskScheduler;
+    private final long maxPendingViewers;
+
+    private final ConcurrentHashMap<PendingKey, Set<Long>> pending = new ConcurrentHashMap<>();
+    private final LongAdder pendingViewers = new LongAdder();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public UniqueViewerTracker(ViewerSketchRepository viewerSketchRepository,
+                               TaskScheduler taskScheduler,
+                               @Value("${engagement.viewers.max-pending-viewers:100000}") long maxPendingViewers) {
+        this.viewerSketchRepository = viewerSketchRepository;
+        this.taskScheduler = taskScheduler;
+        this.maxPendingViewers = maxPendingViewers;
+    }
+
+    /**
+     * Records the authenticated user of the current request as a viewer of a video. Anonymous requests are
+     * not counted.
+     *
+     * @param videoId the ID of the video
+     */
+    public void recordViewer(Long videoId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return;
+        }
+        recordViewer(videoId, authentication.getName(), Instant.now());
+    }
+
+    /**
+     * Records a viewer of a video at the given time.
+     *
+     * @param videoId the ID of the video
+     * @param viewer  the name identifying the viewer
+     * @param at      the time of the engagement
+     */
+    public void recordViewer(Long videoId, String viewer, Instant at) {
+        long hash = HyperLogLog.hash(viewer);
+        PendingKey key = new PendingKey(videoId, SketchPeriod.DAY.bucketStart(at));
+        /*
+         compute() is atomic per key, so a flush removing the set never misses a concurrent add.
+         */
+        pending.compute(key, (k, viewers) -> {
+            Set<Long> set = viewers == null ? new HashSet<>() : viewers;
+            if (set.add(hash)) {
+                pendingViewers.increment();
+            }
+            return set;
+        });
+
+        if (pendingViewers.sum() >= maxPendingViewers && flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct viewers of a video over all time.
+     *
+     * @param videoId the ID of the video
+     * @return the estimate, zero if no viewer has been recorded
+     */
+    public long uniqueViewers(Long videoId) {
+        return viewerSketchRepository.findUniqueViewers(videoId, SketchPeriod.TOTAL, TOTAL_BUCKET).orElse(0L);
+    }
+
+    /**
+     * Returns the estimated number of distinct viewers of several videos over all time, with one query.
+     *
+     * @param videoIds the IDs of the videos
+     * @return the estimates by video ID, only for videos with recorded viewers
+     */
+    public Map<Long, Long> uniqueViewers(Collection<Long> videoIds) {
+        Map<Long, Long> uniqueViewers = new HashMap<>();
+        for (VideoCount count : viewerSketchRepository.findUniqueViewersByVideoIds(videoIds, SketchPeriod.TOTAL, TOTAL_BUCKET)) {
+            uniqueViewers.put(count.getVideoId(), count.getCount());
+        }
+        return uniqueViewers;
+    }
+
+    /**
+     * Returns the estimated number of distinct viewers of a video per UTC day within [from, to).
+     *
+     * @param videoId the ID of the video
+     * @param from    the first day
+     * @param to      the exclusive end
+     * @return the estimates by day start, only for days with recorded viewers
+     */
+    public Map<Instant, Long> dailyUniqueViewers(Long videoId, Instant from, Instant to) {
+        Map<Instant, Long> daily = new HashMap<>();
+        for (BucketCount count : viewerSketchRepository.findDailyUniqueViewers(videoId,
+                LocalDateTime.ofInstant(from, ZoneOffset.UTC), LocalDateTime.ofInstant(to, ZoneOffset.UTC))) {
+            daily.put(count.getBucketStart().toInstant(ZoneOffset.UTC), count.getCount());
+        }
+        return daily;
+    }
+
+    /**
+     * Merges the buffered viewers into the stored daily and all-time sketches.
+     */
+    @Scheduled(fixedDelayString = "${engagement.viewers.flush-interval-ms:10000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushScheduled.set(false);
+            Map<PendingKey, Set<Long>> drained = new HashMap<>();
+            for (PendingKey key : pending.keySet()) {
+                Set<Long> viewers = pending.remove(key);
+                if (viewers != null) {
+                    drained.put(key, viewers);
+                    pendingViewers.add(-viewers.size());
+                }
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            List<ViewerSketchDelta> deltas = sketches(drained);
+            try {
+                viewerSketchRepository.mergeSketches(deltas);
+                logger.debug("Merged {} unique-viewer sketches", deltas.size());
+            } catch (DataAccessException ex) {
+                drained.forEach(this::restore);
+                logger.error("Failed to merge unique-viewer sketches, keeping viewers for the next flush: {}", ex.getMessage());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void restore(PendingKey key, Set<Long> viewers) {
+        pending.compute(key, (k, current) -> {
+            Set<Long> set = current == null ? new HashSet<>() : current;
+            for (Long hash : viewers) {
+                if (set.add(hash)) {
+                    pendingViewers.increment();
+                }
+            }
+            return set;
+        });
+    }
+
+    private static List<ViewerSketchDelta> sketches(Map<PendingKey, Set<Long>> drained) {
+        Map<Long, HyperLogLog> totals = new HashMap<>();
+        List<ViewerSketchDelta> deltas = new ArrayList<>();
+        drained.forEach((key, viewers) -> {
+            HyperLogLog daily = new HyperLogLog();
+            HyperLogLog total = totals.computeIfAbsent(key.videoId(), id -> new HyperLogLog());
+            for (Long hash : viewers) {
+                daily.add(hash);
+                total.add(hash);
+            }
+            deltas.add(new ViewerSketchDelta(key.videoId(), SketchPeriod.DAY, key.day(), daily));
+        });
+        totals.forEach((videoId, total) ->
+                deltas.add(new ViewerSketchDelta(videoId, SketchPeriod.TOTAL, Instant.EPOCH, total)));
+        return deltas;
+    }
+
+    private record PendingKey(Long videoId, Instant day) {
+    }
+}
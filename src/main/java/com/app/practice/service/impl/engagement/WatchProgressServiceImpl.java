@@ -0,0 +1,72 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.WatchProgressResponse;
+import com.app.practice.repository.VideoRepository;
+import com.app.practice.service.WatchProgressService;
+import com.app.practice.service.impl.video.CatalogCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Implementation of the WatchProgressService interface.
+ * Heartbeats are only recorded in memory by the WatchProgressTracker, which writes them behind in batches.
+ * The video ID is checked against the catalog cache first, so heartbeats of missing or delisted videos are
+ * rejected and only a cache miss reads the database.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Service
+@RequiredArgsConstructor
+public class WatchProgressServiceImpl implements WatchProgressService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatchProgressServiceImpl.class);
+
+    private final WatchProgressTracker watchProgressTracker;
+    private final CatalogCache catalogCache;
+    private final VideoRepository videoRepository;
+
+    @Override
+    public GenericResponse<String> recordHeartbeat(Long id, long positionSeconds) {
+        if (positionSeconds < 0) {
+            return GenericResponse.error(ModuleConstants.INVALID_WATCH_POSITION, HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            catalogCache.get(id, this::fetchCatalogEntryById);
+        } catch (VideoNotFoundException ex) {
+            logger.warn("Rejecting heartbeat of unavailable video ID: {}", id);
+            return GenericResponse.error(ModuleConstants.VIDEO_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+
+        watchProgressTracker.recordHeartbeat(id, currentUsername(), positionSeconds, Instant.now());
+        return GenericResponse.success(ModuleConstants.HEARTBEAT_RECORDED, HttpStatus.ACCEPTED);
+    }
+
+    @Override
+    public GenericResponse<WatchProgressResponse> getWatchProgress(Long id) {
+        logger.debug("Fetching watch progress of video ID: {}", id);
+        long positionSeconds = watchProgressTracker.resumePosition(id, currentUsername()).orElse(0L);
+        return GenericResponse.success(new WatchProgressResponse(id, positionSeconds), HttpStatus.OK);
+    }
+
+    private CatalogEntry fetchCatalogEntryById(Long id) throws VideoNotFoundException {
+        return videoRepository.findListedVideoById(id)
+                .orElseThrow(() -> new VideoNotFoundException(ModuleConstants.VIDEO_NOT_FOUND));
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+}
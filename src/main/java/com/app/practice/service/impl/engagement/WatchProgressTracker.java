@@ -0,0 +1,233 @@
+package com.app.practice.service.impl.engagement;
+
+import com.app.practice.dto.VideoCount;
+import com.app.practice.dto.WatchProgressDelta;
+import com.app.practice.repository.EngagementStatisticsRepository;
+import com.app.practice.repository.WatchProgressRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the playback position of each user in each video from the heartbeats sent by players, and the time
+ * spent watching.
+ * <p>
+ * Heartbeats only update the latest position of the (user, video) pair in memory. The positions that changed
+ * since the last flush are written periodically, in JDBC batches of the configured size, and on shutdown; a
+ * player sending a heartbeat every few seconds therefore causes one write per flush interval, not one per
+ * heartbeat. Pairs without a heartbeat for the idle timeout are dropped from memory once written.
+ * <p>
+ * The playback advance between two consecutive heartbeats counts as watch time, up to the wall-clock time
+ * between them, so seeking forward is not counted. Heartbeats further apart than the maximum gap (a paused or
+ * closed player), out of order, or the first one of a session seen by this node add no watch time. Watch time is
+ * added to the progress of the user and to the total of the video in its engagement statistics; the total
+ * reported for a video includes the watch time not written yet.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class WatchProgressTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatchProgressTracker.class);
+
+    private final WatchProgressRepository watchProgressRepository;
+    private final EngagementStatisticsRepository engagementStatsRepo;
+    private final long maxHeartbeatGapMillis;
+    private final long idleTimeoutMillis;
+    private final int flushBatchSize;
+
+    private final ConcurrentHashMap<ProgressKey, Progress> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LongAdder> pendingWatchTime = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public WatchProgressTracker(WatchProgressRepository watchProgressRepository,
+                                EngagementStatisticsRepository engagementStatsRepo,
+                                @Value("${engagement.watch.max-heartbeat-gap-ms:60000}") long maxHeartbeatGapMillis,
+                                @Value("${engagement.watch.idle-timeout-ms:600000}") long idleTimeoutMillis,
+                                @Value("${engagement.watch.flush-batch-size:1000}") int flushBatchSize) {
+        this.watchProgressRepository = watchProgressRepository;
+        this.engagementStatsRepo = engagementStatsRepo;
+        this.maxHeartbeatGapMillis = maxHeartbeatGapMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+    }
+
+    /**
+     * Records a heartbeat of a user playing a video.
+     *
+     * @param videoId         the ID of the video
+     * @param username        the name of the user
+     * @param positionSeconds the playback position reported by the player
+     * @param at              the time of the heartbeat
+     */
+    public void recordHeartbeat(Long videoId, String username, long positionSeconds, Instant at) {
+        long atMillis = at.toEpochMilli();
+        /*
+         compute() is atomic per key, so a flush draining the progress never misses a concurrent heartbeat.
+         */
+        sessions.compute(new ProgressKey(username, videoId), (key, progress) -> {
+            if (progress == null) {
+                return new Progress(positionSeconds, atMillis);
+            }
+
+            long elapsedMillis = atMillis - progress.heartbeatMillis;
+            if (elapsedMillis <= 0) {
+                return progress;
+            }
+
+            long advancedSeconds = positionSeconds - progress.positionSeconds;
+            if (advancedSeconds > 0 && elapsedMillis <= maxHeartbeatGapMillis) {
+                long watchedSeconds = Math.min(advancedSeconds, Math.round(elapsedMillis / 1000.0));
+                progress.pendingWatchSeconds += watchedSeconds;
+                pendingWatchTime.computeIfAbsent(videoId, id -> new LongAdder()).add(watchedSeconds);
+            }
+            progress.positionSeconds = positionSeconds;
+            progress.heartbeatMillis = atMillis;
+            progress.dirty = true;
+            return progress;
+        });
+    }
+
+    /**
+     * Returns the position a user should resume a video from: the latest heartbeat seen by this node, or the
+     * stored position.
+     *
+     * @param videoId  the ID of the video
+     * @param username the name of the user
+     * @return the position in seconds, or empty if the user never played the video
+     */
+    public Optional<Long> resumePosition(Long videoId, String username) {
+        Progress progress = sessions.get(new ProgressKey(username, videoId));
+        if (progress != null) {
+            return Optional.of(progress.positionSeconds);
+        }
+        return watchProgressRepository.findPositionSeconds(username, videoId);
+    }
+
+    /**
+     * Returns the total watch time of a video, including the watch time not written yet.
+     *
+     * @param videoId the ID of the video
+     * @return the watch time in seconds
+     */
+    public long watchTimeSeconds(Long videoId) {
+        long stored = engagementStatsRepo.findWatchTimeSeconds(videoId).orElse(0L);
+        return stored + pendingWatchTimeSeconds(videoId);
+    }
+
+    /**
+     * Returns the total watch time of several videos with one query, including the watch time not written yet.
+     *
+     * @param videoIds the IDs of the videos
+     * @return the watch time in seconds by video ID, only for videos with engagement statistics
+     */
+    public Map<Long, Long> watchTimeSeconds(Collection<Long> videoIds) {
+        Map<Long, Long> watchTime = new HashMap<>();
+        for (VideoCount count : engagementStatsRepo.findWatchTimeSecondsByVideoIds(videoIds)) {
+            watchTime.put(count.getVideoId(), count.getCount() + pendingWatchTimeSeconds(count.getVideoId()));
+        }
+        return watchTime;
+    }
+
+    /**
+     * Writes the positions and watch time that changed since the last flush, and forgets idle sessions.
+     */
+    @Scheduled(fixedDelayString = "${engagement.watch.flush-interval-ms:60000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            long nowMillis = System.currentTimeMillis();
+            List<WatchProgressDelta> drained = new ArrayList<>();
+            for (ProgressKey key : sessions.keySet()) {
+                sessions.computeIfPresent(key, (k, progress) -> {
+                    if (progress.dirty) {
+                        drained.add(new WatchProgressDelta(k.username(), k.videoId(), progress.positionSeconds,
+                                progress.pendingWatchSeconds, Instant.ofEpochMilli(progress.heartbeatMillis)));
+                        progress.dirty = false;
+                        progress.pendingWatchSeconds = 0;
+                        return progress;
+                    }
+                    return nowMillis - progress.heartbeatMillis > idleTimeoutMillis ? null : progress;
+                });
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            for (int from = 0; from < drained.size(); from += flushBatchSize) {
+                List<WatchProgressDelta> batch = drained.subList(from, Math.min(drained.size(), from + flushBatchSize));
+                try {
+                    watchProgressRepository.saveProgress(batch);
+                } catch (DataAccessException ex) {
+                    drained.subList(from, drained.size()).forEach(this::restore);
+                    logger.error("Failed to write watch progress, keeping {} sessions for the next flush: {}",
+                            drained.size() - from, ex.getMessage());
+                    return;
+                }
+                batch.forEach(delta -> pendingWatchTime.computeIfAbsent(delta.getVideoId(), id -> new LongAdder())
+                        .add(-delta.getWatchTimeSeconds()));
+            }
+            logger.debug("Wrote watch progress of {} sessions", drained.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private long pendingWatchTimeSeconds(Long videoId) {
+        LongAdder pending = pendingWatchTime.get(videoId);
+        return pending == null ? 0L : pending.sum();
+    }
+
+    /**
+     * Marks the progress of a failed write as changed again, so the next flush retries it. Newer heartbeats
+     * keep their position.
+     */
+    private void restore(WatchProgressDelta delta) {
+        sessions.compute(new ProgressKey(delta.getUsername(), delta.getVideoId()), (key, progress) -> {
+            Progress restored = progress == null
+                    ? new Progress(delta.getPositionSeconds(), delta.getUpdatedAt().toEpochMilli())
+                    : progress;
+            restored.pendingWatchSeconds += delta.getWatchTimeSeconds();
+            restored.dirty = true;
+            return restored;
+        });
+    }
+
+    /**
+     * Latest position of a session. Only modified within compute() of its key.
+     */
+    private static final class Progress {
+        private volatile long positionSeconds;
+        private long heartbeatMillis;
+        private long pendingWatchSeconds;
+        private boolean dirty = true;
+
+        private Progress(long positionSeconds, long heartbeatMillis) {
+            this.positionSeconds = positionSeconds;
+            this.heartbeatMillis = heartbeatMillis;
+        }
+    }
+
+    private record ProgressKey(String username, Long videoId) {
+    }
+}
@@ -0,0 +1,666 @@
+package com.app.practice.service.impl.search;
+
+import com.app.practice.dto.RankedVideo;
+import com.app.practice.dto.SearchDocument;
+import com.app.practice.dto.SearchField;
+import com.app.practice.dto.SearchMatchMode;
+import com.app.practice.utils.EditDistance;
+import com.app.practice.utils.SearchTokenizer;
+import com.app.practice.utils.TrigramIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index of the listed videos, searched by phrase instead of scanning the metadata table.
+ * <p>
+ * The title, director, cast, genre and synopsis of every video are split into terms (see {@link SearchTokenizer}).
+ * Each term maps to a posting list: the IDs of the videos containing it, sorted, and for each video the number of
+ * occurrences of the term in every field, packed into one long. The length of every field of a video is packed
+ * the same way, and the index keeps the total length of each field. A search intersects the posting lists of the
+ * phrase's terms, starting with the shortest one, so its cost depends on the number of videos matching the
+ * rarest term and not on the size of the catalog.
+ * <p>
+ * Matches are ranked by BM25F: the frequencies of a term in the fields of a video are normalized by the length
+ * of each field relative to its average, weighted by field (see {@link SearchField}) and summed, then saturated
+ * and multiplied by the inverse document frequency of the term, so rare terms and short, heavily weighted fields
+ * count most. Only the best {@code limit} matches are kept, in a bounded heap, instead of sorting all of them;
+ * ties are broken by video ID.
+ * <p>
+ * In {@link SearchMatchMode#FUZZY} mode, every term of the phrase also matches the terms of titles, directors and
+ * cast members a few typos away from it: one edit for terms of 4 to 7 characters, two from 8 characters.
+ * Candidates come from a {@link TrigramIndex} of those terms and are verified by edit distance; at most
+ * {@code maxFuzzyCandidates} candidates are verified and {@code maxFuzzyExpansions} kept per term, the closest
+ * and most frequent first, so a misspelled term adds a bounded number of posting lists. A match through a typo
+ * only counts in those three fields, and its score is halved per edit, so exact matches rank first.
+ * <p>
+ * The index is updated per video, with the version the video was read at: an update older than the indexed
+ * version is ignored, and removed videos leave their version behind, so a late update cannot bring a delisted
+ * video back. Searches share a read lock; updates take the write lock.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private static final int FIELD_BITS = 12;
+    private static final int MAX_FIELD_COUNT = (1 << FIELD_BITS) - 1;
+    private static final String[] NO_TERMS = new String[0];
+    private static final SearchField[] FIELDS = SearchField.values();
+
+    /**
+     * Term frequency saturation: the score of a term approaches its maximum as its weighted frequency grows.
+     */
+    private static final double K1 = 1.2;
+    /**
+     * Field length normalization, from none (0) to full (1).
+     */
+    private static final double B = 0.75;
+
+    private static final Comparator<ScoredVideo> RANKING = Comparator.comparingDouble(ScoredVideo::score).reversed()
+            .thenComparingLong(ScoredVideo::videoId);
+
+    /**
+     * The packed frequencies of the fields indexed for typo matching: title, director and cast.
+     */
+    private static final long NAME_FIELDS_MASK = (1L << (SearchField.CAST.ordinal() + 1) * FIELD_BITS) - 1;
+    private static final double TYPO_DISCOUNT = 0.5;
+    private static final int MIN_ONE_TYPO_LENGTH = 4;
+    private static final int MIN_TWO_TYPOS_LENGTH = 8;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, IndexedVideo> videos = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long[] totalFieldLengths = new long[FIELDS.length];
+    private final TrigramIndex nameTerms = new TrigramIndex();
+    private final int maxFuzzyCandidates;
+    private final int maxFuzzyExpansions;
+    private int indexedVideos;
+    private volatile boolean ready;
+
+    public CatalogSearchIndex(@Value("${catalog.search.fuzzy.max-candidates:100}") int maxFuzzyCandidates,
+                              @Value("${catalog.search.fuzzy.max-expansions:8}") int maxFuzzyExpansions) {
+        this.maxFuzzyCandidates = maxFuzzyCandidates;
+        this.maxFuzzyExpansions = maxFuzzyExpansions;
+    }
+
+    /**
+     * Adds a video to the index, or replaces its indexed text.
+     *
+     * @param document the searchable text of the video and the version it was read at
+     * @return false if the index already holds a newer version of the video
+     */
+    public boolean index(SearchDocument document) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] fieldLengths = new int[FIELDS.length];
+        for (SearchField field : FIELDS) {
+            List<String> terms = SearchTokenizer.tokenize(document.field(field));
+            fieldLengths[field.ordinal()] = terms.size();
+            for (String term : terms) {
+                frequencies.computeIfAbsent(term, t -> new int[FIELDS.length])[field.ordinal()]++;
+            }
+        }
+        long packedFieldLengths = pack(fieldLengths);
+
+        lock.writeLock().lock();
+        try {
+            if (!unindex(document.getVideoId(), document.getVersion())) {
+                return false;
+            }
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                Postings list = postings.computeIfAbsent(entry.getKey(), term -> new Postings());
+                boolean named = list.namedVideos > 0;
+                list.put(document.getVideoId(), pack(entry.getValue()));
+                if (!named && list.namedVideos > 0) {
+                    nameTerms.add(entry.getKey());
+                }
+            }
+            videos.put(document.getVideoId(),
+                    new IndexedVideo(document.getVersion(), frequencies.keySet().toArray(NO_TERMS), packedFieldLengths));
+            addFieldLengths(packedFieldLengths, 1);
+            indexedVideos++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a video from the index, after it was delisted.
+     *
+     * @param videoId the ID of the video
+     * @param version the version of the video when it was delisted
+     * @return false if the index already holds a newer version of the video
+     */
+    public boolean remove(Long videoId, long version) {
+        lock.writeLock().lock();
+        try {
+            if (!unindex(videoId, version)) {
+                return false;
+            }
+            videos.put(videoId, new IndexedVideo(version, NO_TERMS, 0L));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the version of a video the index was last updated with.
+     *
+     * @param videoId the ID of the video
+     * @return the indexed version, or -1 if the index has never seen the video
+     */
+    public long version(Long videoId) {
+        lock.readLock().lock();
+        try {
+            IndexedVideo video = videos.get(videoId);
+            return video != null ? video.version : -1L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the videos containing every term of a phrase, in any of their fields, best match first.
+     *
+     * @param phrase the search phrase
+     * @param limit  the maximum number of videos returned
+     * @return the IDs of the matching videos, ranked
+     */
+    public List<Long> search(String phrase, int limit) {
+        return search(phrase, limit, SearchMatchMode.EXACT);
+    }
+
+    /**
+     * Same as {@link #search(String, int)}, matching the terms of the phrase as the mode says.
+     *
+     * @param phrase the search phrase
+     * @param limit  the maximum number of videos returned
+     * @param mode   exact, or also matching typos in titles, directors and cast members
+     * @return the IDs of the matching videos, ranked
+     */
+    public List<Long> search(String phrase, int limit, SearchMatchMode mode) {
+        return search(phrase, limit, mode, null).stream().map(RankedVideo::getVideoId).toList();
+    }
+
+    /**
+     * Finds the matching videos ranked after a given result, best match first: the page of a ranked list that
+     * follows the page ending with {@code after}. Matches ranked at or before it are skipped before they reach
+     * the heap, so a deep page keeps no more matches than the first.
+     *
+     * @param phrase the search phrase
+     * @param limit  the maximum number of videos returned
+     * @param mode   exact, or also matching typos in titles, directors and cast members
+     * @param after  the last result of the previous page, or null for the first page
+     * @return the matching videos with their scores, ranked
+     */
+    public List<RankedVideo> search(String phrase, int limit, SearchMatchMode mode, RankedVideo after) {
+        ScoredVideo last = after != null ? new ScoredVideo(after.getVideoId(), after.getScore()) : null;
+        return mode == SearchMatchMode.FUZZY ? fuzzySearch(phrase, limit, last) : exactSearch(phrase, limit, last);
+    }
+
+    /**
+     * Finds the videos containing every term of a phrase, ranked after {@code last} if given.
+     */
+    private List<RankedVideo> exactSearch(String phrase, int limit, ScoredVideo last) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(phrase));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<ScoredVideo> best = new PriorityQueue<>(Math.min(limit, 1024), RANKING.reversed());
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            double[] averageFieldLengths = averageFieldLengths();
+            double[] idf = new double[lists.size()];
+            for (int j = 0; j < lists.size(); j++) {
+                idf[j] = idf(lists.get(j).size);
+            }
+
+            Postings rarest = lists.get(0);
+            int[] positions = new int[lists.size()];
+            candidates:
+            for (int i = 0; i < rarest.size; i++) {
+                long videoId = rarest.videoIds[i];
+                long fieldLengths = videos.get(videoId).fieldLengths;
+                double score = score(rarest.frequencies[i], fieldLengths, averageFieldLengths, idf[0]);
+                for (int j = 1; j < lists.size(); j++) {
+                    Postings list = lists.get(j);
+                    int position = list.seek(videoId, positions[j]);
+                    positions[j] = position;
+                    if (position == list.size || list.videoIds[position] != videoId) {
+                        continue candidates;
+                    }
+                    score += score(list.frequencies[position], fieldLengths, averageFieldLengths, idf[j]);
+                }
+
+                offer(best, new ScoredVideo(videoId, score), limit, last);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ranked(best);
+    }
+
+    /**
+     * Finds the videos matching every term of a phrase, or one of its typo expansions (see {@link #expand}).
+     * The score of a term in a video is the best score among the expansions found in it. As in an exact search,
+     * only the videos of the rarest term are scored, and the expansions of the other terms are walked forward.
+     */
+    private List<RankedVideo> fuzzySearch(String phrase, int limit, ScoredVideo last) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(phrase));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<ScoredVideo> best = new PriorityQueue<>(Math.min(limit, 1024), RANKING.reversed());
+        lock.readLock().lock();
+        try {
+            List<FuzzyTerm> fuzzyTerms = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                List<Expansion> expansions = expand(term);
+                if (expansions.isEmpty()) {
+                    return List.of();
+                }
+                fuzzyTerms.add(new FuzzyTerm(expansions));
+            }
+            fuzzyTerms.sort(Comparator.comparingInt(term -> term.postingsCount));
+
+            double[] averageFieldLengths = averageFieldLengths();
+            candidates:
+            for (long videoId : fuzzyTerms.get(0).videoIds()) {
+                long fieldLengths = videos.get(videoId).fieldLengths;
+                double score = 0.0;
+                for (FuzzyTerm term : fuzzyTerms) {
+                    double termScore = term.bestScore(videoId, fieldLengths, averageFieldLengths);
+                    if (termScore < 0.0) {
+                        continue candidates;
+                    }
+                    score += termScore;
+                }
+                offer(best, new ScoredVideo(videoId, score), limit, last);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ranked(best);
+    }
+
+    /**
+     * Returns the terms of the index matched by a term of a phrase: the term itself, and the title, director and
+     * cast terms a few typos away, closest and most widespread first. Must be called with the read lock held.
+     */
+    private List<Expansion> expand(String term) {
+        List<Expansion> expansions = new ArrayList<>();
+        Postings exact = postings.get(term);
+        if (exact != null) {
+            expansions.add(new Expansion(exact, 0));
+        }
+
+        int maxEdits = term.length() >= MIN_TWO_TYPOS_LENGTH ? 2 : term.length() >= MIN_ONE_TYPO_LENGTH ? 1 : 0;
+        if (maxEdits == 0) {
+            return expansions;
+        }
+        List<Expansion> typos = new ArrayList<>();
+        for (String candidate : nameTerms.candidates(term, maxEdits, maxFuzzyCandidates)) {
+            int edits = EditDistance.within(term, candidate, maxEdits);
+            if (edits > 0 && edits <= maxEdits) {
+                typos.add(new Expansion(postings.get(candidate), edits));
+            }
+        }
+        typos.sort(Comparator.comparingInt(Expansion::edits)
+                .thenComparing(Comparator.comparingInt((Expansion typo) -> typo.postings().namedVideos).reversed()));
+        expansions.addAll(typos.subList(0, Math.min(typos.size(), maxFuzzyExpansions)));
+        return expansions;
+    }
+
+    /**
+     * Empties the index, before it is rebuilt.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            videos.clear();
+            Arrays.fill(totalFieldLengths, 0L);
+            nameTerms.clear();
+            indexedVideos = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the index as holding the whole catalog; searches are answered from then on.
+     */
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the number of videos in the index.
+     *
+     * @return the number of indexed videos
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedVideos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the postings of the indexed version of a video, unless it is newer than the given version.
+     * Must be called with the write lock held.
+     */
+    private boolean unindex(Long videoId, long version) {
+        IndexedVideo indexed = videos.get(videoId);
+        if (indexed == null) {
+            return true;
+        }
+        if (indexed.version > version) {
+            return false;
+        }
+
+        for (String term : indexed.terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            boolean named = list.namedVideos > 0;
+            if (list.remove(videoId) && list.size == 0) {
+                postings.remove(term);
+            }
+            if (named && list.namedVideos == 0) {
+                nameTerms.remove(term);
+            }
+        }
+        if (indexed.terms.length > 0) {
+            addFieldLengths(indexed.fieldLengths, -1);
+            indexedVideos--;
+        }
+        videos.remove(videoId);
+        return true;
+    }
+
+    /**
+     * Must be called with the read lock held.
+     */
+    private double[] averageFieldLengths() {
+        double[] averageFieldLengths = new double[FIELDS.length];
+        for (int field = 0; field < FIELDS.length; field++) {
+            averageFieldLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / indexedVideos);
+        }
+        return averageFieldLengths;
+    }
+
+    /**
+     * Returns the inverse document frequency of a term found in the given number of videos. Must be called with
+     * the read lock held.
+     */
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (indexedVideos - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * Keeps a match if it is ranked after {@code last} (when given) and among the best {@code limit} so far; the
+     * head of the heap is the worst kept match.
+     */
+    private static void offer(PriorityQueue<ScoredVideo> best, ScoredVideo match, int limit, ScoredVideo last) {
+        if (last != null && RANKING.compare(match, last) <= 0) {
+            return;
+        }
+        if (best.size() < limit) {
+            best.add(match);
+        } else if (RANKING.compare(match, best.peek()) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    private static List<RankedVideo> ranked(PriorityQueue<ScoredVideo> best) {
+        List<ScoredVideo> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked.stream().map(match -> new RankedVideo(match.videoId(), match.score())).toList();
+    }
+
+    private void addFieldLengths(long packedFieldLengths, int sign) {
+        for (int field = 0; field < FIELDS.length; field++) {
+            totalFieldLengths[field] += (long) sign * unpack(packedFieldLengths, field);
+        }
+    }
+
+    /**
+     * Packs per-field counts (term frequencies or field lengths), capped at 4095 each, into one long.
+     */
+    private static long pack(int[] fieldCounts) {
+        long packed = 0L;
+        for (int field = 0; field < fieldCounts.length; field++) {
+            packed |= (long) Math.min(fieldCounts[field], MAX_FIELD_COUNT) << (field * FIELD_BITS);
+        }
+        return packed;
+    }
+
+    private static int unpack(long packed, int field) {
+        return (int) (packed >>> (field * FIELD_BITS)) & MAX_FIELD_COUNT;
+    }
+
+    /**
+     * Returns the BM25F score of one term in one video.
+     *
+     * @param frequencies         the packed frequencies of the term in the fields of the video
+     * @param fieldLengths        the packed field lengths of the video
+     * @param averageFieldLengths the average length of each field over the index
+     * @param idf                 the inverse document frequency of the term
+     */
+    private static double score(long frequencies, long fieldLengths, double[] averageFieldLengths, double idf) {
+        double weightedFrequency = 0.0;
+        for (SearchField field : FIELDS) {
+            int frequency = unpack(frequencies, field.ordinal());
+            if (frequency > 0) {
+                double normalization = 1.0 - B + B * unpack(fieldLengths, field.ordinal()) / averageFieldLengths[field.ordinal()];
+                weightedFrequency += field.getWeight() * frequency / normalization;
+            }
+        }
+        return idf * weightedFrequency * (K1 + 1.0) / (weightedFrequency + K1);
+    }
+
+    /**
+     * Posting list of a term: video IDs in ascending order, with the packed field frequencies of the term in
+     * each video. Videos are mostly added in ID order (the index is built by ascending ID, and new videos get
+     * higher IDs), which appends.
+     */
+    private static final class Postings {
+        private long[] videoIds = new long[2];
+        private long[] frequencies = new long[2];
+        private int size;
+        /**
+         * The number of videos containing the term in their title, director or cast.
+         */
+        private int namedVideos;
+
+        private void put(long videoId, long packedFrequencies) {
+            int position = size > 0 && videoIds[size - 1] < videoId
+                    ? -size - 1
+                    : Arrays.binarySearch(videoIds, 0, size, videoId);
+            if (position >= 0) {
+                namedVideos += named(packedFrequencies) - named(frequencies[position]);
+                frequencies[position] = packedFrequencies;
+                return;
+            }
+
+            position = -position - 1;
+            if (size == videoIds.length) {
+                videoIds = Arrays.copyOf(videoIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(videoIds, position, videoIds, position + 1, size - position);
+            System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+            videoIds[position] = videoId;
+            frequencies[position] = packedFrequencies;
+            namedVideos += named(packedFrequencies);
+            size++;
+        }
+
+        private boolean remove(long videoId) {
+            int position = Arrays.binarySearch(videoIds, 0, size, videoId);
+            if (position < 0) {
+                return false;
+            }
+            namedVideos -= named(frequencies[position]);
+            System.arraycopy(videoIds, position + 1, videoIds, position, size - position - 1);
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Returns the position of the first video ID not lower than the given one, searching from a position
+         * known to be at or before it. The search gallops forward in doubling steps before bisecting, so it costs
+         * the logarithm of the distance skipped rather than of the rest of the list.
+         */
+        private int seek(long videoId, int from) {
+            int low = from;
+            int step = 1;
+            while (low + step < size && videoIds[low + step] < videoId) {
+                low += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(videoIds, low, Math.min(low + step + 1, size), videoId);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        private static int named(long packedFrequencies) {
+            return (packedFrequencies & NAME_FIELDS_MASK) != 0 ? 1 : 0;
+        }
+    }
+
+    private record IndexedVideo(long version, String[] terms, long fieldLengths) {
+    }
+
+    /**
+     * A term of the index matched by a term of a phrase, with the number of typos between them.
+     */
+    private record Expansion(Postings postings, int edits) {
+
+        /**
+         * Returns the mask of the fields the match counts in: typos only match names.
+         */
+        private long fields() {
+            return edits == 0 ? -1L : NAME_FIELDS_MASK;
+        }
+    }
+
+    /**
+     * A term of a fuzzy search and its expansions, each walked forward in video ID order. Must be used with the
+     * read lock held.
+     */
+    private final class FuzzyTerm {
+        private final Expansion[] expansions;
+        private final double[] weights;
+        private final int[] positions;
+        private final int postingsCount;
+
+        private FuzzyTerm(List<Expansion> expansions) {
+            this.expansions = expansions.toArray(new Expansion[0]);
+            this.weights = new double[this.expansions.length];
+            this.positions = new int[this.expansions.length];
+            int count = 0;
+            for (int k = 0; k < this.expansions.length; k++) {
+                Expansion expansion = this.expansions[k];
+                weights[k] = Math.pow(TYPO_DISCOUNT, expansion.edits()) * idf(expansion.postings().size);
+                count += expansion.postings().size;
+            }
+            this.postingsCount = count;
+        }
+
+        /**
+         * Returns the IDs of the videos matched by any expansion, ascending.
+         */
+        private long[] videoIds() {
+            long[] videoIds = new long[0];
+            for (Expansion expansion : expansions) {
+                videoIds = union(videoIds, expansion);
+            }
+            return videoIds;
+        }
+
+        /**
+         * Merges the videos matched by an expansion into sorted video IDs.
+         */
+        private static long[] union(long[] videoIds, Expansion expansion) {
+            Postings list = expansion.postings();
+            long[] merged = new long[videoIds.length + list.size];
+            int count = 0;
+            int i = 0;
+            for (int j = 0; j < list.size; j++) {
+                if ((list.frequencies[j] & expansion.fields()) == 0) {
+                    continue;
+                }
+                long videoId = list.videoIds[j];
+                while (i < videoIds.length && videoIds[i] < videoId) {
+                    merged[count++] = videoIds[i++];
+                }
+                if (i < videoIds.length && videoIds[i] == videoId) {
+                    i++;
+                }
+                merged[count++] = videoId;
+            }
+            while (i < videoIds.length) {
+                merged[count++] = videoIds[i++];
+            }
+            return count == merged.length ? merged : Arrays.copyOf(merged, count);
+        }
+
+        /**
+         * Returns the best score of the expansions in a video, or -1 if none matches it. Video IDs must be
+         * passed in ascending order.
+         */
+        private double bestScore(long videoId, long fieldLengths, double[] averageFieldLengths) {
+            double best = -1.0;
+            for (int k = 0; k < expansions.length; k++) {
+                Postings list = expansions[k].postings();
+                int position = list.seek(videoId, positions[k]);
+                positions[k] = position;
+                if (position == list.size || list.videoIds[position] != videoId) {
+                    continue;
+                }
+                long frequencies = list.frequencies[position] & expansions[k].fields();
+                if (frequencies != 0) {
+                    best = Math.max(best, score(frequencies, fieldLengths, averageFieldLengths, weights[k]));
+                }
+            }
+            return best;
+        }
+    }
+
+    private record ScoredVideo(long videoId, double score) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.app.practice.service.impl.search;
+
+import com.app.practice.dto.EngagementCounts;
+import com.app.practice.dto.SearchDocument;
+import com.app.practice.dto.VideoCount;
+import com.app.practice.repository.EngagementCounterShardRepository;
+import com.app.practice.repository.EngagementStatisticsRepository;
+import com.app.practice.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fills the {@link CatalogSearchIndex} and the {@link SuggestionIndex} from the database.
+ * <p>
+ * At startup, the searchable text of all listed videos is read in batches ordered by video ID (keyset
+ * pagination, one projection query per batch), then their views, and both indexes are marked ready afterwards.
+ * Changes made on this node are indexed by the VideoService directly; changes announced by other nodes are
+ * refreshed one video at a time from the database. The views behind the popularity of suggestions are read
+ * again periodically, in batches as well.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogSearchIndexLoader implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndexLoader.class);
+
+    private final VideoRepository videoRepository;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final EngagementStatisticsRepository engagementStatisticsRepository;
+    private final EngagementCounterShardRepository counterShardRepository;
+    @Value("${catalog.search.load-batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the search and suggestion indexes from all listed videos and marks them ready.
+     *
+     * @return the number of videos indexed
+     */
+    public int rebuild() {
+        long startMillis = System.currentTimeMillis();
+        catalogSearchIndex.clear();
+        suggestionIndex.clear();
+
+        int indexed = 0;
+        long afterVideoId = 0L;
+        List<SearchDocument> batch;
+        do {
+            batch = videoRepository.findSearchDocuments(afterVideoId, PageRequest.of(0, batchSize));
+            for (SearchDocument document : batch) {
+                catalogSearchIndex.index(document);
+                suggestionIndex.index(document);
+                afterVideoId = document.getVideoId();
+            }
+            indexed += batch.size();
+        } while (batch.size() == batchSize);
+        catalogSearchIndex.markReady();
+
+        refreshPopularity();
+        suggestionIndex.rebuild();
+        suggestionIndex.markReady();
+        logger.info("Search and suggestion indexes built with {} videos ({} names) in {} ms", indexed,
+                suggestionIndex.size(), System.currentTimeMillis() - startMillis);
+        return indexed;
+    }
+
+    /**
+     * Reads the views of all videos, stored and sharded, into the popularity of their suggestions. A failed
+     * refresh keeps the previous popularity until the next one.
+     */
+    @Scheduled(fixedDelayString = "${catalog.suggest.popularity-refresh-interval-ms:300000}",
+            initialDelayString = "${catalog.suggest.popularity-refresh-interval-ms:300000}")
+    public void refreshPopularity() {
+        try {
+            long afterVideoId = 0L;
+            List<VideoCount> batch;
+            do {
+                batch = engagementStatisticsRepository.findViews(afterVideoId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                Map<Long, Long> views = new HashMap<>();
+                for (VideoCount count : batch) {
+                    views.put(count.getVideoId(), count.getCount());
+                    afterVideoId = count.getVideoId();
+                }
+                for (EngagementCounts shards : counterShardRepository.sumByVideoIds(views.keySet())) {
+                    views.merge(shards.getVideoId(), shards.getViews(), Long::sum);
+                }
+                views.forEach(suggestionIndex::updateViews);
+            } while (batch.size() == batchSize);
+        } catch (DataAccessException ex) {
+            logger.warn("Failed to refresh the popularity of suggestions: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Re-reads a video changed on another node, unless the index already holds the changed version.
+     *
+     * @param videoId the ID of the changed video
+     * @param version the version of the video after the change
+     */
+    public void refresh(Long videoId, long version) {
+        if (catalogSearchIndex.version(videoId) >= version) {
+            return;
+        }
+
+        Optional<SearchDocument> document = videoRepository.findSearchDocumentById(videoId);
+        if (document.isPresent()) {
+            catalogSearchIndex.index(document.get());
+            suggestionIndex.index(document.get());
+        } else {
+            catalogSearchIndex.remove(videoId, version);
+            suggestionIndex.remove(videoId, version);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.app.practice.service.impl.search;
+
+import com.app.practice.dto.SearchDocument;
+import com.app.practice.dto.SuggestionType;
+import com.app.practice.model.response.Suggestion;
+import com.app.practice.utils.SearchTokenizer;
+import com.app.practice.utils.SuggestionTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Suggests the titles, directors and cast members of the listed videos completing a typed prefix, most popular
+ * first, without touching the database.
+ * <p>
+ * Every name is normalized (see {@link SearchTokenizer#normalize(String)}) and matched from its start or from the
+ * start of one of its first words, so "godf" suggests "The Godfather". The popularity of a name is the total
+ * views of the listed videos carrying it.
+ * <p>
+ * Names and their popularity are kept per video and updated one video at a time, as videos are published,
+ * edited and delisted and as their views are refreshed. Suggestions are served from an immutable
+ * {@link SuggestionTrie} storing the best completions of every prefix; when names or popularity have changed,
+ * a new tree is built from the names held in memory in the background, and swapped in, so lookups take no lock
+ * and see changes within the rebuild interval.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    private static final int MAX_MATCHED_WORDS = 4;
+    private static final Pattern CAST_SEPARATORS = Pattern.compile("[,;]");
+    private static final NameKey[] NO_NAMES = new NameKey[0];
+
+    private static final Comparator<Map.Entry<NameKey, Name>> POPULARITY =
+            Comparator.<Map.Entry<NameKey, Name>>comparingLong(entry -> entry.getValue().popularity).reversed()
+                    .thenComparing(entry -> entry.getKey().type())
+                    .thenComparing(entry -> entry.getKey().normalized());
+
+    private static final Comparator<MatchedKey> MATCHED_KEY_ORDER =
+            Comparator.comparing(MatchedKey::key).thenComparingInt(MatchedKey::rank);
+
+    private final int maxResults;
+
+    /*
+     Only accessed while holding the lock.
+     */
+    private final Map<Long, SuggestedVideo> videos = new HashMap<>();
+    private final Map<NameKey, Name> names = new HashMap<>();
+    private boolean changed;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean ready;
+
+    public SuggestionIndex(@Value("${catalog.suggest.max-results:10}") int maxResults) {
+        this.maxResults = Math.max(1, maxResults);
+    }
+
+    /**
+     * Adds the names of a video, or replaces them after an edit. The video keeps its views.
+     *
+     * @param document the text of the video and the version it was read at
+     * @return false if the index already holds a newer version of the video
+     */
+    public boolean index(SearchDocument document) {
+        Map<NameKey, String> videoNames = names(document);
+
+        lock.lock();
+        try {
+            SuggestedVideo previous = videos.get(document.getVideoId());
+            if (previous != null && previous.version > document.getVersion()) {
+                return false;
+            }
+            long views = previous != null ? previous.views : 0L;
+            if (previous != null) {
+                unlink(previous);
+            }
+
+            for (Map.Entry<NameKey, String> entry : videoNames.entrySet()) {
+                Name name = names.computeIfAbsent(entry.getKey(), key -> new Name(entry.getValue()));
+                name.videos++;
+                name.popularity += views;
+            }
+            videos.put(document.getVideoId(),
+                    new SuggestedVideo(document.getVersion(), views, videoNames.keySet().toArray(NO_NAMES)));
+            changed = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the names of a video, after it was delisted.
+     *
+     * @param videoId the ID of the video
+     * @param version the version of the video when it was delisted
+     * @return false if the index already holds a newer version of the video
+     */
+    public boolean remove(Long videoId, long version) {
+        lock.lock();
+        try {
+            SuggestedVideo previous = videos.get(videoId);
+            if (previous != null && previous.version > version) {
+                return false;
+            }
+            if (previous != null) {
+                unlink(previous);
+            }
+            videos.put(videoId, new SuggestedVideo(version, 0L, NO_NAMES));
+            changed = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the total views of a video, which add to the popularity of its names.
+     *
+     * @param videoId the ID of the video
+     * @param views   the total views of the video
+     */
+    public void updateViews(Long videoId, long views) {
+        lock.lock();
+        try {
+            SuggestedVideo video = videos.get(videoId);
+            if (video == null || video.names.length == 0 || video.views == views) {
+                return;
+            }
+            for (NameKey key : video.names) {
+                names.get(key).popularity += views - video.views;
+            }
+            videos.put(videoId, new SuggestedVideo(video.version, views, video.names));
+            changed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the most popular names completing a prefix.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions, at most {@link #maxResults()}
+     * @return the suggestions, most popular first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String normalized = SearchTokenizer.normalize(prefix);
+        if (current == null || normalized.isEmpty()) {
+            return List.of();
+        }
+
+        int[] ranks = current.trie.complete(normalized, Math.min(limit, maxResults));
+        List<Suggestion> suggestions = new ArrayList<>(ranks.length);
+        for (int rank : ranks) {
+            suggestions.add(current.suggestions[rank]);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Builds a new tree of suggestions if names or popularity have changed since the last build.
+     */
+    @Scheduled(fixedDelayString = "${catalog.suggest.rebuild-interval-ms:1000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<Map.Entry<NameKey, Name>> ranked;
+            lock.lock();
+            try {
+                if (!changed && snapshot != null) {
+                    return;
+                }
+                ranked = new ArrayList<>(names.size());
+                for (Map.Entry<NameKey, Name> entry : names.entrySet()) {
+                    Name name = entry.getValue();
+                    ranked.add(Map.entry(entry.getKey(), new Name(name.text, name.popularity)));
+                }
+                changed = false;
+            } finally {
+                lock.unlock();
+            }
+
+            long startMillis = System.currentTimeMillis();
+            snapshot = build(ranked);
+            logger.debug("Suggestion tree rebuilt with {} names and {} nodes in {} ms", ranked.size(),
+                    snapshot.trie.size(), System.currentTimeMillis() - startMillis);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Empties the index, before it is rebuilt.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            videos.clear();
+            names.clear();
+            changed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the index as holding the whole catalog; suggestions are answered from then on.
+     */
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready && snapshot != null;
+    }
+
+    public int maxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Returns the number of distinct names indexed.
+     *
+     * @return the number of names
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return names.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must be called with the lock held.
+     */
+    private void unlink(SuggestedVideo video) {
+        for (NameKey key : video.names) {
+            Name name = names.get(key);
+            name.popularity -= video.views;
+            if (--name.videos == 0) {
+                names.remove(key);
+            }
+        }
+    }
+
+    private Snapshot build(List<Map.Entry<NameKey, Name>> ranked) {
+        ranked.sort(POPULARITY);
+
+        Suggestion[] suggestions = new Suggestion[ranked.size()];
+        List<MatchedKey> matchedKeys = new ArrayList<>(ranked.size() * 2);
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            NameKey key = ranked.get(rank).getKey();
+            Name name = ranked.get(rank).getValue();
+            suggestions[rank] = new Suggestion(name.text, key.type(), name.popularity);
+
+            String normalized = key.normalized();
+            int start = 0;
+            for (int word = 0; word < MAX_MATCHED_WORDS && start >= 0; word++) {
+                matchedKeys.add(new MatchedKey(normalized.substring(start), rank));
+                int space = normalized.indexOf(' ', start);
+                start = space < 0 ? -1 : space + 1;
+            }
+        }
+        matchedKeys.sort(MATCHED_KEY_ORDER);
+
+        List<String> sortedKeys = new ArrayList<>();
+        List<int[]> keyRanks = new ArrayList<>();
+        for (int from = 0; from < matchedKeys.size(); ) {
+            String key = matchedKeys.get(from).key();
+            int to = from + 1;
+            while (to < matchedKeys.size() && matchedKeys.get(to).key().equals(key)) {
+                to++;
+            }
+            int[] ranks = new int[to - from];
+            for (int i = from; i < to; i++) {
+                ranks[i - from] = matchedKeys.get(i).rank();
+            }
+            sortedKeys.add(key);
+            keyRanks.add(ranks);
+            from = to;
+        }
+        return new Snapshot(SuggestionTrie.build(sortedKeys.toArray(new String[0]), keyRanks.toArray(new int[0][]),
+                maxResults), suggestions);
+    }
+
+    /**
+     * Returns the names of a video: its title, its director and each of its cast members.
+     */
+    private static Map<NameKey, String> names(SearchDocument document) {
+        Map<NameKey, String> videoNames = new LinkedHashMap<>();
+        addName(videoNames, SuggestionType.TITLE, document.getTitle());
+        addName(videoNames, SuggestionType.DIRECTOR, document.getDirector());
+        if (document.getCast() != null) {
+            for (String member : CAST_SEPARATORS.split(document.getCast())) {
+                addName(videoNames, SuggestionType.CAST, member);
+            }
+        }
+        return videoNames;
+    }
+
+    private static void addName(Map<NameKey, String> videoNames, SuggestionType type, String text) {
+        String normalized = SearchTokenizer.normalize(text);
+        if (!normalized.isEmpty()) {
+            videoNames.putIfAbsent(new NameKey(type, normalized), text.trim());
+        }
+    }
+
+    private record NameKey(SuggestionType type, String normalized) {
+    }
+
+    /**
+     * A string a name is matched by: the whole normalized name or its end from one of its first words.
+     */
+    private record MatchedKey(String key, int rank) {
+    }
+
+    private record SuggestedVideo(long version, long views, NameKey[] names) {
+    }
+
+    private record Snapshot(SuggestionTrie trie, Suggestion[] suggestions) {
+    }
+
+    private static final class Name {
+        private final String text;
+        private long popularity;
+        private int videos;
+
+        private Name(String text) {
+            this.text = text;
+        }
+
+        private Name(String text, long popularity) {
+            this.text = text;
+            this.popularity = popularity;
+        }
+    }
+}
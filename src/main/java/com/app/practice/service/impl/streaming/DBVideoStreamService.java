@@ -1,22 +1,33 @@
 package com.app.practice.service.impl.streaming;
 
 import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.dto.EngagementEventType;
+import com.app.practice.dto.SegmentContent;
+import com.app.practice.dto.VideoContentFile;
 import com.app.practice.dto.VideoDTO;
-import com.app.practice.entity.EngagementStatistics;
 import com.app.practice.entity.Video;
-import com.app.practice.entity.VideoMetaData;
+import com.app.practice.exception.ResourceNotFoundException;
 import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.model.response.ContentManifest;
 import com.app.practice.model.response.GenericResponse;
-import com.app.practice.repository.EngagementStatisticsRepository;
 import com.app.practice.repository.VideoRepository;
 import com.app.practice.service.VideoStreamService;
-import jakarta.transaction.Transactional;
+import com.app.practice.service.impl.engagement.EngagementCounterAggregator;
+import com.app.practice.service.impl.engagement.EngagementEventDeduplicator;
+import com.app.practice.service.impl.engagement.TrendingVideoTracker;
+import com.app.practice.service.impl.engagement.UniqueViewerTracker;
+import com.app.practice.service.impl.video.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -24,9 +35,14 @@ public class DBVideoStreamService implements VideoStreamService {
 
     private static final Logger logger = LoggerFactory.getLogger(DBVideoStreamService.class);
     private final VideoRepository videoRepository;
-    private final EngagementStatisticsRepository engagementStatsRepo;
+    private final EngagementCounterAggregator engagementCounterAggregator;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final TrendingVideoTracker trendingVideoTracker;
+    private final EngagementEventDeduplicator engagementEventDeduplicator;
+    private final VideoContentResolver videoContentResolver;
+    private final CatalogCache catalogCache;
     @Value("${video.stream.loadAndPlayLinked:false}")
-    private Boolean isLoadAndPlayLinked;
+    private boolean isLoadAndPlayLinked;
 
     /**
      * Fetches a video by its ID and validates its availability.
@@ -50,75 +66,125 @@ public class DBVideoStreamService implements VideoStreamService {
         return video;
     }
 
-
     /**
-     * Updates engagement statistics for a video.
+     * Reads the catalog entry of a listed video with one projection query, for the catalog cache.
      *
-     * @param video               the video entity
-     * @param incrementImpression flag to indicate if views should be incremented
+     * @param id the ID of the video
+     * @return the catalog entry
+     * @throws VideoNotFoundException if the video is not found or delisted
      */
-    private void updateEngagementStatistics(Video video, boolean incrementImpression) {
-        EngagementStatistics stats = video.getEngagementStatistics();
-        if (stats == null) {
-            stats = new EngagementStatistics();
-            stats.setVideo(video);
-            stats.setViews(0L);
-            stats.setImpressions(0L);
+    private CatalogEntry fetchCatalogEntryById(Long id) throws VideoNotFoundException {
+        Optional<CatalogEntry> catalogEntry = videoRepository.findListedVideoById(id);
+        if (catalogEntry.isPresent()) {
+            return catalogEntry.get();
         }
 
-        stats.setViews(stats.getViews() + 1);
+        if (videoRepository.existsById(id)) {
+            logger.warn("{} {}", ModuleConstants.VIDEO_DELISTED, id);
+            throw new VideoNotFoundException(ModuleConstants.VIDEO_DELISTED);
+        }
+        logger.error("{} {}", ModuleConstants.VIDEO_NOT_FOUND, id);
+        throw new VideoNotFoundException(ModuleConstants.VIDEO_NOT_FOUND);
+    }
+
+
+    /**
+     * Records a view (and optionally an impression) of a video. The counters are aggregated in memory and
+     * written behind, so no statistics row is read or locked by the request. The requesting user is counted
+     * as a viewer of the video, and the play is counted towards trending videos under the genre of its catalog
+     * entry, so the metadata of the video is not loaded.
+     *
+     * @param video               the video entity
+     * @param incrementImpression flag to indicate if impressions should be incremented as well
+     * @throws VideoNotFoundException if the video was delisted since it was fetched
+     */
+    private void updateEngagementStatistics(Video video, boolean incrementImpression) throws VideoNotFoundException {
+        engagementCounterAggregator.recordView(video.getVideoId());
+        uniqueViewerTracker.recordViewer(video.getVideoId());
+        trendingVideoTracker.recordPlay(video.getVideoId(),
+                catalogCache.get(video.getVideoId(), this::fetchCatalogEntryById).getGenre());
 
         if (incrementImpression) {
-            stats.setImpressions(stats.getImpressions() + 1);
+            engagementCounterAggregator.recordImpression(video.getVideoId());
         }
+    }
 
-        engagementStatsRepo.save(stats);
-        video.setEngagementStatistics(stats);
+    private void updateImpressionEngagementStatistics(Long videoId) {
+        engagementCounterAggregator.recordImpression(videoId);
+        uniqueViewerTracker.recordViewer(videoId);
     }
 
-    private void updateImpressionEngagementStatistics(Video video) {
-        EngagementStatistics stats = video.getEngagementStatistics();
-        if (stats == null) {
-            stats = new EngagementStatistics();
-            stats.setVideo(video);
-            stats.setViews(0L);
-            stats.setImpressions(0L);
+    /**
+     * Loads the catalog entry of a video through the catalog cache; only a miss reads the database.
+     */
+    @Override
+    public GenericResponse<VideoDTO> loadVideo(Long id, String eventId) throws VideoNotFoundException {
+        logger.info(ModuleConstants.LOADING_VIDEO + "{}", id);
+        VideoDTO videoDTO = catalogCache.get(id, this::fetchCatalogEntryById);
+
+        if (!engagementEventDeduplicator.isDuplicate(EngagementEventType.IMPRESSION, id, eventId)) {
+            updateImpressionEngagementStatistics(id);
         }
 
-        stats.setImpressions(stats.getImpressions() + 1);
+        return GenericResponse.success(videoDTO, HttpStatus.OK);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GenericResponse<String> playVideo(Long id, String eventId) throws VideoNotFoundException {
+        logger.info(ModuleConstants.PLAYING_VIDEO + "{}", id);
+        Video video = fetchVideoById(id);
 
-        engagementStatsRepo.save(stats);
-        video.setEngagementStatistics(stats);
+        /*
+            NOTE : Assumed that video loading and playing are independent,
+            and engagement stats will be recorded accordingly. Retries of the same play are counted once.
+         */
+        if (!engagementEventDeduplicator.isDuplicate(EngagementEventType.VIEW, id, eventId)) {
+            updateEngagementStatistics(video, isLoadAndPlayLinked);
+        }
+
+        return GenericResponse.success(videoContentResolver.readContent(video), HttpStatus.OK);
     }
 
     @Override
-    @Transactional
-    public GenericResponse<VideoDTO> loadVideo(Long id) throws VideoNotFoundException {
-        logger.info(ModuleConstants.LOADING_VIDEO + "{}", id);
+    @Transactional(readOnly = true)
+    public VideoContentFile openVideoContent(Long id, boolean recordPlay) throws VideoNotFoundException {
+        logger.info(ModuleConstants.STREAMING_VIDEO + "{}", id);
         Video video = fetchVideoById(id);
 
-        updateImpressionEngagementStatistics(video);
+        VideoContentFile contentFile = videoContentResolver.resolve(video);
 
-        VideoMetaData metaData = video.getMetaData();
-        VideoDTO videoDTO = new VideoDTO(video.getVideoId(), video.getTitle(),
-                metaData.getDirector(), metaData.getCast(),
-                metaData.getGenre(), metaData.getRunningTime());
+        if (recordPlay) {
+            updateEngagementStatistics(video, isLoadAndPlayLinked);
+        }
 
-        return GenericResponse.success(videoDTO, HttpStatus.OK);
+        return contentFile;
     }
 
     @Override
-    @Transactional
-    public GenericResponse<String> playVideo(Long id) throws VideoNotFoundException {
-        logger.info(ModuleConstants.PLAYING_VIDEO + "{}", id);
+    @Transactional(readOnly = true)
+    public GenericResponse<ContentManifest> loadManifest(Long id) throws VideoNotFoundException {
+        logger.info(ModuleConstants.LOADING_MANIFEST + "{}", id);
         Video video = fetchVideoById(id);
 
+        ContentManifest manifest = videoContentResolver.manifest(video);
+
         /*
-            NOTE : Assumed that video loading and playing are independent,
-            and engagement stats will be recorded accordingly.
+          Fetching the manifest starts a segmented playback, the segment requests that follow are not counted.
          */
         updateEngagementStatistics(video, isLoadAndPlayLinked);
 
-        return GenericResponse.success(video.getContent(), HttpStatus.OK);
+        return GenericResponse.success(manifest, HttpStatus.OK);
+    }
+
+    @Override
+    public SegmentContent loadSegment(Long id, int segmentIndex) throws VideoNotFoundException, ResourceNotFoundException {
+        Video video = fetchVideoById(id);
+        return videoContentResolver.readSegment(video, segmentIndex);
+    }
+
+    @Override
+    public void recordImpressions(Map<Long, Long> impressions) {
+        impressions.forEach(engagementCounterAggregator::recordImpressions);
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,23 @@
 package com.app.practice.service.impl.streaming;
 
 import com.app.practice.constants.ModuleConstants;
-import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.dto.EngagementEventType;
+import com.app.practice.dto.SegmentContent;
+import com.app.practice.dto.VideoContentFile;
 import com.app.practice.dto.VideoDTO;
 import com.app.practice.entity.Video;
+import com.app.practice.entity.VideoMetaData;
+import com.app.practice.exception.ResourceNotFoundException;
 import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.model.response.ContentManifest;
 import com.app.practice.model.response.GenericResponse;
 import com.app.practice.service.VideoStreamService;
+import com.app.practice.service.impl.engagement.EngagementEventDeduplicator;
+import com.app.practice.service.impl.engagement.EngagementEventPublisher;
+import com.app.practice.service.impl.engagement.TrendingVideoTracker;
+import com.app.practice.service.impl.engagement.UniqueViewerTracker;
+import com.app.practice.service.impl.video.CatalogCache;
 import com.app.practice.utils.KafkaProducerService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -14,6 +25,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 public class KafkaVideoStreamService implements VideoStreamService {
@@ -21,6 +35,12 @@ public class KafkaVideoStreamService implements VideoStreamService {
     private static final Logger logger = LoggerFactory.getLogger(KafkaVideoStreamService.class);
 
     private final KafkaProducerService kafkaProducerService;
+    private final EngagementEventPublisher engagementEventPublisher;
+    private final EngagementEventDeduplicator engagementEventDeduplicator;
+    private final VideoContentResolver videoContentResolver;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final TrendingVideoTracker trendingVideoTracker;
+    private final CatalogCache catalogCache;
 
     /**
      * Fetches a video from an external microservice (mocked here).
@@ -45,32 +65,109 @@ public class KafkaVideoStreamService implements VideoStreamService {
         return video;
     }
 
-    @Override
-    public GenericResponse<VideoDTO> loadVideo(Long id) throws VideoNotFoundException {
-        logger.info(ModuleConstants.LOADING_VIDEO + "{}", id);
+    /**
+     * Publishes an engagement event for a video and counts the requesting user as one of its viewers.
+     * Views are also counted towards trending videos.
+     *
+     * @param type  the engagement type
+     * @param id    the video ID
+     * @param video the video entity
+     */
+    private void publishEngagement(EngagementEventType type, Long id, Video video) {
+        engagementEventPublisher.publish(type, id);
+        uniqueViewerTracker.recordViewer(id);
+        if (type == EngagementEventType.VIEW) {
+            trendingVideoTracker.recordPlay(id, video.getMetaData() != null ? video.getMetaData().getGenre() : null);
+        }
+    }
+
+    /**
+     * Fetches the catalog entry of a video from the external microservice, for the catalog cache. A video
+     * without metadata, or without a running time, gets the same defaults as the catalog projection query.
+     *
+     * @param id the video ID
+     * @return the catalog entry
+     * @throws VideoNotFoundException if not found or delisted
+     */
+    private CatalogEntry fetchCatalogEntryById(Long id) throws VideoNotFoundException {
         Video video = fetchVideoById(id);
+        VideoMetaData metaData = video.getMetaData();
+        if (metaData == null) {
+            return new CatalogEntry(video.getVideoId(), video.getTitle(), null, null, null, 0, video.getVersion());
+        }
+        return new CatalogEntry(video.getVideoId(), video.getTitle(), metaData.getDirector(), metaData.getCast(),
+                metaData.getGenre(), Objects.requireNonNullElse(metaData.getRunningTime(), 0), video.getVersion());
+    }
 
-        // Send a Kafka message for video engagement tracking
-        kafkaProducerService.sendMessage(VideoStreamConstants.VIDEO_PLAY_TOPIC, video.getVideoId().toString());
+    /**
+     * Loads the catalog entry of a video through the catalog cache; only a miss requests the video details.
+     */
+    @Override
+    public GenericResponse<VideoDTO> loadVideo(Long id, String eventId) throws VideoNotFoundException {
+        logger.info(ModuleConstants.LOADING_VIDEO + "{}", id);
+        VideoDTO videoDTO = catalogCache.get(id, this::fetchCatalogEntryById);
 
-        VideoDTO videoDTO = new VideoDTO(video.getVideoId(), video.getTitle(),
-                video.getMetaData().getDirector(), video.getMetaData().getCast(),
-                video.getMetaData().getGenre(), video.getMetaData().getRunningTime());
+        // Send a Kafka message for video engagement tracking, once per client event
+        if (!engagementEventDeduplicator.isDuplicate(EngagementEventType.IMPRESSION, id, eventId)) {
+            engagementEventPublisher.publish(EngagementEventType.IMPRESSION, id);
+            uniqueViewerTracker.recordViewer(id);
+        }
 
         return GenericResponse.success(videoDTO, HttpStatus.OK);
     }
 
     @Override
-    public GenericResponse<String> playVideo(Long id) throws VideoNotFoundException {
+    public GenericResponse<String> playVideo(Long id, String eventId) throws VideoNotFoundException {
         logger.info(ModuleConstants.PLAYING_VIDEO + "{}", id);
         Video video = fetchVideoById(id);
 
         /*
-          Send a Kafka message to track play event.
+          Send a Kafka message to track play event, unless it is a retry of an event already sent.
          */
-        kafkaProducerService.sendMessage(VideoStreamConstants.VIDEO_PLAY_TOPIC, video.getVideoId().toString());
+        if (!engagementEventDeduplicator.isDuplicate(EngagementEventType.VIEW, id, eventId)) {
+            publishEngagement(EngagementEventType.VIEW, id, video);
+        }
 
-        return GenericResponse.success(video.getContent(), HttpStatus.OK);
+        return GenericResponse.success(videoContentResolver.readContent(video), HttpStatus.OK);
     }
-}
 
+    @Override
+    public VideoContentFile openVideoContent(Long id, boolean recordPlay) throws VideoNotFoundException {
+        logger.info(ModuleConstants.STREAMING_VIDEO + "{}", id);
+        Video video = fetchVideoById(id);
+
+        VideoContentFile contentFile = videoContentResolver.resolve(video);
+
+        if (recordPlay) {
+            publishEngagement(EngagementEventType.VIEW, id, video);
+        }
+
+        return contentFile;
+    }
+
+    @Override
+    public GenericResponse<ContentManifest> loadManifest(Long id) throws VideoNotFoundException {
+        logger.info(ModuleConstants.LOADING_MANIFEST + "{}", id);
+        Video video = fetchVideoById(id);
+
+        ContentManifest manifest = videoContentResolver.manifest(video);
+
+        /*
+          Fetching the manifest starts a segmented playback, the segment requests that follow are not counted.
+         */
+        publishEngagement(EngagementEventType.VIEW, id, video);
+
+        return GenericResponse.success(manifest, HttpStatus.OK);
+    }
+
+    @Override
+    public SegmentContent loadSegment(Long id, int segmentIndex) throws VideoNotFoundException, ResourceNotFoundException {
+        Video video = fetchVideoById(id);
+        return videoContentResolver.readSegment(video, segmentIndex);
+    }
+
+    @Override
+    public void recordImpressions(Map<Long, Long> impressions) {
+        impressions.forEach((id, count) -> engagementEventPublisher.publish(EngagementEventType.IMPRESSION, id, count));
+    }
+}
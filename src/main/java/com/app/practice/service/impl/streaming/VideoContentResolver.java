@@ -0,0 +1,161 @@
+package com.app.practice.service.impl.streaming;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.ContentSegment;
+import com.app.practice.dto.SegmentContent;
+import com.app.practice.dto.VideoContentFile;
+import com.app.practice.entity.Video;
+import com.app.practice.entity.VideoSegment;
+import com.app.practice.exception.ResourceNotFoundException;
+import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.model.response.ContentManifest;
+import com.app.practice.repository.VideoSegmentRepository;
+import com.app.practice.service.ContentStore;
+import com.app.practice.service.impl.content.SegmentCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Resolves the stored content of a Video through the ContentStore for the streaming services.
+ * Segment reads go through the off-heap SegmentCache so hot segments are not re-read from the store.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+@RequiredArgsConstructor
+public class VideoContentResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoContentResolver.class);
+
+    private final ContentStore contentStore;
+    private final VideoSegmentRepository videoSegmentRepository;
+    private final SegmentCache segmentCache;
+
+    /**
+     * Describes the stored content of a video for byte-range streaming.
+     *
+     * @param video the video entity
+     * @return the content descriptor, including the backing file when the store is file based
+     * @throws VideoNotFoundException if the video has no stored content
+     */
+    public VideoContentFile resolve(Video video) throws VideoNotFoundException {
+        requireContent(video);
+
+        Path path = contentStore.resolvePath(video.getContentKey()).orElse(null);
+        long lastModified = 0L;
+        if (path != null) {
+            try {
+                lastModified = Files.getLastModifiedTime(path).toMillis();
+            } catch (IOException ex) {
+                logger.warn("Unable to read modification time of content for video ID: {}", video.getVideoId());
+            }
+        }
+
+        return new VideoContentFile(video.getVideoId(), video.getContentKey(), path, video.getContentSize(),
+                lastModified, "\"" + video.getContentChecksum() + "\"");
+    }
+
+    /**
+     * Reads the whole content of a video as a UTF-8 string.
+     *
+     * @param video the video entity
+     * @return the content
+     * @throws VideoNotFoundException if the video has no stored content
+     */
+    public String readContent(Video video) throws VideoNotFoundException {
+        requireContent(video);
+
+        byte[] content = new byte[Math.toIntExact(video.getContentSize())];
+        int segmentSize = video.getSegmentSize() == null ? content.length : video.getSegmentSize();
+        int position = 0;
+        try {
+            for (int index = 0; position < content.length; index++) {
+                int length = Math.min(segmentSize, content.length - position);
+                try (SegmentCache.Handle handle = readCachedSegment(video.getContentKey(), index, position, length)) {
+                    ByteBuffer data = handle.data();
+                    int read = data.remaining();
+                    data.get(content, position, read);
+                    position += read;
+                    if (read < length) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            logger.error("Failed to read content for video ID: {}", video.getVideoId(), ex);
+            throw new UncheckedIOException(ex);
+        }
+
+        return new String(content, 0, position, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds the segment manifest of a video.
+     *
+     * @param video the video entity
+     * @return the manifest listing all content segments in order
+     * @throws VideoNotFoundException if the video has no stored content
+     */
+    public ContentManifest manifest(Video video) throws VideoNotFoundException {
+        requireContent(video);
+
+        List<ContentSegment> segments = videoSegmentRepository.findByVideoId(video.getVideoId()).stream()
+                .map(ContentSegment::segmentMapper)
+                .toList();
+
+        int segmentSize = video.getSegmentSize() == null ? 0 : video.getSegmentSize();
+        return new ContentManifest(video.getVideoId(), video.getContentSize(), video.getContentChecksum(),
+                segmentSize, segments.size(), segments);
+    }
+
+    /**
+     * Reads a single content segment of a video.
+     *
+     * @param video        the video entity
+     * @param segmentIndex the zero based index of the segment
+     * @return the segment bytes and checksum
+     * @throws VideoNotFoundException    if the video has no stored content
+     * @throws ResourceNotFoundException if the video has no segment with this index
+     */
+    public SegmentContent readSegment(Video video, int segmentIndex) throws VideoNotFoundException, ResourceNotFoundException {
+        requireContent(video);
+
+        VideoSegment segment = videoSegmentRepository.findByVideoIdAndSegmentIndex(video.getVideoId(), segmentIndex)
+                .orElseThrow(() -> {
+                    logger.warn("{} {}/{}", ModuleConstants.VIDEO_SEGMENT_NOT_FOUND, video.getVideoId(), segmentIndex);
+                    return new ResourceNotFoundException(ModuleConstants.VIDEO_SEGMENT_NOT_FOUND);
+                });
+
+        SegmentCache.Handle handle;
+        try {
+            handle = readCachedSegment(video.getContentKey(), segmentIndex, segment.getByteOffset(), segment.getSegmentSize());
+        } catch (IOException ex) {
+            logger.error("Failed to read segment {} of video ID: {}", segmentIndex, video.getVideoId(), ex);
+            throw new UncheckedIOException(ex);
+        }
+
+        return new SegmentContent(video.getVideoId(), segmentIndex, segment.getChecksum(), handle.data(), handle::close);
+    }
+
+    private SegmentCache.Handle readCachedSegment(String contentKey, int segmentIndex, long offset, int length) throws IOException {
+        return segmentCache.getOrLoad(new SegmentCache.SegmentKey(contentKey, segmentIndex), length,
+                target -> contentStore.read(contentKey, offset, target));
+    }
+
+    private void requireContent(Video video) throws VideoNotFoundException {
+        if (video.getContentKey() == null || video.getContentSize() == null) {
+            logger.error("{} {}", ModuleConstants.VIDEO_CONTENT_NOT_AVAILABLE, video.getVideoId());
+            throw new VideoNotFoundException(ModuleConstants.VIDEO_CONTENT_NOT_AVAILABLE);
+        }
+    }
+}
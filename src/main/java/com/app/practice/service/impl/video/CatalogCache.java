@@ -0,0 +1,268 @@
+package com.app.practice.service.impl.video;
+
+import com.app.practice.dto.CacheStatistics;
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.dto.VideoDTO;
+import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.utils.FrequencySketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-through, in-process cache of the catalog entries of listed videos, keyed by video ID.
+ * <p>
+ * Eviction follows W-TinyLFU: new entries go to a small LRU window (1% of the capacity) that absorbs bursts of
+ * new videos; an entry leaving the window competes with the least recently used entry of the main region, and
+ * the {@link FrequencySketch} decides which one stays (TinyLFU admission), so one-off lookups of unpopular
+ * videos cannot flush out the popular titles. The main region is a segmented LRU: entries hit again move from
+ * the probation to the protected segment (80% of the main region), whose overflow is demoted back to probation.
+ * <p>
+ * Every entry carries the version of the video it was read at. Edits and delistings, on this node or another
+ * one (see {@link com.app.practice.service.CatalogInvalidationBus}), invalidate the video at its new version:
+ * entries read at an older version are removed, and the newest invalidated version of the video is remembered,
+ * so a load that read the video before the change is served but not cached. Invalidations may arrive late,
+ * twice or out of order; one older than the cached entry is ignored, so it can neither evict a fresh entry nor
+ * let a stale one back in. Remembered versions are bounded by the capacity of the cache; entries also expire
+ * after the TTL, which bounds the staleness should an invalidation be lost. Missing and delisted videos are
+ * not cached.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+public class CatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCache.class);
+
+    private static final String CACHE_NAME = "catalog";
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    /**
+     * Loads the catalog entry of a video on a miss.
+     */
+    @FunctionalInterface
+    public interface CatalogLoader {
+        CatalogEntry load(Long videoId) throws VideoNotFoundException;
+    }
+
+    private final int maxEntries;
+    private final int windowMaxEntries;
+    private final int protectedMaxEntries;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<Long, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Entry> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Long> invalidatedVersions;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public CatalogCache(@Value("${catalog.cache.max-entries:10000}") int maxEntries,
+                        @Value("${catalog.cache.ttl-ms:300000}") long ttlMillis) {
+        this.maxEntries = Math.max(2, maxEntries);
+        this.windowMaxEntries = Math.max(1, this.maxEntries * WINDOW_PERCENT / 100);
+        this.protectedMaxEntries = (this.maxEntries - windowMaxEntries) * PROTECTED_PERCENT / 100;
+        this.ttlMillis = ttlMillis;
+        this.sketch = new FrequencySketch(this.maxEntries);
+        this.invalidatedVersions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > CatalogCache.this.maxEntries;
+            }
+        };
+        logger.info("Catalog cache initialized with {} entries ({} in the window)", this.maxEntries, windowMaxEntries);
+    }
+
+    /**
+     * Returns the catalog entry of a video, loading it on a miss.
+     *
+     * @param videoId the ID of the video
+     * @param loader  loads the entry on a miss
+     * @return the catalog entry
+     * @throws VideoNotFoundException if the loader does not find a listed video
+     */
+    public VideoDTO get(Long videoId, CatalogLoader loader) throws VideoNotFoundException {
+        return get(videoId, loader, System.currentTimeMillis());
+    }
+
+    /**
+     * Same as {@link #get(Long, CatalogLoader)}, at the given time.
+     */
+    public VideoDTO get(Long videoId, CatalogLoader loader, long nowMillis) throws VideoNotFoundException {
+        lock.lock();
+        try {
+            sketch.increment(videoId);
+            Entry entry = lookup(videoId);
+            if (entry != null && entry.expiresAtMillis > nowMillis) {
+                hits.increment();
+                return entry.video;
+            }
+            if (entry != null) {
+                remove(videoId);
+            }
+
+            misses.increment();
+        } finally {
+            lock.unlock();
+        }
+
+        CatalogEntry catalogEntry = loader.load(videoId);
+        VideoDTO video = catalogEntry.toVideoDTO();
+
+        lock.lock();
+        try {
+            /*
+             The video may have been changed after it was read (the invalidation arrived during the load, or
+             before a lagging read); serve it, but do not cache it.
+             */
+            Long invalidatedVersion = invalidatedVersions.get(videoId);
+            if ((invalidatedVersion == null || catalogEntry.getVersion() >= invalidatedVersion) && !contains(videoId)) {
+                admit(videoId, new Entry(video, catalogEntry.getVersion(), nowMillis + ttlMillis));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return video;
+    }
+
+    /**
+     * Invalidates the catalog entries of a video read before it was changed to the given version. Older or
+     * repeated invalidations have no effect.
+     *
+     * @param videoId the ID of the video
+     * @param version the version of the video after the change
+     */
+    public void invalidate(Long videoId, long version) {
+        lock.lock();
+        try {
+            invalidatedVersions.merge(videoId, version, Math::max);
+            Entry entry = peek(videoId);
+            if (entry == null || entry.version >= version) {
+                return;
+            }
+            remove(videoId);
+        } finally {
+            lock.unlock();
+        }
+        logger.debug("Invalidated catalog entry of video ID: {} (version {})", videoId, version);
+    }
+
+    /**
+     * Returns a snapshot of the cache counters. The cache is bounded by its number of entries, so no byte
+     * sizes are reported.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatistics stats() {
+        lock.lock();
+        try {
+            long entries = window.size() + probation.size() + protectedEntries.size();
+            return new CacheStatistics(CACHE_NAME, hits.sum(), misses.sum(), evictions.sum(), rejections.sum(),
+                    entries, maxEntries, 0L, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds an entry and records the access: a hit in probation promotes the entry to the protected segment,
+     * demoting the least recently used protected entry if the segment is full. Must be called with the lock held.
+     */
+    private Entry lookup(Long videoId) {
+        Entry entry = window.get(videoId);
+        if (entry != null) {
+            return entry;
+        }
+
+        entry = probation.remove(videoId);
+        if (entry != null) {
+            protectedEntries.put(videoId, entry);
+            if (protectedEntries.size() > protectedMaxEntries) {
+                Long demotedId = eldest(protectedEntries);
+                probation.put(demotedId, protectedEntries.remove(demotedId));
+            }
+            return entry;
+        }
+        return protectedEntries.get(videoId);
+    }
+
+    /**
+     * Adds a loaded entry to the window; the entry pushed out of the window enters the main region if there is
+     * room or if it is more frequent than the main region's victim. Must be called with the lock held.
+     */
+    private void admit(Long videoId, Entry entry) {
+        window.put(videoId, entry);
+        if (window.size() <= windowMaxEntries) {
+            return;
+        }
+
+        Long candidateId = eldest(window);
+        Entry candidate = window.remove(candidateId);
+        if (probation.size() + protectedEntries.size() < maxEntries - windowMaxEntries) {
+            probation.put(candidateId, candidate);
+            return;
+        }
+
+        LinkedHashMap<Long, Entry> victims = probation.isEmpty() ? protectedEntries : probation;
+        Long victimId = eldest(victims);
+        if (sketch.frequency(candidateId) > sketch.frequency(victimId)) {
+            victims.remove(victimId);
+            probation.put(candidateId, candidate);
+            evictions.increment();
+        } else {
+            rejections.increment();
+        }
+    }
+
+    /**
+     * Finds an entry in any segment without promoting it out of probation. Must be called with the lock held.
+     */
+    private Entry peek(Long videoId) {
+        Entry entry = window.get(videoId);
+        if (entry == null) {
+            entry = probation.get(videoId);
+        }
+        return entry != null ? entry : protectedEntries.get(videoId);
+    }
+
+    private void remove(Long videoId) {
+        if (window.remove(videoId) == null && probation.remove(videoId) == null) {
+            protectedEntries.remove(videoId);
+        }
+    }
+
+    private boolean contains(Long videoId) {
+        return window.containsKey(videoId) || probation.containsKey(videoId) || protectedEntries.containsKey(videoId);
+    }
+
+    /**
+     * Returns the least recently used key of a non-empty segment.
+     */
+    private static Long eldest(LinkedHashMap<Long, Entry> segment) {
+        return segment.keySet().iterator().next();
+    }
+
+    private static final class Entry {
+        private final VideoDTO video;
+        private final long version;
+        private final long expiresAtMillis;
+
+        private Entry(VideoDTO video, long version, long expiresAtMillis) {
+            this.video = video;
+            this.version = version;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
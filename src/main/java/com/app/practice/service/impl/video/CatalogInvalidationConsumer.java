@@ -0,0 +1,160 @@
+package com.app.practice.service.impl.video;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.CatalogInvalidation;
+import com.app.practice.service.impl.engagement.EngagementStateStore;
+import com.app.practice.service.impl.search.CatalogSearchIndexLoader;
+import com.app.practice.utils.CatalogInvalidationCodec;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies the catalog invalidations published by every node (see {@link KafkaCatalogInvalidationBus}) to the
+ * catalog cache, the video summaries of the engagement state store and the search index of this node. Videos the
+ * search index holds at an older version are read again from the database; if that read fails, the index keeps the
+ * old text of the video.
+ * <p>
+ * Every node consumes the whole topic in a consumer group of its own, starting at the end of the topic: a node
+ * that just started has nothing cached, so earlier invalidations are irrelevant to it, and offsets are never
+ * committed. Invalidations are applied with their version, so redelivered and reordered records never evict a
+ * newer entry nor let an older one back in. Malformed records are skipped.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+@Profile("prod")
+public class CatalogInvalidationConsumer implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogInvalidationConsumer.class);
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final CatalogCache catalogCache;
+    private final EngagementStateStore engagementStateStore;
+    private final CatalogSearchIndexLoader catalogSearchIndexLoader;
+    private final Duration pollTimeout;
+    private final String groupId = VideoStreamConstants.CATALOG_INVALIDATION_GROUP_PREFIX + UUID.randomUUID();
+
+    private volatile boolean running;
+    private volatile Consumer<String, byte[]> consumer;
+    private Thread worker;
+
+    private final AtomicLong invalidationsApplied = new AtomicLong();
+
+    public CatalogInvalidationConsumer(ConsumerFactory<String, byte[]> consumerFactory,
+                                       CatalogCache catalogCache,
+                                       EngagementStateStore engagementStateStore,
+                                       CatalogSearchIndexLoader catalogSearchIndexLoader,
+                                       @Value("${catalog.invalidation.poll-timeout-ms:500}") long pollTimeoutMillis) {
+        this.consumerFactory = consumerFactory;
+        this.catalogCache = catalogCache;
+        this.engagementStateStore = engagementStateStore;
+        this.catalogSearchIndexLoader = catalogSearchIndexLoader;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMillis);
+    }
+
+    /**
+     * Starts the consumer thread once the application is ready to serve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this, "catalog-invalidation-consumer");
+        worker.start();
+    }
+
+    /**
+     * Stops the consumer thread.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Consumer<String, byte[]> active = consumer;
+        if (active != null) {
+            active.wakeup();
+        }
+        worker.join(Duration.ofSeconds(30).toMillis());
+    }
+
+    @Override
+    public void run() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        try (Consumer<String, byte[]> kafkaConsumer = consumerFactory.createConsumer(groupId, null, null, overrides)) {
+            consumer = kafkaConsumer;
+            kafkaConsumer.subscribe(List.of(VideoStreamConstants.CATALOG_INVALIDATION_TOPIC));
+            logger.info("Catalog invalidation consumer subscribed as {}", groupId);
+
+            while (running) {
+                apply(kafkaConsumer.poll(pollTimeout));
+            }
+        } catch (WakeupException ex) {
+            if (running) {
+                logger.error("Catalog invalidation consumer woken up unexpectedly", ex);
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Catalog invalidation consumer stopped after an unexpected error", ex);
+        } finally {
+            consumer = null;
+            running = false;
+        }
+    }
+
+    /**
+     * Returns the number of invalidations applied to the catalog cache so far.
+     *
+     * @return the number of invalidations applied
+     */
+    public long invalidationsApplied() {
+        return invalidationsApplied.get();
+    }
+
+    private void apply(ConsumerRecords<String, byte[]> records) {
+        for (ConsumerRecord<String, byte[]> consumerRecord : records) {
+            CatalogInvalidation invalidation;
+            try {
+                invalidation = CatalogInvalidationCodec.decode(consumerRecord.value());
+            } catch (IllegalArgumentException ex) {
+                logger.warn("Skipping malformed catalog invalidation at {}-{}@{}: {}", consumerRecord.topic(),
+                        consumerRecord.partition(), consumerRecord.offset(), ex.getMessage());
+                continue;
+            }
+
+            catalogCache.invalidate(invalidation.getVideoId(), invalidation.getVersion());
+            engagementStateStore.invalidate(invalidation.getVideoId(), invalidation.getVersion());
+            try {
+                catalogSearchIndexLoader.refresh(invalidation.getVideoId(), invalidation.getVersion());
+            } catch (DataAccessException ex) {
+                logger.warn("Failed to refresh video ID: {} in the search index: {}", invalidation.getVideoId(),
+                        ex.getMessage());
+            }
+            invalidationsApplied.incrementAndGet();
+        }
+    }
+}
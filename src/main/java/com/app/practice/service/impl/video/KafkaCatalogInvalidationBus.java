@@ -0,0 +1,48 @@
+package com.app.practice.service.impl.video;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.CatalogInvalidation;
+import com.app.practice.service.CatalogInvalidationBus;
+import com.app.practice.service.impl.engagement.EngagementStateStore;
+import com.app.practice.utils.CatalogInvalidationCodec;
+import com.app.practice.utils.KafkaProducerService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * CatalogInvalidationBus of a cluster: invalidations are applied to the local catalog cache and video summaries
+ * right away and published on the catalog invalidation topic, keyed by video ID, for the
+ * {@link CatalogInvalidationConsumer} of every node. A record that cannot be sent is logged and dropped; the other
+ * nodes then serve the old entry until it expires.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Service
+@Profile("prod")
+@RequiredArgsConstructor
+public class KafkaCatalogInvalidationBus implements CatalogInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaCatalogInvalidationBus.class);
+
+    private final CatalogCache catalogCache;
+    private final EngagementStateStore engagementStateStore;
+    private final KafkaProducerService kafkaProducerService;
+
+    @Override
+    public void publish(CatalogInvalidation invalidation) {
+        catalogCache.invalidate(invalidation.getVideoId(), invalidation.getVersion());
+        engagementStateStore.invalidate(invalidation.getVideoId(), invalidation.getVersion());
+
+        kafkaProducerService.send(VideoStreamConstants.CATALOG_INVALIDATION_TOPIC,
+                        String.valueOf(invalidation.getVideoId()), CatalogInvalidationCodec.encode(invalidation))
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        logger.warn("Failed to publish catalog invalidation of video ID: {} (version {}): {}",
+                                invalidation.getVideoId(), invalidation.getVersion(), ex.getMessage());
+                    }
+                });
+    }
+}
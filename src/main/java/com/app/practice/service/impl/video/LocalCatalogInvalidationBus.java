@@ -0,0 +1,25 @@
+package com.app.practice.service.impl.video;
+
+import com.app.practice.dto.CatalogInvalidation;
+import com.app.practice.service.CatalogInvalidationBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * CatalogInvalidationBus of a single node: invalidations are applied to the local catalog cache only.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Service
+@Profile("!prod")
+@RequiredArgsConstructor
+public class LocalCatalogInvalidationBus implements CatalogInvalidationBus {
+
+    private final CatalogCache catalogCache;
+
+    @Override
+    public void publish(CatalogInvalidation invalidation) {
+        catalogCache.invalidate(invalidation.getVideoId(), invalidation.getVersion());
+    }
+}
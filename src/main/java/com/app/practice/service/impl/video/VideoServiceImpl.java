@@ -1,38 +1,70 @@
 package com.app.practice.service.impl.video;
 
 import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.CatalogInvalidation;
+import com.app.practice.dto.ContentSegment;
+import com.app.practice.dto.RankedVideo;
+import com.app.practice.dto.SearchDocument;
+import com.app.practice.dto.SearchMatchMode;
+import com.app.practice.dto.SegmentedContent;
+import com.app.practice.dto.StoredContent;
 import com.app.practice.dto.VideoDTO;
 import com.app.practice.entity.EngagementStatistics;
 import com.app.practice.entity.Video;
 import com.app.practice.entity.VideoMetaData;
+import com.app.practice.entity.VideoSegment;
 import com.app.practice.exception.VideoAlreadyPresentException;
 import com.app.practice.exception.VideoNotFoundException;
 import com.app.practice.model.request.VideoRequest;
 import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.Suggestion;
+import com.app.practice.model.response.VideoPageResponse;
 import com.app.practice.model.response.VideoResponse;
 import com.app.practice.repository.VideoMetaDataRepository;
 import com.app.practice.repository.VideoRepository;
+import com.app.practice.repository.VideoSegmentRepository;
+import com.app.practice.service.CatalogInvalidationBus;
 import com.app.practice.service.VideoService;
-import com.app.practice.utils.VideoMetaDataSpecification;
+import com.app.practice.service.impl.content.SegmentedContentWriter;
+import com.app.practice.service.impl.engagement.ImpressionPipeline;
+import com.app.practice.service.impl.search.CatalogSearchIndex;
+import com.app.practice.service.impl.search.SuggestionIndex;
+import com.app.practice.utils.PageCursor;
 import io.micrometer.common.util.StringUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the VideoService interface for managing video operations.
  * Handles video publishing, editing, delisting, loading, playing, and searching, including pagination.
+ * Listings and searches read each page with one projection query straight into VideoDTO, without loading the
+ * video entities, and are paginated with cursors instead of offsets. Phrase searches are answered by the
+ * in-process CatalogSearchIndex, which ranks the matching videos; only the videos of the requested page are
+ * read from the database. The videos returned are counted as impressions, asynchronously. Edits and delistings
+ * lock the video and increment its version. Once committed, publications, edits and delistings update the
+ * search index and invalidate the video at its version in the catalog cache of every node through the
+ * CatalogInvalidationBus.
  * <p>
  * Author: Ruchir Bisht
  */
@@ -44,6 +76,14 @@ public class VideoServiceImpl implements VideoService {
 
     private final VideoRepository videoRepository;
     private final VideoMetaDataRepository videoMetaDataRepository;
+    private final VideoSegmentRepository videoSegmentRepository;
+    private final SegmentedContentWriter segmentedContentWriter;
+    private final ImpressionPipeline impressionPipeline;
+    private final CatalogInvalidationBus catalogInvalidationBus;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    @Value("${catalog.page.max-size:100}")
+    private int maxPageSize;
 
     /**
      * Publishes a new video after validating that it does not already exist.
@@ -63,6 +103,14 @@ public class VideoServiceImpl implements VideoService {
         }
 
         Video video = VideoRequest.toVideo(videoRequest);
+        SegmentedContent segmentedContent = storeContent(videoRequest.getContent());
+        StoredContent storedContent = segmentedContent.getStoredContent();
+        video.setContentKey(storedContent.getContentKey());
+        video.setContentSize(storedContent.getSize());
+        video.setContentChecksum(storedContent.getChecksum());
+        video.setSegmentSize(segmentedContent.getSegmentSize());
+        video.setSegmentCount(segmentedContent.getSegments().size());
+
         VideoMetaData videoMetaData = VideoRequest.toVideoMetadata(videoRequest, video);
         video.setMetaData(videoMetaData);
 
@@ -70,12 +118,103 @@ public class VideoServiceImpl implements VideoService {
         video.setEngagementStatistics(engagementStatistics);
 
         videoRepository.save(video);
+        saveSegments(video, segmentedContent.getSegments());
+        publishCatalogChange(video);
         logger.info(ModuleConstants.VIDEO_PUBLISHED_SUCCESSFULLY + videoRequest.getTitle());
 
         VideoResponse videoDTO = VideoResponse.videoMapper(video);
         return GenericResponse.success(videoDTO, HttpStatus.CREATED);
     }
 
+    /**
+     * Writes the video content to the ContentStore, splitting it into fixed-size segments. If the surrounding
+     * transaction rolls back, the stored content is removed again so no orphaned payloads are left behind.
+     *
+     * @param content the video content
+     * @return the descriptor of the stored content and its segments
+     */
+    private SegmentedContent storeContent(String content) {
+        SegmentedContent segmentedContent;
+        try {
+            byte[] bytes = content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+            segmentedContent = segmentedContentWriter.write(new ByteArrayInputStream(bytes));
+        } catch (IOException ex) {
+            logger.error("Failed to store video content", ex);
+            throw new UncheckedIOException(ex);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        deleteContent(segmentedContent.getStoredContent().getContentKey());
+                    }
+                }
+            });
+        }
+
+        return segmentedContent;
+    }
+
+    private void saveSegments(Video video, List<ContentSegment> segments) {
+        List<VideoSegment> videoSegments = segments.stream()
+                .map(segment -> new VideoSegment(null, video, segment.getIndex(), segment.getOffset(),
+                        segment.getSize(), segment.getChecksum()))
+                .toList();
+        videoSegmentRepository.saveAll(videoSegments);
+    }
+
+    private void deleteContent(String contentKey) {
+        try {
+            segmentedContentWriter.delete(contentKey);
+        } catch (IOException ex) {
+            logger.warn("Failed to delete orphaned content {}", contentKey, ex);
+        }
+    }
+
+    /**
+     * Applies a published, edited or delisted video to the search index and publishes its invalidation once
+     * the change is committed, so no node can cache or index the state from before the change. The version is
+     * read after the commit, when it includes every increment of the transaction.
+     *
+     * @param video the changed video
+     */
+    private void publishCatalogChange(Video video) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyCatalogChange(video);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyCatalogChange(video);
+            }
+        });
+    }
+
+    private void applyCatalogChange(Video video) {
+        if (video.isDelisted()) {
+            catalogSearchIndex.remove(video.getVideoId(), video.getVersion());
+            suggestionIndex.remove(video.getVideoId(), video.getVersion());
+        } else {
+            SearchDocument document = toSearchDocument(video);
+            catalogSearchIndex.index(document);
+            suggestionIndex.index(document);
+        }
+        catalogInvalidationBus.publish(new CatalogInvalidation(video.getVideoId(), video.getVersion()));
+    }
+
+    private static SearchDocument toSearchDocument(Video video) {
+        VideoMetaData metaData = video.getMetaData();
+        if (metaData == null) {
+            return new SearchDocument(video.getVideoId(), video.getVersion(), video.getTitle(), null, null, null, null);
+        }
+        return new SearchDocument(video.getVideoId(), video.getVersion(), video.getTitle(), metaData.getDirector(),
+                metaData.getCast(), metaData.getGenre(), metaData.getSynopsis());
+    }
+
     /**
      * Edits an existing video based on the provided video ID and updated details.
      *
@@ -89,7 +228,7 @@ public class VideoServiceImpl implements VideoService {
     public GenericResponse<VideoResponse> editVideo(Long id, VideoRequest videoRequest) throws VideoNotFoundException {
         logger.info(ModuleConstants.EDITING_VIDEO + id);
 
-        Video existingVideo = videoRepository.findById(id)
+        Video existingVideo = videoRepository.findForUpdateById(id)
                 .orElseThrow(() -> {
                     logger.error(ModuleConstants.VIDEO_NOT_FOUND + id);
                     return new VideoNotFoundException(ModuleConstants.VIDEO_NOT_FOUND);
@@ -114,6 +253,7 @@ public class VideoServiceImpl implements VideoService {
         videoMetaDataRepository.save(metaData);
         existingVideo.setMetaData(metaData);
         videoRepository.save(existingVideo);
+        publishCatalogChange(existingVideo);
 
         logger.info(ModuleConstants.VIDEO_EDITED_SUCCESSFULLY + videoRequest.getTitle());
         VideoResponse videoDTO = VideoResponse.videoMapper(existingVideo);
@@ -132,7 +272,7 @@ public class VideoServiceImpl implements VideoService {
     public GenericResponse<String> delistVideo(Long id) throws VideoNotFoundException {
         logger.info(ModuleConstants.DELISTING_VIDEO + id);
 
-        Video video = videoRepository.findById(id)
+        Video video = videoRepository.findForUpdateById(id)
                 .orElseThrow(() -> {
                     logger.error(ModuleConstants.VIDEO_NOT_FOUND + id);
                     return new VideoNotFoundException(ModuleConstants.VIDEO_NOT_FOUND);
@@ -141,6 +281,7 @@ public class VideoServiceImpl implements VideoService {
         if (!video.isDelisted()) {
             video.setDelisted(true);
             videoRepository.save(video);
+            publishCatalogChange(video);
             logger.info(ModuleConstants.VIDEO_DELISTED_SUCCESSFULLY + video.getTitle());
         }
 
@@ -148,81 +289,179 @@ public class VideoServiceImpl implements VideoService {
     }
 
     /**
-     * Lists all videos with pagination support.
+     * Lists all videos, one page at a time.
      *
-     * @param page the page number to retrieve
-     * @param size the number of videos per page
-     * @return a response containing a list of all videos in DTO form
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the number of videos per page
+     * @return a response containing the videos of the page in DTO form and the cursor of the next page
      */
     @Override
-    public GenericResponse<List<VideoDTO>> listAllVideos(int page, int size) {
-        logger.info(ModuleConstants.LISTING_ALL_VIDEOS, page, size);
-        Pageable pageable = PageRequest.of(page, size);
-
-        List<VideoDTO> videoDTOList = videoRepository.findByIsDelistedFalse(pageable)
-                .map(video -> new VideoDTO(video.getVideoId(), video.getTitle(),
-                        video.getMetaData().getDirector(), video.getMetaData().getCast(),
-                        video.getMetaData().getGenre(), video.getMetaData().getRunningTime()))
-                .getContent();
-        return GenericResponse.success(videoDTOList, HttpStatus.OK);
+    public GenericResponse<VideoPageResponse> listAllVideos(String cursor, int size) {
+        logger.info(ModuleConstants.LISTING_ALL_VIDEOS, cursor, size);
+        return readPage(cursor, size, videoRepository::findListedVideos);
     }
 
     /**
-     * Searches for videos based on the director's name with pagination support.
+     * Searches for videos based on the director's name, one page at a time.
      *
      * @param director the name of the director to search for
-     * @param page     the page number to retrieve
+     * @param cursor   the cursor returned with the previous page, or null for the first page
      * @param size     the number of videos per page
-     * @return a response containing a list of videos filtered by director
+     * @return a response containing the videos of the page filtered by director and the cursor of the next page
      */
     @Override
-    public GenericResponse<List<VideoDTO>> searchVideos(String director, int page, int size) {
-        logger.info(ModuleConstants.SEARCHING_VIDEOS, director, page, size);
+    public GenericResponse<VideoPageResponse> searchVideos(String director, String cursor, int size) {
+        logger.info(ModuleConstants.SEARCHING_VIDEOS, director, cursor, size);
 
         if (StringUtils.isBlank(director)) {
             logger.warn(ModuleConstants.INVALID_DIRECTOR_NAME);
             return GenericResponse.error(ModuleConstants.INVALID_DIRECTOR_NAME, HttpStatus.BAD_REQUEST);
         }
 
-        Pageable pageable = PageRequest.of(page, size);
-
-        List<VideoMetaData> videos = videoMetaDataRepository.findByDirectorIgnoreCase(director, pageable);
-
-        List<VideoDTO> videoDTOList = videos.stream()
-                .map(metaData -> new VideoDTO(metaData.getVideo().getVideoId(), metaData.getVideo().getTitle(),
-                        metaData.getDirector(), metaData.getCast(), metaData.getGenre(), metaData.getRunningTime()))
-                .collect(Collectors.toList());
-
-        return GenericResponse.success(videoDTOList, HttpStatus.OK);
+        return readPage(cursor, size, (afterVideoId, pageable) ->
+                videoMetaDataRepository.findVideosByDirectorIgnoreCase(director, afterVideoId, pageable));
     }
 
     /**
-     * Searches for videos based on the director's name with pagination support.
+     * Searches for videos whose title, director, cast, genre or synopsis contain every word of a search phrase,
+     * best match first, one page at a time. Searches are answered once the search index is built. In
+     * {@link SearchMatchMode#FUZZY} mode, words of the phrase also match director, cast and title words a typo or
+     * two away, ranked below exact matches.
      *
-     * @param searchPhrase Search phase - director's name , description , genre
-     * @param page         the page number to retrieve
+     * @param searchPhrase Search phase - title, director's name, cast, genre, synopsis
+     * @param mode         whether names in the phrase must be spelled exactly or may contain typos
+     * @param cursor       the cursor returned with the previous page, or null for the first page
      * @param size         the number of videos per page
-     * @return a response containing a list of videos filtered by director
+     * @return a response containing the videos of the page matching the phrase and the cursor of the next page
      */
     @Override
-    public GenericResponse<List<VideoDTO>> searchVideosBasedOnSearchPhrase(String searchPhrase, int page, int size) {
+    public GenericResponse<VideoPageResponse> searchVideosBasedOnSearchPhrase(String searchPhrase, SearchMatchMode mode,
+                                                                              String cursor, int size) {
         if (StringUtils.isBlank(searchPhrase)) {
             logger.warn(ModuleConstants.INVALID_SEARCH_PHRASE);
             return GenericResponse.error(ModuleConstants.INVALID_SEARCH_PHRASE, HttpStatus.BAD_REQUEST);
         }
 
-        logger.info("Searching videos with phrase: {} (Page: {}, Size: {})", searchPhrase, page, size);
-        Specification<VideoMetaData> specification = VideoMetaDataSpecification.searchByKeyword(searchPhrase);
-        Pageable pageable = PageRequest.of(page, size);
+        if (!catalogSearchIndex.isReady()) {
+            logger.warn(ModuleConstants.SEARCH_INDEX_NOT_READY);
+            return GenericResponse.error(ModuleConstants.SEARCH_INDEX_NOT_READY, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        logger.info("Searching videos with phrase: {} (Mode: {}, Cursor: {}, Size: {})", searchPhrase, mode, cursor, size);
+        return readRankedPage(cursor, size,
+                (limit, after) -> catalogSearchIndex.search(searchPhrase, limit, mode, after));
+    }
 
-        Page<VideoMetaData> videoMetaDataPage = videoMetaDataRepository.findAll(specification, pageable);
+    /**
+     * Suggests the titles, directors and cast members completing a prefix, most popular first. Suggestions are
+     * answered from memory only, so keystroke traffic never reaches the database.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return a response containing the suggestions
+     */
+    @Override
+    public GenericResponse<List<Suggestion>> suggest(String prefix, int limit) {
+        if (StringUtils.isBlank(prefix)) {
+            return GenericResponse.error(ModuleConstants.INVALID_SUGGESTION_PREFIX, HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1 || limit > suggestionIndex.maxResults()) {
+            return GenericResponse.error(ModuleConstants.INVALID_SUGGESTION_LIMIT + suggestionIndex.maxResults(),
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!suggestionIndex.isReady()) {
+            return GenericResponse.error(ModuleConstants.SEARCH_INDEX_NOT_READY, HttpStatus.SERVICE_UNAVAILABLE);
+        }
 
-        List<VideoDTO> videoDTOList = videoMetaDataPage.getContent().stream()
-                .map(metaData -> new VideoDTO(metaData.getVideo().getVideoId(), metaData.getVideo().getTitle(),
-                        metaData.getDirector(), metaData.getCast(), metaData.getGenre(), metaData.getRunningTime()))
-                .filter(Objects::nonNull)
-                .toList();
+        return GenericResponse.success(suggestionIndex.suggest(prefix, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Reads the page of a video list that starts after the cursor (keyset pagination). One row more than the
+     * page size is read to tell whether another page follows, instead of counting the matching videos; the
+     * cursor of the next page points at the last video of this page.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the number of videos per page
+     * @param query  the query reading the videos after a video ID, ordered by video ID
+     * @return a response containing the videos of the page and the cursor of the next page
+     */
+    private GenericResponse<VideoPageResponse> readPage(String cursor, int size,
+                                                        BiFunction<Long, Pageable, List<VideoDTO>> query) {
+        if (size < 1 || size > maxPageSize) {
+            logger.warn(ModuleConstants.INVALID_PAGE_SIZE + maxPageSize);
+            return GenericResponse.error(ModuleConstants.INVALID_PAGE_SIZE + maxPageSize, HttpStatus.BAD_REQUEST);
+        }
+
+        Optional<Long> afterVideoId = StringUtils.isBlank(cursor) ? Optional.of(0L) : PageCursor.decode(cursor);
+        if (afterVideoId.isEmpty()) {
+            logger.warn(ModuleConstants.INVALID_PAGE_CURSOR);
+            return GenericResponse.error(ModuleConstants.INVALID_PAGE_CURSOR, HttpStatus.BAD_REQUEST);
+        }
+
+        List<VideoDTO> videoDTOList = query.apply(afterVideoId.get(), PageRequest.of(0, size + 1));
+        String nextCursor = null;
+        if (videoDTOList.size() > size) {
+            videoDTOList = videoDTOList.subList(0, size);
+            nextCursor = PageCursor.encode(videoDTOList.get(size - 1).getId());
+        }
+        recordImpressions(videoDTOList);
+
+        return GenericResponse.success(new VideoPageResponse(videoDTOList, nextCursor), HttpStatus.OK);
+    }
+
+    /**
+     * Reads the page of a ranked result list that follows the result in the cursor (keyset pagination on score
+     * and video ID). The ranking yields one result more than the page to tell whether another page follows and
+     * skips the results up to the cursor, so every page costs the same; only the videos of the page are read,
+     * with one projection query, and returned in rank order. Videos delisted since they were ranked are left out.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the number of videos per page
+     * @param search ranks the matching videos after the given result (null for the first page), returning at
+     *               most the given number, best match first
+     * @return a response containing the videos of the page and the cursor of the next page
+     */
+    private GenericResponse<VideoPageResponse> readRankedPage(String cursor, int size,
+                                                              BiFunction<Integer, RankedVideo, List<RankedVideo>> search) {
+        if (size < 1 || size > maxPageSize) {
+            logger.warn(ModuleConstants.INVALID_PAGE_SIZE + maxPageSize);
+            return GenericResponse.error(ModuleConstants.INVALID_PAGE_SIZE + maxPageSize, HttpStatus.BAD_REQUEST);
+        }
+
+        RankedVideo after = null;
+        if (!StringUtils.isBlank(cursor)) {
+            Optional<RankedVideo> last = PageCursor.decodeRanked(cursor);
+            if (last.isEmpty()) {
+                logger.warn(ModuleConstants.INVALID_PAGE_CURSOR);
+                return GenericResponse.error(ModuleConstants.INVALID_PAGE_CURSOR, HttpStatus.BAD_REQUEST);
+            }
+            after = last.get();
+        }
+
+        List<RankedVideo> ranked = search.apply(size + 1, after);
+        if (ranked.isEmpty()) {
+            return GenericResponse.success(new VideoPageResponse(List.of(), null), HttpStatus.OK);
+        }
 
-        return GenericResponse.success(videoDTOList, HttpStatus.OK);
+        List<RankedVideo> page = ranked.subList(0, Math.min(ranked.size(), size));
+        List<Long> pageIds = page.stream().map(RankedVideo::getVideoId).toList();
+        Map<Long, VideoDTO> videos = videoRepository.findListedVideosByIds(pageIds).stream()
+                .collect(Collectors.toMap(VideoDTO::getId, Function.identity()));
+        List<VideoDTO> videoDTOList = pageIds.stream().map(videos::get).filter(Objects::nonNull).toList();
+        String nextCursor = ranked.size() > size ? PageCursor.encodeRanked(page.get(size - 1)) : null;
+        recordImpressions(videoDTOList);
+
+        return GenericResponse.success(new VideoPageResponse(videoDTOList, nextCursor), HttpStatus.OK);
+    }
+
+    /**
+     * Counts an impression of every video on a result page. The page is handed to the impression pipeline as
+     * one event, the counters are updated in the background.
+     *
+     * @param videoDTOList the videos on the page
+     */
+    private void recordImpressions(List<VideoDTO> videoDTOList) {
+        impressionPipeline.recordPage(videoDTOList.stream().map(VideoDTO::getId).toList());
     }
 }
@@ -0,0 +1,245 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.SegmentContent;
+import com.app.practice.dto.VideoContentFile;
+import com.app.practice.service.ContentStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a {@link VideoContentFile} to the HTTP response honouring the Range and If-Range headers.
+ * <p>
+ * Single byte ranges are answered with 206 Partial Content, unsatisfiable ranges with 416 and everything
+ * else (no Range, stale If-Range, multiple ranges) with the full content. The bytes are pushed with the
+ * container's sendfile support when available (Tomcat NIO) and with {@link FileChannel#transferTo} otherwise,
+ * so the content never has to be copied into a heap buffer by the application. Content stores that are not
+ * file backed are copied through a small direct buffer instead.
+ * <p>
+ * Content segments are written whole, validated by their checksum through ETag / If-None-Match. Their bytes
+ * never change once published, so clients and caches may keep them indefinitely.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+@Component
+@RequiredArgsConstructor
+public class ByteRangeResponseWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ByteRangeResponseWriter.class);
+
+    /*
+     Tomcat request attributes used to hand the transfer over to the connector's sendfile implementation
+     */
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final String INITIAL_RANGE_PREFIX = "bytes=0-";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String SEGMENT_CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    private final ContentStore contentStore;
+
+    /**
+     * Checks whether the request starts playback from the beginning of the content, i.e. it carries
+     * no Range header or a range starting at byte 0. Follow-up range requests (seeking, buffering)
+     * should not be counted as new plays.
+     *
+     * @param request the incoming HTTP request
+     * @return true if the request is the initial request of a playback
+     */
+    public static boolean isInitialRequest(HttpServletRequest request) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        return range == null || range.startsWith(INITIAL_RANGE_PREFIX);
+    }
+
+    /**
+     * Writes the requested part of the content file to the response.
+     *
+     * @param content  the content file to serve
+     * @param request  the incoming HTTP request
+     * @param response the HTTP response
+     * @throws IOException if the content cannot be transferred
+     */
+    public void write(VideoContentFile content, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = content.getLength();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        response.setHeader(HttpHeaders.ETAG, content.getETag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, content.getLastModified());
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = resolveRange(content, request);
+
+        if (range != null) {
+            start = range.getRangeStart(length);
+            if (start >= length) {
+                logger.debug("Unsatisfiable range '{}' for video ID: {}", request.getHeader(HttpHeaders.RANGE), content.getVideoId());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            end = range.getRangeEnd(length);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " " + start + "-" + end + "/" + length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (count <= 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        if (content.getPath() == null) {
+            copyFromStore(content, start, count, response);
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, content.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_FILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_FILE_END_ATTR, end + 1);
+            return;
+        }
+
+        transfer(content, start, count, response);
+    }
+
+    /**
+     * Writes a whole content segment to the response, answering 304 Not Modified when the client
+     * already holds the segment (matching If-None-Match).
+     *
+     * @param segment  the segment to serve
+     * @param request  the incoming HTTP request
+     * @param response the HTTP response
+     * @throws IOException if the segment cannot be written
+     */
+    public void writeSegment(SegmentContent segment, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String eTag = "\"" + segment.getChecksum() + "\"";
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, SEGMENT_CACHE_CONTROL);
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(eTag))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        ByteBuffer data = segment.getData().duplicate();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLength(data.remaining());
+
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        while (data.hasRemaining()) {
+            target.write(data);
+        }
+    }
+
+    /**
+     * Resolves the single byte range to serve, or null when the full content should be sent.
+     */
+    private HttpRange resolveRange(VideoContentFile content, HttpServletRequest request) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !isIfRangeSatisfied(content, request)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            /*
+             Multipart byte ranges are not supported; RFC 9110 allows ignoring the Range header instead.
+             */
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException ex) {
+            logger.debug("Ignoring invalid Range header '{}': {}", rangeHeader, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Evaluates the If-Range precondition against the content's strong ETag or Last-Modified date.
+     */
+    private boolean isIfRangeSatisfied(VideoContentFile content, HttpServletRequest request) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(content.getETag());
+        }
+
+        try {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return ifRangeDate / 1000 == content.getLastModified() / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private void transfer(VideoContentFile content, long start, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(content.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private void copyFromStore(VideoContentFile content, long start, long count, HttpServletResponse response) throws IOException {
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(count, COPY_BUFFER_SIZE));
+        long position = start;
+        long remaining = count;
+
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+            int read = contentStore.read(content.getContentKey(), position, buffer);
+            if (read <= 0) {
+                break;
+            }
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            position += read;
+            remaining -= read;
+        }
+    }
+}
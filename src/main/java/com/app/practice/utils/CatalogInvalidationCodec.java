@@ -0,0 +1,52 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.CatalogInvalidation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of the catalog invalidation records exchanged between nodes.
+ * <p>
+ * A record is a format byte followed by the video ID and the version as big-endian longs, 17 bytes in all.
+ * Records are keyed by video ID, so the invalidations of one video stay in order within their partition.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public final class CatalogInvalidationCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int RECORD_SIZE = 1 + 2 * Long.BYTES;
+
+    private CatalogInvalidationCodec() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Encodes a catalog invalidation.
+     *
+     * @param invalidation the invalidation
+     * @return the record value
+     */
+    public static byte[] encode(CatalogInvalidation invalidation) {
+        return ByteBuffer.allocate(RECORD_SIZE)
+                .put(FORMAT_VERSION)
+                .putLong(invalidation.getVideoId())
+                .putLong(invalidation.getVersion())
+                .array();
+    }
+
+    /**
+     * Decodes a catalog invalidation.
+     *
+     * @param value the record value
+     * @return the invalidation
+     * @throws IllegalArgumentException if the value is not a catalog invalidation record
+     */
+    public static CatalogInvalidation decode(byte[] value) {
+        if (value == null || value.length != RECORD_SIZE || value[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Malformed catalog invalidation record");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(value, 1, RECORD_SIZE - 1);
+        return new CatalogInvalidation(buffer.getLong(), buffer.getLong());
+    }
+}
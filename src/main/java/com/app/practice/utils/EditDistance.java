@@ -0,0 +1,74 @@
+package com.app.practice.utils;
+
+/**
+ * Bounded edit distance between two terms, used to verify typo candidates.
+ * <p>
+ * The distance counts insertions, deletions, substitutions and transpositions of adjacent characters (optimal
+ * string alignment), so "scorcese" is one edit away from "scorsese" and "niro" one edit away from "nrio". Only
+ * the diagonal band of width {@code 2 * max + 1} is computed, and the computation stops as soon as the whole
+ * band exceeds the bound, so checking a candidate costs O(length * max).
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public final class EditDistance {
+
+    private EditDistance() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Returns the edit distance of two strings if it is at most {@code max}.
+     *
+     * @param a   the first string
+     * @param b   the second string
+     * @param max the largest distance of interest
+     * @return the distance, or {@code max + 1} if it is larger than {@code max}
+     */
+    public static int within(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+
+        int over = max + 1;
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = Math.min(j, over);
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = Math.min(i, over);
+            if (from > 1) {
+                current[from - 1] = over;
+            }
+            int rowMin = current[0] <= max && from == 1 ? current[0] : over;
+
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = Math.min(distance, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = over;
+            }
+            if (rowMin > max) {
+                return over;
+            }
+
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m];
+    }
+}
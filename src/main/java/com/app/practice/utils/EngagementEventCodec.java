@@ -0,0 +1,108 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.EngagementEventType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoding of engagement events on the video play topic.
+ * <p>
+ * Records carry the views and impressions of one video accumulated by a publisher, keyed by the video ID:
+ * a format byte followed by the video ID, views and impressions as unsigned varints (usually 4-8 bytes in total).
+ * Single events published as text by earlier versions ({@code VIEW:<videoId>}, {@code IMPRESSION:<videoId>} or a
+ * bare video ID, read as a view) are still decoded, as a delta of one. Text never starts with the format byte.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public final class EngagementEventCodec {
+
+    private static final byte FORMAT_COUNTS = 0x01;
+    private static final char SEPARATOR = ':';
+
+    private EngagementEventCodec() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Encodes the views and impressions of a video.
+     *
+     * @param delta the accumulated views and impressions
+     * @return the encoded record value
+     * @throws IllegalArgumentException if the video ID or a count is negative
+     */
+    public static byte[] encode(EngagementDelta delta) {
+        if (delta.getVideoId() == null || delta.getVideoId() < 0 || delta.getViews() < 0 || delta.getImpressions() < 0) {
+            throw new IllegalArgumentException("Invalid engagement delta: " + delta);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        out.write(FORMAT_COUNTS);
+        writeVarLong(out, delta.getVideoId());
+        writeVarLong(out, delta.getViews());
+        writeVarLong(out, delta.getImpressions());
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a record value of the video play topic.
+     *
+     * @param value the record value
+     * @return the views and impressions it carries
+     * @throws IllegalArgumentException if the value is not a valid engagement record
+     */
+    public static EngagementDelta decode(byte[] value) {
+        if (value == null || value.length == 0) {
+            throw new IllegalArgumentException("Missing engagement event");
+        }
+        if (value[0] != FORMAT_COUNTS) {
+            return decodeText(new String(value, StandardCharsets.UTF_8));
+        }
+
+        int[] position = {1};
+        long videoId = readVarLong(value, position);
+        long views = readVarLong(value, position);
+        long impressions = readVarLong(value, position);
+        if (position[0] != value.length) {
+            throw new IllegalArgumentException("Trailing bytes after engagement record");
+        }
+        return new EngagementDelta(videoId, views, impressions);
+    }
+
+    private static EngagementDelta decodeText(String value) {
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return new EngagementDelta(Long.parseLong(value.trim()), 1L, 0L);
+        }
+
+        EngagementEventType type = EngagementEventType.valueOf(value.substring(0, separator).trim());
+        long videoId = Long.parseLong(value.substring(separator + 1).trim());
+        return type == EngagementEventType.VIEW
+                ? new EngagementDelta(videoId, 1L, 0L)
+                : new EngagementDelta(videoId, 0L, 1L);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] value, int[] position) {
+        long result = 0;
+        for (int shift = 0; shift < 63; shift += 7) {
+            if (position[0] >= value.length) {
+                throw new IllegalArgumentException("Truncated engagement record");
+            }
+            byte b = value[position[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in engagement record");
+    }
+}
@@ -0,0 +1,109 @@
+package com.app.practice.utils;
+
+/**
+ * Compact count-min sketch of 4-bit counters estimating how often a key has been seen recently,
+ * as used by TinyLFU cache admission.
+ * <p>
+ * Each key is counted in four counters picked by independent hashes; its frequency is the minimum of
+ * them, capped at 15. Once the number of recorded increments reaches the sample size (ten times the
+ * expected number of entries), all counters are halved so that the sketch follows popularity changes
+ * instead of accumulating history forever.
+ * <p>
+ * Instances are not thread-safe; callers must guard access.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    /**
+     * @param expectedEntries the number of entries the owning cache is expected to hold
+     */
+    public FrequencySketch(long expectedEntries) {
+        int maximum = (int) Math.min(Math.max(expectedEntries, 16), 1 << 30);
+        this.table = new long[Integer.highestOneBit(maximum - 1) << 1];
+        this.tableMask = table.length - 1;
+        this.sampleSize = 10 * maximum;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of a key, between 0 and 15.
+     *
+     * @param hash the hash code of the key
+     * @return the estimated frequency
+     */
+    public int frequency(long hash) {
+        int spread = spread(hash);
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int shift = counterOffset(spread, i) << 2;
+            int count = (int) ((table[indexOf(spread, i)] >>> shift) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an occurrence of a key, aging all counters once the sample size is reached.
+     *
+     * @param hash the hash code of the key
+     */
+    public void increment(long hash) {
+        int spread = spread(hash);
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(spread, i), counterOffset(spread, i));
+        }
+
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int shift = counter << 2;
+        long mask = 0xfL << shift;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << shift;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves every counter. The increments lost to truncating odd counters are subtracted from the size.
+     */
+    private void reset() {
+        int oddCounters = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCounters += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (oddCounters >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int spread, int depth) {
+        long hash = (spread + SEEDS[depth]) * SEEDS[depth];
+        hash += hash >>> 32;
+        return (int) hash & tableMask;
+    }
+
+    private static int counterOffset(int spread, int depth) {
+        return (spread >>> (depth << 3)) & 0xf;
+    }
+
+    private static int spread(long hash) {
+        long mixed = hash * 0x9e3779b97f4a7c15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
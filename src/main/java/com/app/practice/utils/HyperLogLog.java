@@ -0,0 +1,222 @@
+package com.app.practice.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct values added to it.
+ * <p>
+ * Each 64-bit hash selects one of {@code 2^precision} registers with its top bits and stores the position of
+ * the first set bit of the remaining bits; the harmonic mean of the registers estimates the cardinality with a
+ * standard error of {@code 1.04 / sqrt(2^precision)} (about 1.15% at the default precision of 13), using linear
+ * counting while many registers are still empty. Sketches of the same precision merge losslessly by taking the
+ * register-wise maximum, so sketches recorded on different nodes or in different time buckets can be combined,
+ * and merging the same values twice changes nothing.
+ * <p>
+ * Sketches serialize either sparsely (index and value of the set registers) or densely (6 bits per register,
+ * 6 KB at the default precision), whichever is smaller.
+ * <p>
+ * Instances are not thread-safe; callers must guard access.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 13;
+
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 16;
+    private static final int REGISTER_BITS = 6;
+    private static final byte SPARSE_FORMAT = 1;
+    private static final byte DENSE_FORMAT = 2;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision the number of hash bits selecting a register, between 4 and 16
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Unsupported HyperLogLog precision: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Returns a well-mixed 64-bit hash of a value (FNV-1a over its UTF-8 bytes, finalized with the
+     * MurmurHash3 mixer).
+     *
+     * @param value the value to hash
+     * @return the hash
+     */
+    public static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Adds a hashed value to the sketch.
+     *
+     * @param hash the 64-bit hash of the value
+     */
+    public void add(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        int rank = Long.numberOfLeadingZeros(remaining) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Merges another sketch of the same precision into this one.
+     *
+     * @param other the sketch to merge
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of precision "
+                    + other.precision + " into " + precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct values added to the sketch.
+     *
+     * @return the cardinality estimate
+     */
+    public long estimate() {
+        double sum = 0;
+        int emptyRegisters = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                emptyRegisters++;
+            }
+        }
+
+        double m = registers.length;
+        double estimate = (0.7213 / (1 + 1.079 / m)) * m * m / sum;
+        if (estimate <= 2.5 * m && emptyRegisters > 0) {
+            estimate = m * Math.log(m / emptyRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Serializes the sketch in its smaller form.
+     *
+     * @return the serialized sketch
+     */
+    public byte[] toBytes() {
+        int setRegisters = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                setRegisters++;
+            }
+        }
+
+        int denseSize = (registers.length * REGISTER_BITS + 7) / 8;
+        int sparseSize = 4 + setRegisters * 3;
+        if (sparseSize < denseSize) {
+            ByteBuffer buffer = ByteBuffer.allocate(2 + sparseSize);
+            buffer.put(SPARSE_FORMAT).put((byte) precision).putInt(setRegisters);
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] != 0) {
+                    buffer.putShort((short) i).put(registers[i]);
+                }
+            }
+            return buffer.array();
+        }
+
+        byte[] bytes = new byte[2 + denseSize];
+        bytes[0] = DENSE_FORMAT;
+        bytes[1] = (byte) precision;
+        for (int i = 0; i < registers.length; i++) {
+            writeRegister(bytes, i, registers[i]);
+        }
+        return bytes;
+    }
+
+    /**
+     * Reads a sketch serialized by {@link #toBytes()}.
+     *
+     * @param bytes the serialized sketch
+     * @return the sketch
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < 2) {
+            throw new IllegalArgumentException("Invalid HyperLogLog sketch");
+        }
+
+        HyperLogLog sketch = new HyperLogLog(bytes[1]);
+        if (bytes[0] == SPARSE_FORMAT) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+            int setRegisters = buffer.getInt();
+            if (setRegisters < 0 || buffer.remaining() != setRegisters * 3) {
+                throw new IllegalArgumentException("Invalid HyperLogLog sketch");
+            }
+            for (int i = 0; i < setRegisters; i++) {
+                int index = buffer.getShort() & 0xffff;
+                if (index >= sketch.registers.length) {
+                    throw new IllegalArgumentException("Invalid HyperLogLog sketch");
+                }
+                sketch.registers[index] = buffer.get();
+            }
+        } else if (bytes[0] == DENSE_FORMAT && bytes.length == 2 + (sketch.registers.length * REGISTER_BITS + 7) / 8) {
+            for (int i = 0; i < sketch.registers.length; i++) {
+                sketch.registers[i] = readRegister(bytes, i);
+            }
+        } else {
+            throw new IllegalArgumentException("Invalid HyperLogLog sketch");
+        }
+        return sketch;
+    }
+
+    /*
+     Registers are packed big-endian, 6 bits each, after the two header bytes; a register spans at most two bytes.
+     */
+    private static void writeRegister(byte[] bytes, int index, byte value) {
+        int bit = index * REGISTER_BITS;
+        int offset = 2 + bit / 8;
+        int shift = 16 - REGISTER_BITS - bit % 8;
+        int word = readWord(bytes, offset) | (value << shift);
+        bytes[offset] = (byte) (word >>> 8);
+        if (offset + 1 < bytes.length) {
+            bytes[offset + 1] = (byte) word;
+        }
+    }
+
+    private static byte readRegister(byte[] bytes, int index) {
+        int bit = index * REGISTER_BITS;
+        int shift = 16 - REGISTER_BITS - bit % 8;
+        return (byte) ((readWord(bytes, 2 + bit / 8) >>> shift) & ((1 << REGISTER_BITS) - 1));
+    }
+
+    private static int readWord(byte[] bytes, int offset) {
+        int high = (bytes[offset] & 0xff) << 8;
+        return offset + 1 < bytes.length ? high | (bytes[offset + 1] & 0xff) : high;
+    }
+}
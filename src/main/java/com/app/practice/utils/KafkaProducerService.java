@@ -5,15 +5,19 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class KafkaProducerService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
 
     /**
      * Sends a message to a specified Kafka topic.
@@ -22,8 +26,28 @@ public class KafkaProducerService {
      * @param message the message payload
      */
     public void sendMessage(String topic, String message) {
-        logger.info("Sending message to Kafka topic [{}]: {}", topic, message);
-        kafkaTemplate.send(topic, message);
+        logger.debug("Sending message to Kafka topic [{}]: {}", topic, message);
+        kafkaTemplate.send(topic, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a keyed record to a Kafka topic. Records with the same key go to the same partition, in order.
+     * The record is added to the producer's batch for that partition and sent asynchronously.
+     *
+     * @param topic the Kafka topic to which the record will be sent
+     * @param key   the record key
+     * @param value the record value
+     * @return completes once the broker acknowledged the record, or exceptionally if it could not be sent
+     */
+    public CompletableFuture<SendResult<String, byte[]>> send(String topic, String key, byte[] value) {
+        return kafkaTemplate.send(topic, key, value);
+    }
+
+    /**
+     * Sends all buffered records immediately and waits until they have been acknowledged.
+     */
+    public void flush() {
+        kafkaTemplate.flush();
     }
 
     /**
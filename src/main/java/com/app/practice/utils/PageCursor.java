@@ -0,0 +1,117 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.RankedVideo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque cursor of a paginated result list: the sort key of the list and the position of the next page.
+ * <p>
+ * Lists ordered by video ID use keyset pagination: the cursor holds the ID of the last video of a page and the
+ * next page is read with a seek predicate ({@code videoId > :afterVideoId}) on the indexed sort key instead of
+ * an OFFSET, so every page costs the same no matter how deep it is. Search results ranked by relevance are
+ * paginated the same way on their sort key: the cursor holds the score and ID of the last result of a page, and
+ * the next page only keeps the results ranked after it, so no page costs more than the first. A cursor naming
+ * another sort key than the list expects, or one that does not decode, is rejected. Tokens are URL-safe Base64 and
+ * must not be interpreted by clients.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public final class PageCursor {
+
+    private static final String VIDEO_ID_SORT_KEY = "videoId";
+    private static final String SCORE_SORT_KEY = "score";
+    private static final char SEPARATOR = ':';
+
+    private PageCursor() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Encodes the cursor of the page after the given video.
+     *
+     * @param lastVideoId the ID of the last video of the current page
+     * @return the cursor token
+     */
+    public static String encode(long lastVideoId) {
+        return encode(VIDEO_ID_SORT_KEY, lastVideoId);
+    }
+
+    /**
+     * Encodes the cursor of the page of a ranked list after the given result.
+     *
+     * @param last the last result of the current page
+     * @return the cursor token
+     */
+    public static String encodeRanked(RankedVideo last) {
+        return encode(SCORE_SORT_KEY, Double.toString(last.getScore()) + SEPARATOR + last.getVideoId());
+    }
+
+    /**
+     * Decodes the video ID a page starts after.
+     *
+     * @param token the cursor token returned with the previous page
+     * @return the ID of the last video of the previous page, or empty if the token is not a valid cursor
+     */
+    public static Optional<Long> decode(String token) {
+        return decode(VIDEO_ID_SORT_KEY, token).flatMap(PageCursor::parseVideoId);
+    }
+
+    /**
+     * Decodes the result a page of a ranked list starts after.
+     *
+     * @param token the cursor token returned with the previous page
+     * @return the last result of the previous page, or empty if the token is not a valid ranked cursor
+     */
+    public static Optional<RankedVideo> decodeRanked(String token) {
+        return decode(SCORE_SORT_KEY, token).flatMap(value -> {
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            try {
+                double score = Double.parseDouble(value.substring(0, separator));
+                if (!Double.isFinite(score) || score < 0) {
+                    return Optional.empty();
+                }
+                return parseVideoId(value.substring(separator + 1)).map(videoId -> new RankedVideo(videoId, score));
+            } catch (NumberFormatException ex) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private static String encode(String sortKey, Object value) {
+        String cursor = sortKey + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the value of a cursor following its sort key, if the token decodes and names the sort key.
+     */
+    private static Optional<String> decode(String sortKey, String token) {
+        String cursor;
+        try {
+            cursor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+
+        int separator = cursor.indexOf(SEPARATOR);
+        if (separator < 0 || !sortKey.equals(cursor.substring(0, separator))) {
+            return Optional.empty();
+        }
+        return Optional.of(cursor.substring(separator + 1));
+    }
+
+    private static Optional<Long> parseVideoId(String value) {
+        try {
+            long videoId = Long.parseLong(value);
+            return videoId < 0 ? Optional.empty() : Optional.of(videoId);
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+}
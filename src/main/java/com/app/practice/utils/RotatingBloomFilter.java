@@ -0,0 +1,134 @@
+package com.app.practice.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time-partitioned Bloom filter that remembers keys for a bounded time in bounded memory.
+ * <p>
+ * Keys are added to the filter of the current generation; a key is considered seen if the filter of any live
+ * generation contains it. Generations cover consecutive periods of the given length; when a new period starts,
+ * the filter of the oldest generation is cleared and reused. A key is therefore remembered for at least
+ * {@code (generations - 1) * period} and at most {@code generations * period}.
+ * <p>
+ * Each generation is sized for the expected number of keys per period and the target false positive rate; the
+ * false positive rate of a lookup is up to {@code generations} times that rate. Bits are set with atomic
+ * operations, so the filter is safe for concurrent use. Two threads adding the same key at the same moment may
+ * both see it as new, and a lookup racing with the clearing of the oldest generation may miss a key about to
+ * expire anyway.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public final class RotatingBloomFilter {
+
+    private final long periodMillis;
+    private final int bitCount;
+    private final int hashCount;
+    private final AtomicLongArray[] generations;
+    private volatile long currentGeneration = Long.MIN_VALUE;
+
+    /**
+     * @param expectedKeysPerPeriod the number of keys expected to be added per period
+     * @param falsePositiveRate     the target false positive rate of one generation
+     * @param generationCount       the number of generations kept, at least 2
+     * @param periodMillis          the period covered by one generation
+     */
+    public RotatingBloomFilter(long expectedKeysPerPeriod, double falsePositiveRate, int generationCount, long periodMillis) {
+        if (expectedKeysPerPeriod <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1
+                || generationCount < 2 || periodMillis <= 0) {
+            throw new IllegalArgumentException("Invalid Bloom filter configuration");
+        }
+
+        double bits = -expectedKeysPerPeriod * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int words = (int) Math.min(Math.ceil(bits / Long.SIZE), Integer.MAX_VALUE / Long.SIZE);
+        this.bitCount = words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeysPerPeriod * Math.log(2)));
+        this.periodMillis = periodMillis;
+        this.generations = new AtomicLongArray[generationCount];
+        for (int i = 0; i < generationCount; i++) {
+            generations[i] = new AtomicLongArray(words);
+        }
+    }
+
+    /**
+     * Adds a key unless it has been seen within the live generations.
+     *
+     * @param key       the key
+     * @param nowMillis the current time
+     * @return true if the key was not seen before, false if it (probably) was
+     */
+    public boolean add(String key, long nowMillis) {
+        long generation = nowMillis / periodMillis;
+        if (generation > currentGeneration) {
+            rotate(generation);
+        }
+
+        long hash = HyperLogLog.hash(key);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for (AtomicLongArray filter : generations) {
+            if (contains(filter, hash1, hash2)) {
+                return false;
+            }
+        }
+
+        AtomicLongArray current = generations[(int) Math.floorMod(currentGeneration, (long) generations.length)];
+        for (int i = 0; i < hashCount; i++) {
+            int bit = bitIndex(hash1, hash2, i);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long value = current.get(word);
+            while ((value & mask) == 0 && !current.compareAndSet(word, value, value | mask)) {
+                value = current.get(word);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the memory used by the bit arrays of all generations.
+     *
+     * @return the size in bytes
+     */
+    public long sizeInBytes() {
+        return (long) generations.length * bitCount / Byte.SIZE;
+    }
+
+    private boolean contains(AtomicLongArray filter, int hash1, int hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            int bit = bitIndex(hash1, hash2, i);
+            if ((filter.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clears the generations that start between the current one and the given one. A clock going backwards
+     * never rotates.
+     */
+    private synchronized void rotate(long generation) {
+        if (generation <= currentGeneration) {
+            return;
+        }
+
+        long first = currentGeneration == Long.MIN_VALUE
+                ? generation
+                : Math.max(currentGeneration + 1, generation - generations.length + 1);
+        for (long reused = first; reused <= generation; reused++) {
+            AtomicLongArray filter = generations[(int) Math.floorMod(reused, (long) generations.length)];
+            for (int word = 0; word < filter.length(); word++) {
+                filter.set(word, 0L);
+            }
+        }
+        currentGeneration = generation;
+    }
+
+    /**
+     * Double hashing: the i-th bit is {@code hash1 + i * hash2} modulo the number of bits.
+     */
+    private int bitIndex(int hash1, int hash2, int i) {
+        return Math.floorMod(hash1 + i * hash2, bitCount);
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.practice.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into the terms of the search index.
+ * <p>
+ * Text is split on every character that is neither a letter nor a digit, lower-cased and stripped of accents,
+ * so "Pedro Almodóvar" and "almodovar" share the term {@code almodovar}. Documents and queries go through the
+ * same tokenizer.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokenizer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Returns the terms of a text, in order and including repetitions.
+     *
+     * @param text the text, may be null
+     * @return the terms of the text, empty if it has none
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the terms of a text joined by single spaces, the form in which names are matched by prefix.
+     *
+     * @param text the text, may be null
+     * @return the normalized text, empty if it has no terms
+     */
+    public static String normalize(String text) {
+        return String.join(" ", tokenize(text));
+    }
+}
@@ -0,0 +1,147 @@
+package com.app.practice.utils;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.ContentSegment;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Pass-through InputStream that splits the bytes read through it into fixed-size segments and computes
+ * the SHA-256 checksum of every segment on the fly. This lets a payload be segmented while it is written
+ * to the ContentStore, without buffering it or reading it a second time.
+ * <p>
+ * The segment list is complete once the underlying stream has reached end of stream.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public class SegmentingDigestInputStream extends FilterInputStream {
+
+    private final int segmentSize;
+    private final MessageDigest digest;
+    private final List<ContentSegment> segments = new ArrayList<>();
+
+    private long segmentOffset;
+    private int segmentBytes;
+    private boolean finished;
+
+    public SegmentingDigestInputStream(InputStream in, int segmentSize) {
+        super(in);
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.digest = newDigest();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            finish();
+        } else {
+            digest.update((byte) b);
+            if (++segmentBytes == segmentSize) {
+                completeSegment();
+            }
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read == -1) {
+            finish();
+            return read;
+        }
+
+        int position = off;
+        int remaining = read;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, segmentSize - segmentBytes);
+            digest.update(b, position, chunk);
+            segmentBytes += chunk;
+            position += chunk;
+            remaining -= chunk;
+            if (segmentBytes == segmentSize) {
+                completeSegment();
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Skipping would leave bytes out of the checksums, so skipped bytes are read and digested instead.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // Not supported, the checksums cannot be rewound.
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Returns the segments of the payload. Must be called after the stream has been consumed to its end.
+     *
+     * @return the segments in order, empty for an empty payload
+     */
+    public List<ContentSegment> getSegments() {
+        if (!finished) {
+            throw new IllegalStateException("Stream has not been read to the end");
+        }
+        return List.copyOf(segments);
+    }
+
+    private void finish() {
+        if (!finished) {
+            if (segmentBytes > 0) {
+                completeSegment();
+            }
+            finished = true;
+        }
+    }
+
+    private void completeSegment() {
+        segments.add(new ContentSegment(segments.size(), segmentOffset, segmentBytes,
+                HexFormat.of().formatHex(digest.digest())));
+        segmentOffset += segmentBytes;
+        segmentBytes = 0;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ModuleConstants.CONTENT_CHECKSUM_ALGO_NAME);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
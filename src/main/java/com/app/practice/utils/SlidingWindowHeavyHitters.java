@@ -0,0 +1,160 @@
+package com.app.practice.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Tracks the most frequent keys within a sliding window, in memory bounded by the sketch size and the
+ * candidate capacity rather than by the number of distinct keys.
+ * <p>
+ * The window is divided into slots, each with its own count-min sketch; a running window sketch holds the sum
+ * of all slots, so a key's windowed count is the minimum of its counters there. Advancing the window subtracts
+ * the oldest slot from the window sketch and reuses it for the newest one. Count-min estimates never undercount,
+ * and overcount by a small fraction of the window total.
+ * <p>
+ * The heaviest keys are kept as candidates in a bounded min-heap ordered by their estimate: a new key only
+ * enters once it is estimated heavier than the lightest candidate. Estimates of all candidates are refreshed
+ * when the window advances, as expiring slots lower them.
+ * <p>
+ * Instances are not thread-safe; callers must guard access.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public class SlidingWindowHeavyHitters {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    /**
+     * A key and its estimated count within the window.
+     */
+    public record HeavyHitter(long key, long count) {
+    }
+
+    private final int[][] slots;
+    private final long[] window;
+    private final int widthMask;
+    private final int capacity;
+    private int currentSlot;
+
+    private final Map<Long, Candidate> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(candidate -> candidate.count));
+
+    /**
+     * @param slotCount the number of slots the window is divided into
+     * @param width     the number of counters per sketch row, rounded up to a power of two
+     * @param capacity  the number of candidate keys kept
+     */
+    public SlidingWindowHeavyHitters(int slotCount, int width, int capacity) {
+        int rowWidth = Integer.highestOneBit(Math.max(width, 16) - 1) << 1;
+        this.slots = new int[slotCount][rowWidth * SEEDS.length];
+        this.window = new long[rowWidth * SEEDS.length];
+        this.widthMask = rowWidth - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Counts occurrences of a key in the current slot.
+     *
+     * @param key   the key
+     * @param count the number of occurrences
+     */
+    public void add(long key, int count) {
+        int[] slot = slots[currentSlot];
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = indexOf(key, row);
+            slot[index] += count;
+            window[index] += count;
+        }
+        offer(key, estimate(key));
+    }
+
+    /**
+     * Returns the estimated count of a key within the window.
+     *
+     * @param key the key
+     * @return the estimated count, never lower than the actual count
+     */
+    public long estimate(long key) {
+        long count = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            count = Math.min(count, window[indexOf(key, row)]);
+        }
+        return count;
+    }
+
+    /**
+     * Advances the window by one slot, dropping the counts of the oldest slot.
+     */
+    public void advance() {
+        currentSlot = (currentSlot + 1) % slots.length;
+        int[] expiring = slots[currentSlot];
+        for (int i = 0; i < expiring.length; i++) {
+            window[i] -= expiring[i];
+        }
+        Arrays.fill(expiring, 0);
+
+        heap.clear();
+        candidates.values().removeIf(candidate -> {
+            candidate.count = estimate(candidate.key);
+            return candidate.count == 0;
+        });
+        heap.addAll(candidates.values());
+    }
+
+    /**
+     * Returns the heaviest keys, heaviest first.
+     *
+     * @param limit the maximum number of keys
+     * @return up to {@code limit} keys with their estimated counts
+     */
+    public List<HeavyHitter> top(int limit) {
+        List<HeavyHitter> top = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates.values()) {
+            top.add(new HeavyHitter(candidate.key, candidate.count));
+        }
+        top.sort(Comparator.comparingLong(HeavyHitter::count).reversed().thenComparingLong(HeavyHitter::key));
+        return top.size() > limit ? List.copyOf(top.subList(0, limit)) : List.copyOf(top);
+    }
+
+    private void offer(long key, long count) {
+        Candidate candidate = candidates.get(key);
+        if (candidate != null) {
+            heap.remove(candidate);
+            candidate.count = count;
+            heap.add(candidate);
+            return;
+        }
+
+        if (candidates.size() >= capacity) {
+            if (capacity == 0 || heap.peek().count >= count) {
+                return;
+            }
+            candidates.remove(heap.poll().key);
+        }
+        candidate = new Candidate(key, count);
+        candidates.put(key, candidate);
+        heap.add(candidate);
+    }
+
+    private int indexOf(long key, int row) {
+        long hash = (key + SEEDS[row]) * SEEDS[row];
+        hash ^= hash >>> 32;
+        return row * (widthMask + 1) + ((int) hash & widthMask);
+    }
+
+    private static final class Candidate {
+        private final long key;
+        private long count;
+
+        private Candidate(long key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+}
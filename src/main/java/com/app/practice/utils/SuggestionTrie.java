@@ -0,0 +1,211 @@
+package com.app.practice.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Immutable, path-compressed prefix tree that answers "the best k completions of a prefix" with one walk down
+ * the tree and no sorting.
+ * <p>
+ * Keys map to ranks (0 is the best). Every node stores the ranks of the best k keys below it, so a lookup only
+ * walks the characters of the prefix and copies the list of the node it ends on. Chains of single-child nodes
+ * are merged into one edge, so the tree has at most about two nodes per key, and the whole tree is held in flat
+ * arrays instead of one object per node: the edge labels in one {@code char[]}, the children of a node next to
+ * each other (breadth-first order) so a node only records where its children start, and the per-node rankings
+ * in one {@code int[]}.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public final class SuggestionTrie {
+
+    private static final int[] NO_RANKS = new int[0];
+
+    private final char[] labels;
+    private final int[] labelStarts;
+    private final int[] firstChildren;
+    private final int[] rankStarts;
+    private final int[] ranks;
+
+    private SuggestionTrie(char[] labels, int[] labelStarts, int[] firstChildren, int[] rankStarts, int[] ranks) {
+        this.labels = labels;
+        this.labelStarts = labelStarts;
+        this.firstChildren = firstChildren;
+        this.rankStarts = rankStarts;
+        this.ranks = ranks;
+    }
+
+    /**
+     * Builds the tree of a set of keys.
+     *
+     * @param keys     the distinct keys, sorted
+     * @param keyRanks the ranks of each key, sorted ascending
+     * @param k        the number of ranks kept per node
+     * @return the tree
+     */
+    public static SuggestionTrie build(String[] keys, int[][] keyRanks, int k) {
+        if (keys.length != keyRanks.length || k < 1) {
+            throw new IllegalArgumentException("Invalid suggestion trie keys or size");
+        }
+
+        BuildNode root = node(keys, keyRanks, 0, keys.length, 0, 0, k);
+        List<BuildNode> nodes = new ArrayList<>();
+        Deque<BuildNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            BuildNode node = queue.poll();
+            nodes.add(node);
+            queue.addAll(node.children);
+        }
+
+        int size = nodes.size();
+        int[] labelStarts = new int[size + 1];
+        int[] firstChildren = new int[size + 1];
+        int[] rankStarts = new int[size + 1];
+        int labelLength = 0;
+        int rankLength = 0;
+        int nextChild = 1;
+        for (int i = 0; i < size; i++) {
+            BuildNode node = nodes.get(i);
+            labelStarts[i] = labelLength;
+            firstChildren[i] = nextChild;
+            rankStarts[i] = rankLength;
+            labelLength += node.label.length();
+            nextChild += node.children.size();
+            rankLength += node.ranks.length;
+        }
+        labelStarts[size] = labelLength;
+        firstChildren[size] = nextChild;
+        rankStarts[size] = rankLength;
+
+        char[] labels = new char[labelLength];
+        int[] ranks = new int[rankLength];
+        for (int i = 0; i < size; i++) {
+            BuildNode node = nodes.get(i);
+            node.label.getChars(0, node.label.length(), labels, labelStarts[i]);
+            System.arraycopy(node.ranks, 0, ranks, rankStarts[i], node.ranks.length);
+        }
+        return new SuggestionTrie(labels, labelStarts, firstChildren, rankStarts, ranks);
+    }
+
+    /**
+     * Returns the best ranks among the keys starting with a prefix.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of ranks returned, at most the k the tree was built with
+     * @return the ranks, best first
+     */
+    public int[] complete(String prefix, int limit) {
+        int node = 0;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            node = child(node, prefix.charAt(matched));
+            if (node < 0) {
+                return NO_RANKS;
+            }
+            for (int i = labelStarts[node]; i < labelStarts[node + 1] && matched < prefix.length(); i++, matched++) {
+                if (labels[i] != prefix.charAt(matched)) {
+                    return NO_RANKS;
+                }
+            }
+        }
+        int start = rankStarts[node];
+        return Arrays.copyOfRange(ranks, start, Math.min(start + Math.max(limit, 0), rankStarts[node + 1]));
+    }
+
+    /**
+     * Returns the number of nodes of the tree.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return labelStarts.length - 1;
+    }
+
+    /**
+     * Finds the child of a node whose edge starts with a character, by binary search.
+     */
+    private int child(int node, char c) {
+        int low = firstChildren[node];
+        int high = firstChildren[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = labels[labelStarts[mid]];
+            if (first < c) {
+                low = mid + 1;
+            } else if (first > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds the node of the keys in [from, to), which share their first {@code depth} characters; the edge
+     * leading to the node holds the characters from {@code labelStart}.
+     */
+    private static BuildNode node(String[] keys, int[][] keyRanks, int from, int to, int depth, int labelStart, int k) {
+        String label = from < to ? keys[from].substring(labelStart, depth) : "";
+        List<BuildNode> children = new ArrayList<>();
+        List<int[]> candidates = new ArrayList<>();
+
+        int i = from;
+        if (i < to && keys[i].length() == depth) {
+            candidates.add(keyRanks[i]);
+            i++;
+        }
+        while (i < to) {
+            char c = keys[i].charAt(depth);
+            int j = i + 1;
+            while (j < to && keys[j].charAt(depth) == c) {
+                j++;
+            }
+            BuildNode child = node(keys, keyRanks, i, j, commonPrefix(keys[i], keys[j - 1], depth + 1), depth, k);
+            children.add(child);
+            candidates.add(child.ranks);
+            i = j;
+        }
+        return new BuildNode(label, children, best(candidates, k));
+    }
+
+    private static int commonPrefix(String first, String last, int from) {
+        int length = Math.min(first.length(), last.length());
+        int i = from;
+        while (i < length && first.charAt(i) == last.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Merges sorted rank lists into the k best distinct ranks.
+     */
+    private static int[] best(List<int[]> candidates, int k) {
+        int total = 0;
+        for (int[] candidate : candidates) {
+            total += candidate.length;
+        }
+        int[] merged = new int[total];
+        int length = 0;
+        for (int[] candidate : candidates) {
+            System.arraycopy(candidate, 0, merged, length, candidate.length);
+            length += candidate.length;
+        }
+        Arrays.sort(merged);
+
+        int distinct = 0;
+        for (int i = 0; i < merged.length && distinct < k; i++) {
+            if (distinct == 0 || merged[distinct - 1] != merged[i]) {
+                merged[distinct++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, distinct);
+    }
+
+    private record BuildNode(String label, List<BuildNode> children, int[] ranks) {
+    }
+}
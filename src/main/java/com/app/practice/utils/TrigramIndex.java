@@ -0,0 +1,235 @@
+package com.app.practice.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of terms by their trigrams, which finds the terms that may be a few typos away from a given term.
+ * <p>
+ * Every term is padded with a boundary character on both sides and cut into overlapping three-character grams,
+ * so a term of n characters has n grams ("heat": "^he", "hea", "eat", "at$"). An insertion, deletion or
+ * substitution changes at most three grams and a transposition of adjacent characters at most four, so a term
+ * within k edits of another shares all but at most 4k of its distinct grams. Only the shortest gram lists are
+ * needed to find every such term (prefix filtering): a term missing from all of them lacks more than 4k grams.
+ * The terms found there are kept if they share enough grams in total (count filtering), and returned most shared
+ * grams first; they must still be verified, with {@link EditDistance}.
+ * <p>
+ * A term of at most 4k grams may share none with a term k edits away, so gram lists cannot find it. Such terms
+ * are looked up with the tighter bound of 3k grams of the other edits, and again with each pair of adjacent
+ * characters swapped and one edit less, which finds the terms reached through a transposition.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ * <p>
+ * Author: Ruchir Bisht
+ */
+public final class TrigramIndex {
+
+    private static final char BOUNDARY = '\u0001';
+    private static final String[] NO_TERMS = new String[0];
+    private static final Comparator<Candidate> CANDIDATE_ORDER =
+            Comparator.comparingInt(Candidate::shared).reversed().thenComparing(Candidate::term);
+
+    private final Map<Long, TermList> grams = new HashMap<>();
+    private int size;
+
+    /**
+     * Adds a term. Adding a term twice indexes it twice.
+     *
+     * @param term the term
+     */
+    public void add(String term) {
+        for (long gram : trigrams(term)) {
+            grams.computeIfAbsent(gram, key -> new TermList()).add(term);
+        }
+        size++;
+    }
+
+    /**
+     * Removes a term added before.
+     *
+     * @param term the term
+     */
+    public void remove(String term) {
+        for (long gram : trigrams(term)) {
+            TermList list = grams.get(gram);
+            if (list != null && list.remove(term) && list.size == 0) {
+                grams.remove(gram);
+            }
+        }
+        size--;
+    }
+
+    /**
+     * Returns the terms that may be within a number of edits of a term, most shared grams first.
+     *
+     * @param term          the term
+     * @param maxEdits      the number of edits allowed
+     * @param maxCandidates the maximum number of candidates returned
+     * @return the candidate terms, which may include the term itself
+     */
+    public List<String> candidates(String term, int maxEdits, int maxCandidates) {
+        if (maxCandidates < 1) {
+            return List.of();
+        }
+
+        long[] termGrams = trigrams(term);
+        Map<String, Candidate> found = new HashMap<>();
+        collect(term, maxEdits, termGrams, found);
+
+        List<Candidate> candidates = new ArrayList<>(found.values());
+        candidates.sort(CANDIDATE_ORDER);
+        return candidates.stream().limit(maxCandidates).map(Candidate::term).toList();
+    }
+
+    /**
+     * Adds the terms that may be within a number of edits of a term to the found candidates, ranked by the grams
+     * they share with the query.
+     */
+    private void collect(String term, int maxEdits, long[] queryGrams, Map<String, Candidate> found) {
+        long[] termGrams = trigrams(term);
+        int minShared = termGrams.length - 4 * maxEdits;
+        if (minShared < 1) {
+            minShared = termGrams.length - 3 * maxEdits;
+            if (maxEdits > 0) {
+                collectTransposed(term, maxEdits - 1, queryGrams, found);
+            }
+        }
+        if (minShared < 1) {
+            return;
+        }
+
+        List<TermList> lists = new ArrayList<>(termGrams.length);
+        for (long gram : termGrams) {
+            lists.add(grams.getOrDefault(gram, TermList.EMPTY));
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        Set<String> seen = new HashSet<>();
+        for (TermList list : lists.subList(0, termGrams.length - minShared + 1)) {
+            for (int i = 0; i < list.size; i++) {
+                String candidate = list.terms[i];
+                if (Math.abs(candidate.length() - term.length()) <= maxEdits && seen.add(candidate)
+                        && !found.containsKey(candidate)) {
+                    long[] candidateGrams = trigrams(candidate);
+                    if (shared(termGrams, candidateGrams) >= minShared) {
+                        found.put(candidate, new Candidate(candidate, shared(queryGrams, candidateGrams)));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the candidates of the term with each pair of distinct adjacent characters swapped.
+     */
+    private void collectTransposed(String term, int maxEdits, long[] queryGrams, Map<String, Candidate> found) {
+        char[] chars = term.toCharArray();
+        for (int i = 0; i + 1 < chars.length; i++) {
+            if (chars[i] == chars[i + 1]) {
+                continue;
+            }
+            swap(chars, i);
+            collect(new String(chars), maxEdits, queryGrams, found);
+            swap(chars, i);
+        }
+    }
+
+    private static void swap(char[] chars, int i) {
+        char first = chars[i];
+        chars[i] = chars[i + 1];
+        chars[i + 1] = first;
+    }
+
+    /**
+     * Removes all terms.
+     */
+    public void clear() {
+        grams.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the number of terms indexed.
+     *
+     * @return the number of terms
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the distinct trigrams of a term padded with boundary characters, each packed into a long, sorted.
+     */
+    static long[] trigrams(String term) {
+        String padded = BOUNDARY + term + BOUNDARY;
+        long[] packed = new long[padded.length() - 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+        }
+        Arrays.sort(packed);
+
+        int distinct = 0;
+        for (int i = 0; i < packed.length; i++) {
+            if (distinct == 0 || packed[distinct - 1] != packed[i]) {
+                packed[distinct++] = packed[i];
+            }
+        }
+        return distinct == packed.length ? packed : Arrays.copyOf(packed, distinct);
+    }
+
+    /**
+     * Counts the grams two sorted gram arrays have in common.
+     */
+    private static int shared(long[] first, long[] second) {
+        int shared = 0;
+        for (int i = 0, j = 0; i < first.length && j < second.length; ) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    private record Candidate(String term, int shared) {
+    }
+
+    /**
+     * Terms sharing a gram, unordered; removal swaps the last term in.
+     */
+    private static final class TermList {
+        private static final TermList EMPTY = new TermList();
+
+        private String[] terms = NO_TERMS;
+        private int size;
+
+        private void add(String term) {
+            if (size == terms.length) {
+                terms = Arrays.copyOf(terms, Math.max(2, size * 2));
+            }
+            terms[size++] = term;
+        }
+
+        private boolean remove(String term) {
+            for (int i = 0; i < size; i++) {
+                if (terms[i].equals(term)) {
+                    terms[i] = terms[--size];
+                    terms[size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+-- Schema changes of the content store, segmented streaming and engagement pipeline (MySQL 8).
+--
+-- Applies on top of the schema of videostreamingdb_backup.sql (version 1) and must be run before deploying
+-- with spring.jpa.hibernate.ddl-auto=validate:
+--
+--   mysql -u{username} -p{password} videostreamingdb < src/main/resources/db/migration/V2__content_store_and_engagement_tables.sql
+--
+-- The legacy videos_content.content column is kept: LegacyContentMigrationRunner moves its values into the
+-- content store on the next startup and clears them. Drop the column once it only holds NULLs.
+
+--
+-- Content references and version of the videos
+--
+
+ALTER TABLE `videos_content`
+  ADD COLUMN `content_key` varchar(64) DEFAULT NULL,
+  ADD COLUMN `content_size` bigint DEFAULT NULL,
+  ADD COLUMN `content_checksum` varchar(64) DEFAULT NULL,
+  ADD COLUMN `segment_size` int DEFAULT NULL,
+  ADD COLUMN `segment_count` int DEFAULT NULL,
+  ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
+
+--
+-- Watch time of the videos
+--
+
+ALTER TABLE `engagement_statistics`
+  ADD COLUMN `watch_time_seconds` bigint DEFAULT 0;
+
+--
+-- Table structure for table `video_segments`
+--
+
+CREATE TABLE `video_segments` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `video_id` bigint NOT NULL,
+  `segment_index` int NOT NULL,
+  `byte_offset` bigint NOT NULL,
+  `segment_size` int NOT NULL,
+  `checksum` varchar(64) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_video_segment_index` (`video_id`,`segment_index`),
+  CONSTRAINT `fk_video_segment_video` FOREIGN KEY (`video_id`) REFERENCES `videos_content` (`video_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+--
+-- Table structure for table `engagement_rollups`
+--
+
+CREATE TABLE `engagement_rollups` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `video_id` bigint NOT NULL,
+  `granularity` enum('HOUR','DAY') NOT NULL,
+  `bucket_start` datetime(6) NOT NULL,
+  `views` bigint NOT NULL,
+  `impressions` bigint NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_engagement_rollup_bucket` (`video_id`,`granularity`,`bucket_start`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+--
+-- Table structure for table `viewer_sketches`
+--
+
+CREATE TABLE `viewer_sketches` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `video_id` bigint NOT NULL,
+  `period` enum('TOTAL','DAY') NOT NULL,
+  `bucket_start` datetime(6) NOT NULL,
+  `sketch` blob NOT NULL,
+  `unique_viewers` bigint NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_viewer_sketch_bucket` (`video_id`,`period`,`bucket_start`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+--
+-- Table structure for table `engagement_counter_shards`
+--
+
+CREATE TABLE `engagement_counter_shards` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `video_id` bigint NOT NULL,
+  `shard` int NOT NULL,
+  `views` bigint NOT NULL,
+  `impressions` bigint NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_engagement_counter_shard` (`video_id`,`shard`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+--
+-- Table structure for table `watch_progress`
+--
+
+CREATE TABLE `watch_progress` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `username` varchar(100) NOT NULL,
+  `video_id` bigint NOT NULL,
+  `position_seconds` bigint NOT NULL,
+  `watch_time_seconds` bigint NOT NULL,
+  `updated_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_watch_progress_user_video` (`username`,`video_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,198 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.SearchMatchMode;
+import com.app.practice.dto.SuggestionType;
+import com.app.practice.dto.VideoDTO;
+import com.app.practice.entity.Video;
+import com.app.practice.entity.VideoMetaData;
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.Suggestion;
+import com.app.practice.model.response.VideoPageResponse;
+import com.app.practice.service.CatalogInvalidationBus;
+import com.app.practice.service.impl.content.SegmentedContentWriter;
+import com.app.practice.service.impl.engagement.ImpressionPipeline;
+import com.app.practice.service.impl.search.CatalogSearchIndex;
+import com.app.practice.service.impl.search.CatalogSearchIndexLoader;
+import com.app.practice.service.impl.search.SuggestionIndex;
+import com.app.practice.service.impl.video.VideoServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Asserts the number of SQL statements of the catalog listing and search requests, so the projection queries
+ * cannot regress into loading each video and its metadata separately, and later pages cost no more than the first.
+ * Phrase searches are answered by the search index, built from the test data, and only read the page's videos;
+ * suggestions are answered from memory alone.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog;NON_KEYWORDS=CAST",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({VideoServiceImpl.class, CatalogSearchIndex.class, SuggestionIndex.class, CatalogSearchIndexLoader.class})
+class CatalogQueryStatementCountTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private VideoServiceImpl videoService;
+
+    @Autowired
+    private CatalogSearchIndexLoader catalogSearchIndexLoader;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private SegmentedContentWriter segmentedContentWriter;
+
+    @MockitoBean
+    private ImpressionPipeline impressionPipeline;
+
+    @MockitoBean
+    private CatalogInvalidationBus catalogInvalidationBus;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 2 * PAGE_SIZE; i++) {
+            Video video = new Video();
+            video.setTitle("Video " + i);
+
+            VideoMetaData metaData = new VideoMetaData();
+            metaData.setVideo(video);
+            metaData.setDirector(i % 2 == 0 ? "Jane Roe" : "John Doe");
+            metaData.setCast("Actor " + i);
+            metaData.setGenre("Action");
+            metaData.setRunningTime(90 + i);
+            video.setMetaData(metaData);
+
+            entityManager.persist(video);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        catalogSearchIndexLoader.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testListAllVideos_OneStatementPerPage() {
+        GenericResponse<VideoPageResponse> first = videoService.listAllVideos(null, PAGE_SIZE);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        GenericResponse<VideoPageResponse> second = videoService.listAllVideos(first.getData().getNextCursor(), PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, second.getData().getVideos().size());
+        assertEquals("Video 11", second.getData().getVideos().get(0).getTitle());
+        assertEquals("John Doe", second.getData().getVideos().get(0).getDirector());
+        assertEquals(101, second.getData().getVideos().get(0).getRunningTime());
+        assertNull(second.getData().getNextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testListAllVideos_EveryPageCostsOneStatement() {
+        List<VideoDTO> videos = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            GenericResponse<VideoPageResponse> page = videoService.listAllVideos(cursor, 3);
+            assertEquals(1, statistics.getPrepareStatementCount());
+
+            videos.addAll(page.getData().getVideos());
+            cursor = page.getData().getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(2 * PAGE_SIZE, videos.size());
+        assertEquals(2 * PAGE_SIZE, videos.stream().map(VideoDTO::getId).distinct().count());
+    }
+
+    @Test
+    void testSearchVideos_OneStatementPerPage() {
+        GenericResponse<VideoPageResponse> response = videoService.searchVideos("jane roe", null, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, response.getData().getVideos().size());
+        response.getData().getVideos().forEach(video -> assertEquals("Jane Roe", video.getDirector()));
+        assertNull(response.getData().getNextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testSearchVideosBasedOnSearchPhrase_OneStatementPerPage() {
+        GenericResponse<VideoPageResponse> response = videoService.searchVideosBasedOnSearchPhrase("ACTION", SearchMatchMode.EXACT, null, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, response.getData().getVideos().size());
+        assertNotNull(response.getData().getNextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        statistics.clear();
+        GenericResponse<VideoPageResponse> second =
+                videoService.searchVideosBasedOnSearchPhrase("ACTION", SearchMatchMode.EXACT,
+                        response.getData().getNextCursor(), PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, second.getData().getVideos().size());
+        assertNull(second.getData().getNextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSearchVideosBasedOnSearchPhrase_ReadsOnlyMatchingVideos() {
+        GenericResponse<VideoPageResponse> response =
+                videoService.searchVideosBasedOnSearchPhrase("jane roe action", SearchMatchMode.EXACT, null, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, response.getData().getVideos().size());
+        response.getData().getVideos().forEach(video -> assertEquals("Jane Roe", video.getDirector()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSearchVideosBasedOnSearchPhrase_FuzzyReadsOnlyMatchingVideos() {
+        GenericResponse<VideoPageResponse> exact =
+                videoService.searchVideosBasedOnSearchPhrase("jame roe action", SearchMatchMode.EXACT, null, PAGE_SIZE);
+        assertEquals(List.of(), exact.getData().getVideos());
+
+        statistics.clear();
+        GenericResponse<VideoPageResponse> fuzzy =
+                videoService.searchVideosBasedOnSearchPhrase("jame roe action", SearchMatchMode.FUZZY, null, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, fuzzy.getData().getVideos().size());
+        fuzzy.getData().getVideos().forEach(video -> assertEquals("Jane Roe", video.getDirector()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSuggest_NoStatements() {
+        GenericResponse<List<Suggestion>> response = videoService.suggest("jane", 5);
+
+        assertEquals(List.of(new Suggestion("Jane Roe", SuggestionType.DIRECTOR, 0L)), response.getData());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,133 @@
+package com.app.practice.repository;
+
+import com.app.practice.dto.CounterStorageMode;
+import com.app.practice.dto.EngagementDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementStatisticsBatchOperationsImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> statements = new ArrayList<>();
+    private final List<long[]> shardWrites = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    String sql = invocation.getArgument(0);
+                    List<Object> rows = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    statements.add(sql);
+                    for (Object row : rows) {
+                        Map<Integer, Object> parameters = new HashMap<>();
+                        setter.setValues(recording(parameters), row);
+                        if (sql.startsWith("UPDATE engagement_counter_shards")) {
+                            shardWrites.add(new long[]{(Long) parameters.get(3), (Integer) parameters.get(4)});
+                        }
+                    }
+                    int[] counts = new int[rows.size()];
+                    Arrays.fill(counts, 1);
+                    return new int[][]{counts};
+                });
+    }
+
+    /**
+     * A prepared statement that only records the parameters set on it.
+     */
+    private static PreparedStatement recording(Map<Integer, Object> parameters) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length == 2) {
+                        parameters.put((Integer) args[0], args[1]);
+                    }
+                    return null;
+                });
+    }
+
+    @Test
+    void testRowStorage_UpdatesStatisticsRow() {
+        EngagementStatisticsBatchOperationsImpl operations =
+                new EngagementStatisticsBatchOperationsImpl(jdbcTemplate, CounterStorageMode.ROW, 1, 16, 1000, 600_000);
+
+        operations.incrementCounters(List.of(new EngagementDelta(1L, 5L, 1L)));
+
+        assertEquals(1, statements.size());
+        assertTrue(statements.get(0).startsWith("UPDATE engagement_statistics"));
+    }
+
+    @Test
+    void testMissingRows_InsertedOnlyForExistingVideos() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true).build();
+        try {
+            JdbcTemplate h2 = new JdbcTemplate(database);
+            h2.execute("CREATE TABLE videos_content (video_id BIGINT PRIMARY KEY)");
+            h2.execute("CREATE TABLE engagement_statistics (video_id BIGINT NOT NULL UNIQUE REFERENCES videos_content, "
+                    + "views BIGINT, impressions BIGINT)");
+            h2.execute("CREATE TABLE engagement_counter_shards (video_id BIGINT NOT NULL REFERENCES videos_content, "
+                    + "shard INT NOT NULL, views BIGINT NOT NULL, impressions BIGINT NOT NULL)");
+            h2.update("INSERT INTO videos_content (video_id) VALUES (1)");
+            List<EngagementDelta> deltas = List.of(new EngagementDelta(1L, 5L, 1L), new EngagementDelta(99L, 3L, 0L));
+
+            new EngagementStatisticsBatchOperationsImpl(h2, CounterStorageMode.ROW, 1, 16, 1000, 600_000)
+                    .incrementCounters(deltas);
+            new EngagementStatisticsBatchOperationsImpl(h2, CounterStorageMode.SHARDED, 1, 16, 1000, 600_000)
+                    .incrementCounters(deltas);
+
+            assertEquals(List.of(1L), h2.queryForList("SELECT video_id FROM engagement_statistics", Long.class));
+            assertEquals(5L, h2.queryForObject("SELECT views FROM engagement_statistics", Long.class));
+            assertEquals(List.of(1L), h2.queryForList("SELECT video_id FROM engagement_counter_shards", Long.class));
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void testShardedStorage_SpreadsHotVideosOverShards() {
+        EngagementStatisticsBatchOperationsImpl operations =
+                new EngagementStatisticsBatchOperationsImpl(jdbcTemplate, CounterStorageMode.SHARDED, 1, 16, 1000, 600_000);
+
+        operations.incrementCounters(List.of(new EngagementDelta(1L, 1000L, 0L), new EngagementDelta(2L, 3L, 0L)));
+        for (int i = 0; i < 100; i++) {
+            operations.incrementCounters(List.of(new EngagementDelta(1L, 1L, 0L), new EngagementDelta(2L, 1L, 0L)));
+        }
+
+        Set<Long> hotShards = new HashSet<>();
+        for (long[] write : shardWrites) {
+            if (write[0] == 1L) {
+                hotShards.add(write[1]);
+            } else {
+                assertEquals(0L, write[1]);
+            }
+        }
+        assertTrue(hotShards.size() > 1);
+        assertTrue(hotShards.stream().allMatch(shard -> shard >= 0 && shard < 16));
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("engagement_statistics")));
+    }
+}
@@ -0,0 +1,154 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.CacheStatistics;
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.dto.VideoDTO;
+import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.service.impl.video.CatalogCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCacheTest {
+
+    private static final long TTL_MILLIS = 60_000L;
+    private static final long NOW = 1_000_000L;
+
+    private final Map<Long, Integer> loads = new HashMap<>();
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    @Test
+    void testGet_HitAfterMiss() throws VideoNotFoundException {
+        CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+
+        VideoDTO first = cache.get(1L, this::load, NOW);
+        VideoDTO second = cache.get(1L, this::load, NOW + 1);
+
+        assertEquals(first, second);
+        assertEquals(1, loads.get(1L));
+        CacheStatistics stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getEntries());
+        assertEquals(100, stats.getMaxEntries());
+    }
+
+    @Test
+    void testGet_ReloadsExpiredEntry() throws VideoNotFoundException {
+        CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+
+        cache.get(1L, this::load, NOW);
+        cache.get(1L, this::load, NOW + TTL_MILLIS);
+
+        assertEquals(2, loads.get(1L));
+        assertEquals(2, cache.stats().getMisses());
+    }
+
+    @Test
+    void testInvalidate_ReloadsEntry() throws VideoNotFoundException {
+        CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+
+        cache.get(1L, this::load, NOW);
+        versions.put(1L, 2L);
+        cache.invalidate(1L, 2L);
+        VideoDTO reloaded = cache.get(1L, this::load, NOW);
+        cache.get(1L, this::load, NOW);
+
+        assertEquals("Video 1 v2", reloaded.getTitle());
+        assertEquals(2, loads.get(1L));
+    }
+
+    @Test
+    void testInvalidate_IgnoresOlderAndRepeatedVersions() throws VideoNotFoundException {
+        CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+        versions.put(1L, 3L);
+
+        cache.get(1L, this::load, NOW);
+        cache.invalidate(1L, 2L);
+        cache.invalidate(1L, 3L);
+        cache.get(1L, this::load, NOW);
+
+        assertEquals(1, loads.get(1L));
+        assertEquals(1, cache.stats().getHits());
+    }
+
+    @Test
+    void testInvalidate_OutOfOrderDoesNotResurrectStaleEntry() throws VideoNotFoundException {
+        CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+
+        cache.invalidate(1L, 3L);
+        cache.invalidate(1L, 2L);
+        cache.get(1L, this::load, NOW);
+        cache.get(1L, this::load, NOW);
+
+        assertEquals(2, loads.get(1L));
+        assertEquals(0, cache.stats().getEntries());
+    }
+
+    @Test
+    void testGet_DoesNotCacheLoadRacingWithInvalidation() throws VideoNotFoundException {
+        CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+
+        cache.get(1L, videoId -> {
+            CatalogEntry stale = load(videoId);
+            versions.put(videoId, 2L);
+            cache.invalidate(videoId, 2L);
+            return stale;
+        }, NOW);
+        cache.get(1L, this::load, NOW);
+        cache.get(1L, this::load, NOW);
+
+        assertEquals(2, loads.get(1L));
+        assertEquals(1, cache.stats().getEntries());
+    }
+
+    @Test
+    void testGet_DoesNotCacheMissingVideo() {
+        CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+        CatalogCache.CatalogLoader missing = videoId -> {
+            loads.merge(videoId, 1, Integer::sum);
+            throw new VideoNotFoundException(ModuleConstants.VIDEO_NOT_FOUND);
+        };
+
+        assertThrows(VideoNotFoundException.class, () -> cache.get(1L, missing, NOW));
+        assertThrows(VideoNotFoundException.class, () -> cache.get(1L, missing, NOW));
+
+        assertEquals(2, loads.get(1L));
+        assertEquals(0, cache.stats().getEntries());
+    }
+
+    @Test
+    void testGet_PopularVideosSurviveScan() throws VideoNotFoundException {
+        CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+        for (int round = 0; round < 5; round++) {
+            for (long videoId = 1; videoId <= 50; videoId++) {
+                cache.get(videoId, this::load, NOW);
+            }
+        }
+
+        for (long videoId = 1_000; videoId < 1_500; videoId++) {
+            cache.get(videoId, this::load, NOW);
+        }
+        for (long videoId = 1; videoId <= 50; videoId++) {
+            cache.get(videoId, this::load, NOW);
+        }
+
+        for (long videoId = 1; videoId <= 50; videoId++) {
+            assertEquals(1, loads.get(videoId), "video " + videoId + " was evicted");
+        }
+        CacheStatistics stats = cache.stats();
+        assertTrue(stats.getRejections() > 0);
+        assertTrue(stats.getEntries() <= stats.getMaxEntries());
+    }
+
+    private CatalogEntry load(Long videoId) {
+        loads.merge(videoId, 1, Integer::sum);
+        long version = versions.getOrDefault(videoId, 1L);
+        String title = version == 1L ? "Video " + videoId : "Video " + videoId + " v" + version;
+        return new CatalogEntry(videoId, title, "Director", "Cast", "Genre", 90, version);
+    }
+}
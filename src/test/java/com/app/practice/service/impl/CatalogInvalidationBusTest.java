@@ -0,0 +1,191 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.dto.CatalogInvalidation;
+import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.service.impl.engagement.EngagementStateStore;
+import com.app.practice.service.impl.search.CatalogSearchIndexLoader;
+import com.app.practice.service.impl.video.CatalogCache;
+import com.app.practice.service.impl.video.CatalogInvalidationConsumer;
+import com.app.practice.service.impl.video.KafkaCatalogInvalidationBus;
+import com.app.practice.utils.CatalogInvalidationCodec;
+import com.app.practice.utils.KafkaProducerService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs two nodes, each with its own catalog cache, invalidation bus and invalidation consumer, against an
+ * in-process stand-in of the catalog invalidation topic.
+ */
+class CatalogInvalidationBusTest {
+
+    private static final String TOPIC = VideoStreamConstants.CATALOG_INVALIDATION_TOPIC;
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+    private static final long TTL_MILLIS = 60_000L;
+
+    private final Map<Long, CatalogEntry> database = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> loads = new ConcurrentHashMap<>();
+    private final Broker broker = new Broker();
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        database.put(1L, entry(1L));
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        nodeA.consumer.stop();
+        nodeB.consumer.stop();
+    }
+
+    @Test
+    void testPublish_EvictsEntryOnEveryNode() throws VideoNotFoundException {
+        nodeA.get(1L);
+        nodeB.get(1L);
+
+        database.put(1L, entry(2L));
+        nodeA.bus.publish(new CatalogInvalidation(1L, 2L));
+        awaitApplied(nodeB, 1);
+
+        assertEquals("Video v2", nodeA.get(1L));
+        assertEquals("Video v2", nodeB.get(1L));
+        assertEquals(4, loads.get(1L));
+        verify(nodeB.searchIndexLoader, times(1)).refresh(1L, 2L);
+        verify(nodeA.engagementStateStore, atLeastOnce()).invalidate(1L, 2L);
+        verify(nodeB.engagementStateStore, times(1)).invalidate(1L, 2L);
+    }
+
+    @Test
+    void testPublish_ReorderedInvalidationsDoNotResurrectStaleEntry() throws VideoNotFoundException {
+        nodeB.get(1L);
+
+        database.put(1L, entry(3L));
+        broker.deliver(nodeB, new CatalogInvalidation(1L, 3L));
+        awaitApplied(nodeB, 1);
+        assertEquals("Video v3", nodeB.get(1L));
+
+        broker.deliver(nodeB, new CatalogInvalidation(1L, 2L));
+        awaitApplied(nodeB, 2);
+
+        assertEquals("Video v3", nodeB.get(1L));
+        assertEquals(2, loads.get(1L));
+    }
+
+    @Test
+    void testPublish_DelayedInvalidationStopsLaggingLoadFromBeingCached() throws VideoNotFoundException {
+        database.put(1L, entry(2L));
+        broker.deliver(nodeB, new CatalogInvalidation(1L, 2L));
+        awaitApplied(nodeB, 1);
+
+        database.put(1L, entry(1L));
+        nodeB.get(1L);
+        nodeB.get(1L);
+
+        assertEquals(2, loads.get(1L));
+        assertEquals(0, nodeB.cache.stats().getEntries());
+    }
+
+    private static CatalogEntry entry(long version) {
+        String title = version == 1L ? "Video" : "Video v" + version;
+        return new CatalogEntry(1L, title, "Director", "Cast", "Genre", 90, version);
+    }
+
+    private static void awaitApplied(Node node, long invalidations) {
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (node.consumer.invalidationsApplied() < invalidations) {
+            assertTrue(System.currentTimeMillis() < deadline, "invalidation was not applied");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * In-process stand-in of the single-partition catalog invalidation topic: every record sent by a node is
+     * appended to the partition of every subscribed node, in send order.
+     */
+    private static final class Broker {
+
+        private final List<Node> nodes = new ArrayList<>();
+
+        synchronized void subscribe(Node node) {
+            nodes.add(node);
+            node.mockConsumer.schedulePollTask(() -> {
+                node.mockConsumer.rebalance(List.of(PARTITION));
+                node.mockConsumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+            });
+        }
+
+        synchronized void send(String key, byte[] value) {
+            for (Node node : nodes) {
+                append(node, key, value);
+            }
+        }
+
+        synchronized void deliver(Node node, CatalogInvalidation invalidation) {
+            append(node, String.valueOf(invalidation.getVideoId()), CatalogInvalidationCodec.encode(invalidation));
+        }
+
+        private void append(Node node, String key, byte[] value) {
+            long offset = node.nextOffset++;
+            node.mockConsumer.schedulePollTask(() ->
+                    node.mockConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, offset, key, value)));
+        }
+    }
+
+    private final class Node {
+
+        private final CatalogCache cache = new CatalogCache(100, TTL_MILLIS);
+        private final MockConsumer<String, byte[]> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        private final CatalogSearchIndexLoader searchIndexLoader = mock(CatalogSearchIndexLoader.class);
+        private final EngagementStateStore engagementStateStore = mock(EngagementStateStore.class);
+        private final KafkaCatalogInvalidationBus bus;
+        private final CatalogInvalidationConsumer consumer;
+        private long nextOffset;
+
+        @SuppressWarnings("unchecked")
+        private Node() {
+            KafkaProducerService producer = mock(KafkaProducerService.class);
+            when(producer.send(eq(TOPIC), anyString(), any(byte[].class))).thenAnswer(invocation -> {
+                broker.send(invocation.getArgument(1), invocation.getArgument(2));
+                return CompletableFuture.completedFuture(null);
+            });
+            ConsumerFactory<String, byte[]> consumerFactory = mock(ConsumerFactory.class);
+            when(consumerFactory.createConsumer(anyString(), isNull(), isNull(), any(Properties.class)))
+                    .thenReturn(mockConsumer);
+
+            bus = new KafkaCatalogInvalidationBus(cache, engagementStateStore, producer);
+            consumer = new CatalogInvalidationConsumer(consumerFactory, cache, engagementStateStore,
+                    searchIndexLoader, 10);
+            broker.subscribe(this);
+            consumer.start();
+        }
+
+        private String get(Long videoId) throws VideoNotFoundException {
+            return cache.get(videoId, id -> {
+                loads.merge(id, 1, Integer::sum);
+                return database.get(id);
+            }).getTitle();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.RankedVideo;
+import com.app.practice.dto.SearchDocument;
+import com.app.practice.dto.SearchMatchMode;
+import com.app.practice.service.impl.search.CatalogSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSearchIndexTest {
+
+    private static final int MAX_FUZZY_CANDIDATES = 100;
+    private static final int MAX_FUZZY_EXPANSIONS = 8;
+
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = newIndex(MAX_FUZZY_EXPANSIONS);
+        index.index(document(1L, 0L, "Goodfellas", "Martin Scorsese", "Robert De Niro, Ray Liotta", "Crime"));
+        index.index(document(2L, 0L, "Taxi Driver", "Martin Scorsese", "Robert De Niro", "Drama"));
+        index.index(document(3L, 0L, "Heat", "Michael Mann", "Al Pacino, Robert De Niro", "Crime"));
+        index.index(document(4L, 0L, "Scorsese on Scorsese", "Richard Schickel", "Martin Scorsese", "Documentary"));
+    }
+
+    @Test
+    void testSearch_MatchesEveryTermAcrossFields() {
+        assertEquals(List.of(1L, 3L), index.search("de niro crime", 10));
+        assertEquals(List.of(), index.search("de niro comedy", 10));
+        assertEquals(List.of(), index.search("!!", 10));
+    }
+
+    @Test
+    void testSearch_RanksWeightedMatchesFirst() {
+        assertEquals(List.of(4L, 1L, 2L), index.search("SCORSESE", 10));
+        assertEquals(List.of(4L, 1L), index.search("scorsese", 2));
+    }
+
+    @Test
+    void testSearch_NormalizesByFieldLengthAndSaturatesFrequency() {
+        CatalogSearchIndex heat = newIndex(MAX_FUZZY_EXPANSIONS);
+        heat.index(document(1L, 0L, "The Heat of the Night", null, null, null));
+        heat.index(document(2L, 0L, "Heat", null, null, null));
+        heat.index(new SearchDocument(3L, 0L, "Collateral", null, null, null, "heat heat heat heat in the city"));
+        heat.index(document(4L, 0L, "Thief", "Heat", null, null));
+
+        assertEquals(List.of(2L, 4L, 1L, 3L), heat.search("heat", 10));
+    }
+
+    @Test
+    void testSearch_KeepsTopMatchesOfFullRanking() {
+        CatalogSearchIndex catalog = newIndex(MAX_FUZZY_EXPANSIONS);
+        for (long videoId = 1; videoId <= 200; videoId++) {
+            String title = "Action" + " movie".repeat((int) (videoId % 7));
+            catalog.index(document(videoId, 0L, title, "Director " + videoId % 5, null, "Action"));
+        }
+
+        List<Long> ranking = catalog.search("action", 200);
+        assertEquals(200, ranking.size());
+        for (int limit : new int[]{1, 10, 50}) {
+            assertEquals(ranking.subList(0, limit), catalog.search("action", limit));
+        }
+    }
+
+    @Test
+    void testSearch_PagesAfterLastResultReproduceFullRanking() {
+        CatalogSearchIndex catalog = newIndex(MAX_FUZZY_EXPANSIONS);
+        for (long videoId = 1; videoId <= 200; videoId++) {
+            String title = "Action" + " movie".repeat((int) (videoId % 7));
+            catalog.index(document(videoId, 0L, title, "Director " + videoId % 5, null, "Action"));
+        }
+
+        for (SearchMatchMode mode : SearchMatchMode.values()) {
+            List<Long> ranking = catalog.search("director action", 200, mode);
+            List<Long> paged = new ArrayList<>();
+            RankedVideo last = null;
+            List<RankedVideo> page;
+            do {
+                page = catalog.search("director action", 7, mode, last);
+                page.forEach(match -> paged.add(match.getVideoId()));
+                last = page.isEmpty() ? null : page.get(page.size() - 1);
+            } while (page.size() == 7);
+
+            assertEquals(200, ranking.size());
+            assertEquals(ranking, paged);
+        }
+    }
+
+    @Test
+    void testIndex_ReplacesEditedVideo() {
+        assertTrue(index.index(document(3L, 1L, "Heat", "Michael Mann", "Al Pacino, Val Kilmer", "Crime")));
+
+        assertEquals(List.of(1L), index.search("de niro crime", 10));
+        assertEquals(List.of(3L), index.search("kilmer", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testIndex_IgnoresOlderVersion() {
+        index.index(document(3L, 2L, "Heat", "Michael Mann", "Al Pacino, Val Kilmer", "Crime"));
+
+        assertFalse(index.index(document(3L, 1L, "Heat", "Michael Mann", "Al Pacino, Robert De Niro", "Crime")));
+        assertEquals(List.of(3L), index.search("kilmer", 10));
+        assertEquals(2L, index.version(3L));
+    }
+
+    @Test
+    void testRemove_KeepsDelistedVideoOut() {
+        assertTrue(index.remove(1L, 1L));
+        assertFalse(index.index(document(1L, 0L, "Goodfellas", "Martin Scorsese", "Robert De Niro", "Crime")));
+
+        assertEquals(List.of(3L), index.search("de niro crime", 10));
+        assertEquals(List.of(), index.search("goodfellas", 10));
+        assertEquals(3, index.size());
+        assertEquals(-1L, index.version(99L));
+    }
+
+    @Test
+    void testIndex_InsertsOutOfOrderIds() {
+        index.index(document(0L, 0L, "Mean Streets", "Martin Scorsese", "Harvey Keitel, Robert De Niro", "Crime"));
+
+        assertEquals(List.of(0L, 1L, 3L), index.search("niro crime", 10));
+    }
+
+    @Test
+    void testFuzzySearch_MatchesTyposInNames() {
+        assertEquals(List.of(), index.search("scorcese", 10));
+        assertEquals(List.of(4L, 1L, 2L), index.search("scorcese", 10, SearchMatchMode.FUZZY));
+        assertEquals(List.of(1L, 3L), index.search("de nero crime", 10, SearchMatchMode.FUZZY));
+        assertEquals(List.of(1L, 3L), index.search("de niro crime", 10, SearchMatchMode.EXACT));
+    }
+
+    @Test
+    void testFuzzySearch_IgnoresTyposOutsideNamesAndShortTerms() {
+        assertEquals(List.of(), index.search("drame", 10, SearchMatchMode.FUZZY));
+        assertEquals(List.of(), index.search("al pacina mam", 10, SearchMatchMode.FUZZY));
+        assertEquals(List.of(3L), index.search("al pacina", 10, SearchMatchMode.FUZZY));
+    }
+
+    @Test
+    void testFuzzySearch_RanksExactMatchesFirst() {
+        index.index(document(5L, 0L, "Beat", "Someone", "Nobody", "Drama"));
+
+        assertEquals(List.of(3L, 5L), index.search("heat", 10, SearchMatchMode.FUZZY));
+    }
+
+    @Test
+    void testFuzzySearch_BoundsExpansions() {
+        CatalogSearchIndex bounded = newIndex(1);
+        bounded.index(document(1L, 0L, "Beat", "Someone", "Nobody", "Drama"));
+        bounded.index(document(2L, 0L, "Heal", "Someone", "Nobody", "Drama"));
+        bounded.index(document(3L, 0L, "Heal Me", "Someone", "Nobody", "Drama"));
+
+        assertEquals(List.of(2L, 3L), bounded.search("heat", 10, SearchMatchMode.FUZZY));
+    }
+
+    @Test
+    void testFuzzySearch_ForgetsRemovedNames() {
+        assertEquals(List.of(4L), index.search("shickel", 10, SearchMatchMode.FUZZY));
+
+        index.remove(4L, 1L);
+
+        assertEquals(List.of(), index.search("shickel", 10, SearchMatchMode.FUZZY));
+    }
+
+    private static CatalogSearchIndex newIndex(int maxFuzzyExpansions) {
+        return new CatalogSearchIndex(MAX_FUZZY_CANDIDATES, maxFuzzyExpansions);
+    }
+
+    private static SearchDocument document(Long videoId, long version, String title, String director, String cast,
+                                           String genre) {
+        return new SearchDocument(videoId, version, title, director, cast, genre, null);
+    }
+}
@@ -2,13 +2,20 @@ package com.app.practice.service.impl;
 
 
 import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.EngagementCounts;
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.VideoEngagementSummary;
 import com.app.practice.entity.EngagementStatistics;
 import com.app.practice.entity.Video;
 import com.app.practice.entity.VideoMetaData;
 import com.app.practice.model.response.EngagementResponse;
 import com.app.practice.model.response.GenericResponse;
+import com.app.practice.repository.EngagementCounterShardRepository;
 import com.app.practice.repository.VideoRepository;
 import com.app.practice.service.impl.engagement.DBEngagementStrategyServiceImpl;
+import com.app.practice.service.impl.engagement.EngagementCounterAggregator;
+import com.app.practice.service.impl.engagement.UniqueViewerTracker;
+import com.app.practice.service.impl.engagement.WatchProgressTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,8 +23,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +41,18 @@ class DBEngagementStrategyServiceImplTest {
     @Mock
     private VideoRepository videoRepository;
 
+    @Mock
+    private EngagementCounterShardRepository counterShardRepository;
+
+    @Mock
+    private EngagementCounterAggregator engagementCounterAggregator;
+
+    @Mock
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    @Mock
+    private WatchProgressTracker watchProgressTracker;
+
     @InjectMocks
     private DBEngagementStrategyServiceImpl engagementService;
 
@@ -50,12 +75,15 @@ class DBEngagementStrategyServiceImplTest {
         metaData.setSynopsis("Test Synopsis");
         metaData.setDirector("Test Director");
         video.setMetaData(metaData);
+
+        ReflectionTestUtils.setField(engagementService, "maxBatchSize", 200);
     }
 
     @Test
     void testGetEngagementStats_Success() {
         // Mock repository response
         when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(engagementCounterAggregator.pendingDelta(1L)).thenReturn(new EngagementDelta(1L, 0L, 0L));
 
         // Call the method
         GenericResponse<EngagementResponse> response = engagementService.getEngagementStats(1L);
@@ -105,4 +133,82 @@ class DBEngagementStrategyServiceImplTest {
         assertEquals("error", response.getStatus());
         assertEquals("Internal Server Error", response.getError());
     }
+
+    @Test
+    void testGetEngagementStats_IncludesPendingDeltas() {
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(engagementCounterAggregator.pendingDelta(1L)).thenReturn(new EngagementDelta(1L, 2L, 3L));
+
+        GenericResponse<EngagementResponse> response = engagementService.getEngagementStats(1L);
+
+        assertEquals(103L, response.getData().getImpressions());
+        assertEquals(52L, response.getData().getViews());
+    }
+
+    @Test
+    void testGetEngagementStats_AddsCounterShards() {
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(engagementCounterAggregator.pendingDelta(1L)).thenReturn(new EngagementDelta(1L, 2L, 3L));
+        when(counterShardRepository.sumByVideoIds(List.of(1L))).thenReturn(List.of(new EngagementCounts(1L, 1000L, 2000L)));
+
+        GenericResponse<EngagementResponse> response = engagementService.getEngagementStats(1L);
+
+        assertEquals(2103L, response.getData().getImpressions());
+        assertEquals(1052L, response.getData().getViews());
+    }
+
+    @Test
+    void testGetEngagementStats_IncludesUniqueViewers() {
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(engagementCounterAggregator.pendingDelta(1L)).thenReturn(new EngagementDelta(1L, 0L, 0L));
+        when(uniqueViewerTracker.uniqueViewers(1L)).thenReturn(42L);
+
+        GenericResponse<EngagementResponse> response = engagementService.getEngagementStats(1L);
+
+        assertEquals(42L, response.getData().getUniqueViewers());
+    }
+
+    @Test
+    void testGetEngagementStats_IncludesWatchTime() {
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(engagementCounterAggregator.pendingDelta(1L)).thenReturn(new EngagementDelta(1L, 0L, 0L));
+        when(watchProgressTracker.watchTimeSeconds(1L)).thenReturn(3600L);
+
+        GenericResponse<EngagementResponse> response = engagementService.getEngagementStats(1L);
+
+        assertEquals(3600L, response.getData().getWatchTimeSeconds());
+    }
+
+    @Test
+    void testGetEngagementStatsBatch_SingleQueryForAllVideos() {
+        when(videoRepository.findEngagementSummariesByIds(List.of(2L, 1L, 3L))).thenReturn(List.of(
+                new VideoEngagementSummary(1L, "Test Video", "Test Synopsis", "Test Director", 50L, 100L),
+                new VideoEngagementSummary(2L, "Other Video", null, null, null, null)));
+        when(uniqueViewerTracker.uniqueViewers(Set.of(1L, 2L))).thenReturn(Map.of(1L, 7L));
+        when(engagementCounterAggregator.pendingDelta(1L)).thenReturn(new EngagementDelta(1L, 2L, 3L));
+        when(engagementCounterAggregator.pendingDelta(2L)).thenReturn(new EngagementDelta(2L, 1L, 0L));
+
+        GenericResponse<Map<Long, EngagementResponse>> response = engagementService.getEngagementStats(Arrays.asList(2L, 1L, 2L, null, 3L));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(List.of(2L, 1L), List.copyOf(response.getData().keySet()));
+        assertEquals(103L, response.getData().get(1L).getImpressions());
+        assertEquals(52L, response.getData().get(1L).getViews());
+        assertEquals(7L, response.getData().get(1L).getUniqueViewers());
+        assertEquals(1L, response.getData().get(2L).getViews());
+        assertEquals(0L, response.getData().get(2L).getUniqueViewers());
+        verify(videoRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetEngagementStatsBatch_RejectsEmptyAndOversizedBatches() {
+        List<Long> tooMany = LongStream.rangeClosed(1, 201).boxed().toList();
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), engagementService.getEngagementStats(List.<Long>of()).getStatusCode());
+        GenericResponse<Map<Long, EngagementResponse>> response = engagementService.getEngagementStats(tooMany);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ModuleConstants.VIDEO_ID_BATCH_TOO_LARGE + 200, response.getError());
+        verifyNoInteractions(videoRepository);
+    }
 }
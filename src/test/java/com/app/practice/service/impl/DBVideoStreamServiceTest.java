@@ -1,23 +1,34 @@
 package com.app.practice.service.impl;
 
 import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.dto.ContentSegment;
+import com.app.practice.dto.EngagementEventType;
 import com.app.practice.dto.VideoDTO;
 import com.app.practice.entity.EngagementStatistics;
 import com.app.practice.entity.Video;
 import com.app.practice.entity.VideoMetaData;
 import com.app.practice.exception.VideoNotFoundException;
+import com.app.practice.model.response.ContentManifest;
 import com.app.practice.model.response.GenericResponse;
-import com.app.practice.repository.EngagementStatisticsRepository;
 import com.app.practice.repository.VideoRepository;
+import com.app.practice.service.impl.engagement.EngagementCounterAggregator;
+import com.app.practice.service.impl.engagement.EngagementEventDeduplicator;
+import com.app.practice.service.impl.engagement.TrendingVideoTracker;
+import com.app.practice.service.impl.engagement.UniqueViewerTracker;
 import com.app.practice.service.impl.streaming.DBVideoStreamService;
+import com.app.practice.service.impl.streaming.VideoContentResolver;
+import com.app.practice.service.impl.video.CatalogCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,7 +41,22 @@ class DBVideoStreamServiceTest {
     private VideoRepository videoRepository;
 
     @Mock
-    private EngagementStatisticsRepository engagementStatsRepo;
+    private EngagementCounterAggregator engagementCounterAggregator;
+
+    @Mock
+    private VideoContentResolver videoContentResolver;
+
+    @Mock
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    @Mock
+    private TrendingVideoTracker trendingVideoTracker;
+
+    @Mock
+    private EngagementEventDeduplicator engagementEventDeduplicator;
+
+    @Spy
+    private CatalogCache catalogCache = new CatalogCache(100, 60_000L);
 
     @InjectMocks
     private DBVideoStreamService videoStreamService;
@@ -56,18 +82,21 @@ class DBVideoStreamServiceTest {
         video.setTitle("Test Video");
         video.setEngagementStatistics(engagementStatistics);
         video.setMetaData(metaData);
-        video.setContent("Test Content");
+        video.setContentKey("0123456789abcdef0123456789abcdef");
+        video.setContentSize(12L);
         video.setDelisted(false);
     }
 
     @Test
     void testLoadVideo_Success() throws VideoNotFoundException {
-        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.of(catalogEntry()));
 
         GenericResponse<VideoDTO> response = videoStreamService.loadVideo(1L);
 
-        verify(videoRepository, times(1)).findById(1L);
-        verify(engagementStatsRepo, times(1)).save(any(EngagementStatistics.class));
+        verify(videoRepository, times(1)).findListedVideoById(1L);
+        verify(videoRepository, never()).findById(anyLong());
+        verify(engagementCounterAggregator, times(1)).recordImpression(1L);
+        verify(engagementCounterAggregator, never()).recordView(anyLong());
 
         assertNotNull(response);
         assertEquals("success", response.getStatus());
@@ -76,9 +105,23 @@ class DBVideoStreamServiceTest {
         assertEquals("Test Director", response.getData().getDirector());
     }
 
+    @Test
+    void testLoadVideo_ServedFromCatalogCache() throws VideoNotFoundException {
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.of(catalogEntry()));
+
+        videoStreamService.loadVideo(1L);
+        GenericResponse<VideoDTO> response = videoStreamService.loadVideo(1L);
+
+        verify(videoRepository, times(1)).findListedVideoById(1L);
+        verify(engagementCounterAggregator, times(2)).recordImpression(1L);
+        assertEquals("Test Video", response.getData().getTitle());
+        assertEquals(1, catalogCache.stats().getHits());
+    }
+
     @Test
     void testLoadVideo_VideoNotFound() {
-        when(videoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.empty());
+        when(videoRepository.existsById(1L)).thenReturn(false);
 
         VideoNotFoundException thrown = assertThrows(VideoNotFoundException.class, () -> {
             videoStreamService.loadVideo(1L);
@@ -89,30 +132,62 @@ class DBVideoStreamServiceTest {
 
     @Test
     void testLoadVideo_VideoDelisted() {
-        video.setDelisted(true);
-        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.empty());
+        when(videoRepository.existsById(1L)).thenReturn(true);
 
         VideoNotFoundException thrown = assertThrows(VideoNotFoundException.class, () -> {
             videoStreamService.loadVideo(1L);
         });
 
         assertEquals(ModuleConstants.VIDEO_DELISTED, thrown.getMessage());
+        verifyNoInteractions(engagementCounterAggregator);
     }
 
     @Test
     void testPlayVideo_Success() throws VideoNotFoundException {
         when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.of(catalogEntry()));
+        when(videoContentResolver.readContent(video)).thenReturn("Test Content");
 
         GenericResponse<String> response = videoStreamService.playVideo(1L);
 
         verify(videoRepository, times(1)).findById(1L);
-        verify(engagementStatsRepo, times(1)).save(any(EngagementStatistics.class));
+        verify(engagementCounterAggregator, times(1)).recordView(1L);
+        verify(engagementCounterAggregator, never()).recordImpression(anyLong());
 
         assertNotNull(response);
-        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
         assertEquals("Test Content", response.getData());
     }
 
+    @Test
+    void testPlayVideo_TrendingGenreReadFromCatalogCache() throws VideoNotFoundException {
+        video.setMetaData(null);
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.of(catalogEntry()));
+
+        videoStreamService.playVideo(1L);
+        videoStreamService.playVideo(1L);
+
+        verify(trendingVideoTracker, times(2)).recordPlay(1L, "Action");
+        verify(videoRepository, times(1)).findListedVideoById(1L);
+    }
+
+    @Test
+    void testPlayVideo_RetriedEventNotCounted() throws VideoNotFoundException {
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.of(catalogEntry()));
+        when(videoContentResolver.readContent(video)).thenReturn("Test Content");
+        when(engagementEventDeduplicator.isDuplicate(EngagementEventType.VIEW, 1L, "event-1")).thenReturn(false, true);
+
+        videoStreamService.playVideo(1L, "event-1");
+        GenericResponse<String> retried = videoStreamService.playVideo(1L, "event-1");
+
+        verify(engagementCounterAggregator, times(1)).recordView(1L);
+        verify(uniqueViewerTracker, times(1)).recordViewer(1L);
+        assertEquals("Test Content", retried.getData());
+    }
+
     @Test
     void testPlayVideo_VideoNotFound() {
         when(videoRepository.findById(1L)).thenReturn(Optional.empty());
@@ -129,10 +204,28 @@ class DBVideoStreamServiceTest {
         video.setDelisted(true);
         when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
 
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
+        VideoNotFoundException thrown = assertThrows(VideoNotFoundException.class, () -> {
             videoStreamService.playVideo(1L);
         });
 
-        assertEquals("com.app.practice.exception.VideoNotFoundException: Video is delisted.", thrown.getMessage());
+        assertEquals(ModuleConstants.VIDEO_DELISTED, thrown.getMessage());
+    }
+
+    @Test
+    void testLoadManifest_RecordsPlay() throws VideoNotFoundException {
+        ContentManifest manifest = new ContentManifest(1L, 12L, "checksum", 8, 2,
+                List.of(new ContentSegment(0, 0L, 8, "c0"), new ContentSegment(1, 8L, 4, "c1")));
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.of(catalogEntry()));
+        when(videoContentResolver.manifest(video)).thenReturn(manifest);
+
+        GenericResponse<ContentManifest> response = videoStreamService.loadManifest(1L);
+
+        verify(engagementCounterAggregator, times(1)).recordView(1L);
+        assertEquals(2, response.getData().getSegmentCount());
+    }
+
+    private CatalogEntry catalogEntry() {
+        return new CatalogEntry(1L, "Test Video", "Test Director", "Actor1, Actor2", "Action", 120, 1L);
     }
 }
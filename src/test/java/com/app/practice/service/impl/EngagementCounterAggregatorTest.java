@@ -0,0 +1,91 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.repository.EngagementStatisticsRepository;
+import com.app.practice.service.impl.engagement.EngagementCounterAggregator;
+import com.app.practice.service.impl.engagement.EngagementHistoryRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementCounterAggregatorTest {
+
+    @Mock
+    private EngagementStatisticsRepository engagementStatsRepo;
+
+    @Mock
+    private EngagementHistoryRecorder historyRecorder;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private EngagementCounterAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new EngagementCounterAggregator(engagementStatsRepo, historyRecorder, taskScheduler, 100, true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WritesAggregatedDeltasOnce() {
+        aggregator.recordView(1L);
+        aggregator.recordView(1L);
+        aggregator.recordImpression(1L);
+        aggregator.recordImpression(2L);
+
+        aggregator.flush();
+        aggregator.flush();
+
+        ArgumentCaptor<List<EngagementDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(engagementStatsRepo, times(1)).incrementCounters(captor.capture());
+        assertTrue(captor.getValue().contains(new EngagementDelta(1L, 2L, 1L)));
+        assertTrue(captor.getValue().contains(new EngagementDelta(2L, 0L, 1L)));
+        assertEquals(new EngagementDelta(1L, 0L, 0L), aggregator.pendingDelta(1L));
+        verify(historyRecorder, times(1)).record(captor.getValue());
+    }
+
+    @Test
+    void testFlush_FailureKeepsDeltas() {
+        aggregator.recordView(1L);
+        when(engagementStatsRepo.incrementCounters(anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        aggregator.flush();
+
+        assertEquals(new EngagementDelta(1L, 1L, 0L), aggregator.pendingDelta(1L));
+        verifyNoInteractions(historyRecorder);
+    }
+
+    @Test
+    void testRecord_SchedulesEarlyFlushAtLimit() {
+        aggregator = new EngagementCounterAggregator(engagementStatsRepo, historyRecorder, taskScheduler, 2, true);
+
+        aggregator.recordView(1L);
+        verifyNoInteractions(taskScheduler);
+
+        aggregator.recordView(1L);
+        aggregator.recordView(1L);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void testShutdown_FlushesPendingDeltas() {
+        aggregator.recordView(3L);
+
+        aggregator.shutdown();
+
+        verify(engagementStatsRepo, times(1)).incrementCounters(List.of(new EngagementDelta(3L, 1L, 0L)));
+    }
+}
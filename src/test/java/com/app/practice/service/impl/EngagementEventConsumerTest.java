@@ -0,0 +1,232 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.repository.EngagementStatisticsRepository;
+import com.app.practice.utils.EngagementEventCodec;
+import com.app.practice.service.impl.engagement.EngagementEventConsumer;
+import com.app.practice.service.impl.engagement.EngagementHistoryRecorder;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementEventConsumerTest {
+
+    private static final String TOPIC = VideoStreamConstants.VIDEO_PLAY_TOPIC;
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Mock
+    private ConsumerFactory<String, byte[]> consumerFactory;
+
+    @Mock
+    private EngagementStatisticsRepository engagementStatsRepo;
+
+    @Mock
+    private EngagementHistoryRecorder historyRecorder;
+
+    private MockConsumer<String, byte[]> mockConsumer;
+    private EngagementEventConsumer engagementEventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        lenient().when(consumerFactory.createConsumer(anyString(), isNull(), isNull(), any(Properties.class))).thenReturn(mockConsumer);
+        engagementEventConsumer = new EngagementEventConsumer(consumerFactory, engagementStatsRepo, historyRecorder, 0, 10, 500, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWindow_AggregatesEventsAndCommitsAfterWrite() throws InterruptedException {
+        publish(text("VIEW:1"), text("1"), text("IMPRESSION:2"), text("garbage"));
+
+        List<Boolean> committedAtWrite = recordCommittedAtWrite();
+
+        engagementEventConsumer.start();
+        long committedOffset = awaitCommittedOffset();
+        engagementEventConsumer.stop();
+
+        ArgumentCaptor<List<EngagementDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(engagementStatsRepo, times(1)).incrementCounters(captor.capture());
+        assertTrue(captor.getValue().contains(new EngagementDelta(1L, 2L, 0L)));
+        assertTrue(captor.getValue().contains(new EngagementDelta(2L, 0L, 1L)));
+
+        assertEquals(List.of(false), committedAtWrite);
+        assertEquals(4L, committedOffset);
+        assertEquals(4L, engagementEventConsumer.stats().getRecordsConsumed());
+        assertEquals(1L, engagementEventConsumer.stats().getSkipped());
+        assertEquals(4, engagementEventConsumer.stats().getMaxBatchSize());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWindow_FailedWriteIsRetriedWithoutCommitting() throws InterruptedException {
+        List<Boolean> committedAtWrite = new CopyOnWriteArrayList<>();
+        when(engagementStatsRepo.incrementCounters(anyList()))
+                .thenAnswer(invocation -> {
+                    committedAtWrite.add(isCommitted());
+                    throw new QueryTimeoutException("timeout");
+                })
+                .thenAnswer(invocation -> {
+                    committedAtWrite.add(isCommitted());
+                    return 1;
+                });
+        publish(EngagementEventCodec.encode(new EngagementDelta(7L, 1L, 0L)));
+
+        engagementEventConsumer.start();
+        long committedOffset = awaitCommittedOffset();
+        engagementEventConsumer.stop();
+
+        ArgumentCaptor<List<EngagementDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(engagementStatsRepo, times(2)).incrementCounters(captor.capture());
+        assertEquals(List.of(new EngagementDelta(7L, 1L, 0L)), captor.getAllValues().get(1));
+        assertEquals(List.of(false, false), committedAtWrite);
+        assertEquals(1L, committedOffset);
+        assertEquals(1L, engagementEventConsumer.stats().getFailedWrites());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWindow_SumsCountRecords() throws InterruptedException {
+        publish(EngagementEventCodec.encode(new EngagementDelta(1L, 40L, 3L)),
+                EngagementEventCodec.encode(new EngagementDelta(1L, 2L, 0L)), text("VIEW:1"), new byte[]{1, (byte) 0x80});
+
+        engagementEventConsumer.start();
+        long committedOffset = awaitCommittedOffset();
+        engagementEventConsumer.stop();
+
+        ArgumentCaptor<List<EngagementDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(engagementStatsRepo, times(1)).incrementCounters(captor.capture());
+        assertEquals(List.of(new EngagementDelta(1L, 43L, 3L)), captor.getValue());
+        assertEquals(4L, committedOffset);
+    }
+
+    @Test
+    void testWindow_UnwritableVideoIsSkippedAndOffsetsCommitted() throws InterruptedException {
+        when(engagementStatsRepo.incrementCounters(argThat(deltas -> deltas.size() > 1)))
+                .thenThrow(new DataIntegrityViolationException("foreign key"));
+        when(engagementStatsRepo.incrementCounters(List.of(new EngagementDelta(99L, 1L, 0L))))
+                .thenThrow(new DataIntegrityViolationException("foreign key"));
+        when(engagementStatsRepo.incrementCounters(List.of(new EngagementDelta(1L, 2L, 0L)))).thenReturn(1);
+        publish(EngagementEventCodec.encode(new EngagementDelta(1L, 2L, 0L)),
+                EngagementEventCodec.encode(new EngagementDelta(99L, 1L, 0L)));
+
+        engagementEventConsumer.start();
+        long committedOffset = awaitCommittedOffset();
+        engagementEventConsumer.stop();
+
+        assertEquals(2L, committedOffset);
+        assertEquals(1L, engagementEventConsumer.stats().getSkipped());
+        assertEquals(1L, engagementEventConsumer.stats().getFailedWrites());
+        verify(historyRecorder).record(List.of(new EngagementDelta(1L, 2L, 0L)));
+    }
+
+    @Test
+    void testConsumer_RestartedAfterUnexpectedFailure() throws InterruptedException {
+        when(consumerFactory.createConsumer(anyString(), isNull(), isNull(), any(Properties.class)))
+                .thenThrow(new IllegalStateException("broker unavailable"))
+                .thenReturn(mockConsumer);
+        recordCommittedAtWrite();
+        publish(EngagementEventCodec.encode(new EngagementDelta(1L, 1L, 0L)));
+
+        engagementEventConsumer.start();
+        long committedOffset = awaitCommittedOffset();
+        engagementEventConsumer.stop();
+
+        assertEquals(1L, committedOffset);
+        assertEquals(1L, engagementEventConsumer.stats().getRestarts());
+        verify(engagementStatsRepo, times(1)).incrementCounters(List.of(new EngagementDelta(1L, 1L, 0L)));
+    }
+
+    @Test
+    void testRevoke_FailedWriteDropsWindowForNextOwner() throws InterruptedException {
+        engagementEventConsumer = new EngagementEventConsumer(consumerFactory, engagementStatsRepo, historyRecorder,
+                60_000, 10, 500, 10);
+        List<Boolean> committedAtWrite = new CopyOnWriteArrayList<>();
+        when(engagementStatsRepo.incrementCounters(anyList())).thenAnswer(invocation -> {
+            committedAtWrite.add(isCommitted());
+            throw new QueryTimeoutException("timeout");
+        });
+        publish(EngagementEventCodec.encode(new EngagementDelta(7L, 1L, 0L)));
+        mockConsumer.schedulePollTask(() -> mockConsumer.rebalance(List.of()));
+
+        engagementEventConsumer.start();
+        verify(engagementStatsRepo, timeout(5000)).incrementCounters(anyList());
+        engagementEventConsumer.stop();
+
+        /*
+         Shutting down closes the window again; it must be empty, or the next owner's replay would count twice.
+         */
+        verify(engagementStatsRepo, times(1)).incrementCounters(anyList());
+        assertEquals(List.of(false), committedAtWrite);
+        assertEquals(1L, engagementEventConsumer.stats().getFailedWrites());
+        verifyNoInteractions(historyRecorder);
+    }
+
+    /**
+     * Records, at every write, whether offsets were committed already; a commit must only follow the write.
+     */
+    private List<Boolean> recordCommittedAtWrite() {
+        List<Boolean> committedAtWrite = new CopyOnWriteArrayList<>();
+        when(engagementStatsRepo.incrementCounters(anyList())).thenAnswer(invocation -> {
+            committedAtWrite.add(isCommitted());
+            return 1;
+        });
+        return committedAtWrite;
+    }
+
+    private boolean isCommitted() {
+        return mockConsumer.committed(Set.of(PARTITION)).get(PARTITION) != null;
+    }
+
+    /**
+     * Waits for the consumer thread to commit, and reads the offset before the consumer is closed by stop().
+     */
+    private long awaitCommittedOffset() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            OffsetAndMetadata committed = mockConsumer.committed(Set.of(PARTITION)).get(PARTITION);
+            if (committed != null) {
+                return committed.offset();
+            }
+            Thread.sleep(10);
+        }
+        return fail("No offsets committed within 5 seconds");
+    }
+
+    private static byte[] text(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void publish(byte[]... values) {
+        mockConsumer.schedulePollTask(() -> {
+            mockConsumer.rebalance(List.of(PARTITION));
+            mockConsumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+            mockConsumer.updateEndOffsets(Map.of(PARTITION, (long) values.length));
+            for (int offset = 0; offset < values.length; offset++) {
+                mockConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, offset, null, values[offset]));
+            }
+        });
+    }
+}
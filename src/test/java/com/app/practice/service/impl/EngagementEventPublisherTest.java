@@ -0,0 +1,90 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.EngagementEventType;
+import com.app.practice.service.impl.engagement.EngagementEventPublisher;
+import com.app.practice.service.impl.engagement.EngagementEventPublisher.DrainResult;
+import com.app.practice.service.impl.engagement.EngagementEventSpool;
+import com.app.practice.utils.EngagementEventCodec;
+import com.app.practice.utils.KafkaProducerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementEventPublisherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    private EngagementEventSpool spool;
+    private EngagementEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        spool = new EngagementEventSpool(tempDir.toString(), 16 + 4 * 9, 1);
+        publisher = new EngagementEventPublisher(kafkaProducerService, spool, 10, 10, 1000, 100);
+    }
+
+    @Test
+    void testDrain_SendsOneKeyedRecordPerVideo() throws InterruptedException {
+        when(kafkaProducerService.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        publisher.publish(EngagementEventType.VIEW, 1L);
+        publisher.publish(EngagementEventType.VIEW, 1L);
+        publisher.publish(EngagementEventType.IMPRESSION, 1L);
+
+        assertEquals(DrainResult.PUBLISHED, publisher.drain());
+        assertEquals(DrainResult.EMPTY, publisher.drain());
+
+        ArgumentCaptor<byte[]> value = ArgumentCaptor.forClass(byte[].class);
+        verify(kafkaProducerService, times(1)).send(eq(VideoStreamConstants.VIDEO_PLAY_TOPIC), eq("1"), value.capture());
+        assertEquals(new EngagementDelta(1L, 2L, 1L), EngagementEventCodec.decode(value.getValue()));
+        assertEquals(1L, publisher.stats().getRecordsSent());
+        assertEquals(3L, publisher.stats().getEventsQueued());
+        assertEquals(0L, publisher.stats().getQueueDepth());
+    }
+
+    @Test
+    void testPublish_DropsEventsWhenSpoolIsFull() {
+        for (int i = 0; i < 6; i++) {
+            publisher.publish(EngagementEventType.VIEW, (long) i);
+        }
+
+        assertEquals(4L, publisher.stats().getQueueDepth());
+        assertEquals(2L, publisher.stats().getEventsDropped());
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    @Test
+    void testDrain_FailedSendKeepsEventsSpooled() throws InterruptedException {
+        when(kafkaProducerService.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        publisher.publish(EngagementEventType.VIEW, 1L);
+
+        assertEquals(DrainResult.FAILED, publisher.drain());
+        assertEquals(1L, publisher.stats().getQueueDepth());
+        assertEquals(1L, publisher.stats().getFailedSends());
+
+        assertEquals(DrainResult.PUBLISHED, publisher.drain());
+        assertEquals(0L, publisher.stats().getQueueDepth());
+        assertEquals(1L, publisher.stats().getRecordsSent());
+        verify(kafkaProducerService, times(2)).send(anyString(), eq("1"), any(byte[].class));
+    }
+}
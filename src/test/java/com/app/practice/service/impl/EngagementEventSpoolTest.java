@@ -0,0 +1,85 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.EngagementEventType;
+import com.app.practice.service.impl.engagement.EngagementEventSpool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngagementEventSpoolTest {
+
+    /**
+     * Header plus room for four records.
+     */
+    private static final int SEGMENT_BYTES = 16 + 4 * 9;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRead_SumsEventsPerVideoInOrder() {
+        EngagementEventSpool spool = new EngagementEventSpool(tempDir.toString(), 1 << 20, 4);
+        spool.append(EngagementEventType.VIEW, 1L);
+        spool.append(EngagementEventType.IMPRESSION, 2L);
+        spool.append(EngagementEventType.VIEW, 1L);
+
+        EngagementEventSpool.Batch batch = spool.read(100);
+
+        assertEquals(List.of(new EngagementDelta(1L, 2L, 0L), new EngagementDelta(2L, 0L, 1L)), batch.deltas());
+        assertEquals(3, batch.events());
+        assertEquals(3L, spool.depth());
+
+        spool.acknowledge(batch);
+        assertEquals(0L, spool.depth());
+        assertNull(spool.read(100));
+    }
+
+    @Test
+    void testRecover_ResumesAfterAcknowledgedEvents() {
+        EngagementEventSpool spool = new EngagementEventSpool(tempDir.toString(), 1 << 20, 4);
+        spool.append(EngagementEventType.VIEW, 1L);
+        spool.append(EngagementEventType.VIEW, 2L);
+        spool.acknowledge(spool.read(1));
+        spool.close();
+
+        EngagementEventSpool reopened = new EngagementEventSpool(tempDir.toString(), 1 << 20, 4);
+        assertEquals(1L, reopened.depth());
+        reopened.append(EngagementEventType.IMPRESSION, 3L);
+
+        EngagementEventSpool.Batch batch = reopened.read(100);
+        assertEquals(List.of(new EngagementDelta(2L, 1L, 0L), new EngagementDelta(3L, 0L, 1L)), batch.deltas());
+    }
+
+    @Test
+    void testAppend_RollsSegmentsAndDropsWhenFull() throws IOException {
+        EngagementEventSpool spool = new EngagementEventSpool(tempDir.toString(), SEGMENT_BYTES, 2);
+        for (long i = 0; i < 8; i++) {
+            assertTrue(spool.append(EngagementEventType.VIEW, i));
+        }
+        assertFalse(spool.append(EngagementEventType.VIEW, 8L));
+        assertEquals(2L, segmentFiles());
+
+        EngagementEventSpool.Batch first = spool.read(100);
+        assertEquals(4, first.events());
+        spool.acknowledge(first);
+        assertEquals(1L, segmentFiles());
+
+        assertTrue(spool.append(EngagementEventType.VIEW, 8L));
+        assertEquals(5L, spool.depth());
+        assertEquals(new EngagementDelta(4L, 1L, 0L), spool.read(100).deltas().get(0));
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.RollupDelta;
+import com.app.practice.dto.RollupGranularity;
+import com.app.practice.repository.EngagementRollupRepository;
+import com.app.practice.service.impl.engagement.EngagementHistoryRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementHistoryRecorderTest {
+
+    private static final Instant HOUR_START = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant DAY_START = Instant.parse("2024-05-01T00:00:00Z");
+
+    @Mock
+    private EngagementRollupRepository rollupRepository;
+
+    private EngagementHistoryRecorder historyRecorder;
+
+    @BeforeEach
+    void setUp() {
+        historyRecorder = new EngagementHistoryRecorder(rollupRepository, 30);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCompact_MergesClosedMinutesIntoHourAndDayRollups() {
+        historyRecorder.record(List.of(new EngagementDelta(1L, 2L, 1L)), HOUR_START.plusSeconds(30));
+        historyRecorder.record(List.of(new EngagementDelta(1L, 3L, 0L), new EngagementDelta(2L, 0L, 4L)), HOUR_START.plusSeconds(90));
+        historyRecorder.record(List.of(new EngagementDelta(1L, 5L, 0L)), HOUR_START.plusSeconds(3600));
+
+        historyRecorder.compact();
+        historyRecorder.compact();
+
+        ArgumentCaptor<List<RollupDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository, times(1)).incrementRollups(captor.capture());
+        List<RollupDelta> deltas = captor.getValue();
+        assertEquals(5, deltas.size());
+        assertTrue(deltas.contains(new RollupDelta(1L, RollupGranularity.HOUR, HOUR_START, 5L, 1L)));
+        assertTrue(deltas.contains(new RollupDelta(1L, RollupGranularity.HOUR, HOUR_START.plusSeconds(3600), 5L, 0L)));
+        assertTrue(deltas.contains(new RollupDelta(1L, RollupGranularity.DAY, DAY_START, 10L, 1L)));
+        assertTrue(deltas.contains(new RollupDelta(2L, RollupGranularity.HOUR, HOUR_START, 0L, 4L)));
+        assertTrue(deltas.contains(new RollupDelta(2L, RollupGranularity.DAY, DAY_START, 0L, 4L)));
+    }
+
+    @Test
+    void testCompact_FailureKeepsMinuteBuckets() {
+        historyRecorder.record(List.of(new EngagementDelta(1L, 1L, 0L)), HOUR_START);
+        when(rollupRepository.incrementRollups(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(2);
+
+        historyRecorder.compact();
+        historyRecorder.record(List.of(new EngagementDelta(1L, 1L, 0L)), HOUR_START);
+        historyRecorder.compact();
+
+        verify(rollupRepository, times(2)).incrementRollups(anyList());
+        verify(rollupRepository).incrementRollups(argThat(deltas ->
+                deltas.contains(new RollupDelta(1L, RollupGranularity.HOUR, HOUR_START, 2L, 0L))));
+    }
+
+    @Test
+    void testShutdown_CompactsOpenMinute() {
+        historyRecorder.record(List.of(new EngagementDelta(3L, 1L, 0L)));
+
+        historyRecorder.shutdown();
+
+        verify(rollupRepository, times(1)).incrementRollups(argThat(deltas -> deltas.size() == 2));
+    }
+}
@@ -0,0 +1,98 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.RollupGranularity;
+import com.app.practice.entity.EngagementRollup;
+import com.app.practice.model.response.EngagementDataPoint;
+import com.app.practice.model.response.EngagementTimeSeries;
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.repository.EngagementRollupRepository;
+import com.app.practice.repository.VideoRepository;
+import com.app.practice.service.impl.engagement.EngagementHistoryServiceImpl;
+import com.app.practice.service.impl.engagement.UniqueViewerTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementHistoryServiceImplTest {
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private EngagementRollupRepository rollupRepository;
+
+    @Mock
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    private EngagementHistoryServiceImpl historyService;
+
+    @BeforeEach
+    void setUp() {
+        historyService = new EngagementHistoryServiceImpl(videoRepository, rollupRepository, uniqueViewerTracker, 100);
+    }
+
+    @Test
+    void testGetTimeSeries_FillsBucketsWithoutRollups() {
+        when(videoRepository.existsById(1L)).thenReturn(true);
+        when(rollupRepository.findRollups(1L, RollupGranularity.DAY,
+                LocalDateTime.parse("2024-05-01T00:00:00"), LocalDateTime.parse("2024-05-04T00:00:00")))
+                .thenReturn(List.of(new EngagementRollup(7L, 1L, RollupGranularity.DAY, LocalDateTime.parse("2024-05-02T00:00:00"), 12L, 30L)));
+        when(uniqueViewerTracker.dailyUniqueViewers(1L, Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-05-04T00:00:00Z")))
+                .thenReturn(Map.of(Instant.parse("2024-05-02T00:00:00Z"), 9L));
+
+        GenericResponse<EngagementTimeSeries> response = historyService.getTimeSeries(1L,
+                Instant.parse("2024-05-01T08:15:00Z"), Instant.parse("2024-05-03T20:00:00Z"), RollupGranularity.DAY);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(Instant.parse("2024-05-01T00:00:00Z"), response.getData().getFrom());
+        assertEquals(Instant.parse("2024-05-04T00:00:00Z"), response.getData().getTo());
+        assertEquals(List.of(
+                new EngagementDataPoint(Instant.parse("2024-05-01T00:00:00Z"), 0L, 0L, 0L),
+                new EngagementDataPoint(Instant.parse("2024-05-02T00:00:00Z"), 12L, 30L, 9L),
+                new EngagementDataPoint(Instant.parse("2024-05-03T00:00:00Z"), 0L, 0L, 0L)
+        ), response.getData().getPoints());
+    }
+
+    @Test
+    void testGetTimeSeries_RejectsTooManyBuckets() {
+        GenericResponse<EngagementTimeSeries> response = historyService.getTimeSeries(1L,
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-04-01T00:00:00Z"), RollupGranularity.HOUR);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ModuleConstants.TIME_RANGE_TOO_LARGE + 100, response.getError());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void testGetTimeSeries_RejectsEmptyRange() {
+        Instant now = Instant.parse("2024-05-01T00:00:00Z");
+
+        GenericResponse<EngagementTimeSeries> response = historyService.getTimeSeries(1L, now, now, RollupGranularity.HOUR);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ModuleConstants.INVALID_TIME_RANGE, response.getError());
+    }
+
+    @Test
+    void testGetTimeSeries_VideoNotFound() {
+        when(videoRepository.existsById(9L)).thenReturn(false);
+
+        GenericResponse<EngagementTimeSeries> response = historyService.getTimeSeries(9L, null, null, RollupGranularity.HOUR);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCode());
+        verifyNoInteractions(rollupRepository);
+    }
+}
@@ -0,0 +1,167 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.constants.VideoStreamConstants;
+import com.app.practice.dto.EngagementDelta;
+import com.app.practice.dto.VideoSummary;
+import com.app.practice.repository.VideoRepository;
+import com.app.practice.service.impl.engagement.EngagementStateStore;
+import com.app.practice.utils.EngagementEventCodec;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementStateStoreTest {
+
+    private static final String TOPIC = VideoStreamConstants.VIDEO_PLAY_TOPIC;
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ConsumerFactory<String, byte[]> consumerFactory;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Test
+    void testStore_RebuildsFromTopicAndResumesFromSnapshot() throws InterruptedException {
+        MockConsumer<String, byte[]> first = mockConsumer(0, text("VIEW:1"), text("IMPRESSION:1"),
+                EngagementEventCodec.encode(new EngagementDelta(1L, 1L, 0L)), text("VIEW:2"));
+        MockConsumer<String, byte[]> second = mockConsumer(4, EngagementEventCodec.encode(new EngagementDelta(1L, 1L, 0L)));
+        when(consumerFactory.createConsumer(isNull(), isNull(), isNull(), any(Properties.class))).thenReturn(first, second);
+        Path snapshot = tempDir.resolve("engagement.snapshot");
+
+        EngagementStateStore store = newStore(snapshot);
+        store.start();
+        await(() -> store.counts(2L).getViews() == 1);
+        store.stop();
+
+        assertEquals(2L, store.counts(1L).getViews());
+        assertEquals(1L, store.counts(1L).getImpressions());
+        assertTrue(store.isCaughtUp());
+        assertTrue(Files.exists(snapshot));
+
+        EngagementStateStore restarted = newStore(snapshot);
+        restarted.start();
+        await(() -> restarted.counts(1L).getViews() == 3);
+        restarted.stop();
+
+        assertEquals(1L, restarted.counts(1L).getImpressions());
+        assertEquals(1L, restarted.counts(2L).getViews());
+        assertEquals(1L, restarted.stats().getRecordsConsumed());
+    }
+
+    @Test
+    void testSummary_LoadedOnce() {
+        EngagementStateStore store = newStore(tempDir.resolve("engagement.snapshot"));
+        when(videoRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(1L, "Title", 1L)));
+
+        assertEquals("Title", store.summary(1L).orElseThrow().getTitle());
+        assertEquals("Director", store.summary(1L).orElseThrow().getDirector());
+
+        verify(videoRepository, times(1)).findSummaryById(1L);
+    }
+
+    @Test
+    void testSummary_InvalidatedAtNewerVersionIsReloaded() {
+        EngagementStateStore store = newStore(tempDir.resolve("engagement.snapshot"));
+        when(videoRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(1L, "Title", 1L)),
+                Optional.of(summary(1L, "Edited", 2L)));
+
+        assertEquals("Title", store.summary(1L).orElseThrow().getTitle());
+        store.invalidate(1L, 1L);
+        assertEquals("Title", store.summary(1L).orElseThrow().getTitle());
+        store.invalidate(1L, 2L);
+        assertEquals("Edited", store.summary(1L).orElseThrow().getTitle());
+        assertEquals("Edited", store.summary(1L).orElseThrow().getTitle());
+
+        verify(videoRepository, times(2)).findSummaryById(1L);
+    }
+
+    @Test
+    void testSummary_LoadReadBeforeInvalidationIsNotCached() {
+        EngagementStateStore store = newStore(tempDir.resolve("engagement.snapshot"));
+        store.invalidate(1L, 2L);
+        when(videoRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(summary(1L, "Title", 1L)));
+
+        assertEquals("Title", store.summaries(List.of(1L)).get(1L).getTitle());
+        assertEquals("Title", store.summaries(List.of(1L)).get(1L).getTitle());
+
+        verify(videoRepository, times(2)).findSummariesByIds(List.of(1L));
+    }
+
+    @Test
+    void testSummary_LeastRecentlyUsedEvictedBeyondCapacity() {
+        EngagementStateStore store = new EngagementStateStore(consumerFactory, videoRepository,
+                tempDir.resolve("engagement.snapshot").toString(), 0, 10, 2);
+        for (long videoId = 1; videoId <= 3; videoId++) {
+            when(videoRepository.findSummaryById(videoId)).thenReturn(Optional.of(summary(videoId, "Title", 1L)));
+        }
+
+        store.summary(1L);
+        store.summary(2L);
+        store.summary(1L);
+        store.summary(3L);
+        store.summary(1L);
+        store.summary(2L);
+
+        verify(videoRepository, times(1)).findSummaryById(1L);
+        verify(videoRepository, times(2)).findSummaryById(2L);
+        verify(videoRepository, times(1)).findSummaryById(3L);
+    }
+
+    private EngagementStateStore newStore(Path snapshot) {
+        return new EngagementStateStore(consumerFactory, videoRepository, snapshot.toString(), 0, 10, 100);
+    }
+
+    private static VideoSummary summary(Long videoId, String title, long version) {
+        return new VideoSummary(videoId, title, "Synopsis", "Director", version);
+    }
+
+    private static MockConsumer<String, byte[]> mockConsumer(long firstOffset, byte[]... values) {
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, firstOffset + values.length));
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i < values.length; i++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, firstOffset + i, null, values[i]));
+            }
+        });
+        return consumer;
+    }
+
+    private static byte[] text(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.service.VideoStreamService;
+import com.app.practice.service.impl.engagement.ImpressionPipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImpressionPipelineTest {
+
+    @Mock
+    private VideoStreamService videoStreamService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private ImpressionPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new ImpressionPipeline(videoStreamService, taskScheduler, 4);
+    }
+
+    @Test
+    void testFlush_CoalescesPagesPerVideo() {
+        pipeline.recordPage(List.of(1L, 2L, 3L));
+        pipeline.recordPage(Arrays.asList(2L, 3L, 3L, null));
+
+        pipeline.flush();
+        pipeline.flush();
+
+        verify(videoStreamService, times(1)).recordImpressions(Map.of(1L, 1L, 2L, 2L, 3L, 2L));
+    }
+
+    @Test
+    void testRecordPage_EmptyPageIgnored() {
+        pipeline.recordPage(List.of());
+
+        pipeline.flush();
+
+        verifyNoInteractions(videoStreamService);
+    }
+
+    @Test
+    void testRecordPage_SchedulesEarlyFlushAndDropsWhenFull() {
+        pipeline.recordPage(List.of(1L));
+        verifyNoInteractions(taskScheduler);
+
+        pipeline.recordPage(List.of(1L));
+        pipeline.recordPage(List.of(1L));
+        pipeline.recordPage(List.of(1L));
+        pipeline.recordPage(List.of(1L));
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        assertEquals(1, pipeline.droppedPages());
+
+        pipeline.flush();
+        verify(videoStreamService).recordImpressions(Map.of(1L, 4L));
+    }
+}
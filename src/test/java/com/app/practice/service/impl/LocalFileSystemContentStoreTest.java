@@ -0,0 +1,73 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.StoredContent;
+import com.app.practice.service.impl.content.LocalFileSystemContentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFileSystemContentStoreTest {
+
+    @TempDir
+    Path rootDirectory;
+
+    private LocalFileSystemContentStore contentStore;
+
+    @BeforeEach
+    void setUp() {
+        contentStore = new LocalFileSystemContentStore(rootDirectory.toString());
+    }
+
+    @Test
+    void testPut_StoresContentInShardedDirectory() throws IOException {
+        StoredContent stored = contentStore.put(new ByteArrayInputStream("Test Content".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(12L, stored.getSize());
+        assertEquals(64, stored.getChecksum().length());
+
+        Path path = contentStore.resolvePath(stored.getContentKey()).orElseThrow();
+        String key = stored.getContentKey();
+        assertEquals(rootDirectory.toAbsolutePath().normalize()
+                .resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key), path);
+    }
+
+    @Test
+    void testRead_FromPosition() throws IOException {
+        StoredContent stored = contentStore.put(new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8)));
+
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        int read = contentStore.read(stored.getContentKey(), 3, buffer);
+
+        assertEquals(4, read);
+        assertEquals("3456", new String(buffer.array(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRead_BeyondEnd_ReturnsZero() throws IOException {
+        StoredContent stored = contentStore.put(new ByteArrayInputStream("0123".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, contentStore.read(stored.getContentKey(), 10, ByteBuffer.allocate(4)));
+    }
+
+    @Test
+    void testDelete_RemovesContent() throws IOException {
+        StoredContent stored = contentStore.put(new ByteArrayInputStream("0123".getBytes(StandardCharsets.UTF_8)));
+
+        contentStore.delete(stored.getContentKey());
+
+        assertTrue(contentStore.resolvePath(stored.getContentKey()).isEmpty());
+    }
+
+    @Test
+    void testResolve_RejectsInvalidKey() {
+        assertThrows(IllegalArgumentException.class, () -> contentStore.delete("../../etc/passwd"));
+    }
+}
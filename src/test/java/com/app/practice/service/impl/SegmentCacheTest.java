@@ -0,0 +1,120 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.CacheStatistics;
+import com.app.practice.service.impl.content.SegmentCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentCacheTest {
+
+    private static final int SEGMENT_SIZE = 8;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testGetOrLoad_HitAfterMiss() throws IOException {
+        SegmentCache cache = new SegmentCache(4 * SEGMENT_SIZE, SEGMENT_SIZE);
+        SegmentCache.SegmentKey key = new SegmentCache.SegmentKey("a", 0);
+
+        try (SegmentCache.Handle handle = cache.getOrLoad(key, 5, loader("hello"))) {
+            assertEquals("hello", asString(handle.data()));
+            assertTrue(handle.data().isDirect());
+        }
+        try (SegmentCache.Handle handle = cache.getOrLoad(key, 5, loader("other"))) {
+            assertEquals("hello", asString(handle.data()));
+        }
+
+        CacheStatistics stats = cache.stats();
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getEntries());
+    }
+
+    @Test
+    void testGetOrLoad_RejectsInfrequentCandidateWhenFull() throws IOException {
+        SegmentCache cache = new SegmentCache(2 * SEGMENT_SIZE, SEGMENT_SIZE);
+        SegmentCache.SegmentKey hot1 = new SegmentCache.SegmentKey("hot", 0);
+        SegmentCache.SegmentKey hot2 = new SegmentCache.SegmentKey("hot", 1);
+        for (int i = 0; i < 5; i++) {
+            cache.getOrLoad(hot1, 3, loader("h-1")).close();
+            cache.getOrLoad(hot2, 3, loader("h-2")).close();
+        }
+
+        try (SegmentCache.Handle handle = cache.getOrLoad(new SegmentCache.SegmentKey("cold", 0), 4, loader("cold"))) {
+            assertEquals("cold", asString(handle.data()));
+        }
+
+        CacheStatistics stats = cache.stats();
+        assertEquals(1, stats.getRejections());
+        assertEquals(0, stats.getEvictions());
+        assertEquals(2, stats.getEntries());
+    }
+
+    @Test
+    void testGetOrLoad_EvictsLessFrequentVictim() throws IOException {
+        SegmentCache cache = new SegmentCache(SEGMENT_SIZE, SEGMENT_SIZE);
+        SegmentCache.SegmentKey first = new SegmentCache.SegmentKey("a", 0);
+        SegmentCache.SegmentKey second = new SegmentCache.SegmentKey("b", 0);
+        cache.getOrLoad(first, 1, loader("a")).close();
+        for (int i = 0; i < 3; i++) {
+            cache.getOrLoad(second, 1, loader("b")).close();
+        }
+
+        try (SegmentCache.Handle handle = cache.getOrLoad(second, 1, loader("x"))) {
+            assertEquals("b", asString(handle.data()));
+        }
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void testGetOrLoad_PinnedSegmentIsNotEvicted() throws IOException {
+        SegmentCache cache = new SegmentCache(SEGMENT_SIZE, SEGMENT_SIZE);
+        SegmentCache.SegmentKey pinned = new SegmentCache.SegmentKey("a", 0);
+        SegmentCache.SegmentKey candidate = new SegmentCache.SegmentKey("b", 0);
+
+        try (SegmentCache.Handle handle = cache.getOrLoad(pinned, 1, loader("a"))) {
+            for (int i = 0; i < 3; i++) {
+                cache.getOrLoad(candidate, 1, loader("b")).close();
+            }
+            assertEquals("a", asString(handle.data()));
+        }
+
+        assertEquals(0, cache.stats().getEvictions());
+    }
+
+    @Test
+    void testGetOrLoad_OversizedSegmentBypassesCache() throws IOException {
+        SegmentCache cache = new SegmentCache(SEGMENT_SIZE, SEGMENT_SIZE);
+
+        try (SegmentCache.Handle handle = cache.getOrLoad(new SegmentCache.SegmentKey("a", 0), 10, loader("0123456789"))) {
+            assertEquals("0123456789", asString(handle.data()));
+        }
+        assertEquals(0, cache.stats().getEntries());
+    }
+
+    @Test
+    void testConstructor_RejectsNonPositiveSlotSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentCache(SEGMENT_SIZE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentCache(SEGMENT_SIZE, -1));
+    }
+
+    private SegmentCache.SegmentLoader loader(String value) {
+        return target -> {
+            loads.incrementAndGet();
+            target.put(value.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static String asString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
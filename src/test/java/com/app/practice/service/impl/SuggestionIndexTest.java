@@ -0,0 +1,96 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.SearchDocument;
+import com.app.practice.dto.SuggestionType;
+import com.app.practice.model.response.Suggestion;
+import com.app.practice.service.impl.search.SuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex(10);
+        index.index(document(1L, 0L, "Goodfellas", "Martin Scorsese", "Robert De Niro, Ray Liotta"));
+        index.index(document(2L, 0L, "Taxi Driver", "Martin Scorsese", "Robert De Niro"));
+        index.index(document(3L, 0L, "The Godfather", "Francis Ford Coppola", "Marlon Brando; Al Pacino"));
+        index.updateViews(1L, 100L);
+        index.updateViews(2L, 50L);
+        index.updateViews(3L, 300L);
+        index.rebuild();
+        index.markReady();
+    }
+
+    @Test
+    void testSuggest_RanksNamesByTotalViews() {
+        assertEquals(List.of(
+                new Suggestion("Marlon Brando", SuggestionType.CAST, 300L),
+                new Suggestion("Martin Scorsese", SuggestionType.DIRECTOR, 150L)
+        ), index.suggest("MAR", 10));
+        assertEquals(List.of(new Suggestion("Robert De Niro", SuggestionType.CAST, 150L)), index.suggest("robert d", 10));
+        assertEquals(List.of(), index.suggest("xyz", 10));
+        assertEquals(List.of(), index.suggest("  ", 10));
+    }
+
+    @Test
+    void testSuggest_MatchesLaterWordsAndLimits() {
+        assertEquals("The Godfather", index.suggest("godf", 10).get(0).getText());
+        assertEquals(List.of("Martin Scorsese"), index.suggest("scor", 10).stream().map(Suggestion::getText).toList());
+        assertEquals(1, index.suggest("g", 1).size());
+        assertEquals(List.of("The Godfather", "Goodfellas"),
+                index.suggest("g", 10).stream().map(Suggestion::getText).toList());
+    }
+
+    @Test
+    void testIndex_AppliesEditsAtNextRebuild() {
+        assertTrue(index.index(document(2L, 1L, "Taxi Driver", "Martin Scorsese", "Jodie Foster")));
+        assertEquals(List.of(), index.suggest("jodie", 10));
+
+        index.rebuild();
+
+        assertEquals(List.of(new Suggestion("Jodie Foster", SuggestionType.CAST, 50L)), index.suggest("jodie", 10));
+        assertEquals(100L, index.suggest("robert", 10).get(0).getPopularity());
+    }
+
+    @Test
+    void testRemove_DropsNamesOfDelistedVideoOnly() {
+        assertTrue(index.remove(2L, 1L));
+        assertFalse(index.index(document(2L, 0L, "Taxi Driver", "Martin Scorsese", "Robert De Niro")));
+        index.rebuild();
+
+        assertEquals(List.of(), index.suggest("taxi", 10));
+        assertEquals(List.of(new Suggestion("Martin Scorsese", SuggestionType.DIRECTOR, 100L)),
+                index.suggest("martin", 10));
+    }
+
+    @Test
+    void testUpdateViews_ReordersSuggestions() {
+        index.updateViews(1L, 1_000L);
+        index.rebuild();
+
+        assertEquals(List.of("Martin Scorsese", "Marlon Brando"),
+                index.suggest("mar", 10).stream().map(Suggestion::getText).toList());
+    }
+
+    @Test
+    void testIsReady_OnlyAfterFirstBuild() {
+        SuggestionIndex empty = new SuggestionIndex(10);
+        empty.markReady();
+        assertFalse(empty.isReady());
+
+        empty.rebuild();
+        assertTrue(empty.isReady());
+        assertEquals(List.of(), empty.suggest("a", 10));
+    }
+
+    private static SearchDocument document(Long videoId, long version, String title, String director, String cast) {
+        return new SearchDocument(videoId, version, title, director, cast, "Drama", null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.TrendingWindow;
+import com.app.practice.model.response.TrendingVideo;
+import com.app.practice.service.impl.engagement.TrendingVideoTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingVideoTrackerTest {
+
+    private static final long NOW = 1_714_557_600_000L;
+
+    private TrendingVideoTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TrendingVideoTracker(1024, 10, 4);
+    }
+
+    @Test
+    void testTop_RanksGloballyAndPerGenre() {
+        play(1L, "Action", 5);
+        play(2L, "Drama", 3);
+        play(3L, " action ", 2);
+
+        assertTrue(tracker.top(TrendingWindow.ONE_HOUR, null, 10).isEmpty());
+
+        tracker.refresh(NOW);
+
+        assertEquals(List.of(new TrendingVideo(1L, 5L), new TrendingVideo(2L, 3L), new TrendingVideo(3L, 2L)),
+                tracker.top(TrendingWindow.ONE_HOUR, null, 10));
+        assertEquals(List.of(new TrendingVideo(1L, 5L), new TrendingVideo(3L, 2L)),
+                tracker.top(TrendingWindow.FIVE_MINUTES, "ACTION", 10));
+        assertEquals(List.of(new TrendingVideo(1L, 5L)), tracker.top(TrendingWindow.ONE_DAY, null, 1));
+        assertTrue(tracker.top(TrendingWindow.ONE_DAY, "comedy", 10).isEmpty());
+    }
+
+    @Test
+    void testRefresh_ExpiresPlaysOutsideWindow() {
+        play(1L, "Action", 5);
+        tracker.refresh(NOW);
+        play(2L, "Action", 1);
+        tracker.refresh(NOW + Duration.ofMinutes(1).toMillis());
+
+        tracker.refresh(NOW + Duration.ofMinutes(6).toMillis());
+
+        assertTrue(tracker.top(TrendingWindow.FIVE_MINUTES, null, 10).isEmpty());
+        assertEquals(List.of(new TrendingVideo(1L, 5L), new TrendingVideo(2L, 1L)),
+                tracker.top(TrendingWindow.ONE_HOUR, null, 10));
+    }
+
+    @Test
+    void testTop_RanksUpToMaxGenres() {
+        tracker = new TrendingVideoTracker(1024, 10, 2);
+        play(1L, "Action", 3);
+        play(2L, "Drama", 2);
+        play(3L, "Comedy", 1);
+
+        tracker.refresh(NOW);
+
+        assertEquals(List.of(new TrendingVideo(1L, 3L)), tracker.top(TrendingWindow.ONE_HOUR, "action", 10));
+        assertEquals(List.of(new TrendingVideo(2L, 2L)), tracker.top(TrendingWindow.ONE_HOUR, "drama", 10));
+        assertTrue(tracker.top(TrendingWindow.ONE_HOUR, "comedy", 10).isEmpty());
+        assertEquals(3, tracker.top(TrendingWindow.ONE_HOUR, null, 10).size());
+    }
+
+    private void play(Long videoId, String genre, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.recordPlay(videoId, genre);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.SketchPeriod;
+import com.app.practice.dto.ViewerSketchDelta;
+import com.app.practice.repository.ViewerSketchRepository;
+import com.app.practice.service.impl.engagement.UniqueViewerTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueViewerTrackerTest {
+
+    private static final Instant DAY_ONE = Instant.parse("2024-05-01T00:00:00Z");
+    private static final Instant DAY_TWO = Instant.parse("2024-05-02T00:00:00Z");
+
+    @Mock
+    private ViewerSketchRepository viewerSketchRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private UniqueViewerTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new UniqueViewerTracker(viewerSketchRepository, taskScheduler, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_MergesDailyAndTotalSketches() {
+        tracker.recordViewer(1L, "alice", DAY_ONE.plusSeconds(60));
+        tracker.recordViewer(1L, "alice", DAY_ONE.plusSeconds(120));
+        tracker.recordViewer(1L, "bob", DAY_ONE.plusSeconds(180));
+        tracker.recordViewer(1L, "alice", DAY_TWO.plusSeconds(60));
+
+        tracker.flush();
+        tracker.flush();
+
+        ArgumentCaptor<List<ViewerSketchDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(viewerSketchRepository, times(1)).mergeSketches(captor.capture());
+        List<ViewerSketchDelta> deltas = captor.getValue();
+        assertEquals(3, deltas.size());
+        assertEquals(2L, estimateOf(deltas, SketchPeriod.DAY, DAY_ONE));
+        assertEquals(1L, estimateOf(deltas, SketchPeriod.DAY, DAY_TWO));
+        assertEquals(2L, estimateOf(deltas, SketchPeriod.TOTAL, Instant.EPOCH));
+    }
+
+    @Test
+    void testFlush_FailureKeepsViewers() {
+        tracker.recordViewer(1L, "alice", DAY_ONE);
+        when(viewerSketchRepository.mergeSketches(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(2);
+
+        tracker.flush();
+        tracker.flush();
+
+        verify(viewerSketchRepository, times(2)).mergeSketches(argThat(deltas -> deltas.size() == 2));
+    }
+
+    @Test
+    void testRecordViewer_UsesAuthenticatedPrincipal() {
+        tracker.recordViewer(1L);
+        tracker.flush();
+        verifyNoInteractions(viewerSketchRepository);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        tracker.recordViewer(1L);
+        tracker.flush();
+        verify(viewerSketchRepository, times(1)).mergeSketches(anyList());
+    }
+
+    @Test
+    void testRecordViewer_SchedulesEarlyFlushAtLimit() {
+        tracker = new UniqueViewerTracker(viewerSketchRepository, taskScheduler, 2);
+
+        tracker.recordViewer(1L, "alice", DAY_ONE);
+        tracker.recordViewer(1L, "alice", DAY_ONE);
+        verifyNoInteractions(taskScheduler);
+
+        tracker.recordViewer(1L, "bob", DAY_ONE);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private static long estimateOf(List<ViewerSketchDelta> deltas, SketchPeriod period, Instant bucketStart) {
+        return deltas.stream()
+                .filter(delta -> delta.getPeriod() == period && delta.getBucketStart().equals(bucketStart))
+                .findFirst()
+                .orElseThrow()
+                .getSketch()
+                .estimate();
+    }
+}
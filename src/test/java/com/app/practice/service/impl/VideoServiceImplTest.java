@@ -1,6 +1,14 @@
 package com.app.practice.service.impl;
 
 import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.CatalogInvalidation;
+import com.app.practice.dto.ContentSegment;
+import com.app.practice.dto.RankedVideo;
+import com.app.practice.dto.SearchDocument;
+import com.app.practice.dto.SearchMatchMode;
+import com.app.practice.dto.SegmentedContent;
+import com.app.practice.dto.StoredContent;
+import com.app.practice.dto.SuggestionType;
 import com.app.practice.dto.VideoDTO;
 import com.app.practice.entity.EngagementStatistics;
 import com.app.practice.entity.Video;
@@ -9,18 +17,28 @@ import com.app.practice.exception.VideoAlreadyPresentException;
 import com.app.practice.exception.VideoNotFoundException;
 import com.app.practice.model.request.VideoRequest;
 import com.app.practice.model.response.GenericResponse;
+import com.app.practice.model.response.Suggestion;
+import com.app.practice.model.response.VideoPageResponse;
 import com.app.practice.model.response.VideoResponse;
 import com.app.practice.repository.VideoMetaDataRepository;
 import com.app.practice.repository.VideoRepository;
+import com.app.practice.repository.VideoSegmentRepository;
+import com.app.practice.service.CatalogInvalidationBus;
+import com.app.practice.service.impl.content.SegmentedContentWriter;
+import com.app.practice.service.impl.engagement.ImpressionPipeline;
+import com.app.practice.service.impl.search.CatalogSearchIndex;
+import com.app.practice.service.impl.search.SuggestionIndex;
 import com.app.practice.service.impl.video.VideoServiceImpl;
+import com.app.practice.utils.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +49,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class VideoServiceImplTest {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @InjectMocks
     private VideoServiceImpl videoService;
 
@@ -40,12 +60,32 @@ class VideoServiceImplTest {
     @Mock
     private VideoMetaDataRepository videoMetaDataRepository;
 
+    @Mock
+    private VideoSegmentRepository videoSegmentRepository;
+
+    @Mock
+    private SegmentedContentWriter segmentedContentWriter;
+
+    @Mock
+    private ImpressionPipeline impressionPipeline;
+
+    @Mock
+    private CatalogInvalidationBus catalogInvalidationBus;
+
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
     private VideoRequest videoRequest;
     private Video video;
     private VideoMetaData videoMetaData;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(videoService, "maxPageSize", MAX_PAGE_SIZE);
+
         videoRequest = new VideoRequest();
         videoRequest.setTitle("Test Video");
         videoRequest.setDirector("John Doe");
@@ -58,6 +98,7 @@ class VideoServiceImplTest {
         video.setVideoId(1L);
         video.setTitle("Test Video");
         video.setDelisted(false);
+        video.setVersion(3L);
 
         videoMetaData = new VideoMetaData();
         videoMetaData.setVideo(video);
@@ -72,8 +113,11 @@ class VideoServiceImplTest {
      * Test for successfully publishing a video.
      */
     @Test
-    void testPublishVideo_Success() throws VideoAlreadyPresentException {
+    void testPublishVideo_Success() throws Exception {
         when(videoRepository.existsByTitle(videoRequest.getTitle())).thenReturn(false);
+        when(segmentedContentWriter.write(any())).thenReturn(new SegmentedContent(
+                new StoredContent("0123456789abcdef0123456789abcdef", 12L, "checksum"), 8,
+                List.of(new ContentSegment(0, 0L, 8, "c0"), new ContentSegment(1, 8L, 4, "c1"))));
         when(videoRepository.save(any(Video.class))).thenReturn(video);
 
         GenericResponse<VideoResponse> response = videoService.publishVideo(videoRequest);
@@ -81,8 +125,12 @@ class VideoServiceImplTest {
         assertNotNull(response);
         assertEquals("success", response.getStatus());
         assertEquals("Test Video", response.getData().getTitle());
+        assertEquals(12L, response.getData().getContentSize());
 
+        verify(segmentedContentWriter, times(1)).write(any());
         verify(videoRepository, times(1)).save(any(Video.class));
+        verify(videoSegmentRepository, times(1)).saveAll(anyList());
+        verify(catalogSearchIndex, times(1)).index(any(SearchDocument.class));
     }
 
     /**
@@ -102,16 +150,21 @@ class VideoServiceImplTest {
      */
     @Test
     void testEditVideo_Success() throws VideoNotFoundException {
-        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.findForUpdateById(1L)).thenReturn(Optional.of(video));
         when(videoRepository.save(any(Video.class))).thenReturn(video);
 
         GenericResponse<VideoResponse> response = videoService.editVideo(1L, videoRequest);
 
         assertNotNull(response);
-        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
         assertEquals("Test Video", response.getData().getTitle());
 
         verify(videoRepository, times(1)).save(any(Video.class));
+        verify(catalogSearchIndex, times(1)).index(new SearchDocument(1L, 3L, "Test Video", "John Doe",
+                "Actor A, Actor B", "Action", null));
+        verify(suggestionIndex, times(1)).index(new SearchDocument(1L, 3L, "Test Video", "John Doe",
+                "Actor A, Actor B", "Action", null));
+        verify(catalogInvalidationBus, times(1)).publish(new CatalogInvalidation(1L, 3L));
     }
 
     /**
@@ -119,11 +172,12 @@ class VideoServiceImplTest {
      */
     @Test
     void testEditVideo_VideoNotFound() {
-        when(videoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(videoRepository.findForUpdateById(1L)).thenReturn(Optional.empty());
 
         assertThrows(VideoNotFoundException.class, () -> videoService.editVideo(1L, videoRequest));
 
         verify(videoRepository, never()).save(any(Video.class));
+        verifyNoInteractions(catalogInvalidationBus);
     }
 
     /**
@@ -131,7 +185,7 @@ class VideoServiceImplTest {
      */
     @Test
     void testDelistVideo_Success() throws VideoNotFoundException {
-        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+        when(videoRepository.findForUpdateById(1L)).thenReturn(Optional.of(video));
         when(videoRepository.save(any(Video.class))).thenReturn(video);
 
         GenericResponse<String> response = videoService.delistVideo(1L);
@@ -141,6 +195,9 @@ class VideoServiceImplTest {
         assertEquals(ModuleConstants.VIDEO_DELISTED_SUCCESSFULLY, response.getData());
 
         verify(videoRepository, times(1)).save(video);
+        verify(catalogSearchIndex, times(1)).remove(1L, 3L);
+        verify(suggestionIndex, times(1)).remove(1L, 3L);
+        verify(catalogInvalidationBus, times(1)).publish(new CatalogInvalidation(1L, 3L));
     }
 
     /**
@@ -148,7 +205,7 @@ class VideoServiceImplTest {
      */
     @Test
     void testDelistVideo_VideoNotFound() {
-        when(videoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(videoRepository.findForUpdateById(1L)).thenReturn(Optional.empty());
 
         assertThrows(VideoNotFoundException.class, () -> videoService.delistVideo(1L));
 
@@ -156,19 +213,67 @@ class VideoServiceImplTest {
     }
 
     /**
-     * Test for listing all videos with pagination.
+     * Test for listing the first page of videos.
      */
     @Test
     void testListAllVideos() {
-        when(videoRepository.findByIsDelistedFalse(any())).thenReturn((Page<Video>) List.of(video));
+        when(videoRepository.findListedVideos(eq(0L), any())).thenReturn(List.of(videoDTO(1L)));
 
-        GenericResponse<List<VideoDTO>> response = videoService.listAllVideos(0, 5);
+        GenericResponse<VideoPageResponse> response = videoService.listAllVideos(null, 5);
 
         assertNotNull(response);
-        assertEquals(HttpStatus.OK, response.getStatus());
-        assertFalse(response.getData().isEmpty());
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(List.of(videoDTO(1L)), response.getData().getVideos());
+        assertNull(response.getData().getNextCursor());
+
+        verify(videoRepository, times(1)).findListedVideos(eq(0L), eq(PageRequest.of(0, 6)));
+        verify(videoRepository, never()).findByIsDelistedFalse(any());
+        verify(impressionPipeline, times(1)).recordPage(List.of(1L));
+    }
+
+    /**
+     * Test for following the cursor of a full page to the next page.
+     */
+    @Test
+    void testListAllVideos_FollowsCursor() {
+        when(videoRepository.findListedVideos(eq(0L), any())).thenReturn(List.of(videoDTO(1L), videoDTO(2L), videoDTO(3L)));
+        when(videoRepository.findListedVideos(eq(2L), any())).thenReturn(List.of(videoDTO(3L)));
+
+        GenericResponse<VideoPageResponse> first = videoService.listAllVideos(null, 2);
+        GenericResponse<VideoPageResponse> second = videoService.listAllVideos(first.getData().getNextCursor(), 2);
+
+        assertEquals(List.of(videoDTO(1L), videoDTO(2L)), first.getData().getVideos());
+        assertEquals(PageCursor.encode(2L), first.getData().getNextCursor());
+        assertEquals(List.of(videoDTO(3L)), second.getData().getVideos());
+        assertNull(second.getData().getNextCursor());
 
-        verify(videoRepository, times(1)).findByIsDelistedFalse(any());
+        verify(impressionPipeline, times(1)).recordPage(List.of(1L, 2L));
+        verify(impressionPipeline, times(1)).recordPage(List.of(3L));
+    }
+
+    /**
+     * Test for rejecting a cursor that was not issued by the service.
+     */
+    @Test
+    void testListAllVideos_InvalidCursor() {
+        GenericResponse<VideoPageResponse> response = videoService.listAllVideos("not-a-cursor", 5);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ModuleConstants.INVALID_PAGE_CURSOR, response.getError());
+
+        verify(videoRepository, never()).findListedVideos(any(), any());
+        verifyNoInteractions(impressionPipeline);
+    }
+
+    /**
+     * Test for rejecting page sizes outside the allowed range.
+     */
+    @Test
+    void testListAllVideos_InvalidPageSize() {
+        assertEquals(HttpStatus.BAD_REQUEST.value(), videoService.listAllVideos(null, 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), videoService.listAllVideos(null, MAX_PAGE_SIZE + 1).getStatusCode());
+
+        verify(videoRepository, never()).findListedVideos(any(), any());
     }
 
     /**
@@ -176,15 +281,16 @@ class VideoServiceImplTest {
      */
     @Test
     void testSearchVideos() {
-        when(videoMetaDataRepository.findByDirectorIgnoreCase(eq("John Doe"), any())).thenReturn(List.of(videoMetaData));
+        when(videoMetaDataRepository.findVideosByDirectorIgnoreCase(eq("John Doe"), eq(0L), any())).thenReturn(List.of(videoDTO(1L)));
 
-        GenericResponse<List<VideoDTO>> response = videoService.searchVideos("John Doe", 0, 5);
+        GenericResponse<VideoPageResponse> response = videoService.searchVideos("John Doe", null, 5);
 
         assertNotNull(response);
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertFalse(response.getData().isEmpty());
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertFalse(response.getData().getVideos().isEmpty());
 
-        verify(videoMetaDataRepository, times(1)).findByDirectorIgnoreCase(eq("John Doe"), any());
+        verify(videoMetaDataRepository, times(1)).findVideosByDirectorIgnoreCase(eq("John Doe"), eq(0L), any());
+        verify(impressionPipeline, times(1)).recordPage(List.of(1L));
     }
 
     /**
@@ -192,11 +298,130 @@ class VideoServiceImplTest {
      */
     @Test
     void testSearchVideos_EmptyDirector() {
-        GenericResponse<List<VideoDTO>> response = videoService.searchVideos("", 0, 5);
+        GenericResponse<VideoPageResponse> response = videoService.searchVideos("", null, 5);
 
         assertNotNull(response);
         assertEquals("error", response.getStatus());
 
-        verify(videoMetaDataRepository, never()).findByDirectorIgnoreCase(any(), any());
+        verify(videoMetaDataRepository, never()).findVideosByDirectorIgnoreCase(any(), any(), any());
+        verifyNoInteractions(impressionPipeline);
+    }
+
+    /**
+     * Test for searching videos by a search phrase: the page is returned in rank order.
+     */
+    @Test
+    void testSearchVideosBasedOnSearchPhrase() {
+        when(catalogSearchIndex.isReady()).thenReturn(true);
+        when(catalogSearchIndex.search("action", 6, SearchMatchMode.EXACT, null))
+                .thenReturn(List.of(new RankedVideo(8L, 2.0), new RankedVideo(3L, 1.0)));
+        when(videoRepository.findListedVideosByIds(List.of(8L, 3L))).thenReturn(List.of(videoDTO(3L), videoDTO(8L)));
+
+        GenericResponse<VideoPageResponse> response = videoService.searchVideosBasedOnSearchPhrase("action", SearchMatchMode.EXACT, null, 5);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(List.of(videoDTO(8L), videoDTO(3L)), response.getData().getVideos());
+        assertNull(response.getData().getNextCursor());
+
+        verify(impressionPipeline, times(1)).recordPage(List.of(8L, 3L));
+    }
+
+    /**
+     * Test for reading the next page of ranked search results, in the search mode asked for.
+     */
+    @Test
+    void testSearchVideosBasedOnSearchPhrase_FollowsCursor() {
+        when(catalogSearchIndex.isReady()).thenReturn(true);
+        RankedVideo last = new RankedVideo(8L, 4.0);
+        when(catalogSearchIndex.search("action", 3, SearchMatchMode.FUZZY, last)).thenReturn(List.of(
+                new RankedVideo(7L, 3.0), new RankedVideo(6L, 3.0), new RankedVideo(5L, 1.0)));
+        when(videoRepository.findListedVideosByIds(List.of(7L, 6L))).thenReturn(List.of(videoDTO(6L)));
+
+        GenericResponse<VideoPageResponse> response = videoService.searchVideosBasedOnSearchPhrase("action",
+                SearchMatchMode.FUZZY, PageCursor.encodeRanked(last), 2);
+
+        assertEquals(List.of(videoDTO(6L)), response.getData().getVideos());
+        assertEquals(Optional.of(new RankedVideo(6L, 3.0)), PageCursor.decodeRanked(response.getData().getNextCursor()));
+    }
+
+    /**
+     * Test for rejecting a cursor of another list.
+     */
+    @Test
+    void testSearchVideosBasedOnSearchPhrase_InvalidCursor() {
+        when(catalogSearchIndex.isReady()).thenReturn(true);
+
+        GenericResponse<VideoPageResponse> response =
+                videoService.searchVideosBasedOnSearchPhrase("action", SearchMatchMode.EXACT, PageCursor.encode(7L), 5);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+        assertEquals(ModuleConstants.INVALID_PAGE_CURSOR, response.getError());
+        verify(catalogSearchIndex, never()).search(any(), anyInt(), any(), any());
+    }
+
+    /**
+     * Test for searching before the search index is built.
+     */
+    @Test
+    void testSearchVideosBasedOnSearchPhrase_IndexNotReady() {
+        when(catalogSearchIndex.isReady()).thenReturn(false);
+
+        GenericResponse<VideoPageResponse> response = videoService.searchVideosBasedOnSearchPhrase("action", SearchMatchMode.EXACT, null, 5);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatusCode());
+        verify(catalogSearchIndex, never()).search(any(), anyInt(), any(), any());
+        verifyNoInteractions(impressionPipeline);
+    }
+
+    /**
+     * Test for suggesting completions of a prefix from the suggestion index.
+     */
+    @Test
+    void testSuggest_Success() {
+        List<Suggestion> suggestions = List.of(new Suggestion("The Godfather", SuggestionType.TITLE, 42L));
+        when(suggestionIndex.maxResults()).thenReturn(10);
+        when(suggestionIndex.isReady()).thenReturn(true);
+        when(suggestionIndex.suggest("godf", 5)).thenReturn(suggestions);
+
+        GenericResponse<List<Suggestion>> response = videoService.suggest("godf", 5);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(suggestions, response.getData());
+        verifyNoInteractions(videoRepository, videoMetaDataRepository);
+    }
+
+    /**
+     * Test for rejecting a blank prefix and a limit above the per-prefix maximum.
+     */
+    @Test
+    void testSuggest_InvalidRequest() {
+        when(suggestionIndex.maxResults()).thenReturn(10);
+
+        GenericResponse<List<Suggestion>> blank = videoService.suggest(" ", 5);
+        GenericResponse<List<Suggestion>> tooMany = videoService.suggest("godf", 11);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), blank.getStatusCode());
+        assertEquals(ModuleConstants.INVALID_SUGGESTION_PREFIX, blank.getError());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), tooMany.getStatusCode());
+        assertEquals(ModuleConstants.INVALID_SUGGESTION_LIMIT + 10, tooMany.getError());
+        verify(suggestionIndex, never()).suggest(any(), anyInt());
+    }
+
+    /**
+     * Test for suggesting before the suggestion index is built.
+     */
+    @Test
+    void testSuggest_IndexNotReady() {
+        when(suggestionIndex.maxResults()).thenReturn(10);
+        when(suggestionIndex.isReady()).thenReturn(false);
+
+        GenericResponse<List<Suggestion>> response = videoService.suggest("godf", 5);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatusCode());
+        verify(suggestionIndex, never()).suggest(any(), anyInt());
+    }
+
+    private VideoDTO videoDTO(Long id) {
+        return new VideoDTO(id, "Test Video " + id, "John Doe", "Actor A, Actor B", "Action", 120);
     }
 }
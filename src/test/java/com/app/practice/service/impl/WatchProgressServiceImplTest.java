@@ -0,0 +1,63 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.constants.ModuleConstants;
+import com.app.practice.dto.CatalogEntry;
+import com.app.practice.model.response.GenericResponse;
+import com.app.practice.repository.VideoRepository;
+import com.app.practice.service.impl.engagement.WatchProgressServiceImpl;
+import com.app.practice.service.impl.engagement.WatchProgressTracker;
+import com.app.practice.service.impl.video.CatalogCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WatchProgressServiceImplTest {
+
+    @Mock
+    private WatchProgressTracker watchProgressTracker;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Spy
+    private CatalogCache catalogCache = new CatalogCache(100, 60_000L);
+
+    @InjectMocks
+    private WatchProgressServiceImpl watchProgressService;
+
+    @Test
+    void testRecordHeartbeat_ListedVideoCheckedThroughCatalogCache() {
+        when(videoRepository.findListedVideoById(1L)).thenReturn(Optional.of(
+                new CatalogEntry(1L, "Test Video", "Test Director", "Actor1, Actor2", "Action", 120, 1L)));
+
+        GenericResponse<String> first = watchProgressService.recordHeartbeat(1L, 10);
+        GenericResponse<String> second = watchProgressService.recordHeartbeat(1L, 20);
+
+        assertEquals(HttpStatus.ACCEPTED.value(), first.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED.value(), second.getStatusCode());
+        verify(videoRepository, times(1)).findListedVideoById(1L);
+        verify(watchProgressTracker, times(2)).recordHeartbeat(eq(1L), anyString(), anyLong(), any(Instant.class));
+    }
+
+    @Test
+    void testRecordHeartbeat_UnknownVideoRejected() {
+        when(videoRepository.findListedVideoById(99L)).thenReturn(Optional.empty());
+
+        GenericResponse<String> response = watchProgressService.recordHeartbeat(99L, 10);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCode());
+        assertEquals(ModuleConstants.VIDEO_NOT_FOUND, response.getError());
+        verifyNoInteractions(watchProgressTracker);
+    }
+}
@@ -0,0 +1,94 @@
+package com.app.practice.service.impl;
+
+import com.app.practice.dto.WatchProgressDelta;
+import com.app.practice.repository.EngagementStatisticsRepository;
+import com.app.practice.repository.WatchProgressRepository;
+import com.app.practice.service.impl.engagement.WatchProgressTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WatchProgressTrackerTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private WatchProgressRepository watchProgressRepository;
+
+    @Mock
+    private EngagementStatisticsRepository engagementStatsRepo;
+
+    private WatchProgressTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new WatchProgressTracker(watchProgressRepository, engagementStatsRepo, 60_000, 600_000, 1000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WritesOnlyLatestPositionPerSession() {
+        tracker.recordHeartbeat(1L, "alice", 0, START);
+        tracker.recordHeartbeat(1L, "alice", 10, START.plusSeconds(10));
+        tracker.recordHeartbeat(1L, "alice", 20, START.plusSeconds(20));
+        tracker.recordHeartbeat(2L, "bob", 5, START);
+
+        tracker.flush();
+        tracker.flush();
+
+        ArgumentCaptor<List<WatchProgressDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(watchProgressRepository, times(1)).saveProgress(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().contains(new WatchProgressDelta("alice", 1L, 20, 20, START.plusSeconds(20))));
+        assertTrue(captor.getValue().contains(new WatchProgressDelta("bob", 2L, 5, 0, START)));
+    }
+
+    @Test
+    void testRecordHeartbeat_SeeksAndGapsAreNotWatchTime() {
+        when(engagementStatsRepo.findWatchTimeSeconds(1L)).thenReturn(Optional.of(100L));
+
+        tracker.recordHeartbeat(1L, "alice", 0, START);
+        tracker.recordHeartbeat(1L, "alice", 600, START.plusSeconds(10));
+        tracker.recordHeartbeat(1L, "alice", 610, START.plusSeconds(20));
+        tracker.recordHeartbeat(1L, "alice", 620, START.plusSeconds(500));
+        tracker.recordHeartbeat(1L, "alice", 615, START.plusSeconds(400));
+
+        assertEquals(120L, tracker.watchTimeSeconds(1L));
+        assertEquals(Optional.of(620L), tracker.resumePosition(1L, "alice"));
+    }
+
+    @Test
+    void testFlush_FailureKeepsProgressForNextFlush() {
+        tracker.recordHeartbeat(1L, "alice", 0, START);
+        tracker.recordHeartbeat(1L, "alice", 10, START.plusSeconds(10));
+        when(watchProgressRepository.saveProgress(anyList())).thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        when(engagementStatsRepo.findWatchTimeSeconds(1L)).thenReturn(Optional.of(10L));
+
+        tracker.flush();
+        tracker.flush();
+
+        verify(watchProgressRepository, times(2)).saveProgress(List.of(
+                new WatchProgressDelta("alice", 1L, 10, 10, START.plusSeconds(10))));
+        assertEquals(10L, tracker.watchTimeSeconds(1L));
+    }
+
+    @Test
+    void testResumePosition_FallsBackToStoredPosition() {
+        when(watchProgressRepository.findPositionSeconds("alice", 1L)).thenReturn(Optional.of(42L));
+
+        assertEquals(Optional.of(42L), tracker.resumePosition(1L, "alice"));
+    }
+}
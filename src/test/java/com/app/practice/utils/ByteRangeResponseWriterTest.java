@@ -0,0 +1,126 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.StoredContent;
+import com.app.practice.dto.VideoContentFile;
+import com.app.practice.service.impl.content.InMemoryContentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteRangeResponseWriterTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path tempDir;
+
+    private final InMemoryContentStore contentStore = new InMemoryContentStore();
+    private final ByteRangeResponseWriter writer = new ByteRangeResponseWriter(contentStore);
+    private VideoContentFile contentFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path path = tempDir.resolve("1.bin");
+        Files.writeString(path, CONTENT, StandardCharsets.UTF_8);
+        contentFile = new VideoContentFile(1L, null, path, CONTENT.length(), 1_700_000_000_000L, "\"1-14-abc\"");
+    }
+
+    @Test
+    void testWrite_NoRange_ReturnsFullContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(contentFile, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    }
+
+    @Test
+    void testWrite_SingleRange_ReturnsPartialContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1/stream");
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(contentFile, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("56789", response.getContentAsString());
+        assertEquals("bytes 5-9/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(5, response.getContentLengthLong());
+    }
+
+    @Test
+    void testWrite_SuffixRange_ReturnsTail() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1/stream");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(contentFile, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("ghij", response.getContentAsString());
+    }
+
+    @Test
+    void testWrite_UnsatisfiableRange_Returns416() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1/stream");
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(contentFile, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void testWrite_StaleIfRange_ReturnsFullContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1/stream");
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other-etag\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(contentFile, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void testWrite_StoreWithoutFile_CopiesRangeFromStore() throws IOException {
+        StoredContent stored = contentStore.put(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+        VideoContentFile storeContent = new VideoContentFile(1L, stored.getContentKey(), null, stored.getSize(), 0L,
+                "\"" + stored.getChecksum() + "\"");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1/stream");
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(storeContent, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("abcdefghij", response.getContentAsString());
+    }
+
+    @Test
+    void testIsInitialRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1/stream");
+        assertTrue(ByteRangeResponseWriter.isInitialRequest(request));
+
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-");
+        assertFalse(ByteRangeResponseWriter.isInitialRequest(request));
+    }
+}
@@ -0,0 +1,36 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.CatalogInvalidation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogInvalidationCodecTest {
+
+    @Test
+    void testDecode_ReturnsEncodedInvalidation() {
+        CatalogInvalidation invalidation = new CatalogInvalidation(42L, 7L);
+
+        assertEquals(invalidation, CatalogInvalidationCodec.decode(CatalogInvalidationCodec.encode(invalidation)));
+        assertEquals(new CatalogInvalidation(Long.MAX_VALUE, Long.MAX_VALUE), CatalogInvalidationCodec.decode(
+                CatalogInvalidationCodec.encode(new CatalogInvalidation(Long.MAX_VALUE, Long.MAX_VALUE))));
+    }
+
+    @Test
+    void testEncode_IsCompact() {
+        assertEquals(17, CatalogInvalidationCodec.encode(new CatalogInvalidation(42L, 7L)).length);
+    }
+
+    @Test
+    void testDecode_RejectsMalformedRecords() {
+        byte[] value = CatalogInvalidationCodec.encode(new CatalogInvalidation(42L, 7L));
+        byte[] truncated = new byte[value.length - 1];
+        System.arraycopy(value, 0, truncated, 0, truncated.length);
+        byte[] unknownFormat = value.clone();
+        unknownFormat[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> CatalogInvalidationCodec.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> CatalogInvalidationCodec.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> CatalogInvalidationCodec.decode(unknownFormat));
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.practice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditDistanceTest {
+
+    @Test
+    void testWithin_CountsEditsUpToBound() {
+        assertEquals(0, EditDistance.within("scorsese", "scorsese", 2));
+        assertEquals(1, EditDistance.within("scorcese", "scorsese", 2));
+        assertEquals(1, EditDistance.within("nrio", "niro", 1));
+        assertEquals(1, EditDistance.within("shickel", "schickel", 1));
+        assertEquals(1, EditDistance.within("pacnio", "pacino", 2));
+        assertEquals(2, EditDistance.within("scorceze", "scorsese", 2));
+        assertEquals(2, EditDistance.within("", "ab", 2));
+    }
+
+    @Test
+    void testWithin_ReturnsBoundPlusOneWhenFarther() {
+        assertEquals(2, EditDistance.within("heat", "taxi", 1));
+        assertEquals(2, EditDistance.within("heat", "heathers", 1));
+        assertEquals(3, EditDistance.within("goodfellas", "godfather", 2));
+    }
+
+    @Test
+    void testWithin_MatchesFullDistanceWithinBound() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            String a = randomTerm(random);
+            String b = randomTerm(random);
+            int max = random.nextInt(3);
+            int distance = distance(a, b);
+
+            assertEquals(Math.min(distance, max + 1), EditDistance.within(a, b, max), a + " / " + b);
+        }
+    }
+
+    private static String randomTerm(Random random) {
+        StringBuilder term = new StringBuilder();
+        for (int i = random.nextInt(7); i > 0; i--) {
+            term.append((char) ('a' + random.nextInt(3)));
+        }
+        return term.toString();
+    }
+
+    /**
+     * Unbounded optimal string alignment distance.
+     */
+    private static int distance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                    continue;
+                }
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
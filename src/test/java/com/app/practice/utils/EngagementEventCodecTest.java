@@ -0,0 +1,40 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.EngagementDelta;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngagementEventCodecTest {
+
+    @Test
+    void testEncode_RoundTrip() {
+        EngagementDelta delta = new EngagementDelta(123456789L, 300L, Long.MAX_VALUE);
+
+        assertEquals(delta, EngagementEventCodec.decode(EngagementEventCodec.encode(delta)));
+        assertEquals(4, EngagementEventCodec.encode(new EngagementDelta(42L, 1L, 0L)).length);
+    }
+
+    @Test
+    void testDecode_LegacyTextEvents() {
+        assertEquals(new EngagementDelta(7L, 1L, 0L), EngagementEventCodec.decode(text("VIEW:7")));
+        assertEquals(new EngagementDelta(7L, 0L, 1L), EngagementEventCodec.decode(text("IMPRESSION:7")));
+        assertEquals(new EngagementDelta(7L, 1L, 0L), EngagementEventCodec.decode(text("7")));
+    }
+
+    @Test
+    void testDecode_RejectsMalformedValues() {
+        assertThrows(IllegalArgumentException.class, () -> EngagementEventCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> EngagementEventCodec.decode(new byte[]{1, 5}));
+        assertThrows(IllegalArgumentException.class, () -> EngagementEventCodec.decode(new byte[]{1, 5, 1, 0, 9}));
+        assertThrows(IllegalArgumentException.class, () -> EngagementEventCodec.decode(text("CLICK:7")));
+        assertThrows(IllegalArgumentException.class,
+                () -> EngagementEventCodec.encode(new EngagementDelta(1L, -1L, 0L)));
+    }
+
+    private static byte[] text(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.practice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimate_WithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(HyperLogLog.hash("user-" + i));
+            sketch.add(HyperLogLog.hash("user-" + i));
+        }
+
+        assertEquals(100_000, sketch.estimate(), 100_000 * 0.04);
+    }
+
+    @Test
+    void testEstimate_SmallCardinalityIsExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 10; i++) {
+            sketch.add(HyperLogLog.hash("user-" + i));
+        }
+
+        assertEquals(10, sketch.estimate());
+    }
+
+    @Test
+    void testMerge_EqualsSketchOfUnion() {
+        HyperLogLog union = new HyperLogLog();
+        HyperLogLog even = new HyperLogLog();
+        HyperLogLog odd = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            long hash = HyperLogLog.hash("user-" + i);
+            union.add(hash);
+            (i % 2 == 0 ? even : odd).add(hash);
+        }
+
+        even.merge(odd);
+        even.merge(odd);
+
+        assertArrayEquals(union.toBytes(), even.toBytes());
+    }
+
+    @Test
+    void testSerialization_RoundTripsSparseAndDense() {
+        HyperLogLog sparse = new HyperLogLog();
+        HyperLogLog dense = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            if (i < 100) {
+                sparse.add(HyperLogLog.hash("user-" + i));
+            }
+            dense.add(HyperLogLog.hash("user-" + i));
+        }
+
+        assertTrue(sparse.toBytes().length < 400);
+        assertEquals(2 + 8192 * 6 / 8, dense.toBytes().length);
+        assertArrayEquals(sparse.toBytes(), HyperLogLog.fromBytes(sparse.toBytes()).toBytes());
+        assertArrayEquals(dense.toBytes(), HyperLogLog.fromBytes(dense.toBytes()).toBytes());
+        assertEquals(dense.estimate(), HyperLogLog.fromBytes(dense.toBytes()).estimate());
+    }
+
+    @Test
+    void testMerge_RejectsDifferentPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(13)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{9, 13}));
+    }
+}
@@ -0,0 +1,56 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.RankedVideo;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void testDecode_ReturnsEncodedVideoId() {
+        assertEquals(Optional.of(42L), PageCursor.decode(PageCursor.encode(42L)));
+        assertEquals(Optional.of(Long.MAX_VALUE), PageCursor.decode(PageCursor.encode(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testEncode_IsUrlSafe() {
+        assertTrue(PageCursor.encode(Long.MAX_VALUE).matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testDecode_RejectsInvalidCursors() {
+        assertTrue(PageCursor.decode("not a cursor").isEmpty());
+        assertTrue(PageCursor.decode(encode("videoId:abc")).isEmpty());
+        assertTrue(PageCursor.decode(encode("videoId:-1")).isEmpty());
+        assertTrue(PageCursor.decode(encode("title:42")).isEmpty());
+        assertTrue(PageCursor.decode(encode("42")).isEmpty());
+    }
+
+    @Test
+    void testDecodeRanked_ReturnsEncodedResult() {
+        RankedVideo last = new RankedVideo(42L, 7.318235611128474);
+        assertEquals(Optional.of(last), PageCursor.decodeRanked(PageCursor.encodeRanked(last)));
+        assertEquals(Optional.of(new RankedVideo(1L, 0.0)), PageCursor.decodeRanked(encode("score:0.0:1")));
+    }
+
+    @Test
+    void testDecodeRanked_RejectsInvalidAndOtherCursors() {
+        assertTrue(PageCursor.decodeRanked(PageCursor.encode(20L)).isEmpty());
+        assertTrue(PageCursor.decode(PageCursor.encodeRanked(new RankedVideo(20L, 1.5))).isEmpty());
+        assertTrue(PageCursor.decodeRanked(encode("score:1.5")).isEmpty());
+        assertTrue(PageCursor.decodeRanked(encode("score:NaN:1")).isEmpty());
+        assertTrue(PageCursor.decodeRanked(encode("score:Infinity:1")).isEmpty());
+        assertTrue(PageCursor.decodeRanked(encode("score:-1.0:1")).isEmpty());
+        assertTrue(PageCursor.decodeRanked(encode("score:1.5:-1")).isEmpty());
+        assertTrue(PageCursor.decodeRanked(encode("rank:20")).isEmpty());
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,49 @@
+package com.app.practice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RotatingBloomFilterTest {
+
+    private static final long PERIOD = 1000;
+
+    @Test
+    void testAdd_DetectsKeysSeenWithinLiveGenerations() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1000, 0.001, 3, PERIOD);
+
+        assertTrue(filter.add("event-1", 0));
+        assertFalse(filter.add("event-1", 10));
+        assertTrue(filter.add("event-2", PERIOD));
+        assertFalse(filter.add("event-1", 2 * PERIOD + 999));
+    }
+
+    @Test
+    void testAdd_ForgetsKeysOfExpiredGenerations() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1000, 0.001, 3, PERIOD);
+        filter.add("event-1", 0);
+
+        assertTrue(filter.add("event-1", 3 * PERIOD));
+        assertFalse(filter.add("event-1", 3 * PERIOD + 1));
+        assertTrue(filter.add("event-1", 100 * PERIOD));
+    }
+
+    @Test
+    void testAdd_FalsePositiveRateWithinBounds() {
+        /*
+         Probing adds the probed keys too, so the generation is sized for both.
+         */
+        RotatingBloomFilter filter = new RotatingBloomFilter(20_000, 0.01, 2, PERIOD);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("seen-" + i, 0);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!filter.add("new-" + i, 0)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,38 @@
+package com.app.practice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTokenizerTest {
+
+    @Test
+    void testTokenize_SplitsAndLowerCases() {
+        assertEquals(List.of("martin", "scorsese", "robert", "de", "niro"),
+                SearchTokenizer.tokenize("Martin Scorsese, Robert De-Niro"));
+    }
+
+    @Test
+    void testTokenize_StripsAccents() {
+        assertEquals(List.of("pedro", "almodovar"), SearchTokenizer.tokenize("Pedro Almodóvar"));
+    }
+
+    @Test
+    void testTokenize_KeepsDigitsAndRepetitions() {
+        assertEquals(List.of("2001", "a", "space", "odyssey", "a"), SearchTokenizer.tokenize("2001: A Space Odyssey (A)"));
+    }
+
+    @Test
+    void testTokenize_EmptyText() {
+        assertEquals(List.of(), SearchTokenizer.tokenize(null));
+        assertEquals(List.of(), SearchTokenizer.tokenize(" -- "));
+    }
+
+    @Test
+    void testNormalize_JoinsTermsWithSingleSpaces() {
+        assertEquals("pedro almodovar", SearchTokenizer.normalize("  Pedro   ALMODÓVAR "));
+        assertEquals("", SearchTokenizer.normalize(null));
+    }
+}
@@ -0,0 +1,69 @@
+package com.app.practice.utils;
+
+import com.app.practice.dto.ContentSegment;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentingDigestInputStreamTest {
+
+    @Test
+    void testSegments_SplitAtFixedSize() throws IOException {
+        byte[] content = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+        SegmentingDigestInputStream in = new SegmentingDigestInputStream(new ByteArrayInputStream(content), 8);
+
+        assertArrayEquals(content, in.readAllBytes());
+
+        List<ContentSegment> segments = in.getSegments();
+        assertEquals(3, segments.size());
+        assertEquals(new ContentSegment(0, 0L, 8, sha256("01234567")), segments.get(0));
+        assertEquals(new ContentSegment(1, 8L, 8, sha256("89abcdef")), segments.get(1));
+        assertEquals(new ContentSegment(2, 16L, 4, sha256("ghij")), segments.get(2));
+    }
+
+    @Test
+    void testSegments_SingleByteReads() throws IOException {
+        SegmentingDigestInputStream in = new SegmentingDigestInputStream(
+                new ByteArrayInputStream("abcdef".getBytes(StandardCharsets.UTF_8)), 3);
+
+        while (in.read() != -1) {
+            // consume
+        }
+
+        List<ContentSegment> segments = in.getSegments();
+        assertEquals(2, segments.size());
+        assertEquals(sha256("def"), segments.get(1).getChecksum());
+    }
+
+    @Test
+    void testSegments_EmptyContent() throws IOException {
+        SegmentingDigestInputStream in = new SegmentingDigestInputStream(new ByteArrayInputStream(new byte[0]), 8);
+
+        in.readAllBytes();
+
+        assertTrue(in.getSegments().isEmpty());
+    }
+
+    @Test
+    void testSegments_NotConsumed_Throws() {
+        SegmentingDigestInputStream in = new SegmentingDigestInputStream(new ByteArrayInputStream(new byte[4]), 8);
+
+        assertThrows(IllegalStateException.class, in::getSegments);
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.app.practice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowHeavyHittersTest {
+
+    @Test
+    void testTop_RanksHeaviestKeysAmongNoise() {
+        SlidingWindowHeavyHitters hitters = new SlidingWindowHeavyHitters(4, 1024, 8);
+        for (long key = 100; key < 2100; key++) {
+            hitters.add(key, 1);
+        }
+        hitters.add(1L, 500);
+        hitters.add(2L, 300);
+        hitters.add(3L, 200);
+
+        List<SlidingWindowHeavyHitters.HeavyHitter> top = hitters.top(3);
+
+        assertEquals(List.of(1L, 2L, 3L), top.stream().map(SlidingWindowHeavyHitters.HeavyHitter::key).toList());
+        assertTrue(top.get(0).count() >= 500);
+        assertTrue(top.get(0).count() < 520);
+    }
+
+    @Test
+    void testAdvance_ExpiresOldestSlot() {
+        SlidingWindowHeavyHitters hitters = new SlidingWindowHeavyHitters(3, 64, 8);
+        hitters.add(1L, 10);
+        hitters.advance();
+        hitters.add(2L, 5);
+        hitters.advance();
+
+        assertEquals(10L, hitters.estimate(1L));
+
+        hitters.advance();
+
+        assertEquals(0L, hitters.estimate(1L));
+        assertEquals(5L, hitters.estimate(2L));
+        assertEquals(List.of(new SlidingWindowHeavyHitters.HeavyHitter(2L, 5L)), hitters.top(10));
+    }
+
+    @Test
+    void testOffer_KeepsCapacityBounded() {
+        SlidingWindowHeavyHitters hitters = new SlidingWindowHeavyHitters(1, 1024, 2);
+        hitters.add(1L, 5);
+        hitters.add(2L, 3);
+        hitters.add(3L, 1);
+        hitters.add(4L, 9);
+
+        assertEquals(List.of(4L, 1L), hitters.top(10).stream().map(SlidingWindowHeavyHitters.HeavyHitter::key).toList());
+    }
+}
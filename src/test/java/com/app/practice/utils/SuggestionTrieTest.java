@@ -0,0 +1,82 @@
+package com.app.practice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    @Test
+    void testComplete_ReturnsBestRanksBelowPrefix() {
+        SuggestionTrie trie = trie(3, Map.of(
+                "heat", new int[]{4},
+                "heathers", new int[]{1},
+                "heaven can wait", new int[]{0, 5},
+                "her", new int[]{2},
+                "taxi driver", new int[]{3}));
+
+        assertArrayEquals(new int[]{0, 1, 2}, trie.complete("he", 10));
+        assertArrayEquals(new int[]{0, 1, 4}, trie.complete("hea", 3));
+        assertArrayEquals(new int[]{1, 4}, trie.complete("heat", 3));
+        assertArrayEquals(new int[]{0}, trie.complete("heav", 1));
+        assertArrayEquals(new int[]{0, 1, 2}, trie.complete("", 3));
+    }
+
+    @Test
+    void testComplete_PrefixEndingInsideEdge() {
+        SuggestionTrie trie = trie(10, Map.of("goodfellas", new int[]{0}, "gone girl", new int[]{1}));
+
+        assertArrayEquals(new int[]{0}, trie.complete("goodf", 10));
+        assertArrayEquals(new int[]{0, 1}, trie.complete("go", 10));
+        assertArrayEquals(new int[0], trie.complete("goodfellasx", 10));
+        assertArrayEquals(new int[0], trie.complete("gooe", 10));
+        assertArrayEquals(new int[0], trie.complete("x", 10));
+    }
+
+    @Test
+    void testBuild_MergesSingleChildChains() {
+        SuggestionTrie trie = trie(10, Map.of("goodfellas", new int[]{0}, "gone girl", new int[]{1}));
+
+        // the root, "go", "odfellas" and "ne girl"
+        assertEquals(4, trie.size());
+        assertEquals(1, trie(10, Map.of()).size());
+    }
+
+    @Test
+    void testComplete_MatchesBruteForce() {
+        Random random = new Random(7);
+        TreeMap<String, int[]> keys = new TreeMap<>();
+        for (int rank = 0; rank < 2_000; rank++) {
+            StringBuilder key = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                key.append((char) ('a' + random.nextInt(4)));
+            }
+            int[] existing = keys.getOrDefault(key.toString(), new int[0]);
+            int[] ranks = Arrays.copyOf(existing, existing.length + 1);
+            ranks[existing.length] = rank;
+            keys.put(key.toString(), ranks);
+        }
+        SuggestionTrie trie = trie(5, keys);
+
+        for (String prefix : new String[]{"a", "ab", "abc", "dcba", "bbbbbb", "c"}) {
+            int[] expected = keys.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .flatMapToInt(entry -> Arrays.stream(entry.getValue()))
+                    .sorted()
+                    .limit(5)
+                    .toArray();
+            assertArrayEquals(expected, trie.complete(prefix, 5), prefix);
+        }
+    }
+
+    private static SuggestionTrie trie(int k, Map<String, int[]> keys) {
+        TreeMap<String, int[]> sorted = new TreeMap<>(keys);
+        return SuggestionTrie.build(sorted.keySet().toArray(new String[0]), sorted.values().toArray(new int[0][]), k);
+    }
+}
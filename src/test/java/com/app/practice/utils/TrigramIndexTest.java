@@ -0,0 +1,80 @@
+package com.app.practice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    void testCandidates_FindsTermsWithinEdits() {
+        TrigramIndex index = index("scorsese", "schickel", "niro", "pacino", "heat", "heathers");
+
+        assertEquals(List.of("scorsese"), index.candidates("scorcese", 1, 10));
+        assertEquals(List.of("niro"), index.candidates("nero", 1, 10));
+        assertEquals(List.of("heat"), index.candidates("heat", 1, 10));
+        assertEquals(List.of(), index.candidates("taxi", 1, 10));
+    }
+
+    @Test
+    void testCandidates_OrdersByGramsSharedAndLimits() {
+        TrigramIndex index = index("heal", "heat", "beat", "head");
+
+        assertEquals(List.of("heat", "beat", "head", "heal"), index.candidates("heat", 1, 10));
+        assertEquals(List.of("heat", "beat"), index.candidates("heat", 1, 2));
+        assertEquals(List.of(), index.candidates("heat", 1, 0));
+    }
+
+    @Test
+    void testCandidates_FindsAdjacentTranspositions() {
+        TrigramIndex index = index("nolan", "niro", "pacino");
+
+        assertTrue(index.candidates("nloan", 1, 100).contains("nolan"));
+        assertTrue(index.candidates("nrio", 1, 100).contains("niro"));
+        assertTrue(index.candidates("paicno", 1, 100).contains("pacino"));
+        assertEquals(List.of(), index.candidates("inor", 1, 100));
+    }
+
+    @Test
+    void testCandidates_NoneWhenTermTooShortForEdits() {
+        TrigramIndex index = index("al", "mann");
+
+        assertEquals(List.of(), index.candidates("al", 1, 10));
+        assertEquals(List.of(), index.candidates("man", 1, 10));
+        assertEquals(List.of("mann"), index.candidates("mann", 1, 10));
+    }
+
+    @Test
+    void testRemove_DropsTermFromEveryGram() {
+        TrigramIndex index = index("scorsese", "scorsese", "schickel");
+
+        index.remove("scorsese");
+        assertEquals(List.of("scorsese"), index.candidates("scorcese", 1, 10));
+        assertEquals(2, index.size());
+
+        index.remove("scorsese");
+        assertEquals(List.of(), index.candidates("scorcese", 1, 10));
+        assertEquals(1, index.size());
+
+        index.clear();
+        assertEquals(List.of(), index.candidates("schickel", 1, 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testTrigrams_PadsAndDeduplicates() {
+        assertEquals(4, TrigramIndex.trigrams("heat").length);
+        assertEquals(3, TrigramIndex.trigrams("aaaa").length);
+        assertEquals(1, TrigramIndex.trigrams("a").length);
+    }
+
+    private static TrigramIndex index(String... terms) {
+        TrigramIndex index = new TrigramIndex();
+        for (String term : terms) {
+            index.add(term);
+        }
+        return index;
+    }
+}